@@ -0,0 +1,572 @@
+package net.ravendb.client.documents;
+
+import com.fasterxml.jackson.core.JsonGenerationException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.Constants;
+import net.ravendb.client.documents.commands.GetNextOperationIdCommand;
+import net.ravendb.client.documents.commands.KillOperationCommand;
+import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.documents.identity.GenerateEntityIdOnTheClient;
+import net.ravendb.client.documents.operations.GetOperationStateOperation;
+import net.ravendb.client.documents.session.IMetadataDictionary;
+import net.ravendb.client.exceptions.documents.bulkinsert.BulkInsertAbortedException;
+import net.ravendb.client.http.RequestExecutor;
+import net.ravendb.client.http.ServerNode;
+import net.ravendb.client.http.VoidRavenCommand;
+import net.ravendb.client.primitives.CleanCloseable;
+import net.ravendb.client.primitives.ExceptionsUtils;
+import net.ravendb.client.primitives.Reference;
+import org.apache.commons.io.output.NullOutputStream;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Inserts large amount of documents using single, long lived HTTP request.
+ *
+ * Documents are serialized directly into the chunked request body, so the writing thread
+ * is throttled by the server: once the socket buffers are full store() blocks until the
+ * server catches up.
+ */
+public class BulkInsertOperation implements CleanCloseable {
+
+    private static final int BUFFER_SIZE = 32 * 1024;
+
+    private final GenerateEntityIdOnTheClient _generateEntityIdOnTheClient;
+    private final RequestExecutor _requestExecutor;
+    private final DocumentConventions _conventions;
+    private final ObjectMapper _mapper;
+    private final ObjectWriter _entityWriter;
+    private final StreamExposerContent _streamExposerContent;
+    private final AtomicInteger _concurrentCheck = new AtomicInteger();
+
+    private CompletableFuture<Void> _bulkInsertExecuteTask;
+    private volatile Thread _bulkInsertExecuteThread;
+    private JsonGenerator _currentWriter;
+    private DocumentWriter _documentWriter;
+    private long _operationId = -1;
+    private boolean _closed;
+
+    public BulkInsertOperation(String database, IDocumentStore store) {
+        String databaseName = ObjectUtils.firstNonNull(database, store.getDatabase());
+
+        _requestExecutor = store.getRequestExecutor(databaseName);
+        _conventions = _requestExecutor.getConventions();
+        _mapper = _conventions.getEntityMapper();
+        // buffered stream is flushed when the buffer is full, not after each document
+        _entityWriter = _mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        _streamExposerContent = new StreamExposerContent();
+
+        _generateEntityIdOnTheClient = new GenerateEntityIdOnTheClient(_conventions,
+                entity -> _conventions.generateDocumentId(databaseName, entity));
+    }
+
+    /**
+     * @return Operation id of this bulk insert or -1 when no documents were sent yet
+     */
+    public long getOperationId() {
+        return _operationId;
+    }
+
+    /**
+     * Stores the entity, document id is taken from the entity or generated using document id generator (HiLo by default).
+     * @param entity Entity to store
+     * @return document id
+     */
+    public String store(Object entity) {
+        return store(entity, (IMetadataDictionary) null);
+    }
+
+    /**
+     * Stores the entity, document id is taken from the metadata, entity or generated using document id generator.
+     * @param entity Entity to store
+     * @param metadata Metadata to store with the document
+     * @return document id
+     */
+    public String store(Object entity, IMetadataDictionary metadata) {
+        String id;
+        if (metadata == null || !metadata.containsKey(Constants.Documents.Metadata.ID)) {
+            id = getId(entity);
+        } else {
+            id = (String) metadata.get(Constants.Documents.Metadata.ID);
+        }
+
+        store(entity, id, metadata);
+        return id;
+    }
+
+    /**
+     * Stores the entity using the given id.
+     * @param entity Entity to store
+     * @param id Document id
+     */
+    public void store(Object entity, String id) {
+        store(entity, id, null);
+    }
+
+    /**
+     * Stores the entity using the given id and metadata.
+     * @param entity Entity to store
+     * @param id Document id
+     * @param metadata Metadata to store with the document
+     */
+    public void store(Object entity, String id, IMetadataDictionary metadata) {
+        if (!_concurrentCheck.compareAndSet(0, 1)) {
+            throw new IllegalStateException("Bulk Insert store methods cannot be executed concurrently.");
+        }
+
+        try {
+            if (_closed) {
+                throw new IllegalStateException("Bulk insert operation has already been closed");
+            }
+
+            verifyValidId(id);
+
+            if (entity == null) {
+                throw new IllegalArgumentException("Entity cannot be null");
+            }
+
+            ensureStream();
+
+            if (_bulkInsertExecuteTask.isCompletedExceptionally()) {
+                throwBulkInsertAborted(null);
+            }
+
+            try {
+                _currentWriter.writeStartObject();
+                _currentWriter.writeStringField("Id", id);
+                _currentWriter.writeStringField("Type", "PUT");
+                _currentWriter.writeFieldName("Document");
+                _documentWriter.write(entity, metadata);
+                _currentWriter.writeEndObject();
+            } catch (IOException e) {
+                handleErrors(id, e);
+            }
+        } finally {
+            _concurrentCheck.set(0);
+        }
+    }
+
+    private String getId(Object entity) {
+        Reference<String> idRef = new Reference<>();
+        if (_generateEntityIdOnTheClient.tryGetIdFromInstance(entity, idRef)) {
+            return idRef.value;
+        }
+
+        return _generateEntityIdOnTheClient.generateDocumentKeyForStorage(entity);
+    }
+
+    private static void verifyValidId(String id) {
+        if (id == null || id.isEmpty()) {
+            throw new IllegalStateException("Document id must have a non empty value");
+        }
+
+        if (id.endsWith("|")) {
+            throw new UnsupportedOperationException("Document ids cannot end with '|', but was called with " + id);
+        }
+    }
+
+    private void writeMetadata(JsonGenerator writer, Object entity, IMetadataDictionary metadata) throws IOException {
+        writer.writeFieldName(Constants.Documents.Metadata.KEY);
+        writer.writeStartObject();
+
+        if (metadata != null) {
+            for (Map.Entry<String, Object> entry : metadata.entrySet()) {
+                if (Constants.Documents.Metadata.ID.equals(entry.getKey())) {
+                    continue;
+                }
+
+                writer.writeFieldName(entry.getKey());
+                _entityWriter.writeValue(writer, entry.getValue());
+            }
+        }
+
+        if (metadata == null || !metadata.containsKey(Constants.Documents.Metadata.COLLECTION)) {
+            String collection = _conventions.getCollectionName(entity);
+            if (collection != null) {
+                writer.writeStringField(Constants.Documents.Metadata.COLLECTION, collection);
+            }
+        }
+
+        if (metadata == null || !metadata.containsKey(Constants.Documents.Metadata.RAVEN_JAVA_TYPE)) {
+            String javaType = _conventions.getJavaClassName(entity.getClass());
+            if (javaType != null) {
+                writer.writeStringField(Constants.Documents.Metadata.RAVEN_JAVA_TYPE, javaType);
+            }
+        }
+
+        writer.writeEndObject();
+    }
+
+    private void ensureStream() {
+        if (_currentWriter != null) {
+            return;
+        }
+
+        waitForId();
+
+        BulkInsertCommand bulkCommand = new BulkInsertCommand(_operationId, _streamExposerContent);
+        // request lasts as long as the bulk insert, so it gets its own thread instead of one from the pool,
+        // the thread is interrupted when bulk insert is aborted or the store is closed
+        CompletableFuture<Void> bulkInsertExecuteTask = new CompletableFuture<>();
+        _bulkInsertExecuteTask = bulkInsertExecuteTask;
+        _bulkInsertExecuteThread = _requestExecutor.getBackgroundExecutor().executeLongRunning(() -> {
+            try {
+                _requestExecutor.execute(bulkCommand);
+                bulkInsertExecuteTask.complete(null);
+            } catch (Throwable e) {
+                bulkInsertExecuteTask.completeExceptionally(e);
+            }
+        });
+
+        try {
+            OutputStream stream = CompletableFuture.anyOf(_streamExposerContent.getOutputStream(), _bulkInsertExecuteTask)
+                    .thenApply(x -> _streamExposerContent.getOutputStream().getNow(null))
+                    .get();
+
+            if (stream == null) {
+                throwBulkInsertAborted(null);
+            }
+
+            _currentWriter = _mapper.getFactory().createGenerator(new BufferedOutputStream(stream, BUFFER_SIZE));
+            _currentWriter.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            _currentWriter.writeStartArray();
+
+            _documentWriter = new DocumentWriter(_currentWriter);
+        } catch (InterruptedException | ExecutionException | IOException e) {
+            _streamExposerContent.errorOnRequestStart(e);
+            throwBulkInsertAborted(e);
+        }
+    }
+
+    private void waitForId() {
+        if (_operationId != -1) {
+            return;
+        }
+
+        GetNextOperationIdCommand bulkInsertGetIdRequest = new GetNextOperationIdCommand();
+        _requestExecutor.execute(bulkInsertGetIdRequest);
+        _operationId = bulkInsertGetIdRequest.getResult();
+    }
+
+    private void handleErrors(String documentId, Exception e) {
+        _streamExposerContent.errorOnProcessingRequest(e);
+
+        BulkInsertAbortedException error = getExceptionFromTaskOrOperation();
+        if (error != null) {
+            throw error;
+        }
+
+        throw new BulkInsertAbortedException("Failed to execute bulk insert while storing document " + documentId, e);
+    }
+
+    private void throwBulkInsertAborted(Exception cause) {
+        BulkInsertAbortedException error = getExceptionFromTaskOrOperation();
+        if (error != null) {
+            throw error;
+        }
+
+        throw new BulkInsertAbortedException("Failed to execute bulk insert", cause);
+    }
+
+    private BulkInsertAbortedException getExceptionFromTaskOrOperation() {
+        if (_bulkInsertExecuteTask != null) {
+            try {
+                _bulkInsertExecuteTask.get();
+            } catch (InterruptedException | ExecutionException e) {
+                return new BulkInsertAbortedException("Failed to execute bulk insert", ExceptionsUtils.unwrapException(e));
+            }
+        }
+
+        return getExceptionFromOperation();
+    }
+
+    private BulkInsertAbortedException getExceptionFromOperation() {
+        if (_operationId == -1) {
+            return null;
+        }
+
+        try {
+            GetOperationStateOperation.GetOperationStateCommand stateRequest =
+                    new GetOperationStateOperation.GetOperationStateCommand(_conventions, _operationId);
+            _requestExecutor.execute(stateRequest);
+
+            ObjectNode state = stateRequest.getResult();
+            if (state == null || !"Faulted".equals(state.path("Status").asText())) {
+                return null;
+            }
+
+            JsonNode result = state.get("Result");
+            if (result == null || !result.has("Error")) {
+                return null;
+            }
+
+            return new BulkInsertAbortedException(result.get("Error").asText());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Kills the bulk insert operation on the server and stops sending the request.
+     */
+    public void abort() {
+        if (_operationId == -1) {
+            return; // nothing was sent yet, no need to kill anything
+        }
+
+        stopRequest(new BulkInsertAbortedException("Bulk insert was aborted"));
+
+        try {
+            _requestExecutor.execute(new KillOperationCommand(_operationId));
+        } catch (Exception e) {
+            throw new BulkInsertAbortedException("Unable to kill this bulk insert operation, because it was not found on the server.", e);
+        }
+    }
+
+    /**
+     * Finishes the request body and waits until server processes all the documents.
+     */
+    @Override
+    public void close() {
+        if (_closed) {
+            return;
+        }
+
+        _closed = true;
+
+        if (_currentWriter == null) {
+            return;
+        }
+
+        Exception flushException = null;
+        try {
+            _currentWriter.writeEndArray();
+            _currentWriter.close();
+            _streamExposerContent.done();
+        } catch (IOException e) {
+            flushException = e;
+            stopRequest(e);
+        }
+
+        try {
+            _bulkInsertExecuteTask.get();
+        } catch (InterruptedException | ExecutionException e) {
+            BulkInsertAbortedException error = getExceptionFromOperation();
+            if (error != null) {
+                throw error;
+            }
+
+            throw new BulkInsertAbortedException("Failed to execute bulk insert", ExceptionsUtils.unwrapException(e));
+        }
+
+        if (flushException != null) {
+            throw new BulkInsertAbortedException("Failed to complete bulk insert", flushException);
+        }
+    }
+
+    private void stopRequest(Exception reason) {
+        _streamExposerContent.errorOnProcessingRequest(reason);
+
+        Thread thread = _bulkInsertExecuteThread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Serializes entity straight into the request stream. Identity property of the entity is left out
+     * and metadata is written just before the end of the document.
+     */
+    private class DocumentWriter extends JsonGeneratorDelegate {
+        private final JsonGenerator _writer;
+        private JsonGenerator _discardWriter;
+
+        private Object _entity;
+        private IMetadataDictionary _metadata;
+        private String _identityProperty;
+        private int _depth;
+        private boolean _metadataWritten;
+
+        DocumentWriter(JsonGenerator writer) {
+            super(writer, false);
+            _writer = writer;
+        }
+
+        public void write(Object entity, IMetadataDictionary metadata) throws IOException {
+            Field identityProperty = _conventions.getIdentityProperty(entity.getClass());
+
+            _entity = entity;
+            _metadata = metadata;
+            _identityProperty = identityProperty != null ? identityProperty.getName() : null;
+            _depth = 0;
+            _metadataWritten = false;
+            delegate = _writer;
+
+            _entityWriter.writeValue(this, entity);
+
+            if (!_metadataWritten) {
+                throw new JsonGenerationException("Entity of type " + entity.getClass().getName() + " was not serialized as json object", this);
+            }
+        }
+
+        @Override
+        public void writeStartObject() throws IOException {
+            _depth++;
+            super.writeStartObject();
+        }
+
+        @Override
+        public void writeStartObject(Object forValue) throws IOException {
+            _depth++;
+            super.writeStartObject(forValue);
+        }
+
+        @Override
+        public void writeEndObject() throws IOException {
+            if (_depth-- == 1) {
+                delegate = _writer;
+                writeMetadata(_writer, _entity, _metadata);
+                _metadataWritten = true;
+            }
+
+            super.writeEndObject();
+        }
+
+        @Override
+        public void writeFieldName(String name) throws IOException {
+            if (!skipProperty(name)) {
+                super.writeFieldName(name);
+            }
+        }
+
+        @Override
+        public void writeFieldName(SerializableString name) throws IOException {
+            if (!skipProperty(name.getValue())) {
+                super.writeFieldName(name);
+            }
+        }
+
+        private boolean skipProperty(String name) throws IOException {
+            if (_depth != 1) {
+                return false;
+            }
+
+            // value of previously skipped property is complete at this point
+            delegate = _writer;
+
+            if (!name.equals(_identityProperty)) {
+                return false;
+            }
+
+            if (_discardWriter == null) {
+                _discardWriter = _mapper.getFactory().createGenerator(NullOutputStream.NULL_OUTPUT_STREAM);
+            }
+
+            delegate = _discardWriter;
+            return true;
+        }
+    }
+
+    private static class BulkInsertCommand extends VoidRavenCommand {
+        private final long _id;
+        private final StreamExposerContent _stream;
+
+        public BulkInsertCommand(long id, StreamExposerContent stream) {
+            _id = id;
+            _stream = stream;
+        }
+
+        @Override
+        public HttpRequestBase createRequest(ServerNode node, Reference<String> url) {
+            url.value = node.getUrl() + "/databases/" + node.getDatabase() + "/bulk_insert?id=" + _id;
+
+            HttpPost request = new HttpPost();
+            request.setEntity(_stream);
+            return request;
+        }
+    }
+
+    /**
+     * Exposes output stream of the HTTP request to the writing thread and keeps the request open
+     * until bulk insert is completed.
+     */
+    private static class StreamExposerContent extends AbstractHttpEntity {
+
+        private final CompletableFuture<OutputStream> _outputStream = new CompletableFuture<>();
+        private final CompletableFuture<Void> _done = new CompletableFuture<>();
+
+        public StreamExposerContent() {
+            setContentType(ContentType.APPLICATION_JSON.toString());
+            setChunked(true);
+        }
+
+        public CompletableFuture<OutputStream> getOutputStream() {
+            return _outputStream;
+        }
+
+        public void done() {
+            _done.complete(null);
+        }
+
+        public void errorOnProcessingRequest(Exception exception) {
+            _done.completeExceptionally(exception);
+        }
+
+        public void errorOnRequestStart(Exception exception) {
+            _outputStream.completeExceptionally(exception);
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return false;
+        }
+
+        @Override
+        public long getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public InputStream getContent() throws UnsupportedOperationException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void writeTo(OutputStream outputStream) throws IOException {
+            if (!_outputStream.complete(outputStream)) {
+                throw new IllegalStateException("Bulk insert request body cannot be sent more than once");
+            }
+
+            try {
+                _done.get();
+            } catch (InterruptedException | ExecutionException e) {
+                throw new IOException("Bulk insert was aborted", e);
+            }
+        }
+
+        @Override
+        public boolean isStreaming() {
+            return false;
+        }
+    }
+}
@@ -1,35 +1,52 @@
 package net.ravendb.client.documents;
 
+import net.ravendb.client.documents.changes.DatabaseChanges;
+import net.ravendb.client.documents.changes.EvictItemsFromCacheBasedOnChanges;
+import net.ravendb.client.documents.changes.IDatabaseChanges;
 import net.ravendb.client.documents.identity.MultiDatabaseHiLoIdGenerator;
 import net.ravendb.client.documents.operations.MaintenanceOperationExecutor;
 import net.ravendb.client.documents.operations.OperationExecutor;
 import net.ravendb.client.documents.session.DocumentSession;
 import net.ravendb.client.documents.session.IDocumentSession;
 import net.ravendb.client.documents.session.SessionOptions;
+import net.ravendb.client.documents.session.operations.SaveChangesCoalescer;
 import net.ravendb.client.http.AggressiveCacheOptions;
 import net.ravendb.client.http.RequestExecutor;
 import net.ravendb.client.primitives.*;
 import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Manages access to RavenDB and open sessions to work with RavenDB.
  */
 public class DocumentStore extends DocumentStoreBase {
-    //TBD:private readonly AtomicDictionary<IDatabaseChanges> _databaseChanges = new AtomicDictionary<IDatabaseChanges>(StringComparer.OrdinalIgnoreCase);
-    //TBD: private ConcurrentDictionary<string, Lazy<EvictItemsFromCacheBasedOnChanges>> _aggressiveCacheChanges = new ConcurrentDictionary<string, Lazy<EvictItemsFromCacheBasedOnChanges>>();
-    //TBD: private readonly ConcurrentDictionary<string, EvictItemsFromCacheBasedOnChanges> _observeChangesAndEvictItemsFromCacheForDatabases = new ConcurrentDictionary<string, EvictItemsFromCacheBasedOnChanges>();
+
+    private static final Log logger = LogFactory.getLog(DocumentStore.class);
+
+    private static final Duration AGGRESSIVE_CACHE_SUBSCRIPTION_TIMEOUT = Duration.ofSeconds(5);
+
+    private final ConcurrentMap<String, IDatabaseChanges> _databaseChanges = new ConcurrentSkipListMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    private final ConcurrentMap<String, EvictItemsFromCacheBasedOnChanges> _aggressiveCacheChanges = new ConcurrentSkipListMap<>(String.CASE_INSENSITIVE_ORDER);
 
     private final ConcurrentMap<String, RequestExecutor> requestExecutors = new ConcurrentSkipListMap<>(String.CASE_INSENSITIVE_ORDER);
 
+    private final ConcurrentMap<String, SaveChangesCoalescer> _saveChangesCoalescers = new ConcurrentSkipListMap<>(String.CASE_INSENSITIVE_ORDER);
+
     private MultiDatabaseHiLoIdGenerator _multiDbHiLo;
 
+    private BackgroundExecutor _backgroundExecutor;
+
     private MaintenanceOperationExecutor maintenanceOperationExecutor;
     private OperationExecutor operationExecutor;
 
@@ -78,23 +95,13 @@ public class DocumentStore extends DocumentStoreBase {
 
     public void close() {
         EventHelper.invoke(beforeClose, this, EventArgs.EMPTY);
-        /* TBD
-
-            foreach (var observeChangesAndEvictItemsFromCacheForDatabase in _observeChangesAndEvictItemsFromCacheForDatabases)
-                observeChangesAndEvictItemsFromCacheForDatabase.Value.Dispose();
-
-            var tasks = new List<Task>();
-            foreach (var changes in _databaseChanges)
-            {
-                using (changes.Value)
-                { }
-            }
-
-            // try to wait until all the async disposables are completed
-            Task.WaitAll(tasks.ToArray(), TimeSpan.FromSeconds(3));
-            // if this is still going, we continue with disposal, it is for graceful shutdown only, anyway
+        for (EvictItemsFromCacheBasedOnChanges value : _aggressiveCacheChanges.values()) {
+            value.close();
+        }
 
-*/
+        for (IDatabaseChanges changes : _databaseChanges.values()) {
+            changes.close();
+        }
 
         if (_multiDbHiLo != null) {
             try {
@@ -113,6 +120,10 @@ public class DocumentStore extends DocumentStoreBase {
         for (Map.Entry<String, RequestExecutor> kvp : requestExecutors.entrySet()) {
             kvp.getValue().close();
         }
+
+        if (_backgroundExecutor != null) {
+            _backgroundExecutor.close();
+        }
     }
 
     /**
@@ -143,7 +154,7 @@ public class DocumentStore extends DocumentStoreBase {
         String databaseName = ObjectUtils.firstNonNull(options.getDatabase(), getDatabase());
         RequestExecutor requestExecutor = ObjectUtils.firstNonNull(options.getRequestExecutor(), getRequestExecutor(databaseName));
 
-        DocumentSession session = new DocumentSession(databaseName, this, sessionId, requestExecutor);
+        DocumentSession session = new DocumentSession(databaseName, this, sessionId, requestExecutor, options);
         registerEvents(session);
         // AfterSessionCreated(session);
         return session;
@@ -169,9 +180,9 @@ public class DocumentStore extends DocumentStoreBase {
         }
 
         if (!getConventions().isDisableTopologyUpdates()) {
-            executor = RequestExecutor.create(getUrls(), getDatabase(), getCertificate(), getConventions());
+            executor = RequestExecutor.create(getUrls(), getDatabase(), getCertificate(), getConventions(), _backgroundExecutor);
         } else {
-            executor = RequestExecutor.createForSingleNodeWithConfigurationUpdates(getUrls()[0], getDatabase(), getCertificate(), getConventions());
+            executor = RequestExecutor.createForSingleNodeWithConfigurationUpdates(getUrls()[0], getDatabase(), getCertificate(), getConventions(), _backgroundExecutor);
         }
 
         requestExecutors.put(database, executor);
@@ -179,6 +190,29 @@ public class DocumentStore extends DocumentStoreBase {
         return executor;
     }
 
+    @Override
+    public BackgroundExecutor getBackgroundExecutor() {
+        return _backgroundExecutor;
+    }
+
+    /**
+     * Gets coalescer which merges saveChanges calls of concurrent sessions.
+     * @param database Database name
+     * @return coalescer or null if coalescing is disabled in conventions
+     */
+    public SaveChangesCoalescer getSaveChangesCoalescer(String database) {
+        if (getConventions().getSaveChangesCoalescingWindow() == null) {
+            return null;
+        }
+
+        if (database == null) {
+            database = getDatabase();
+        }
+
+        return _saveChangesCoalescers.computeIfAbsent(database,
+                db -> new SaveChangesCoalescer(getRequestExecutor(db), getConventions()));
+    }
+
     /**
      * Initializes this instance.
      */
@@ -191,6 +225,8 @@ public class DocumentStore extends DocumentStoreBase {
         assertValidConfiguration();
 
         try {
+            _backgroundExecutor = new BackgroundExecutor("RavenDB-Background", getConventions().getBackgroundThreads(), getConventions().getBackgroundQueueCapacity());
+
             if (getConventions().getDocumentIdGenerator() == null) { // don't overwrite what the user is doing
                 MultiDatabaseHiLoIdGenerator generator = new MultiDatabaseHiLoIdGenerator(this, getConventions());
                 _multiDbHiLo = generator;
@@ -238,17 +274,101 @@ public class DocumentStore extends DocumentStoreBase {
      */
     public CleanCloseable disableAggressiveCaching(String databaseName) {
         assertInitialized();
-        RequestExecutor re = getRequestExecutor(ObjectUtils.firstNonNull(database, getDatabase()));
+        RequestExecutor re = getRequestExecutor(ObjectUtils.firstNonNull(databaseName, getDatabase()));
         AggressiveCacheOptions old = re.AggressiveCaching.get();
         re.AggressiveCaching.set(null);
 
         return () -> re.AggressiveCaching.set(old);
     }
 
-    //TBD public override IDatabaseChanges Changes(string database = null)
-    //TBD protected virtual IDatabaseChanges CreateDatabaseChanges(string database)
-    //TBD public override IDisposable AggressivelyCacheFor(TimeSpan cacheDuration, string database = null)
-    //TBD private void ListenToChangesAndUpdateTheCache(string database)
+    @Override
+    public IDatabaseChanges changes() {
+        return changes(null);
+    }
+
+    @Override
+    public IDatabaseChanges changes(String database) {
+        assertInitialized();
+
+        String databaseName = ObjectUtils.firstNonNull(database, getDatabase());
+
+        IDatabaseChanges changes = _databaseChanges.get(databaseName);
+        if (changes != null) {
+            return changes;
+        }
+
+        // creating changes starts a background connection, make sure we do that only once per database
+        synchronized (_databaseChanges) {
+            return _databaseChanges.computeIfAbsent(databaseName, this::createDatabaseChanges);
+        }
+    }
+
+    protected IDatabaseChanges createDatabaseChanges(String database) {
+        return new DatabaseChanges(getRequestExecutor(database), database, () -> _databaseChanges.remove(database));
+    }
+
+    @Override
+    public CleanCloseable aggressivelyCacheFor(Duration cacheDuration) {
+        return aggressivelyCacheFor(cacheDuration, null);
+    }
+
+    @Override
+    public CleanCloseable aggressivelyCacheFor(Duration cacheDuration, String database) {
+        assertInitialized();
+
+        database = ObjectUtils.firstNonNull(database, getDatabase());
+        if (database == null) {
+            throw new IllegalStateException("Cannot use aggressivelyCache and aggressivelyCacheFor without a default database defined " +
+                    "unless 'database' parameter is provided. Did you forget to pass 'database' parameter?");
+        }
+
+        listenToChangesAndUpdateTheCache(database);
+
+        RequestExecutor re = getRequestExecutor(database);
+        AggressiveCacheOptions old = re.AggressiveCaching.get();
+        re.AggressiveCaching.set(new AggressiveCacheOptions(cacheDuration));
+
+        return () -> re.AggressiveCaching.set(old);
+    }
+
+    private void listenToChangesAndUpdateTheCache(String database) {
+        _aggressiveCachingUsed = true;
+
+        if (_aggressiveCacheChanges.containsKey(database)) {
+            return; // lost connection is restored and subscribed again in the background
+        }
+
+        EvictItemsFromCacheBasedOnChanges evict;
+        synchronized (_aggressiveCacheChanges) {
+            if (_aggressiveCacheChanges.containsKey(database)) {
+                return;
+            }
+
+            try {
+                evict = new EvictItemsFromCacheBasedOnChanges(this, database);
+            } catch (Exception e) {
+                logSubscriptionFailure(database, e);
+                return; // next call will try to subscribe again
+            }
+
+            _aggressiveCacheChanges.put(database, evict);
+        }
+
+        try {
+            // changes made before we are subscribed wouldn't evict anything, but we don't wait for them forever,
+            // until subscribed, cached items are served as long as the aggressive cache duration allows
+            evict.ensureSubscribedNow().get(AGGRESSIVE_CACHE_SUBSCRIPTION_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            logSubscriptionFailure(database, ExceptionsUtils.unwrapException(e));
+        }
+    }
+
+    private static void logSubscriptionFailure(String database, Exception e) {
+        if (logger.isWarnEnabled()) {
+            logger.warn("Unable to subscribe to changes of database " + database + ", aggressively cached items "
+                    + "are not evicted when documents change, they expire only after the aggressive cache duration", e);
+        }
+    }
 
     private final List<EventHandler<VoidArgs>> afterClose = new ArrayList<>();
 
@@ -292,5 +412,15 @@ public class DocumentStore extends DocumentStoreBase {
         return operationExecutor;
     }
 
-    // TBD public override BulkInsertOperation BulkInsert(string database = null)
+    @Override
+    public BulkInsertOperation bulkInsert() {
+        return bulkInsert(null);
+    }
+
+    @Override
+    public BulkInsertOperation bulkInsert(String database) {
+        assertInitialized();
+
+        return new BulkInsertOperation(ObjectUtils.firstNonNull(database, getDatabase()), this);
+    }
 }
@@ -1,5 +1,6 @@
 package net.ravendb.client.documents;
 
+import net.ravendb.client.documents.changes.IDatabaseChanges;
 import net.ravendb.client.documents.conventions.DocumentConventions;
 import net.ravendb.client.documents.indexes.AbstractIndexCreationTask;
 import net.ravendb.client.documents.indexes.IndexCreation;
@@ -9,6 +10,8 @@ import net.ravendb.client.documents.operations.OperationExecutor;
 import net.ravendb.client.documents.operations.indexes.PutIndexesOperation;
 import net.ravendb.client.documents.session.*;
 import net.ravendb.client.http.RequestExecutor;
+import net.ravendb.client.primitives.BackgroundExecutor;
+import net.ravendb.client.primitives.CleanCloseable;
 import net.ravendb.client.primitives.EventHandler;
 import net.ravendb.client.primitives.VoidArgs;
 import org.apache.commons.lang3.ObjectUtils;
@@ -17,6 +20,7 @@ import org.apache.commons.lang3.StringUtils;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.security.KeyStore;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -50,9 +54,13 @@ public abstract class DocumentStoreBase implements IDocumentStore {
         return disposed;
     }
 
-    //TBD: public abstract IDisposable AggressivelyCacheFor(TimeSpan cacheDuration, string database = null);
+    public abstract CleanCloseable aggressivelyCacheFor(Duration cacheDuration);
 
-    //TBD: public abstract IDatabaseChanges Changes(string database = null);
+    public abstract CleanCloseable aggressivelyCacheFor(Duration cacheDuration, String database);
+
+    public abstract IDatabaseChanges changes();
+
+    public abstract IDatabaseChanges changes(String database);
 
     //TBD: public abstract IDisposable DisableAggressiveCaching(string database = null);
 
@@ -140,7 +148,10 @@ public abstract class DocumentStoreBase implements IDocumentStore {
 
     private KeyStore _certificate;
 
-    //TBD: public abstract BulkInsertOperation BulkInsert(string database = null);
+    public abstract BulkInsertOperation bulkInsert();
+
+    public abstract BulkInsertOperation bulkInsert(String database);
+
     //TBD: public IReliableSubscriptions Subscriptions { get; }
 
     protected void ensureNotClosed() {
@@ -226,7 +237,18 @@ public abstract class DocumentStoreBase implements IDocumentStore {
 
     public abstract RequestExecutor getRequestExecutor(String databaseName);
 
-    //TBD public IDisposable AggressivelyCache(string database = null)
+    /**
+     * @return Executor of background work (topology updates, health checks etc.) owned by this store
+     */
+    public abstract BackgroundExecutor getBackgroundExecutor();
+
+    public CleanCloseable aggressivelyCache() {
+        return aggressivelyCache(null);
+    }
+
+    public CleanCloseable aggressivelyCache(String database) {
+        return aggressivelyCacheFor(Duration.ofDays(1), database);
+    }
 
     protected void registerEvents(InMemoryDocumentSessionOperations session) {
         for (EventHandler<BeforeStoreEventArgs> handler : onBeforeStore) {
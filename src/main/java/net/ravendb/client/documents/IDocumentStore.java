@@ -1,5 +1,6 @@
 package net.ravendb.client.documents;
 
+import net.ravendb.client.documents.changes.IDatabaseChanges;
 import net.ravendb.client.documents.conventions.DocumentConventions;
 import net.ravendb.client.documents.indexes.AbstractIndexCreationTask;
 import net.ravendb.client.documents.operations.MaintenanceOperationExecutor;
@@ -11,6 +12,7 @@ import net.ravendb.client.primitives.EventHandler;
 import net.ravendb.client.util.IDisposalNotification;
 
 import java.security.KeyStore;
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -32,9 +34,46 @@ public interface IDocumentStore extends IDisposalNotification {
     void addBeforeQueryListener(EventHandler<BeforeQueryEventArgs> handler);
     void removeBeforeQueryListener(EventHandler<BeforeQueryEventArgs> handler);
 
-    //TBD: IDatabaseChanges Changes(string database = null);
-    //TBD: IDisposable AggressivelyCacheFor(TimeSpan cacheDuration, string database = null);
-    //TBD IDisposable AggressivelyCache(string database = null);
+    /**
+     * Subscribe to change notifications from the server
+     * @return Database changes object
+     */
+    IDatabaseChanges changes();
+
+    /**
+     * Subscribe to change notifications from the server
+     * @param database Database name
+     * @return Database changes object
+     */
+    IDatabaseChanges changes(String database);
+
+    /**
+     * Setup the context for aggressive caching.
+     * @param cacheDuration Specify the aggressive cache duration
+     * @return Self closing context
+     */
+    CleanCloseable aggressivelyCacheFor(Duration cacheDuration);
+
+    /**
+     * Setup the context for aggressive caching.
+     * @param cacheDuration Specify the aggressive cache duration
+     * @param database The database to cache, if not specified, the default database will be used
+     * @return Self closing context
+     */
+    CleanCloseable aggressivelyCacheFor(Duration cacheDuration, String database);
+
+    /**
+     * Setup the context for aggressive caching for one day.
+     * @return Self closing context
+     */
+    CleanCloseable aggressivelyCache();
+
+    /**
+     * Setup the context for aggressive caching for one day.
+     * @param database The database to cache, if not specified, the default database will be used
+     * @return Self closing context
+     */
+    CleanCloseable aggressivelyCache(String database);
 
     /**
      * Setup the context for no aggressive caching
@@ -133,7 +172,19 @@ public interface IDocumentStore extends IDisposalNotification {
      */
     String[] getUrls();
 
-    //TBD: BulkInsertOperation BulkInsert(string database = null);
+    /**
+     * Opens bulk insert operation for default database
+     * @return Bulk insert operation
+     */
+    BulkInsertOperation bulkInsert();
+
+    /**
+     * Opens bulk insert operation for given database
+     * @param database Database name
+     * @return Bulk insert operation
+     */
+    BulkInsertOperation bulkInsert(String database);
+
     //TBD: IReliableSubscriptions Subscriptions { get; }
 
     String getDatabase();
@@ -0,0 +1,44 @@
+package net.ravendb.client.documents;
+
+import java.util.function.Supplier;
+
+/**
+ * Provides support for lazy initialization
+ * @param <T> value type
+ */
+public class Lazy<T> {
+
+    private final Supplier<T> valueFactory;
+    private volatile boolean valueCreated;
+    private T value;
+
+    public Lazy(Supplier<T> valueFactory) {
+        this.valueFactory = valueFactory;
+    }
+
+    /**
+     * @return true if a value has been created for this Lazy instance
+     */
+    public boolean isValueCreated() {
+        return valueCreated;
+    }
+
+    /**
+     * Gets the lazily initialized value of the current instance
+     * @return Lazy value
+     */
+    public T getValue() {
+        if (valueCreated) {
+            return value;
+        }
+
+        synchronized (this) {
+            if (!valueCreated) {
+                value = valueFactory.get();
+                valueCreated = true;
+            }
+        }
+
+        return value;
+    }
+}
@@ -0,0 +1,25 @@
+package net.ravendb.client.documents.changes;
+
+import java.util.function.Consumer;
+
+public class ActionObserver<T> implements IObserver<T> {
+
+    private final Consumer<T> _action;
+
+    public ActionObserver(Consumer<T> action) {
+        _action = action;
+    }
+
+    @Override
+    public void onNext(T value) {
+        _action.accept(value);
+    }
+
+    @Override
+    public void onError(Exception error) {
+    }
+
+    @Override
+    public void onCompleted() {
+    }
+}
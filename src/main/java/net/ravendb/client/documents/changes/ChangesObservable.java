@@ -0,0 +1,47 @@
+package net.ravendb.client.documents.changes;
+
+import net.ravendb.client.primitives.CleanCloseable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+public class ChangesObservable<T> implements IChangesObservable<T> {
+
+    private final ChangesType _type;
+    private final DatabaseConnectionState _connectionState;
+    private final Predicate<T> _filter;
+
+    public ChangesObservable(ChangesType type, DatabaseConnectionState connectionState, Predicate<T> filter) {
+        _type = type;
+        _connectionState = connectionState;
+        _filter = filter;
+    }
+
+    @Override
+    public CleanCloseable subscribe(IObserver<T> observer) {
+        Consumer<T> consumer = payload -> {
+            if (_filter.test(payload)) {
+                observer.onNext(payload);
+            }
+        };
+        Consumer<Exception> onErrorHandler = observer::onError;
+
+        _connectionState.addOnChangeNotification(_type, consumer);
+        _connectionState.addOnError(onErrorHandler);
+
+        _connectionState.inc();
+
+        return () -> {
+            _connectionState.dec();
+            _connectionState.removeOnChangeNotification(_type, consumer);
+            _connectionState.removeOnError(onErrorHandler);
+            observer.onCompleted();
+        };
+    }
+
+    @Override
+    public CompletableFuture<Void> ensureSubscribedNow() {
+        return _connectionState.ensureSubscribedNow();
+    }
+}
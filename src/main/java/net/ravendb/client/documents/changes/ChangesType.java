@@ -0,0 +1,7 @@
+package net.ravendb.client.documents.changes;
+
+public enum ChangesType {
+    DOCUMENT,
+    INDEX,
+    OPERATION
+}
@@ -0,0 +1,7 @@
+package net.ravendb.client.documents.changes;
+
+/**
+ * Marker interface for notifications sent by database changes API
+ */
+public interface DatabaseChange {
+}
@@ -0,0 +1,531 @@
+package net.ravendb.client.documents.changes;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.exceptions.changes.ChangeProcessingException;
+import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.http.RequestExecutor;
+import net.ravendb.client.primitives.*;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.ssl.SSLContexts;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ScheduledExecutorScheduler;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.WebSocketListener;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
+
+import java.io.IOException;
+import java.net.URI;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Changes API client for single database. All subscriptions are multiplexed over single web socket,
+ * which is automatically reconnected (and resubscribed) when connection is lost.
+ */
+public class DatabaseChanges implements IDatabaseChanges {
+
+    private static final int MAX_MESSAGE_SIZE = 64 * 1024 * 1024;
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(15);
+
+    private int _commandId;
+
+    private final Object _sendLock = new Object();
+
+    private final ExecutorService _executorService;
+    private final RequestExecutor _requestExecutor;
+    private final DocumentConventions _conventions;
+    private final String _database;
+
+    private final Runnable _onDispose;
+
+    private final WebSocketClient _client;
+    private volatile Session _clientSession;
+
+    private final CompletableFuture<Void> _task;
+    private final CancellationTokenSource _cts;
+    private volatile CompletableFuture<IDatabaseChanges> _tcs = new CompletableFuture<>();
+
+    private final ConcurrentMap<Integer, CompletableFuture<Void>> _confirmations = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, DatabaseConnectionState> _counters = new ConcurrentSkipListMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    private final AtomicInteger _immediateConnection = new AtomicInteger();
+
+    private final ObjectMapper _mapper = JsonExtensions.getDefaultMapper();
+
+    private final List<EventHandler<VoidArgs>> _connectionStatusChanged = new CopyOnWriteArrayList<>();
+
+    private final List<Consumer<Exception>> _onError = new CopyOnWriteArrayList<>();
+
+    public DatabaseChanges(RequestExecutor requestExecutor, String databaseName, Runnable onDispose) {
+        _requestExecutor = requestExecutor;
+        _conventions = requestExecutor.getConventions();
+        _database = databaseName;
+        _onDispose = onDispose;
+
+        _client = createWebSocketClient(requestExecutor.getCertificate());
+
+        _executorService = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "RavenDB changes - " + databaseName);
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        _cts = new CancellationTokenSource();
+        _task = CompletableFuture.runAsync(this::doWork, _executorService);
+    }
+
+    private static WebSocketClient createWebSocketClient(KeyStore certificate) {
+        SslContextFactory sslContextFactory = new SslContextFactory();
+
+        if (certificate != null) {
+            try {
+                sslContextFactory.setSslContext(SSLContexts.custom()
+                        .loadKeyMaterial(certificate, "".toCharArray())
+                        .build());
+            } catch (Exception e) {
+                throw new IllegalStateException("Unable to configure ssl context: " + e.getMessage(), e);
+            }
+        }
+
+        // web socket client must not keep the application alive, so both its pools use daemon threads
+        QueuedThreadPool threadPool = new QueuedThreadPool();
+        threadPool.setName("RavenDB changes - WebSocketClient");
+        threadPool.setDaemon(true);
+
+        WebSocketClient client = new WebSocketClient(sslContextFactory, threadPool);
+        client.getHttpClient().setScheduler(new ScheduledExecutorScheduler("RavenDB changes - WebSocketClient scheduler", true));
+        client.getPolicy().setMaxTextMessageSize(MAX_MESSAGE_SIZE);
+
+        try {
+            client.start();
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to start web socket client: " + e.getMessage(), e);
+        }
+
+        return client;
+    }
+
+    @Override
+    public boolean isConnected() {
+        Session session = _clientSession;
+        return session != null && session.isOpen();
+    }
+
+    /**
+     * Waits for the connection to the server. Failure of the current connection attempt is thrown,
+     * the connection is still retried in the background.
+     */
+    @Override
+    public IDatabaseChanges ensureConnectedNow() {
+        if (_cts.getToken().isCancellationRequested()) {
+            throw new IllegalStateException("Changes API was closed");
+        }
+
+        // single attempt is limited by connect timeout, but the next one might start only after reconnect delay
+        return ExceptionsUtils.accept(() -> _tcs.get(2 * CONNECT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public void addConnectionStatusChanged(EventHandler<VoidArgs> handler) {
+        _connectionStatusChanged.add(handler);
+    }
+
+    @Override
+    public void removeConnectionStatusChanged(EventHandler<VoidArgs> handler) {
+        _connectionStatusChanged.remove(handler);
+    }
+
+    @Override
+    public void addOnError(Consumer<Exception> handler) {
+        _onError.add(handler);
+    }
+
+    @Override
+    public void removeOnError(Consumer<Exception> handler) {
+        _onError.remove(handler);
+    }
+
+    @Override
+    public IChangesObservable<IndexChange> forIndex(String indexName) {
+        if (StringUtils.isWhitespace(indexName)) {
+            throw new IllegalArgumentException("IndexName cannot be null or whitespace");
+        }
+
+        DatabaseConnectionState counter = getOrAddConnectionState("indexes/" + indexName, "watch-index", "unwatch-index", indexName);
+
+        return new ChangesObservable<>(ChangesType.INDEX, counter,
+                notification -> StringUtils.equalsIgnoreCase(notification.getName(), indexName));
+    }
+
+    @Override
+    public IChangesObservable<DocumentChange> forDocument(String docId) {
+        if (StringUtils.isWhitespace(docId)) {
+            throw new IllegalArgumentException("DocumentId cannot be null or whitespace");
+        }
+
+        DatabaseConnectionState counter = getOrAddConnectionState("docs/" + docId, "watch-doc", "unwatch-doc", docId);
+
+        return new ChangesObservable<>(ChangesType.DOCUMENT, counter,
+                notification -> StringUtils.equalsIgnoreCase(notification.getId(), docId));
+    }
+
+    @Override
+    public IChangesObservable<DocumentChange> forAllDocuments() {
+        DatabaseConnectionState counter = getOrAddConnectionState("all-docs", "watch-docs", "unwatch-docs", null);
+
+        return new ChangesObservable<>(ChangesType.DOCUMENT, counter, notification -> true);
+    }
+
+    @Override
+    public IChangesObservable<OperationStatusChange> forOperationId(long operationId) {
+        DatabaseConnectionState counter = getOrAddConnectionState("operations/" + operationId, "watch-operation", "unwatch-operation", String.valueOf(operationId));
+
+        return new ChangesObservable<>(ChangesType.OPERATION, counter,
+                notification -> notification.getOperationId() == operationId);
+    }
+
+    @Override
+    public IChangesObservable<OperationStatusChange> forAllOperations() {
+        DatabaseConnectionState counter = getOrAddConnectionState("all-operations", "watch-operations", "unwatch-operations", null);
+
+        return new ChangesObservable<>(ChangesType.OPERATION, counter, notification -> true);
+    }
+
+    @Override
+    public IChangesObservable<IndexChange> forAllIndexes() {
+        DatabaseConnectionState counter = getOrAddConnectionState("all-indexes", "watch-indexes", "unwatch-indexes", null);
+
+        return new ChangesObservable<>(ChangesType.INDEX, counter, notification -> true);
+    }
+
+    @Override
+    public IChangesObservable<DocumentChange> forDocumentsStartingWith(String docIdPrefix) {
+        if (StringUtils.isWhitespace(docIdPrefix)) {
+            throw new IllegalArgumentException("DocumentIdPrefix cannot be null or whitespace");
+        }
+
+        DatabaseConnectionState counter = getOrAddConnectionState("prefixes/" + docIdPrefix, "watch-prefix", "unwatch-prefix", docIdPrefix);
+
+        return new ChangesObservable<>(ChangesType.DOCUMENT, counter,
+                notification -> notification.getId() != null && StringUtils.startsWithIgnoreCase(notification.getId(), docIdPrefix));
+    }
+
+    @Override
+    public IChangesObservable<DocumentChange> forDocumentsInCollection(String collectionName) {
+        if (StringUtils.isWhitespace(collectionName)) {
+            throw new IllegalArgumentException("CollectionName cannot be null or whitespace");
+        }
+
+        DatabaseConnectionState counter = getOrAddConnectionState("collections/" + collectionName, "watch-collection", "unwatch-collection", collectionName);
+
+        return new ChangesObservable<>(ChangesType.DOCUMENT, counter,
+                notification -> StringUtils.equalsIgnoreCase(collectionName, notification.getCollectionName()));
+    }
+
+    @Override
+    public IChangesObservable<DocumentChange> forDocumentsInCollection(Class<?> clazz) {
+        String collectionName = _conventions.getCollectionName(clazz);
+        return forDocumentsInCollection(collectionName);
+    }
+
+    @Override
+    public void close() {
+        for (CompletableFuture<Void> confirmation : _confirmations.values()) {
+            confirmation.cancel(false);
+        }
+
+        _cts.cancel();
+
+        _tcs.completeExceptionally(new IllegalStateException("Changes API was closed"));
+
+        Session session = _clientSession;
+        if (session != null) {
+            session.close();
+        }
+
+        try {
+            _client.stop();
+        } catch (Exception e) {
+            // ignore
+        }
+
+        for (DatabaseConnectionState state : _counters.values()) {
+            state.close();
+        }
+        _counters.clear();
+
+        try {
+            _task.get(3, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            // we are closing anyway
+        }
+
+        _executorService.shutdownNow();
+
+        _connectionStatusChanged.clear();
+        _onError.clear();
+
+        if (_onDispose != null) {
+            _onDispose.run();
+        }
+    }
+
+    private DatabaseConnectionState getOrAddConnectionState(String name, String watchCommand, String unwatchCommand, String value) {
+        Reference<Boolean> newValue = new Reference<>(false);
+
+        DatabaseConnectionState counter = _counters.computeIfAbsent(name, s -> {
+            newValue.value = true;
+
+            return new DatabaseConnectionState(() -> send(watchCommand, value), () -> {
+                try {
+                    if (isConnected()) {
+                        return send(unwatchCommand, value);
+                    }
+                    return CompletableFuture.completedFuture(null);
+                } finally {
+                    _counters.remove(name);
+                }
+            });
+        });
+
+        // try to reconnect
+        if (newValue.value && _immediateConnection.get() != 0) {
+            counter.set(counter.onConnect());
+        }
+
+        return counter;
+    }
+
+    private CompletableFuture<Void> send(String command, String value) {
+        CompletableFuture<Void> taskCompletionSource = new CompletableFuture<>();
+
+        int currentCommandId = -1;
+        try {
+            synchronized (_sendLock) {
+                currentCommandId = ++_commandId;
+
+                ObjectNode payload = _mapper.createObjectNode();
+                payload.put("CommandId", currentCommandId);
+                payload.put("Command", command);
+                payload.put("Param", value);
+
+                _confirmations.put(currentCommandId, taskCompletionSource);
+
+                Session session = _clientSession;
+                if (session == null) {
+                    throw new IllegalStateException("Changes API is not connected to the server");
+                }
+
+                session.getRemote().sendString(_mapper.writeValueAsString(payload));
+            }
+        } catch (Exception e) {
+            _confirmations.remove(currentCommandId);
+            taskCompletionSource.completeExceptionally(e);
+        }
+
+        return taskCompletionSource;
+    }
+
+    private void doWork() {
+        try {
+            connectAndProcess();
+        } finally {
+            _tcs.completeExceptionally(new IllegalStateException("Changes API was closed"));
+        }
+    }
+
+    private void connectAndProcess() {
+        boolean wasConnected = false;
+
+        while (!_cts.getToken().isCancellationRequested()) {
+            WebSocketChangesProcessor processor = new WebSocketChangesProcessor();
+
+            try {
+                if (!isConnected()) {
+                    String url = _requestExecutor.getPreferredNode().currentNode.getUrl()
+                            .replaceFirst("^http", "ws") + "/databases/" + _database + "/changes";
+
+                    Future<Session> connect = _client.connect(processor, new URI(url));
+                    try {
+                        _clientSession = connect.get(CONNECT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+                    } catch (TimeoutException e) {
+                        connect.cancel(true);
+                        throw e;
+                    }
+
+                    wasConnected = true;
+                    _immediateConnection.set(1);
+
+                    for (DatabaseConnectionState counter : _counters.values()) {
+                        counter.set(counter.onConnect());
+                    }
+
+                    _tcs.complete(this);
+
+                    EventHelper.invoke(_connectionStatusChanged, this, EventArgs.EMPTY);
+                }
+
+                processor.processing.get();
+            } catch (Exception e) {
+                if (_cts.getToken().isCancellationRequested()) {
+                    return;
+                }
+
+                if (wasConnected) {
+                    EventHelper.invoke(_connectionStatusChanged, this, EventArgs.EMPTY);
+                }
+
+                wasConnected = false;
+                _clientSession = null;
+                _immediateConnection.set(0);
+
+                // we don't report this error to the user since we can automatically recover from it,
+                // but any pending subscription should know that it wasn't confirmed
+                Exception cause = ExceptionsUtils.unwrapException(e);
+
+                for (Map.Entry<Integer, CompletableFuture<Void>> confirmation : _confirmations.entrySet()) {
+                    confirmation.getValue().completeExceptionally(cause);
+                    _confirmations.remove(confirmation.getKey());
+                }
+
+                for (DatabaseConnectionState state : _counters.values()) {
+                    state.error(cause);
+                }
+
+                // whoever waits for the connection gets the error, new callers wait for the next attempt
+                CompletableFuture<IDatabaseChanges> failedConnection = _tcs;
+                _tcs = new CompletableFuture<>();
+                failedConnection.completeExceptionally(cause);
+
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void processMessage(String message) {
+        try (JsonParser parser = _mapper.getFactory().createParser(message)) {
+            JsonNode node;
+            while ((node = _mapper.readTree(parser)) != null) {
+                if (node.isArray()) {
+                    for (JsonNode item : node) {
+                        processItem(item);
+                    }
+                } else if (node.isObject()) {
+                    processItem(node);
+                }
+            }
+        } catch (Exception e) {
+            notifyAboutError(new ChangeProcessingException(e));
+        }
+    }
+
+    private void processItem(JsonNode item) throws IOException {
+        JsonNode typeNode = item.get("Type");
+        if (typeNode == null) {
+            return;
+        }
+
+        switch (typeNode.asText()) {
+            case "Error":
+                String exceptionAsString = item.path("Exception").asText();
+                notifyAboutError(new ChangeProcessingException(exceptionAsString));
+                break;
+            case "Confirm":
+                int commandId = item.path("CommandId").asInt();
+                CompletableFuture<Void> confirmation = _confirmations.remove(commandId);
+                if (confirmation != null) {
+                    confirmation.complete(null);
+                }
+                break;
+            default:
+                notifySubscribers(typeNode.asText(), item.get("Value"));
+                break;
+        }
+    }
+
+    private void notifySubscribers(String type, JsonNode value) throws IOException {
+        if (value == null) {
+            return;
+        }
+
+        switch (type) {
+            case "DocumentChange":
+                DocumentChange documentChange = _mapper.treeToValue(value, DocumentChange.class);
+                for (DatabaseConnectionState state : _counters.values()) {
+                    state.send(documentChange);
+                }
+                break;
+            case "IndexChange":
+                IndexChange indexChange = _mapper.treeToValue(value, IndexChange.class);
+                for (DatabaseConnectionState state : _counters.values()) {
+                    state.send(indexChange);
+                }
+                break;
+            case "OperationStatusChange":
+                OperationStatusChange operationStatusChange = _mapper.treeToValue(value, OperationStatusChange.class);
+                for (DatabaseConnectionState state : _counters.values()) {
+                    state.send(operationStatusChange);
+                }
+                break;
+            default:
+                // notification type we don't understand (i.e. sent by newer server), skip it
+                break;
+        }
+    }
+
+    private void notifyAboutError(Exception e) {
+        if (_cts.getToken().isCancellationRequested()) {
+            return;
+        }
+
+        EventHelper.invoke(_onError, e);
+
+        for (DatabaseConnectionState state : _counters.values()) {
+            state.error(e);
+        }
+    }
+
+    private class WebSocketChangesProcessor implements WebSocketListener {
+
+        public final CompletableFuture<Void> processing = new CompletableFuture<>();
+
+        @Override
+        public void onWebSocketConnect(Session session) {
+        }
+
+        @Override
+        public void onWebSocketText(String message) {
+            processMessage(message);
+        }
+
+        @Override
+        public void onWebSocketBinary(byte[] payload, int offset, int len) {
+        }
+
+        @Override
+        public void onWebSocketClose(int statusCode, String reason) {
+            processing.completeExceptionally(new IllegalStateException("Changes API connection was closed: " + statusCode + " " + reason));
+        }
+
+        @Override
+        public void onWebSocketError(Throwable cause) {
+            processing.completeExceptionally(cause);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package net.ravendb.client.documents.changes;
+
+import net.ravendb.client.primitives.CleanCloseable;
+import net.ravendb.client.primitives.EventHelper;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Keeps track of subscribers of single server side subscription (i.e. watch-doc for given document)
+ */
+public class DatabaseConnectionState implements CleanCloseable {
+
+    private final List<Consumer<Exception>> onError = new CopyOnWriteArrayList<>();
+
+    private final Supplier<CompletableFuture<Void>> _onDisconnect;
+    private final Supplier<CompletableFuture<Void>> _onConnect;
+
+    private final AtomicInteger _value = new AtomicInteger();
+    private volatile Exception lastException;
+
+    private final CompletableFuture<Void> _firstSet = new CompletableFuture<>();
+
+    private volatile CompletableFuture<Void> _connected;
+
+    private final List<Consumer<DocumentChange>> onDocumentChangeNotification = new CopyOnWriteArrayList<>();
+    private final List<Consumer<IndexChange>> onIndexChangeNotification = new CopyOnWriteArrayList<>();
+    private final List<Consumer<OperationStatusChange>> onOperationStatusChangeNotification = new CopyOnWriteArrayList<>();
+
+    public DatabaseConnectionState(Supplier<CompletableFuture<Void>> onConnect, Supplier<CompletableFuture<Void>> onDisconnect) {
+        _onConnect = onConnect;
+        _onDisconnect = onDisconnect;
+    }
+
+    public Exception getLastException() {
+        return lastException;
+    }
+
+    public CompletableFuture<Void> onConnect() {
+        return _onConnect.get();
+    }
+
+    public void set(CompletableFuture<Void> connection) {
+        if (!_firstSet.isDone()) {
+            connection.whenComplete((result, error) -> {
+                if (error != null) {
+                    _firstSet.completeExceptionally(error);
+                } else {
+                    _firstSet.complete(null);
+                }
+            });
+        }
+
+        _connected = connection;
+    }
+
+    public void inc() {
+        _value.incrementAndGet();
+    }
+
+    public void dec() {
+        if (_value.decrementAndGet() == 0) {
+            set(_onDisconnect.get());
+        }
+    }
+
+    public void error(Exception e) {
+        CompletableFuture<Void> failed = new CompletableFuture<>();
+        failed.completeExceptionally(e);
+        set(failed);
+
+        lastException = e;
+        EventHelper.invoke(onError, e);
+    }
+
+    public CompletableFuture<Void> ensureSubscribedNow() {
+        CompletableFuture<Void> connected = _connected;
+        return connected != null ? connected : _firstSet;
+    }
+
+    @Override
+    public void close() {
+        CompletableFuture<Void> disposed = new CompletableFuture<>();
+        disposed.completeExceptionally(new IllegalStateException("Changes API connection state was closed"));
+        set(disposed);
+
+        onDocumentChangeNotification.clear();
+        onIndexChangeNotification.clear();
+        onOperationStatusChangeNotification.clear();
+        onError.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> void addOnChangeNotification(ChangesType type, Consumer<T> handler) {
+        switch (type) {
+            case DOCUMENT:
+                onDocumentChangeNotification.add((Consumer<DocumentChange>) handler);
+                break;
+            case INDEX:
+                onIndexChangeNotification.add((Consumer<IndexChange>) handler);
+                break;
+            case OPERATION:
+                onOperationStatusChangeNotification.add((Consumer<OperationStatusChange>) handler);
+                break;
+            default:
+                throw new IllegalStateException("ChangeType: " + type + " is not supported");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> void removeOnChangeNotification(ChangesType type, Consumer<T> handler) {
+        switch (type) {
+            case DOCUMENT:
+                onDocumentChangeNotification.remove(handler);
+                break;
+            case INDEX:
+                onIndexChangeNotification.remove(handler);
+                break;
+            case OPERATION:
+                onOperationStatusChangeNotification.remove(handler);
+                break;
+            default:
+                throw new IllegalStateException("ChangeType: " + type + " is not supported");
+        }
+    }
+
+    public void addOnError(Consumer<Exception> handler) {
+        onError.add(handler);
+    }
+
+    public void removeOnError(Consumer<Exception> handler) {
+        onError.remove(handler);
+    }
+
+    public void send(DocumentChange documentChange) {
+        EventHelper.invoke(onDocumentChangeNotification, documentChange);
+    }
+
+    public void send(IndexChange indexChange) {
+        EventHelper.invoke(onIndexChangeNotification, indexChange);
+    }
+
+    public void send(OperationStatusChange operationStatusChange) {
+        EventHelper.invoke(onOperationStatusChangeNotification, operationStatusChange);
+    }
+}
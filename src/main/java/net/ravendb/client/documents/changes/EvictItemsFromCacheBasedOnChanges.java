@@ -0,0 +1,57 @@
+package net.ravendb.client.documents.changes;
+
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.http.RequestExecutor;
+import net.ravendb.client.primitives.CleanCloseable;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bumps http cache generation of given database whenever documents or indexes change on the server,
+ * so items stored in the cache are revalidated before they are served aggressively.
+ */
+public class EvictItemsFromCacheBasedOnChanges implements CleanCloseable {
+
+    private final CleanCloseable _documentsSubscription;
+    private final CleanCloseable _indexesSubscription;
+    private final RequestExecutor _requestExecutor;
+    private final CompletableFuture<Void> _subscribed;
+
+    public EvictItemsFromCacheBasedOnChanges(DocumentStore store, String databaseName) {
+        IDatabaseChanges changes = store.changes(databaseName);
+        _requestExecutor = store.getRequestExecutor(databaseName);
+
+        IChangesObservable<DocumentChange> docSub = changes.forAllDocuments();
+        _documentsSubscription = docSub.subscribe(Observers.create(this::onDocumentChange));
+
+        IChangesObservable<IndexChange> indexSub = changes.forAllIndexes();
+        _indexesSubscription = indexSub.subscribe(Observers.create(this::onIndexChange));
+
+        _subscribed = CompletableFuture.allOf(docSub.ensureSubscribedNow(), indexSub.ensureSubscribedNow());
+    }
+
+    /**
+     * @return Future completed once the server confirmed both subscriptions, cache can't be used aggressively before
+     */
+    public CompletableFuture<Void> ensureSubscribedNow() {
+        return _subscribed;
+    }
+
+    private void onDocumentChange(DocumentChange change) {
+        if (change.getType() == DocumentChangeTypes.PUT || change.getType() == DocumentChangeTypes.DELETE) {
+            _requestExecutor.getCache().incrementGeneration();
+        }
+    }
+
+    private void onIndexChange(IndexChange change) {
+        if (change.getType() == IndexChangeTypes.BATCH_COMPLETED || change.getType() == IndexChangeTypes.INDEX_REMOVED) {
+            _requestExecutor.getCache().incrementGeneration();
+        }
+    }
+
+    @Override
+    public void close() {
+        _documentsSubscription.close();
+        _indexesSubscription.close();
+    }
+}
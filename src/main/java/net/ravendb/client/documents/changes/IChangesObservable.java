@@ -0,0 +1,20 @@
+package net.ravendb.client.documents.changes;
+
+import net.ravendb.client.primitives.CleanCloseable;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface IChangesObservable<T> {
+
+    /**
+     * Subscribes observer to changes
+     * @param observer Observer to notify
+     * @return Subscription, close it to stop receiving notifications
+     */
+    CleanCloseable subscribe(IObserver<T> observer);
+
+    /**
+     * @return Future which completes when server confirms the subscription
+     */
+    CompletableFuture<Void> ensureSubscribedNow();
+}
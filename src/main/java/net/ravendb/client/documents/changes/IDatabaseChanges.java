@@ -0,0 +1,92 @@
+package net.ravendb.client.documents.changes;
+
+import net.ravendb.client.primitives.CleanCloseable;
+import net.ravendb.client.primitives.EventHandler;
+import net.ravendb.client.primitives.VoidArgs;
+
+import java.util.function.Consumer;
+
+/**
+ * Changes API for single database. All subscriptions share single web socket connection.
+ */
+public interface IDatabaseChanges extends CleanCloseable {
+
+    /**
+     * @return true if the connection to the server is currently open
+     */
+    boolean isConnected();
+
+    /**
+     * Waits until connection to the server is established.
+     * @return Self
+     */
+    IDatabaseChanges ensureConnectedNow();
+
+    void addConnectionStatusChanged(EventHandler<VoidArgs> handler);
+
+    void removeConnectionStatusChanged(EventHandler<VoidArgs> handler);
+
+    void addOnError(Consumer<Exception> handler);
+
+    void removeOnError(Consumer<Exception> handler);
+
+    /**
+     * Subscribe to changes for specified index only.
+     * @param indexName The index name
+     * @return Changes observable
+     */
+    IChangesObservable<IndexChange> forIndex(String indexName);
+
+    /**
+     * Subscribe to changes for specified document only.
+     * @param docId Document identifier
+     * @return Changes observable
+     */
+    IChangesObservable<DocumentChange> forDocument(String docId);
+
+    /**
+     * Subscribe to changes for all documents.
+     * @return Changes observable
+     */
+    IChangesObservable<DocumentChange> forAllDocuments();
+
+    /**
+     * Subscribe to changes for operation with given id.
+     * @param operationId Operation id
+     * @return Changes observable
+     */
+    IChangesObservable<OperationStatusChange> forOperationId(long operationId);
+
+    /**
+     * Subscribe to changes for all operations.
+     * @return Changes observable
+     */
+    IChangesObservable<OperationStatusChange> forAllOperations();
+
+    /**
+     * Subscribe to changes for all indexes.
+     * @return Changes observable
+     */
+    IChangesObservable<IndexChange> forAllIndexes();
+
+    /**
+     * Subscribe to changes for all documents that Id starts with given prefix.
+     * @param docIdPrefix The document prefix
+     * @return Changes observable
+     */
+    IChangesObservable<DocumentChange> forDocumentsStartingWith(String docIdPrefix);
+
+    /**
+     * Subscribe to changes for all documents that belong to specified collection (Raven-Entity-Name).
+     * @param collectionName The collection name.
+     * @return Changes observable
+     */
+    IChangesObservable<DocumentChange> forDocumentsInCollection(String collectionName);
+
+    /**
+     * Subscribe to changes for all documents that belong to specified collection (Raven-Entity-Name).
+     * @param clazz The document class
+     * @return Changes observable
+     */
+    IChangesObservable<DocumentChange> forDocumentsInCollection(Class<?> clazz);
+}
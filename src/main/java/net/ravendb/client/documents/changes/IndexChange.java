@@ -0,0 +1,46 @@
+package net.ravendb.client.documents.changes;
+
+/**
+ * Change notification for a single index
+ */
+public class IndexChange implements DatabaseChange {
+    private IndexChangeTypes type;
+    private String name;
+    private long etag;
+
+    /**
+     * @return Type of change that occurred on index.
+     */
+    public IndexChangeTypes getType() {
+        return type;
+    }
+
+    /**
+     * @param type Type of change that occurred on index.
+     */
+    public void setType(IndexChangeTypes type) {
+        this.type = type;
+    }
+
+    /**
+     * @return Name of index for which notification was created
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param name Name of index for which notification was created
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getEtag() {
+        return etag;
+    }
+
+    public void setEtag(long etag) {
+        this.etag = etag;
+    }
+}
@@ -0,0 +1,13 @@
+package net.ravendb.client.documents.changes;
+
+import java.util.function.Consumer;
+
+public class Observers {
+
+    private Observers() {
+    }
+
+    public static <T> IObserver<T> create(Consumer<T> action) {
+        return new ActionObserver<>(action);
+    }
+}
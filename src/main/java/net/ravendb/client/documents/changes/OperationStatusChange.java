@@ -0,0 +1,27 @@
+package net.ravendb.client.documents.changes;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Change notification for an operation running on the server
+ */
+public class OperationStatusChange implements DatabaseChange {
+    private long operationId;
+    private ObjectNode state;
+
+    public long getOperationId() {
+        return operationId;
+    }
+
+    public void setOperationId(long operationId) {
+        this.operationId = operationId;
+    }
+
+    public ObjectNode getState() {
+        return state;
+    }
+
+    public void setState(ObjectNode state) {
+        this.state = state;
+    }
+}
@@ -14,6 +14,7 @@ import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.entity.ContentType;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Set;
@@ -34,6 +35,8 @@ public class GetDocumentsCommand extends RavenCommand<GetDocumentsResult> {
     private String _exclude;
     private String _startAfter;
 
+    private ResultsReader _resultsReader;
+
     public GetDocumentsCommand(int start, int pageSize) {
         super(GetDocumentsResult.class);
         _start = start;
@@ -179,15 +182,28 @@ public class GetDocumentsCommand extends RavenCommand<GetDocumentsResult> {
     }
 
     @Override
-    public void setResponse(String response, boolean fromCache) throws IOException {
+    public void setResponse(InputStream response, boolean fromCache) throws IOException {
         if (response == null) {
             result = null;
             return;
         }
 
+        if (_resultsReader != null) {
+            result = _resultsReader.readResponse(mapper, response, resultClass);
+            return;
+        }
+
         result = mapper.readValue(response, resultClass);
     }
 
+    /**
+     * Reads returned documents using given reader instead of materializing them in the result.
+     * @param resultsReader Reader of returned documents
+     */
+    public void setResultsReader(ResultsReader resultsReader) {
+        _resultsReader = resultsReader;
+    }
+
     @Override
     public boolean isReadRequest() {
         return true;
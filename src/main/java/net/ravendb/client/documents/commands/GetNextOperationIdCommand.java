@@ -19,6 +19,11 @@ public class GetNextOperationIdCommand extends RavenCommand<Long> {
         return false; // disable caching
     }
 
+    @Override
+    public boolean isModifyingDocuments() {
+        return false;
+    }
+
     @Override
     public HttpRequestBase createRequest(ServerNode node, Reference<String> url) {
         url.value = node.getUrl() + "/databases/" + node.getDatabase() + "/operations/next-operation-id";
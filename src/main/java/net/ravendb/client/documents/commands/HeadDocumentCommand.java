@@ -33,6 +33,11 @@ public class HeadDocumentCommand extends RavenCommand<String> {
         return false;
     }
 
+    @Override
+    public boolean isModifyingDocuments() {
+        return false;
+    }
+
     @Override
     public HttpRequestBase createRequest(ServerNode node, Reference<String> url) {
         url.value = node.getUrl() + "/databases/" + node.getDatabase() + "/docs?id=" + UrlUtils.escapeDataString(_id);
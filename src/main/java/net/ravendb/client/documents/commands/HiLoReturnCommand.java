@@ -30,6 +30,11 @@ public class HiLoReturnCommand extends VoidRavenCommand {
         _end = end;
     }
 
+    @Override
+    public boolean isModifyingDocuments() {
+        return false;
+    }
+
     @Override
     public HttpRequestBase createRequest(ServerNode node, Reference<String> url) {
         url.value = node.getUrl() + "/databases/" + node.getDatabase() + "/hilo/return?tag=" + _tag + "&end=" + _end + "&last=" + _last;
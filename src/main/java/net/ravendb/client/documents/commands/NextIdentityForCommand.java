@@ -28,6 +28,11 @@ public class NextIdentityForCommand extends RavenCommand<Long> {
         return false;
     }
 
+    @Override
+    public boolean isModifyingDocuments() {
+        return false;
+    }
+
     @Override
     public HttpRequestBase createRequest(ServerNode node, Reference<String> url) {
         ensureIsNotNullOrString(_id, "id");
@@ -14,12 +14,14 @@ import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.entity.ContentType;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 public class QueryCommand extends RavenCommand<QueryResult> {
     private final DocumentConventions _conventions;
     private final IndexQuery _indexQuery;
     private final boolean _metadataOnly;
     private final boolean _indexEntriesOnly;
+    private ResultsReader _resultsReader;
 
     public QueryCommand(DocumentConventions conventions, IndexQuery indexQuery, boolean metadataOnly, boolean indexEntriesOnly) {
         super(QueryResult.class);
@@ -73,18 +75,28 @@ public class QueryCommand extends RavenCommand<QueryResult> {
     }
 
     @Override
-    public void setResponse(String response, boolean fromCache) throws IOException {
+    public void setResponse(InputStream response, boolean fromCache) throws IOException {
         if (response == null) {
             result = null;
             return;
         }
 
-        result = mapper.readValue(response, QueryResult.class);
+        result = _resultsReader != null
+                ? _resultsReader.readResponse(mapper, response, QueryResult.class)
+                : mapper.readValue(response, QueryResult.class);
         if (fromCache) {
             result.setDurationInMs(-1);
         }
     }
 
+    /**
+     * Reads query results using given reader instead of materializing them in the result.
+     * @param resultsReader Reader of query results
+     */
+    public void setResultsReader(ResultsReader resultsReader) {
+        _resultsReader = resultsReader;
+    }
+
     @Override
     public boolean isReadRequest() {
         return true;
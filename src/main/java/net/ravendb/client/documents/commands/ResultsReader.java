@@ -0,0 +1,63 @@
+package net.ravendb.client.documents.commands;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Consumes elements of the 'Results' array straight from the response stream,
+ * so they don't have to be materialized as json trees.
+ */
+public abstract class ResultsReader {
+
+    /**
+     * Reads single element of the 'Results' array.
+     * Parser is positioned on the START_OBJECT (or VALUE_NULL) token of the element
+     * and has to be left on the last token of the element.
+     * @param parser Parser
+     * @throws IOException when element can't be read
+     */
+    public abstract void readResult(JsonParser parser) throws IOException;
+
+    /**
+     * Reads the response. All properties except 'Results' are bound to the result class as usual,
+     * 'Results' elements are passed to the readResult method and returned result contains empty 'Results' array.
+     * @param mapper Mapper used to read the response
+     * @param response Response stream
+     * @param resultClass Result class
+     * @param <TResult> Result class
+     * @return result
+     * @throws IOException when response can't be read
+     */
+    public <TResult> TResult readResponse(ObjectMapper mapper, InputStream response, Class<TResult> resultClass) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(response)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalStateException("Expected start object, got: " + parser.currentToken());
+            }
+
+            ObjectNode properties = mapper.createObjectNode();
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String property = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+
+                if ("Results".equals(property) && token == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        readResult(parser);
+                    }
+
+                    properties.set(property, mapper.createArrayNode());
+                    continue;
+                }
+
+                properties.set(property, parser.readValueAsTree());
+            }
+
+            return mapper.treeToValue(properties, resultClass);
+        }
+    }
+}
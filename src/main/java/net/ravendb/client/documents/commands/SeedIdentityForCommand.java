@@ -29,6 +29,11 @@ public class SeedIdentityForCommand extends RavenCommand<Long> {
         return false;
     }
 
+    @Override
+    public boolean isModifyingDocuments() {
+        return false;
+    }
+
     @Override
     public HttpRequestBase createRequest(ServerNode node, Reference<String> url) {
         ensureIsNotNullOrString(_id, "id");
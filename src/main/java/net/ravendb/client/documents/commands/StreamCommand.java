@@ -0,0 +1,55 @@
+package net.ravendb.client.documents.commands;
+
+import net.ravendb.client.http.*;
+import net.ravendb.client.primitives.Reference;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpRequestBase;
+
+import java.io.IOException;
+
+public class StreamCommand extends RavenCommand<StreamResultResponse> {
+
+    private final String _url;
+
+    public StreamCommand(String url) {
+        super(StreamResultResponse.class);
+
+        if (StringUtils.isEmpty(url)) {
+            throw new IllegalArgumentException("Url cannot be null or empty");
+        }
+
+        _url = url;
+
+        responseType = RavenCommandResponseType.EMPTY;
+        canCache = false;
+        canCacheAggressively = false;
+    }
+
+    @Override
+    public HttpRequestBase createRequest(ServerNode node, Reference<String> url) {
+        url.value = node.getUrl() + "/databases/" + node.getDatabase() + "/" + _url;
+        return new HttpGet();
+    }
+
+    @Override
+    public ResponseDisposeHandling processResponse(HttpCache cache, CloseableHttpResponse response, String url) {
+        try {
+            StreamResultResponse streamResponse = new StreamResultResponse();
+            streamResponse.setResponse(response);
+            streamResponse.setStream(response.getEntity().getContent());
+            result = streamResponse;
+
+            // response is consumed lazily by the caller, who is responsible for closing it
+            return ResponseDisposeHandling.MANUALLY;
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to process stream response: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean isReadRequest() {
+        return true;
+    }
+}
@@ -0,0 +1,52 @@
+package net.ravendb.client.documents.commands;
+
+import java.util.Date;
+
+public class StreamQueryStatistics {
+
+    private String indexName;
+    private boolean isStale;
+    private Date indexTimestamp;
+    private int totalResults;
+    private long resultEtag;
+
+    public String getIndexName() {
+        return indexName;
+    }
+
+    public void setIndexName(String indexName) {
+        this.indexName = indexName;
+    }
+
+    public boolean isStale() {
+        return isStale;
+    }
+
+    public void setStale(boolean stale) {
+        isStale = stale;
+    }
+
+    public Date getIndexTimestamp() {
+        return indexTimestamp;
+    }
+
+    public void setIndexTimestamp(Date indexTimestamp) {
+        this.indexTimestamp = indexTimestamp;
+    }
+
+    public int getTotalResults() {
+        return totalResults;
+    }
+
+    public void setTotalResults(int totalResults) {
+        this.totalResults = totalResults;
+    }
+
+    public long getResultEtag() {
+        return resultEtag;
+    }
+
+    public void setResultEtag(long resultEtag) {
+        this.resultEtag = resultEtag;
+    }
+}
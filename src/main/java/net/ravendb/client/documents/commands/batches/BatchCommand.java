@@ -14,6 +14,7 @@ import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.entity.ContentType;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 public class BatchCommand extends RavenCommand<JsonArrayResult> implements CleanCloseable {
@@ -59,6 +60,14 @@ public class BatchCommand extends RavenCommand<JsonArrayResult> implements Clean
             */
     }
 
+    public List<ICommandData> getCommands() {
+        return _commands;
+    }
+
+    public BatchOptions getOptions() {
+        return _options;
+    }
+
     @Override
     public HttpRequestBase createRequest(ServerNode node, Reference<String> url) {
         HttpPost request = new HttpPost();
@@ -108,7 +117,7 @@ public class BatchCommand extends RavenCommand<JsonArrayResult> implements Clean
     }
 
     @Override
-    public void setResponse(String response, boolean fromCache) throws IOException {
+    public void setResponse(InputStream response, boolean fromCache) throws IOException {
         if (response == null) {
             throw new IllegalStateException("Got null response from the server after doing a batch, something is very wrong. Probably a garbled response.");
         }
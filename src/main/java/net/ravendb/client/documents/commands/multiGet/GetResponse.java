@@ -0,0 +1,94 @@
+package net.ravendb.client.documents.commands.multiGet;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.http.HttpStatus;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+public class GetResponse {
+
+    private JsonNode result;
+    private Map<String, String> headers;
+    private int statusCode;
+    private boolean forceRetry;
+
+    public GetResponse() {
+        headers = new TreeMap<>(String::compareToIgnoreCase);
+    }
+
+    /**
+     * @return Response result as JSON.
+     */
+    public JsonNode getResult() {
+        return result;
+    }
+
+    /**
+     * @param result Response result as JSON.
+     */
+    public void setResult(JsonNode result) {
+        this.result = result;
+    }
+
+    /**
+     * @return Request headers.
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * @param headers Request headers.
+     */
+    public void setHeaders(Map<String, String> headers) {
+        this.headers = headers;
+    }
+
+    /**
+     * @return Response HTTP status code.
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * @param statusCode Response HTTP status code.
+     */
+    public void setStatusCode(int statusCode) {
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * @return Indicates if request should be retried (e.g. cached response was evicted before it could be used).
+     */
+    public boolean isForceRetry() {
+        return forceRetry;
+    }
+
+    /**
+     * @param forceRetry Indicates if request should be retried (e.g. cached response was evicted before it could be used).
+     */
+    public void setForceRetry(boolean forceRetry) {
+        this.forceRetry = forceRetry;
+    }
+
+    /**
+     * Method used to check if request has errors.
+     * @return false if request does not have errors
+     */
+    public boolean requestHasErrors() {
+        switch (statusCode) {
+            case 0:
+            case HttpStatus.SC_OK:
+            case HttpStatus.SC_CREATED:
+            case HttpStatus.SC_NON_AUTHORITATIVE_INFORMATION:
+            case HttpStatus.SC_NO_CONTENT:
+            case HttpStatus.SC_NOT_MODIFIED:
+            case HttpStatus.SC_NOT_FOUND:
+                return false;
+            default:
+                return true;
+        }
+    }
+}
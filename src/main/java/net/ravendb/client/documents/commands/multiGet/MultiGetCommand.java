@@ -0,0 +1,226 @@
+package net.ravendb.client.documents.commands.multiGet;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import net.ravendb.client.Constants;
+import net.ravendb.client.extensions.HttpExtensions;
+import net.ravendb.client.http.HttpCache;
+import net.ravendb.client.http.RavenCommand;
+import net.ravendb.client.http.RavenCommandResponseType;
+import net.ravendb.client.http.ServerNode;
+import net.ravendb.client.json.ContentProviderHttpEntity;
+import net.ravendb.client.primitives.Reference;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.ContentType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends multiple GET (and query) requests to the server in a single round-trip.
+ * Each sub-request is looked up in (and stored to) the http cache on its own, so unchanged
+ * results are served from the client cache while the server only answers with 304.
+ */
+public class MultiGetCommand extends RavenCommand<List<GetResponse>> {
+
+    private final HttpCache _cache;
+    private final List<GetRequest> _commands;
+
+    private String _baseUrl;
+
+    @SuppressWarnings("unchecked")
+    public MultiGetCommand(HttpCache cache, List<GetRequest> commands) {
+        super((Class<List<GetResponse>>) (Class<?>) List.class);
+
+        if (commands == null) {
+            throw new IllegalArgumentException("commands cannot be null");
+        }
+
+        _cache = cache;
+        _commands = commands;
+        responseType = RavenCommandResponseType.RAW;
+    }
+
+    @Override
+    public HttpRequestBase createRequest(ServerNode node, Reference<String> url) {
+        _baseUrl = node.getUrl() + "/databases/" + node.getDatabase();
+
+        for (GetRequest command : _commands) {
+            command.getHeaders().remove(Constants.Headers.IF_NONE_MATCH);
+
+            if (_cache == null) {
+                continue;
+            }
+
+            Reference<String> changeVectorRef = new Reference<>();
+            Reference<byte[]> cachedRef = new Reference<>();
+            try (HttpCache.ReleaseCacheItem item = _cache.get(getCacheKey(command), changeVectorRef, cachedRef)) {
+                if (item.item != null && changeVectorRef.value != null && cachedRef.value != null) {
+                    command.getHeaders().put(Constants.Headers.IF_NONE_MATCH, "\"" + changeVectorRef.value + "\"");
+                }
+            }
+        }
+
+        HttpPost request = new HttpPost();
+        request.setEntity(new ContentProviderHttpEntity(outputStream -> {
+            try (JsonGenerator generator = mapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartObject();
+
+                generator.writeFieldName("Requests");
+                generator.writeStartArray();
+
+                for (GetRequest command : _commands) {
+                    generator.writeStartObject();
+
+                    generator.writeStringField("Url", "/databases/" + node.getDatabase() + command.getUrl());
+                    generator.writeStringField("Query", command.getQuery());
+                    generator.writeStringField("Method", command.getMethod());
+
+                    generator.writeFieldName("Headers");
+                    generator.writeStartObject();
+                    for (Map.Entry<String, String> header : command.getHeaders().entrySet()) {
+                        generator.writeStringField(header.getKey(), header.getValue());
+                    }
+                    generator.writeEndObject();
+
+                    generator.writeFieldName("Content");
+                    if (command.getContent() != null) {
+                        command.getContent().writeContent(generator);
+                    } else {
+                        generator.writeNull();
+                    }
+
+                    generator.writeEndObject();
+                }
+
+                generator.writeEndArray();
+                generator.writeEndObject();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }, ContentType.APPLICATION_JSON));
+
+        url.value = _baseUrl + "/multi_get";
+        return request;
+    }
+
+    private String getCacheKey(GetRequest command) {
+        String requestUrl = _baseUrl + command.getUrlAndQuery();
+        return command.getMethod() != null ? command.getMethod() + "-" + requestUrl : requestUrl;
+    }
+
+    @Override
+    public void setResponseRaw(CloseableHttpResponse response, InputStream stream) {
+        if (stream == null) {
+            throwInvalidResponse();
+        }
+
+        try (JsonParser parser = mapper.getFactory().createParser(stream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throwInvalidResponse();
+            }
+
+            if (!"Results".equals(parser.nextFieldName()) || parser.nextToken() != JsonToken.START_ARRAY) {
+                throwInvalidResponse();
+            }
+
+            result = new ArrayList<>(_commands.size());
+
+            int i = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                if (i >= _commands.size()) {
+                    throwInvalidResponse();
+                }
+
+                GetResponse getResponse = readResponse(parser);
+                GetRequest command = _commands.get(i++);
+
+                maybeSetCache(getResponse, command);
+                maybeReadFromCache(getResponse, command);
+
+                result.add(getResponse);
+            }
+
+            if (result.size() != _commands.size()) {
+                throwInvalidResponse();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private GetResponse readResponse(JsonParser parser) throws IOException {
+        JsonNode item = mapper.readTree(parser);
+
+        GetResponse getResponse = new GetResponse();
+
+        JsonNode result = item.get("Result");
+        if (result != null && !result.isNull()) {
+            getResponse.setResult(result);
+        }
+
+        JsonNode headers = item.get("Headers");
+        if (headers != null && headers.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = headers.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> header = fields.next();
+                getResponse.getHeaders().put(header.getKey(), header.getValue().asText());
+            }
+        }
+
+        getResponse.setStatusCode(item.path("StatusCode").asInt());
+
+        return getResponse;
+    }
+
+    private void maybeReadFromCache(GetResponse getResponse, GetRequest command) throws IOException {
+        if (getResponse.getStatusCode() != HttpStatus.SC_NOT_MODIFIED) {
+            return;
+        }
+
+        if (_cache == null) {
+            getResponse.setForceRetry(true);
+            return;
+        }
+
+        Reference<byte[]> cachedResponse = new Reference<>();
+        try (HttpCache.ReleaseCacheItem cacheItem = _cache.get(getCacheKey(command), new Reference<>(), cachedResponse)) {
+            if (cachedResponse.value == null) {
+                // item was evicted after we sent the request, we have to ask the server again
+                getResponse.setForceRetry(true);
+                return;
+            }
+
+            cacheItem.notModified();
+            getResponse.setResult(mapper.readTree(cachedResponse.value));
+        }
+    }
+
+    private void maybeSetCache(GetResponse getResponse, GetRequest command) throws IOException {
+        if (_cache == null || getResponse.getStatusCode() != HttpStatus.SC_OK || getResponse.getResult() == null) {
+            return;
+        }
+
+        String changeVector = HttpExtensions.getEtagHeader(getResponse.getHeaders());
+        if (changeVector == null) {
+            return;
+        }
+
+        _cache.set(getCacheKey(command), changeVector, mapper.writeValueAsBytes(getResponse.getResult()));
+    }
+
+    @Override
+    public boolean isReadRequest() {
+        // multi_get only reads data, so it must not invalidate aggressively cached items
+        return true;
+    }
+}
@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 import net.ravendb.client.Constants;
+import net.ravendb.client.documents.identity.IdentityPropertyAccessor;
 import net.ravendb.client.documents.operations.configuration.ClientConfiguration;
 import net.ravendb.client.exceptions.RavenException;
 import net.ravendb.client.extensions.JsonExtensions;
@@ -22,7 +23,10 @@ import java.beans.PropertyDescriptor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -34,7 +38,7 @@ public class DocumentConventions {
         defaultConventions.freeze();
     }
 
-    private static final Map<Class, String> _cachedDefaultTypeCollectionNames = new HashMap<>();
+    private static final ConcurrentMap<Class, String> _cachedDefaultTypeCollectionNames = new ConcurrentHashMap<>();
 
     //TBD: private readonly List<(Type Type, TryConvertValueForQueryDelegate<object> Convert)> _listOfQueryValueConverters = new List<(Type, TryConvertValueForQueryDelegate<object>)>();
 
@@ -42,7 +46,7 @@ public class DocumentConventions {
 
     private boolean _frozen;
     private ClientConfiguration _originalConfiguration;
-    private final Map<Class, Field> _idPropertyCache = new HashMap<>();
+    private final TypeMetadataRegistry _typeMetadata = new TypeMetadataRegistry();
     private boolean _saveEnumsAsIntegers;
     private String _identityPartsSeparator;
     private boolean _disableTopologyUpdates;
@@ -59,11 +63,24 @@ public class DocumentConventions {
     private BiFunction<String, ObjectNode, String> _findJavaClass;
 
     private boolean _useOptimisticConcurrency;
+    private boolean _useFingerprintChangeTracking;
     private boolean _throwIfQueryPageSizeIsNotSet;
     private int _maxNumberOfRequestsPerSession;
 
     private ReadBalanceBehavior _readBalanceBehavior;
     private int _maxHttpCacheSize;
+    private int _maxHttpConnectionsPerRoute;
+    private int _maxHttpConnectionsTotal;
+    private boolean _useCompression;
+    private Duration _saveChangesCoalescingWindow;
+    private double _hiLoPrefetchThreshold;
+    private int _saveChangesCoalescingMaxCommands;
+    private double _hedgedReadsPercentile;
+    private Duration _hedgedReadsMinDelay;
+    private boolean _useSpeedTestProbes;
+    private int _backgroundThreads;
+    private int _backgroundQueueCapacity;
+    private int _compressionThreshold;
     private ObjectMapper _entityMapper;
 
     public DocumentConventions() {
@@ -89,6 +106,13 @@ public class DocumentConventions {
 
         _maxNumberOfRequestsPerSession = 30;
         _maxHttpCacheSize = 128 * 1024 * 1024;
+        _maxHttpConnectionsPerRoute = 10;
+        _maxHttpConnectionsTotal = 20;
+        _compressionThreshold = 1024;
+        _saveChangesCoalescingMaxCommands = 512;
+        _hedgedReadsMinDelay = Duration.ofMillis(10);
+        _backgroundThreads = 4;
+        _backgroundQueueCapacity = 1024;
 
         _entityMapper = JsonExtensions.getDefaultEntityMapper();
     }
@@ -126,6 +150,240 @@ public class DocumentConventions {
         this._maxHttpCacheSize = maxHttpCacheSize;
     }
 
+    /**
+     * Maximum number of pooled http connections to single server node.
+     * Requests above this limit wait for a connection to be released.
+     * @return max connections per node
+     */
+    public int getMaxHttpConnectionsPerRoute() {
+        return _maxHttpConnectionsPerRoute;
+    }
+
+    /**
+     * Maximum number of pooled http connections to single server node.
+     * Requests above this limit wait for a connection to be released.
+     * @param maxHttpConnectionsPerRoute value to set
+     */
+    public void setMaxHttpConnectionsPerRoute(int maxHttpConnectionsPerRoute) {
+        assertNotFrozen();
+        this._maxHttpConnectionsPerRoute = maxHttpConnectionsPerRoute;
+    }
+
+    /**
+     * Maximum number of pooled http connections to all server nodes.
+     * @return max connections in total
+     */
+    public int getMaxHttpConnectionsTotal() {
+        return _maxHttpConnectionsTotal;
+    }
+
+    /**
+     * Maximum number of pooled http connections to all server nodes.
+     * @param maxHttpConnectionsTotal value to set
+     */
+    public void setMaxHttpConnectionsTotal(int maxHttpConnectionsTotal) {
+        assertNotFrozen();
+        this._maxHttpConnectionsTotal = maxHttpConnectionsTotal;
+    }
+
+    /**
+     * If set to true, request bodies larger than compression threshold are sent gzip compressed
+     * and server is asked to compress responses.
+     * @return true if compression is enabled
+     */
+    public boolean isUseCompression() {
+        return _useCompression;
+    }
+
+    /**
+     * If set to true, request bodies larger than compression threshold are sent gzip compressed
+     * and server is asked to compress responses.
+     * @param useCompression value to set
+     */
+    public void setUseCompression(boolean useCompression) {
+        assertNotFrozen();
+        this._useCompression = useCompression;
+    }
+
+    /**
+     * Minimal size (in bytes) of request body which is compressed, when compression is enabled.
+     * @return compression threshold
+     */
+    public int getCompressionThreshold() {
+        return _compressionThreshold;
+    }
+
+    /**
+     * Minimal size (in bytes) of request body which is compressed, when compression is enabled.
+     * @param compressionThreshold value to set
+     */
+    public void setCompressionThreshold(int compressionThreshold) {
+        assertNotFrozen();
+        this._compressionThreshold = compressionThreshold;
+    }
+
+    /**
+     * If set, saveChanges calls of concurrent sessions which arrive within this window are merged
+     * into single request. Disabled (null) by default.
+     * @return coalescing window
+     */
+    public Duration getSaveChangesCoalescingWindow() {
+        return _saveChangesCoalescingWindow;
+    }
+
+    /**
+     * If set, saveChanges calls of concurrent sessions which arrive within this window are merged
+     * into single request. Disabled (null) by default.
+     * @param saveChangesCoalescingWindow value to set
+     */
+    public void setSaveChangesCoalescingWindow(Duration saveChangesCoalescingWindow) {
+        assertNotFrozen();
+        this._saveChangesCoalescingWindow = saveChangesCoalescingWindow;
+    }
+
+    /**
+     * Merged request is sent before coalescing window elapses once it contains this many commands.
+     * @return max number of commands in merged request
+     */
+    public int getSaveChangesCoalescingMaxCommands() {
+        return _saveChangesCoalescingMaxCommands;
+    }
+
+    /**
+     * Merged request is sent before coalescing window elapses once it contains this many commands.
+     * @param saveChangesCoalescingMaxCommands value to set
+     */
+    public void setSaveChangesCoalescingMaxCommands(int saveChangesCoalescingMaxCommands) {
+        assertNotFrozen();
+        this._saveChangesCoalescingMaxCommands = saveChangesCoalescingMaxCommands;
+    }
+
+    /**
+     * Fraction of HiLo range (i.e. 0.75) after which next range is requested in background,
+     * so id generation doesn't have to wait for the server when current range is exhausted.
+     * Range is requested sooner when ids are consumed faster than server responds. 0 (default) disables prefetching.
+     * @return prefetch threshold
+     */
+    public double getHiLoPrefetchThreshold() {
+        return _hiLoPrefetchThreshold;
+    }
+
+    /**
+     * Fraction of HiLo range (i.e. 0.75) after which next range is requested in background,
+     * so id generation doesn't have to wait for the server when current range is exhausted.
+     * Range is requested sooner when ids are consumed faster than server responds. 0 (default) disables prefetching.
+     * @param hiLoPrefetchThreshold value to set
+     */
+    public void setHiLoPrefetchThreshold(double hiLoPrefetchThreshold) {
+        assertNotFrozen();
+        this._hiLoPrefetchThreshold = hiLoPrefetchThreshold;
+    }
+
+    /**
+     * Percentile of recent read response times (i.e. 0.95) after which a read request which
+     * didn't get the response yet is sent to another node as well. The first response is used
+     * and the other request is aborted. 0 (default) disables hedged reads.
+     * @return hedged reads percentile
+     */
+    public double getHedgedReadsPercentile() {
+        return _hedgedReadsPercentile;
+    }
+
+    /**
+     * Percentile of recent read response times (i.e. 0.95) after which a read request which
+     * didn't get the response yet is sent to another node as well. The first response is used
+     * and the other request is aborted. 0 (default) disables hedged reads.
+     * @param hedgedReadsPercentile value to set
+     */
+    public void setHedgedReadsPercentile(double hedgedReadsPercentile) {
+        assertNotFrozen();
+        this._hedgedReadsPercentile = hedgedReadsPercentile;
+    }
+
+    /**
+     * Minimal time to wait for the response before read request is hedged.
+     * @return hedged reads minimal delay
+     */
+    public Duration getHedgedReadsMinDelay() {
+        return _hedgedReadsMinDelay;
+    }
+
+    /**
+     * Minimal time to wait for the response before read request is hedged.
+     * @param hedgedReadsMinDelay value to set
+     */
+    public void setHedgedReadsMinDelay(Duration hedgedReadsMinDelay) {
+        assertNotFrozen();
+        this._hedgedReadsMinDelay = hedgedReadsMinDelay;
+    }
+
+    /**
+     * If set to true, FASTEST_NODE read balance behavior finds the fastest node using lightweight probe requests
+     * sent from background, instead of sending user requests to all nodes during the speed test.
+     * @return true if speed test uses probes
+     */
+    public boolean isUseSpeedTestProbes() {
+        return _useSpeedTestProbes;
+    }
+
+    /**
+     * If set to true, FASTEST_NODE read balance behavior finds the fastest node using lightweight probe requests
+     * sent from background, instead of sending user requests to all nodes during the speed test.
+     * @param useSpeedTestProbes value to set
+     */
+    public void setUseSpeedTestProbes(boolean useSpeedTestProbes) {
+        assertNotFrozen();
+        this._useSpeedTestProbes = useSpeedTestProbes;
+    }
+
+    /**
+     * Number of threads used by document store for background work, like topology updates,
+     * health checks of failed nodes, operation polling or processing responses of asynchronous requests.
+     * @return number of background threads
+     */
+    public int getBackgroundThreads() {
+        return _backgroundThreads;
+    }
+
+    /**
+     * Number of threads used by document store for background work, like topology updates,
+     * health checks of failed nodes, operation polling or processing responses of asynchronous requests.
+     * @param backgroundThreads value to set
+     */
+    public void setBackgroundThreads(int backgroundThreads) {
+        assertNotFrozen();
+
+        if (backgroundThreads <= 0) {
+            throw new IllegalArgumentException("Number of background threads must be positive");
+        }
+
+        this._backgroundThreads = backgroundThreads;
+    }
+
+    /**
+     * Maximum number of background tasks waiting for a free thread. When queue is full,
+     * task is executed by the thread which submits it.
+     * @return background queue capacity
+     */
+    public int getBackgroundQueueCapacity() {
+        return _backgroundQueueCapacity;
+    }
+
+    /**
+     * Maximum number of background tasks waiting for a free thread. When queue is full,
+     * task is executed by the thread which submits it.
+     * @param backgroundQueueCapacity value to set
+     */
+    public void setBackgroundQueueCapacity(int backgroundQueueCapacity) {
+        assertNotFrozen();
+
+        if (backgroundQueueCapacity <= 0) {
+            throw new IllegalArgumentException("Background queue capacity must be positive");
+        }
+
+        this._backgroundQueueCapacity = backgroundQueueCapacity;
+    }
+
     public int getMaxNumberOfRequestsPerSession() {
         return _maxNumberOfRequestsPerSession;
     }
@@ -173,6 +431,31 @@ public class DocumentConventions {
         this._useOptimisticConcurrency = useOptimisticConcurrency;
     }
 
+    /**
+     * Whether session should detect changes of tracked entities by comparing hash of serialized entity
+     * taken when entity was loaded. When enabled, saveChanges doesn't build and compare json of unmodified entities,
+     * at the cost of additional serialization when entity is loaded.
+     * Differences between stored document and entity class (e.g. properties missing in the class) are not
+     * detected as changes in this mode.
+     * @return true if fingerprint change tracking is enabled
+     */
+    public boolean isUseFingerprintChangeTracking() {
+        return _useFingerprintChangeTracking;
+    }
+
+    /**
+     * Whether session should detect changes of tracked entities by comparing hash of serialized entity
+     * taken when entity was loaded. When enabled, saveChanges doesn't build and compare json of unmodified entities,
+     * at the cost of additional serialization when entity is loaded.
+     * Differences between stored document and entity class (e.g. properties missing in the class) are not
+     * detected as changes in this mode.
+     * @param useFingerprintChangeTracking value to set
+     */
+    public void setUseFingerprintChangeTracking(boolean useFingerprintChangeTracking) {
+        assertNotFrozen();
+        this._useFingerprintChangeTracking = useFingerprintChangeTracking;
+    }
+
     public BiFunction<String, ObjectNode, String> getFindJavaClass() {
         return _findJavaClass;
     }
@@ -189,6 +472,7 @@ public class DocumentConventions {
     public void setFindJavaClassName(Function<Class, String> _findJavaClassName) {
         assertNotFrozen();
         this._findJavaClassName = _findJavaClassName;
+        _typeMetadata.clear();
     }
 
     public Function<Class, String> getFindCollectionName() {
@@ -198,6 +482,7 @@ public class DocumentConventions {
     public void setFindCollectionName(Function<Class, String> _findCollectionName) {
         assertNotFrozen();
         this._findCollectionName = _findCollectionName;
+        _typeMetadata.clear();
     }
 
     public Function<String, String> getFindIdentityPropertyNameFromCollectionName() {
@@ -242,6 +527,7 @@ public class DocumentConventions {
 
     public void setFindIdentityProperty(Function<PropertyDescriptor, Boolean> findIdentityProperty) {
         this._findIdentityProperty = findIdentityProperty;
+        _typeMetadata.clear();
     }
 
     public boolean isDisableTopologyUpdates() {
@@ -312,13 +598,21 @@ public class DocumentConventions {
      * @return collection name
      */
     public String getCollectionName(Class clazz) {
-        String collectionName = _findCollectionName.apply(clazz);
+        TypeMetadataRegistry.TypeMetadata metadata = _typeMetadata.get(clazz);
 
+        String collectionName = metadata.collectionName;
         if (collectionName != null) {
             return collectionName;
         }
 
-        return defaultGetCollectionName(clazz);
+        collectionName = _findCollectionName.apply(clazz);
+
+        if (collectionName == null) {
+            collectionName = defaultGetCollectionName(clazz);
+        }
+
+        metadata.collectionName = collectionName;
+        return collectionName;
     }
 
     /**
@@ -399,7 +693,29 @@ public class DocumentConventions {
      * @return java class name
      */
     public String getJavaClassName(Class entityType) {
-        return _findJavaClassName.apply(entityType);
+        TypeMetadataRegistry.TypeMetadata metadata = _typeMetadata.get(entityType);
+
+        String javaClassName = metadata.javaClassName;
+        if (javaClassName == null) {
+            javaClassName = _findJavaClassName.apply(entityType);
+            metadata.javaClassName = javaClassName;
+        }
+
+        return javaClassName;
+    }
+
+    /**
+     * Computes and caches collection name, java class name and identity property of given entity classes,
+     * so first store or query of these classes doesn't pay the cost of reflection.
+     * Cached values are dropped when findCollectionName, findJavaClassName or findIdentityProperty is changed.
+     * @param entityTypes Entity classes
+     */
+    public void warmUpTypeMetadata(Class<?>... entityTypes) {
+        for (Class<?> entityType : entityTypes) {
+            getCollectionName(entityType);
+            getJavaClassName(entityType);
+            getIdentityPropertyAccessor(entityType);
+        }
     }
 
     /**
@@ -434,11 +750,29 @@ public class DocumentConventions {
      *  @return Identity property (field)
      */
     public Field getIdentityProperty(Class clazz) {
-        Field info = _idPropertyCache.get(clazz);
-        if (info != null) {
-            return info;
+        IdentityPropertyAccessor accessor = getIdentityPropertyAccessor(clazz);
+        return accessor != null ? accessor.getField() : null;
+    }
+
+    /**
+     * Gets the accessor of identity property of given class. Accessor is created once per class
+     * and it is safe to use it from multiple threads.
+     * @param clazz Class of entity
+     * @return Identity property accessor or null if class doesn't have identity property
+     */
+    public IdentityPropertyAccessor getIdentityPropertyAccessor(Class clazz) {
+        TypeMetadataRegistry.TypeMetadata metadata = _typeMetadata.get(clazz);
+
+        Optional<IdentityPropertyAccessor> accessor = metadata.identityProperty;
+        if (accessor == null) {
+            accessor = createIdentityPropertyAccessor(clazz);
+            metadata.identityProperty = accessor;
         }
 
+        return accessor.orElse(null);
+    }
+
+    private Optional<IdentityPropertyAccessor> createIdentityPropertyAccessor(Class clazz) {
         try {
             Field idField = Arrays.stream(Introspector.getBeanInfo(clazz).getPropertyDescriptors())
                     .filter(x -> _findIdentityProperty.apply(x))
@@ -446,9 +780,11 @@ public class DocumentConventions {
                     .map(x -> getField(clazz, x.getName()))
                     .orElse(null);
 
-            _idPropertyCache.put(clazz, idField);
+            if (idField == null) {
+                return Optional.empty();
+            }
 
-            return idField;
+            return Optional.of(IdentityPropertyAccessor.create(idField));
         } catch (IntrospectionException e) {
             throw new RuntimeException(e);
         }
@@ -0,0 +1,37 @@
+package net.ravendb.client.documents.conventions;
+
+import net.ravendb.client.documents.identity.IdentityPropertyAccessor;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per type metadata computed by conventions. Lookups don't take any locks, values are computed
+ * on first use and published through volatile fields - when two threads race, value is simply computed twice.
+ */
+class TypeMetadataRegistry {
+
+    private final ConcurrentMap<Class<?>, TypeMetadata> _metadata = new ConcurrentHashMap<>();
+
+    TypeMetadata get(Class<?> type) {
+        TypeMetadata metadata = _metadata.get(type);
+        if (metadata != null) {
+            return metadata;
+        }
+
+        metadata = new TypeMetadata();
+        TypeMetadata existing = _metadata.putIfAbsent(type, metadata);
+        return existing != null ? existing : metadata;
+    }
+
+    void clear() {
+        _metadata.clear();
+    }
+
+    static class TypeMetadata {
+        volatile String collectionName;
+        volatile String javaClassName;
+        volatile Optional<IdentityPropertyAccessor> identityProperty;
+    }
+}
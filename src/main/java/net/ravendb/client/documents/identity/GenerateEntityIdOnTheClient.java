@@ -2,9 +2,7 @@ package net.ravendb.client.documents.identity;
 
 import net.ravendb.client.documents.conventions.DocumentConventions;
 import net.ravendb.client.primitives.Reference;
-import org.apache.commons.lang3.reflect.FieldUtils;
 
-import java.lang.reflect.Field;
 import java.util.function.Function;
 
 public class GenerateEntityIdOnTheClient {
@@ -17,8 +15,8 @@ public class GenerateEntityIdOnTheClient {
         this._generateId = generateId;
     }
 
-    private Field getIdentityProperty(Class<?> entityType) {
-        return _conventions.getIdentityProperty(entityType);
+    private IdentityPropertyAccessor getIdentityProperty(Class<?> entityType) {
+        return _conventions.getIdentityPropertyAccessor(entityType);
     }
 
     /**
@@ -31,20 +29,16 @@ public class GenerateEntityIdOnTheClient {
         if (entity == null) {
             throw new IllegalArgumentException("Entity cannot be null");
         }
-        try {
-            Field identityProperty = getIdentityProperty(entity.getClass());
-            if (identityProperty != null) {
-                Object value = FieldUtils.readField(identityProperty, entity, true);
-                if (value instanceof String) {
-                    idHolder.value = (String)value;
-                    return true;
-                }
+        IdentityPropertyAccessor identityProperty = getIdentityProperty(entity.getClass());
+        if (identityProperty != null) {
+            Object value = identityProperty.getValue(entity);
+            if (value instanceof String) {
+                idHolder.value = (String)value;
+                return true;
             }
-            idHolder.value = null;
-            return false;
-        } catch (IllegalAccessException e) {
-            throw new IllegalStateException(e);
         }
+        idHolder.value = null;
+        return false;
     }
 
     /**
@@ -80,25 +74,21 @@ public class GenerateEntityIdOnTheClient {
      */
     public void trySetIdentity(Object entity, String id) {
         Class<?> entityType = entity.getClass();
-        Field identityProperty = _conventions.getIdentityProperty(entityType);
+        IdentityPropertyAccessor identityProperty = getIdentityProperty(entityType);
 
         if (identityProperty == null) {
             return;
         }
 
-        setPropertyOrField(identityProperty.getType(), entity, identityProperty, id);
+        setPropertyOrField(identityProperty.getField().getType(), entity, identityProperty, id);
     }
 
-    private void setPropertyOrField(Class<?> propertyOrFieldType, Object entity, Field field, String id) {
-        try {
-            if (String.class.equals(propertyOrFieldType)) {
-                FieldUtils.writeField(field, entity, id, true);
-            } else {
-                throw new IllegalArgumentException("Cannot set identity value '" + id + "' on field " + propertyOrFieldType +
-                        " because field type is not string.");
-            }
-        } catch (IllegalAccessException e) {
-            throw new IllegalStateException(e);
+    private void setPropertyOrField(Class<?> propertyOrFieldType, Object entity, IdentityPropertyAccessor accessor, String id) {
+        if (String.class.equals(propertyOrFieldType)) {
+            accessor.setValue(entity, id);
+        } else {
+            throw new IllegalArgumentException("Cannot set identity value '" + id + "' on field " + propertyOrFieldType +
+                    " because field type is not string.");
         }
     }
 }
@@ -4,15 +4,25 @@ import net.ravendb.client.documents.IDocumentStore;
 import net.ravendb.client.documents.commands.HiLoReturnCommand;
 import net.ravendb.client.documents.commands.NextHiLoCommand;
 import net.ravendb.client.http.RequestExecutor;
+import net.ravendb.client.primitives.ExceptionsUtils;
 
+import java.time.Duration;
 import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  *  Generate hilo numbers against a RavenDB document
  */
 public class HiLoIdGenerator {
 
+    // weight of the latest sample in allocation rate and fetch latency averages
+    private static final double EWMA_ALPHA = 0.5;
+
     private final Object generatorLock = new Object();
 
     private final IDocumentStore _store;
@@ -25,11 +35,35 @@ public class HiLoIdGenerator {
     private volatile RangeValue _range;
     protected String serverTag;
 
+    private final double _prefetchThreshold;
+    private CompletableFuture<HiLoResult> _prefetchedRange;
+
+    private final LongAdder _generatedIds = new LongAdder();
+    private long _fetchedRanges;
+    private long _prefetchedRanges;
+    private long _stalls;
+    private long _totalStallNanos;
+    private long _maxStallNanos;
+    private volatile double _allocationRate;
+    private volatile double _fetchLatencyNanos;
+
     public HiLoIdGenerator(String tag, IDocumentStore store, String dbName, String identityPartsSeparator) {
+        this(tag, store, dbName, identityPartsSeparator, 0);
+    }
+
+    /**
+     * @param tag Tag
+     * @param store Document store
+     * @param dbName Database name
+     * @param identityPartsSeparator Identity parts separator
+     * @param prefetchThreshold Fraction of the current range after which next range is requested in background (0 disables prefetching)
+     */
+    public HiLoIdGenerator(String tag, IDocumentStore store, String dbName, String identityPartsSeparator, double prefetchThreshold) {
         _store = store;
         _tag = tag;
         _dbName = dbName;
         _identityPartsSeparator = identityPartsSeparator;
+        _prefetchThreshold = prefetchThreshold;
         _range = new RangeValue(1, 0);
     }
 
@@ -50,10 +84,19 @@ public class HiLoIdGenerator {
         public final long Max;
         public final AtomicLong Current;
 
+        private final long _createdAt = System.nanoTime();
+        private final long _prefetchAt;
+        private final AtomicBoolean _prefetchRequested = new AtomicBoolean();
+
         public RangeValue(long min, long max) {
+            this(min, max, Long.MAX_VALUE);
+        }
+
+        RangeValue(long min, long max, long prefetchAt) {
             Min = min;
             Max = max;
             Current = new AtomicLong(min - 1);
+            _prefetchAt = prefetchAt;
         }
     }
 
@@ -73,14 +116,20 @@ public class HiLoIdGenerator {
 
             long id = range.Current.incrementAndGet();
             if (id <= range.Max) {
+                _generatedIds.increment();
+
+                if (id >= range._prefetchAt && range._prefetchRequested.compareAndSet(false, true)) {
+                    startPrefetch(range);
+                }
+
                 return id;
             }
 
             //local range is exhausted , need to get a new range
             synchronized (generatorLock) {
-                id = range.Current.get();
-                if (id <= range.Max) {
-                    return id;
+                if (_range != range) {
+                    // other thread already got a new range
+                    continue;
                 }
 
                 getNextRange();
@@ -88,24 +137,146 @@ public class HiLoIdGenerator {
         }
     }
 
+    private void startPrefetch(RangeValue range) {
+        synchronized (generatorLock) {
+            if (_prefetchedRange != null || _range != range) {
+                return;
+            }
+
+            long lastRangeMax = range.Max;
+            _prefetchedRange = CompletableFuture.supplyAsync(() -> fetchRange(lastRangeMax), _store.getRequestExecutor(_dbName).getBackgroundExecutor());
+        }
+    }
+
+    // must be called under generatorLock
     private void getNextRange() {
-        NextHiLoCommand hiloCommand = new NextHiLoCommand(_tag, _lastBatchSize, _lastRangeDate, _identityPartsSeparator, _range.Max);
+        long start = System.nanoTime();
+
+        HiLoResult result;
+        boolean stalled;
+
+        if (_prefetchedRange != null) {
+            stalled = !_prefetchedRange.isDone();
+
+            try {
+                result = _prefetchedRange.get();
+                _prefetchedRanges++;
+            } catch (InterruptedException e) {
+                throw ExceptionsUtils.unwrapException(e);
+            } catch (ExecutionException e) {
+                // prefetch failed, try again synchronously
+                result = fetchRange(_range.Max);
+            } finally {
+                _prefetchedRange = null;
+            }
+        } else {
+            stalled = true;
+            result = fetchRange(_range.Max);
+        }
 
-        RequestExecutor re = _store.getRequestExecutor();
+        if (stalled) {
+            long stallNanos = System.nanoTime() - start;
+            _stalls++;
+            _totalStallNanos += stallNanos;
+            _maxStallNanos = Math.max(_maxStallNanos, stallNanos);
+        }
+
+        updateAllocationRate(_range);
+        installRange(result);
+    }
+
+    private HiLoResult fetchRange(long lastRangeMax) {
+        long start = System.nanoTime();
+
+        NextHiLoCommand hiloCommand = new NextHiLoCommand(_tag, _lastBatchSize, _lastRangeDate, _identityPartsSeparator, lastRangeMax);
+
+        RequestExecutor re = _store.getRequestExecutor(_dbName);
         re.execute(hiloCommand);
 
-        prefix = hiloCommand.getResult().getPrefix();
-        serverTag = hiloCommand.getResult().getServerTag();
-        _lastRangeDate = hiloCommand.getResult().getLastRangeAt();
-        _lastBatchSize = hiloCommand.getResult().getLastSize();
-        _range = new RangeValue(hiloCommand.getResult().getLow(), hiloCommand.getResult().getHigh());
+        double latency = System.nanoTime() - start;
+        _fetchLatencyNanos = _fetchLatencyNanos == 0 ? latency : EWMA_ALPHA * latency + (1 - EWMA_ALPHA) * _fetchLatencyNanos;
+
+        return hiloCommand.getResult();
     }
 
-    public void returnUnusedRange() {
-        HiLoReturnCommand returnCommand = new HiLoReturnCommand(_tag, _range.Current.get(), _range.Max);
+    private void updateAllocationRate(RangeValue exhaustedRange) {
+        long size = exhaustedRange.Max - exhaustedRange.Min + 1;
+        if (size <= 0) {
+            return;
+        }
+
+        double seconds = Math.max(System.nanoTime() - exhaustedRange._createdAt, 1) / (double) TimeUnit.SECONDS.toNanos(1);
+        double rate = size / seconds;
+
+        _allocationRate = _allocationRate == 0 ? rate : EWMA_ALPHA * rate + (1 - EWMA_ALPHA) * _allocationRate;
+    }
+
+    private void installRange(HiLoResult result) {
+        prefix = result.getPrefix();
+        serverTag = result.getServerTag();
+        _lastRangeDate = result.getLastRangeAt();
+        _lastBatchSize = result.getLastSize();
+        _fetchedRanges++;
+
+        _range = new RangeValue(result.getLow(), result.getHigh(), computePrefetchPoint(result.getLow(), result.getHigh()));
+    }
+
+    private long computePrefetchPoint(long min, long max) {
+        if (_prefetchThreshold <= 0) {
+            return Long.MAX_VALUE;
+        }
+
+        long size = max - min + 1;
+        long prefetchAt = min + (long) (size * Math.min(_prefetchThreshold, 1)) - 1;
+
+        // when ids are consumed faster than next range can be fetched, start prefetch earlier,
+        // so it is ready (with some margin) by the time current range is exhausted
+        long consumedDuringFetch = (long) Math.ceil(2 * _allocationRate * _fetchLatencyNanos / TimeUnit.SECONDS.toNanos(1));
+
+        return Math.max(min, Math.min(prefetchAt, max - consumedDuringFetch));
+    }
 
+    public void returnUnusedRange() {
         RequestExecutor re = _store.getRequestExecutor(_dbName);
+
+        CompletableFuture<HiLoResult> prefetchedRange;
+        synchronized (generatorLock) {
+            prefetchedRange = _prefetchedRange;
+            _prefetchedRange = null;
+        }
+
+        // prefetched range is the most recent one, so it has to be returned first
+        if (prefetchedRange != null) {
+            try {
+                HiLoResult result = prefetchedRange.get();
+                re.execute(new HiLoReturnCommand(_tag, result.getLow() - 1, result.getHigh()));
+            } catch (InterruptedException | ExecutionException e) {
+                // range wasn't fetched, nothing to return
+            }
+        }
+
+        HiLoReturnCommand returnCommand = new HiLoReturnCommand(_tag, _range.Current.get(), _range.Max);
         re.execute(returnCommand);
     }
 
+    /**
+     * @return Statistics of this generator
+     */
+    public HiLoStatistics getStatistics() {
+        synchronized (generatorLock) {
+            RangeValue range = _range;
+
+            HiLoStatistics statistics = new HiLoStatistics();
+            statistics.setTag(_tag);
+            statistics.setGeneratedIds(_generatedIds.sum());
+            statistics.setFetchedRanges(_fetchedRanges);
+            statistics.setPrefetchedRanges(_prefetchedRanges);
+            statistics.setStalls(_stalls);
+            statistics.setTotalStallTime(Duration.ofNanos(_totalStallNanos));
+            statistics.setMaxStallTime(Duration.ofNanos(_maxStallNanos));
+            statistics.setAllocationRate(_allocationRate);
+            statistics.setCurrentRangeSize(Math.max(range.Max - range.Min + 1, 0));
+            return statistics;
+        }
+    }
 }
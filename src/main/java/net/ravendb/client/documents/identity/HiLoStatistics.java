@@ -0,0 +1,118 @@
+package net.ravendb.client.documents.identity;
+
+import java.time.Duration;
+
+/**
+ * Statistics of HiLo id generator for single tag
+ */
+public class HiLoStatistics {
+
+    private String tag;
+    private long generatedIds;
+    private long fetchedRanges;
+    private long prefetchedRanges;
+    private long stalls;
+    private Duration totalStallTime;
+    private Duration maxStallTime;
+    private double allocationRate;
+    private long currentRangeSize;
+
+    /**
+     * @return Tag (collection prefix) of generated ids
+     */
+    public String getTag() {
+        return tag;
+    }
+
+    public void setTag(String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * @return Number of ids generated so far
+     */
+    public long getGeneratedIds() {
+        return generatedIds;
+    }
+
+    public void setGeneratedIds(long generatedIds) {
+        this.generatedIds = generatedIds;
+    }
+
+    /**
+     * @return Number of ranges received from the server
+     */
+    public long getFetchedRanges() {
+        return fetchedRanges;
+    }
+
+    public void setFetchedRanges(long fetchedRanges) {
+        this.fetchedRanges = fetchedRanges;
+    }
+
+    /**
+     * @return Number of ranges which were requested in background
+     */
+    public long getPrefetchedRanges() {
+        return prefetchedRanges;
+    }
+
+    public void setPrefetchedRanges(long prefetchedRanges) {
+        this.prefetchedRanges = prefetchedRanges;
+    }
+
+    /**
+     * @return Number of times id generation had to wait for the server
+     */
+    public long getStalls() {
+        return stalls;
+    }
+
+    public void setStalls(long stalls) {
+        this.stalls = stalls;
+    }
+
+    /**
+     * @return Total time id generation waited for the server
+     */
+    public Duration getTotalStallTime() {
+        return totalStallTime;
+    }
+
+    public void setTotalStallTime(Duration totalStallTime) {
+        this.totalStallTime = totalStallTime;
+    }
+
+    /**
+     * @return Longest single wait for the server
+     */
+    public Duration getMaxStallTime() {
+        return maxStallTime;
+    }
+
+    public void setMaxStallTime(Duration maxStallTime) {
+        this.maxStallTime = maxStallTime;
+    }
+
+    /**
+     * @return Observed allocation rate (ids per second), averaged over recently exhausted ranges
+     */
+    public double getAllocationRate() {
+        return allocationRate;
+    }
+
+    public void setAllocationRate(double allocationRate) {
+        this.allocationRate = allocationRate;
+    }
+
+    /**
+     * @return Size of the range ids are currently taken from
+     */
+    public long getCurrentRangeSize() {
+        return currentRangeSize;
+    }
+
+    public void setCurrentRangeSize(long currentRangeSize) {
+        this.currentRangeSize = currentRangeSize;
+    }
+}
@@ -0,0 +1,67 @@
+package net.ravendb.client.documents.identity;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * Reads and writes identity field of entity class. Method handles are created once per class,
+ * so there is no reflective lookup nor access check on each access.
+ */
+public class IdentityPropertyAccessor {
+
+    private final Field _field;
+    private final MethodHandle _getter;
+    private final MethodHandle _setter;
+
+    private IdentityPropertyAccessor(Field field, MethodHandle getter, MethodHandle setter) {
+        _field = field;
+        _getter = getter;
+        _setter = setter;
+    }
+
+    public static IdentityPropertyAccessor create(Field field) {
+        try {
+            field.setAccessible(true);
+
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+            MethodHandle getter = lookup.unreflectGetter(field)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            MethodHandle setter = lookup.unreflectSetter(field)
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+
+            return new IdentityPropertyAccessor(field, getter, setter);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Unable to access identity field " + field.getName() + " of " + field.getDeclaringClass().getName(), e);
+        }
+    }
+
+    /**
+     * @return Identity field
+     */
+    public Field getField() {
+        return _field;
+    }
+
+    public Object getValue(Object entity) {
+        try {
+            return (Object) _getter.invokeExact(entity);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public void setValue(Object entity, Object value) {
+        try {
+            _setter.invokeExact(entity, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
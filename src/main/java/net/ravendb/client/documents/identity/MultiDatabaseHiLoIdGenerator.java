@@ -21,7 +21,10 @@ public class MultiDatabaseHiLoIdGenerator {
     public String generateDocumentId(String dbName, Object entity) {
         String db = dbName != null ? dbName : store.getDatabase();
 
-        MultiTypeHiLoIdGenerator generator = _generators.computeIfAbsent(db, x -> generateMultiTypeHiLoFunc(x));
+        MultiTypeHiLoIdGenerator generator = _generators.get(db);
+        if (generator == null) {
+            generator = _generators.computeIfAbsent(db, x -> generateMultiTypeHiLoFunc(x));
+        }
         return generator.generateDocumentId(entity);
     }
 
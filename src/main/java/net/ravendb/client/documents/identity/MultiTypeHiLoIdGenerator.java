@@ -4,6 +4,8 @@ import net.ravendb.client.documents.DocumentStore;
 import net.ravendb.client.documents.conventions.DocumentConventions;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -12,8 +14,8 @@ import java.util.concurrent.ConcurrentMap;
  */
 public class MultiTypeHiLoIdGenerator {
 
-    private final Object _generatorLock = new Object();
     private final ConcurrentMap<String, HiLoIdGenerator> _idGeneratorsByTag = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> _tagsByCollectionName = new ConcurrentHashMap<>();
     protected final DocumentStore store;
     protected final String dbName;
     protected final DocumentConventions conventions;
@@ -31,29 +33,33 @@ public class MultiTypeHiLoIdGenerator {
             return null;
         }
 
-        String tag = conventions.getTransformClassCollectionNameToDocumentIdPrefix().apply(typeTagName);
-
-        HiLoIdGenerator value = _idGeneratorsByTag.get(tag);
-        if (value != null) {
-            return value.generateDocumentId(entity);
+        String tag = _tagsByCollectionName.get(typeTagName);
+        if (tag == null) {
+            tag = _tagsByCollectionName.computeIfAbsent(typeTagName, conventions.getTransformClassCollectionNameToDocumentIdPrefix());
         }
 
-        synchronized (_generatorLock) {
-            value = _idGeneratorsByTag.get(tag);
-
-            if (value != null) {
-                return value.generateDocumentId(entity);
-            }
-
-            value = createGeneratorFor(tag);
-            _idGeneratorsByTag.put(tag, value);
+        // fast path doesn't take any lock, computeIfAbsent locks only the bin of missing tag
+        HiLoIdGenerator value = _idGeneratorsByTag.get(tag);
+        if (value == null) {
+            value = _idGeneratorsByTag.computeIfAbsent(tag, this::createGeneratorFor);
         }
 
         return value.generateDocumentId(entity);
     }
 
     protected HiLoIdGenerator createGeneratorFor(String tag) {
-        return new HiLoIdGenerator(tag, store, dbName, conventions.getIdentityPartsSeparator());
+        return new HiLoIdGenerator(tag, store, dbName, conventions.getIdentityPartsSeparator(), conventions.getHiLoPrefetchThreshold());
+    }
+
+    /**
+     * @return Statistics of id generators, by tag
+     */
+    public Map<String, HiLoStatistics> getStatistics() {
+        Map<String, HiLoStatistics> statistics = new TreeMap<>();
+        for (Map.Entry<String, HiLoIdGenerator> generator : _idGeneratorsByTag.entrySet()) {
+            statistics.put(generator.getKey(), generator.getValue().getStatistics());
+        }
+        return statistics;
     }
 
     public void returnUnusedRange() {
@@ -56,7 +56,6 @@ public class MaintenanceOperationExecutor {
         RavenCommand<OperationIdResult> command = operation.getCommand(requestExecutor.getConventions());
 
         requestExecutor.execute(command);
-        return new Operation(requestExecutor, requestExecutor.getConventions(), command.getResult().getOperationId());
-        //TBD pass changes as well
+        return new Operation(requestExecutor, () -> store.changes(databaseName), requestExecutor.getConventions(), command.getResult().getOperationId());
     }
 }
@@ -2,35 +2,72 @@ package net.ravendb.client.documents.operations;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.documents.changes.IChangesObservable;
+import net.ravendb.client.documents.changes.IDatabaseChanges;
+import net.ravendb.client.documents.changes.IObserver;
+import net.ravendb.client.documents.changes.OperationStatusChange;
 import net.ravendb.client.documents.conventions.DocumentConventions;
 import net.ravendb.client.exceptions.ExceptionDispatcher;
 import net.ravendb.client.extensions.JsonExtensions;
 import net.ravendb.client.http.RavenCommand;
 import net.ravendb.client.http.RequestExecutor;
-import net.ravendb.client.primitives.OperationCancelledException;
+import net.ravendb.client.primitives.*;
 
-public class Operation {
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class Operation implements IObserver<OperationStatusChange> {
+
+    private static final Duration MIN_POLL_DELAY = Duration.ofMillis(25);
+    private static final Duration MAX_POLL_DELAY = Duration.ofSeconds(1);
 
     private final RequestExecutor _requestExecutor;
-    //TBD private readonly Func<IDatabaseChanges> _changes;
+    private final Supplier<IDatabaseChanges> _changes;
     private final DocumentConventions _conventions;
     private final long _id;
 
-    //TBD public Action<IOperationProgress> OnProgressChanged;
-    //TBD private IDisposable _subscription;
+    private final List<Consumer<ObjectNode>> onProgressChanged = new CopyOnWriteArrayList<>();
+
+    private CompletableFuture<Void> _result;
+    private IDatabaseChanges _changesClient;
+    private CleanCloseable _subscription;
+    private final AtomicBoolean _polling = new AtomicBoolean();
+    private volatile boolean _subscribed;
+    private Duration _pollDelay = MIN_POLL_DELAY;
+
+    private final EventHandler<VoidArgs> _connectionStatusChanged = (sender, event) -> onConnectionStatusChanged();
 
     public long getId() {
         return _id;
     }
 
     public Operation(RequestExecutor requestExecutor, DocumentConventions conventions, long id) {
+        this(requestExecutor, null, conventions, id);
+    }
+
+    public Operation(RequestExecutor requestExecutor, Supplier<IDatabaseChanges> changes, DocumentConventions conventions, long id) {
         _requestExecutor = requestExecutor;
-        //TBD _changes = changes;
+        _changes = changes;
         _conventions = conventions;
         _id = id;
     }
 
-    //TBD currently we simply pull for status - implement this using changes API
+    /**
+     * Registers handler invoked with operation progress (as sent by the server) while operation is in progress.
+     * @param handler Progress handler
+     */
+    public void addOnProgressChanged(Consumer<ObjectNode> handler) {
+        onProgressChanged.add(handler);
+    }
+
+    public void removeOnProgressChanged(Consumer<ObjectNode> handler) {
+        onProgressChanged.remove(handler);
+    }
 
     private ObjectNode fetchOperationsStatus() {
         RavenCommand<ObjectNode> command = getOperationStateCommand(_conventions, _id);
@@ -42,27 +79,184 @@ public class Operation {
     protected RavenCommand<ObjectNode> getOperationStateCommand(DocumentConventions conventions, long id) {
         return new GetOperationStateOperation.GetOperationStateCommand(_conventions, _id);
     }
+
     public void waitForCompletion() {
-        while (true) {
-            ObjectNode status = fetchOperationsStatus();
-
-            String operationStatus = status.get("Status").asText();
-            switch (operationStatus) {
-                case "Completed":
-                    return ;
-                case "Cancelled":
-                    throw new OperationCancelledException();
-                case "Faulted":
-                    JsonNode result = status.get("Result");
-                    OperationExceptionResult exceptionResult = JsonExtensions.getDefaultMapper().convertValue(result, OperationExceptionResult.class);
-                    throw ExceptionDispatcher.get(exceptionResult.getMessage(), exceptionResult.getError(), exceptionResult.getType(), exceptionResult.getStatusCode());
+        ExceptionsUtils.accept(() -> waitForCompletionAsync().get());
+    }
+
+    /**
+     * Waits for operation completion. Completion is pushed by the server using changes API,
+     * until we are subscribed (or when changes are not available) we poll for operation state with increasing delay.
+     * @return Future which completes when operation is completed on the server
+     */
+    public CompletableFuture<Void> waitForCompletionAsync() {
+        synchronized (this) {
+            if (_result == null) {
+                _result = new CompletableFuture<>();
+                _result.whenComplete((r, e) -> closeSubscription());
+                initialize();
             }
 
+            return _result;
+        }
+    }
+
+    private void initialize() {
+        // don't wait for the changes connection, it can take long when web sockets are blocked
+        startPolling();
+
+        if (_changes == null) {
+            return;
+        }
+
+        try {
+            _changesClient = _changes.get();
+
+            IChangesObservable<OperationStatusChange> observable = _changesClient.forOperationId(_id);
+            _subscription = observable.subscribe(this);
+            _changesClient.addConnectionStatusChanged(_connectionStatusChanged);
+
+            observable.ensureSubscribedNow().whenComplete((r, e) -> {
+                if (e != null) {
+                    // changes are not available, keep polling
+                    return;
+                }
+
+                _subscribed = true;
+
+                // We start the operation before we subscribe,
+                // so if we subscribe after the operation was already completed we will miss the notification.
+                // Fetch and process the operation status after subscribing to catch such cases.
+                fetchOperationStatusAsync();
+            });
+        } catch (Exception e) {
+            // changes are not available, keep polling
+        }
+    }
+
+    private void onConnectionStatusChanged() {
+        // we might have missed notification while connection was down
+        fetchOperationStatusAsync();
+    }
+
+    private void fetchOperationStatusAsync() {
+        CompletableFuture.runAsync(() -> {
             try {
-                Thread.sleep(500);
-            } catch (InterruptedException e) {
-                throw new RuntimeException(e);
+                processStatus(fetchOperationsStatus());
+            } catch (Exception e) {
+                _result.completeExceptionally(e);
+            }
+        }, _requestExecutor.getBackgroundExecutor());
+    }
+
+    private void startPolling() {
+        if (!_polling.compareAndSet(false, true)) {
+            return;
+        }
+
+        _pollDelay = MIN_POLL_DELAY;
+        new Timer(this::poll, Duration.ZERO, null, _requestExecutor.getBackgroundExecutor());
+    }
+
+    private void poll() {
+        if (_result.isDone()) {
+            return;
+        }
+
+        if (_subscribed) {
+            // status is pushed by changes from now on
+            _polling.set(false);
+
+            if (!_subscribed) {
+                startPolling(); // subscription was lost in the meantime
+            }
+            return;
+        }
+
+        try {
+            if (processStatus(fetchOperationsStatus())) {
+                return;
             }
+        } catch (Exception e) {
+            _result.completeExceptionally(e);
+            return;
+        }
+
+        Duration delay = _pollDelay;
+        Duration next = delay.multipliedBy(2);
+        _pollDelay = next.compareTo(MAX_POLL_DELAY) > 0 ? MAX_POLL_DELAY : next;
+
+        new Timer(this::poll, delay, null, _requestExecutor.getBackgroundExecutor());
+    }
+
+    private boolean processStatus(ObjectNode status) {
+        if (status == null) {
+            return false;
+        }
+
+        String operationStatus = status.path("Status").asText();
+        switch (operationStatus) {
+            case "InProgress":
+                JsonNode progress = status.get("Progress");
+                if (progress instanceof ObjectNode) {
+                    EventHelper.invoke(onProgressChanged, (ObjectNode) progress);
+                }
+                return false;
+            case "Completed":
+                _result.complete(null);
+                return true;
+            case "Canceled":
+            case "Cancelled":
+                _result.completeExceptionally(new OperationCancelledException());
+                return true;
+            case "Faulted":
+                JsonNode result = status.get("Result");
+                OperationExceptionResult exceptionResult = JsonExtensions.getDefaultMapper().convertValue(result, OperationExceptionResult.class);
+                _result.completeExceptionally(ExceptionDispatcher.get(exceptionResult.getMessage(), exceptionResult.getError(), exceptionResult.getType(), exceptionResult.getStatusCode()));
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void onNext(OperationStatusChange change) {
+        _subscribed = true;
+
+        try {
+            processStatus(change.getState());
+        } catch (Exception e) {
+            _result.completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public void onError(Exception error) {
+        // changes connection is broken, we don't know when it is going to be back
+        _subscribed = false;
+        startPolling();
+    }
+
+    @Override
+    public void onCompleted() {
+    }
+
+    private void closeSubscription() {
+        IDatabaseChanges changes;
+        CleanCloseable subscription;
+        synchronized (this) {
+            changes = _changesClient;
+            subscription = _subscription;
+            _changesClient = null;
+            _subscription = null;
+        }
+
+        if (changes != null) {
+            changes.removeConnectionStatusChanged(_connectionStatusChanged);
+        }
+
+        if (subscription != null) {
+            subscription.close();
         }
     }
 }
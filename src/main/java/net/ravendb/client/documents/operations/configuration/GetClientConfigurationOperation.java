@@ -26,6 +26,11 @@ public class GetClientConfigurationOperation implements IMaintenanceOperation<Ge
             return false;
         }
 
+        @Override
+        public boolean isModifyingDocuments() {
+            return false;
+        }
+
         @Override
         public HttpRequestBase createRequest(ServerNode node, Reference<String> url) {
             url.value = node.getUrl() + "/databases/" + node.getDatabase() + "/configuration/client";
@@ -48,6 +48,11 @@ public class IndexHasChangedOperation implements IMaintenanceOperation<Boolean>
             return false;
         }
 
+        @Override
+        public boolean isModifyingDocuments() {
+            return false;
+        }
+
         @Override
         public HttpRequestBase createRequest(ServerNode node, Reference<String> url) {
             url.value = node.getUrl() + "/databases/" + node.getDatabase() + "/indexes/has-changed";
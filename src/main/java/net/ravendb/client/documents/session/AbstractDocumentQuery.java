@@ -3,6 +3,7 @@ package net.ravendb.client.documents.session;
 import com.google.common.base.Defaults;
 import net.ravendb.client.Constants;
 import net.ravendb.client.Parameters;
+import net.ravendb.client.documents.Lazy;
 import net.ravendb.client.documents.commands.QueryCommand;
 import net.ravendb.client.documents.conventions.DocumentConventions;
 import net.ravendb.client.documents.indexes.spatial.SpatialRelation;
@@ -11,6 +12,7 @@ import net.ravendb.client.documents.queries.*;
 import net.ravendb.client.documents.queries.spatial.SpatialCriteria;
 import net.ravendb.client.documents.queries.spatial.DynamicSpatialField;
 import net.ravendb.client.documents.session.operations.QueryOperation;
+import net.ravendb.client.documents.session.operations.lazy.LazyQueryOperation;
 import net.ravendb.client.documents.session.tokens.*;
 import net.ravendb.client.primitives.CleanCloseable;
 import net.ravendb.client.primitives.Reference;
@@ -154,6 +156,7 @@ public abstract class AbstractDocumentQuery<T, TSelf extends AbstractDocumentQue
         this.declareToken = declareToken;
         this.loadTokens = loadTokens;
         theSession = session;
+        disableEntitiesTracking = session != null && session.isNoTracking();
         _addAfterQueryExecutedListener(this::updateStatsAndHighlightings);
         _conventions = session == null ? new DocumentConventions() : session.getConventions();
         //TBD _linqPathProvider = new LinqPathProvider(_conventions);
@@ -191,6 +194,10 @@ public abstract class AbstractDocumentQuery<T, TSelf extends AbstractDocumentQue
         return indexQuery;
     }
 
+    public Class<T> getQueryClass() {
+        return clazz;
+    }
+
     /**
      * Gets the fields for projection
      * @return list of projected fields
@@ -1691,6 +1698,29 @@ public abstract class AbstractDocumentQuery<T, TSelf extends AbstractDocumentQue
         return queryResult.getTotalResults();
     }
 
+    public Lazy<List<T>> lazily() {
+        return lazily(null);
+    }
+
+    public Lazy<List<T>> lazily(Consumer<List<T>> onEval) {
+        if (queryOperation == null) {
+            queryOperation = initializeQueryOperation();
+        }
+
+        LazyQueryOperation<T> lazyQueryOperation = new LazyQueryOperation<>(clazz, theSession.getConventions(), queryOperation, afterQueryExecutedCallback);
+        return ((DocumentSession) theSession).addLazyListOperation(clazz, lazyQueryOperation, onEval);
+    }
+
+    public Lazy<Integer> countLazily() {
+        if (queryOperation == null) {
+            _take(0);
+            queryOperation = initializeQueryOperation();
+        }
+
+        LazyQueryOperation<T> lazyQueryOperation = new LazyQueryOperation<>(clazz, theSession.getConventions(), queryOperation, afterQueryExecutedCallback);
+        return ((DocumentSession) theSession).addLazyCountOperation(lazyQueryOperation);
+    }
+
     private Collection<T> executeQueryOperation(int take) {
         if (pageSize == null || pageSize > take) {
             _take(take);
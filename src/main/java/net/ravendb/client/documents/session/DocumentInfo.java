@@ -22,6 +22,8 @@ public class DocumentInfo {
 
     private IMetadataDictionary metadataInstance;
 
+    private byte[] entityFingerprint;
+
     private Object entity;
     private boolean newDocument;
     private String collection;
@@ -142,6 +144,24 @@ public class DocumentInfo {
         this.concurrencyCheckMode = concurrencyCheckMode;
     }
 
+    /**
+     * Hash of entity and its metadata taken when entity was loaded or saved.
+     * Available only when fingerprint change tracking is enabled in conventions.
+     * @return entity fingerprint
+     */
+    public byte[] getEntityFingerprint() {
+        return entityFingerprint;
+    }
+
+    /**
+     * Hash of entity and its metadata taken when entity was loaded or saved.
+     * Available only when fingerprint change tracking is enabled in conventions.
+     * @param entityFingerprint sets the value
+     */
+    public void setEntityFingerprint(byte[] entityFingerprint) {
+        this.entityFingerprint = entityFingerprint;
+    }
+
     public static DocumentInfo getNewDocumentInfo(ObjectNode document) {
         JsonNode metadata = document.get(Constants.Documents.Metadata.KEY);
         JsonNode id = metadata.get(Constants.Documents.Metadata.ID);
@@ -506,12 +506,6 @@ public class DocumentQuery<T> extends AbstractDocumentQuery<T, DocumentQuery<T>>
         return this;
     }
 
-    //TBD public Lazy<IEnumerable<T>> Lazily()
-
-    //TBD public Lazy<int> CountLazily()
-
-    //TBD public Lazy<IEnumerable<T>> Lazily(Action<IEnumerable<T>> onEval)
-
     private <TResult> DocumentQuery<TResult> createDocumentQueryInternal(Class<TResult> resultClass) {
         return createDocumentQueryInternal(resultClass, null);
     }
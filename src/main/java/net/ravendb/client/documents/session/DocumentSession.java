@@ -1,10 +1,18 @@
 package net.ravendb.client.documents.session;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Defaults;
+import com.google.common.base.Stopwatch;
+import net.ravendb.client.Constants;
 import net.ravendb.client.documents.DocumentStore;
-import net.ravendb.client.documents.commands.GetDocumentsCommand;
-import net.ravendb.client.documents.commands.HeadDocumentCommand;
+import net.ravendb.client.documents.Lazy;
+import net.ravendb.client.documents.commands.*;
 import net.ravendb.client.documents.commands.batches.BatchCommand;
+import net.ravendb.client.documents.commands.multiGet.GetRequest;
+import net.ravendb.client.documents.commands.multiGet.GetResponse;
+import net.ravendb.client.documents.commands.multiGet.MultiGetCommand;
 import net.ravendb.client.documents.indexes.AbstractIndexCreationTask;
 import net.ravendb.client.documents.linq.IDocumentQueryGenerator;
 import net.ravendb.client.documents.queries.Query;
@@ -13,16 +21,37 @@ import net.ravendb.client.documents.session.loaders.MultiLoaderWithInclude;
 import net.ravendb.client.documents.session.operations.BatchOperation;
 import net.ravendb.client.documents.session.operations.LoadOperation;
 import net.ravendb.client.documents.session.operations.LoadStartingWithOperation;
+import net.ravendb.client.documents.session.operations.MultiGetOperation;
+import net.ravendb.client.documents.session.operations.QueryOperation;
+import net.ravendb.client.documents.session.operations.SaveChangesCoalescer;
+import net.ravendb.client.documents.session.operations.StreamOperation;
+import net.ravendb.client.documents.session.operations.lazy.IEagerSessionOperations;
+import net.ravendb.client.documents.session.operations.lazy.ILazyOperation;
+import net.ravendb.client.documents.session.operations.lazy.ILazySessionOperations;
+import net.ravendb.client.documents.session.operations.lazy.LazyLoadOperation;
+import net.ravendb.client.documents.session.operations.lazy.LazySessionOperations;
+import net.ravendb.client.documents.session.tokens.FieldsToFetchToken;
 import net.ravendb.client.http.RequestExecutor;
+import net.ravendb.client.json.MetadataAsDictionary;
+import net.ravendb.client.primitives.CloseableIterator;
+import net.ravendb.client.primitives.Reference;
 import net.ravendb.client.primitives.Tuple;
 import org.apache.commons.lang3.StringUtils;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class DocumentSession extends InMemoryDocumentSessionOperations implements IAdvancedSessionOperations, IDocumentSessionImpl, IDocumentQueryGenerator {
 
+    private final SaveChangesCoalescer _saveChangesCoalescer;
+
     /**
      * Get the accessor for advanced operations
      *
@@ -34,9 +63,21 @@ public class DocumentSession extends InMemoryDocumentSessionOperations implement
         return this;
     }
 
-    //TBD public ILazySessionOperations lazily() {
+    /**
+     * Access the lazy operations
+     */
+    @Override
+    public ILazySessionOperations lazily() {
+        return new LazySessionOperations(this);
+    }
 
-    //TBD public IEagerSessionOperations eagerly() {
+    /**
+     * Access the eager operations
+     */
+    @Override
+    public IEagerSessionOperations eagerly() {
+        return this;
+    }
 
     //TBD public IAttachmentsSessionOperations Attachments { get; }
     //TBD public IRevisionsSessionOperations Revisions { get; }
@@ -49,7 +90,14 @@ public class DocumentSession extends InMemoryDocumentSessionOperations implement
      * @param requestExecutor Request executor to use
      */
     public DocumentSession(String dbName, DocumentStore documentStore, UUID id, RequestExecutor requestExecutor) {
-        super(dbName, documentStore, requestExecutor, id);
+        this(dbName, documentStore, id, requestExecutor, new SessionOptions());
+    }
+
+    public DocumentSession(String dbName, DocumentStore documentStore, UUID id, RequestExecutor requestExecutor, SessionOptions options) {
+        super(dbName, documentStore, requestExecutor, id, options);
+
+        // session with custom request executor can't share requests with other sessions
+        _saveChangesCoalescer = options.getRequestExecutor() == null ? documentStore.getSaveChangesCoalescer(dbName) : null;
 
         //TBD Attachments = new DocumentSessionAttachments(this);
         //TBD Revisions = new DocumentSessionRevisions(this);
@@ -67,6 +115,11 @@ public class DocumentSession extends InMemoryDocumentSessionOperations implement
                 return;
             }
 
+            if (_saveChangesCoalescer != null) {
+                saveChangeOperation.setResult(_saveChangesCoalescer.execute(command, sessionInfo));
+                return;
+            }
+
             _requestExecutor.execute(command, sessionInfo);
             saveChangeOperation.setResult(command.getResult());
         }
@@ -116,8 +169,85 @@ public class DocumentSession extends InMemoryDocumentSessionOperations implement
         return getConventions().generateDocumentId(getDatabaseName(), entity);
     }
 
-    //TBD public ResponseTimeInformation ExecuteAllPendingLazyOperations()
-    //TBD private bool ExecuteLazyOperationsSingleStep(ResponseTimeInformation responseTimeInformation)
+    /**
+     * Execute all the lazy requests pending within this session
+     */
+    @Override
+    public ResponseTimeInformation executeAllPendingLazyOperations() {
+        List<ILazyOperation> operations = new ArrayList<>(pendingLazyOperations);
+
+        try {
+            List<GetRequest> requests = new ArrayList<>();
+            for (int i = 0; i < pendingLazyOperations.size(); i++) {
+                GetRequest req = pendingLazyOperations.get(i).createRequest();
+                if (req == null) {
+                    // operation was completed without hitting the server
+                    pendingLazyOperations.remove(i);
+                    i--; // so we'll recheck this index
+                    continue;
+                }
+                requests.add(req);
+            }
+
+            Stopwatch sw = Stopwatch.createStarted();
+
+            ResponseTimeInformation responseTimeDuration = new ResponseTimeInformation();
+
+            if (!requests.isEmpty()) {
+                while (executeLazyOperationsSingleStep(responseTimeDuration, requests)) {
+                    Thread.sleep(100);
+                }
+
+                responseTimeDuration.computeServerTotal();
+            }
+
+            for (ILazyOperation operation : operations) {
+                Consumer<Object> value = onEvaluateLazy.remove(operation);
+                if (value != null) {
+                    value.accept(operation.getResult());
+                }
+            }
+
+            responseTimeDuration.setTotalClientDuration(Duration.ofMillis(sw.elapsed(TimeUnit.MILLISECONDS)));
+            return responseTimeDuration;
+        } catch (InterruptedException e) {
+            throw new RuntimeException("Unable to execute pending operations: "  + e.getMessage(), e);
+        } finally {
+            pendingLazyOperations.clear();
+        }
+    }
+
+    private boolean executeLazyOperationsSingleStep(ResponseTimeInformation responseTimeInformation, List<GetRequest> requests) {
+        MultiGetOperation multiGetOperation = new MultiGetOperation(this);
+        MultiGetCommand multiGetCommand = multiGetOperation.createRequest(requests);
+        getRequestExecutor().execute(multiGetCommand, sessionInfo);
+
+        List<GetResponse> responses = multiGetCommand.getResult();
+
+        boolean requiresRetry = false;
+
+        for (int i = 0; i < pendingLazyOperations.size(); i++) {
+            GetResponse response = responses.get(i);
+
+            String tempReqTime = response.getHeaders().get(Constants.Headers.REQUEST_TIME);
+            long totalTime = tempReqTime != null ? Long.parseLong(tempReqTime) : 0;
+
+            ResponseTimeInformation.ResponseTimeItem timeItem = new ResponseTimeInformation.ResponseTimeItem();
+            timeItem.setUrl(requests.get(i).getUrlAndQuery());
+            timeItem.setDuration(Duration.ofMillis(totalTime));
+
+            responseTimeInformation.getDurationBreakdown().add(timeItem);
+
+            if (response.requestHasErrors()) {
+                throw new IllegalStateException("Got an error from server, status code: " + response.getStatusCode() + System.lineSeparator() + response.getResult());
+            }
+
+            pendingLazyOperations.get(i).handleResponse(response);
+            requiresRetry |= pendingLazyOperations.get(i).isRequiresRetry();
+        }
+
+        return requiresRetry;
+    }
 
     /**
      * Begin a load while including the specified path
@@ -128,16 +258,68 @@ public class DocumentSession extends InMemoryDocumentSessionOperations implement
 
     //TBD ILazyLoaderWithInclude<T> ILazySessionOperations.Include<T>(Expression<Func<T, string>> path)
     //TBD ILazyLoaderWithInclude<T> ILazySessionOperations.Include<T>(Expression<Func<T, IEnumerable<string>>> path)
-    //TBD Lazy<Dictionary<string, T>> ILazySessionOperations.Load<T>(IEnumerable<string> ids)
-    //TBD Lazy<Dictionary<string, T>> ILazySessionOperations.Load<T>(IEnumerable<string> ids, Action<Dictionary<string, T>> onEval)
-    //TBD Lazy<T> ILazySessionOperations.Load<T>(string id)
-    //TBD Lazy<T> ILazySessionOperations.Load<T>(string id, Action<T> onEval)
-    //TBD internal Lazy<T> AddLazyOperation<T>(ILazyOperation operation, Action<T> onEval)
-    //TBD Lazy<Dictionary<string, TResult>> ILazySessionOperations.LoadStartingWith<TResult>(string idPrefix, string matches, int start, int pageSize, string exclude, string startAfter)
     //TBD Lazy<List<TResult>> ILazySessionOperations.MoreLikeThis<TResult>(MoreLikeThisQuery query)
     //TBD ILazyLoaderWithInclude<object> ILazySessionOperations.Include(string path)
-    //TBD public Lazy<Dictionary<string, T>> LazyLoadInternal<T>(string[] ids, string[] includes, Action<Dictionary<string, T>> onEval)
-    //TBD internal Lazy<int> AddLazyCountOperation(ILazyOperation operation)
+
+    /**
+     * Register lazy operation to be executed with all other pending lazy operations
+     */
+    public <T> Lazy<T> addLazyOperation(Class<T> clazz, ILazyOperation operation, Consumer<T> onEval) {
+        return addLazyOperation(operation, result -> getOperationResult(clazz, result), onEval);
+    }
+
+    /**
+     * Register lazy operation resulting in entities by id to be executed with all other pending lazy operations
+     */
+    public <T> Lazy<Map<String, T>> addLazyMapOperation(Class<T> clazz, ILazyOperation operation, Consumer<Map<String, T>> onEval) {
+        return addLazyOperation(operation, result -> getOperationMapResult(clazz, result), onEval);
+    }
+
+    /**
+     * Register lazy operation resulting in list of entities to be executed with all other pending lazy operations
+     */
+    public <T> Lazy<List<T>> addLazyListOperation(Class<T> clazz, ILazyOperation operation, Consumer<List<T>> onEval) {
+        return addLazyOperation(operation, result -> getOperationListResult(clazz, result), onEval);
+    }
+
+    private <TResult> Lazy<TResult> addLazyOperation(ILazyOperation operation, Function<Object, TResult> getResult, Consumer<TResult> onEval) {
+        pendingLazyOperations.add(operation);
+        Lazy<TResult> lazyValue = new Lazy<>(() -> {
+            executeAllPendingLazyOperations();
+            return getResult.apply(operation.getResult());
+        });
+
+        if (onEval != null) {
+            onEvaluateLazy.put(operation, theResult -> onEval.accept(getResult.apply(theResult)));
+        }
+
+        return lazyValue;
+    }
+
+    /**
+     * Register lazy count operation to be executed with all other pending lazy operations
+     */
+    public Lazy<Integer> addLazyCountOperation(ILazyOperation operation) {
+        pendingLazyOperations.add(operation);
+
+        return new Lazy<>(() -> {
+            executeAllPendingLazyOperations();
+            return operation.getQueryResult().getTotalResults();
+        });
+    }
+
+    @Override
+    public <TResult> Lazy<Map<String, TResult>> lazyLoadInternal(Class<TResult> clazz, String[] ids, String[] includes, Consumer<Map<String, TResult>> onEval) {
+        LoadOperation loadOperation = new LoadOperation(this)
+                .byIds(ids)
+                .withIncludes(includes);
+
+        LazyLoadOperation<TResult> lazyOp = new LazyLoadOperation<>(clazz, this, loadOperation)
+                .byIds(ids)
+                .withIncludes(includes);
+
+        return addLazyMapOperation(clazz, lazyOp, onEval);
+    }
 
     @Override
     public <T> T load(Class<T> clazz, String id) {
@@ -321,15 +503,120 @@ public class DocumentSession extends InMemoryDocumentSessionOperations implement
 
     //TBD public IEnumerator<StreamResult<T>> Stream<T>(IQueryable<T> query)
     //TBD public IEnumerator<StreamResult<T>> Stream<T>(IQueryable<T> query, out StreamQueryStatistics streamQueryStats)
-    //TBD public IEnumerator<StreamResult<T>> Stream<T>(IDocumentQuery<T> query)
-    //TBD public IEnumerator<StreamResult<T>> Stream<T>(IRawDocumentQuery<T> query)
-    //TBD public IEnumerator<StreamResult<T>> Stream<T>(IRawDocumentQuery<T> query, out StreamQueryStatistics streamQueryStats)
-    //TBD public IEnumerator<StreamResult<T>> Stream<T>(IDocumentQuery<T> query, out StreamQueryStatistics streamQueryStats)
-    //TBD private IEnumerator<StreamResult<T>> YieldResults<T>(IDocumentQuery<T> query, IEnumerator<BlittableJsonReaderObject> enumerator)
+
+    @Override
+    public <T> CloseableIterator<StreamResult<T>> stream(IDocumentQuery<T> query) {
+        return stream(query.getQueryClass(), (AbstractDocumentQuery<?, ?>) query, null);
+    }
+
+    @Override
+    public <T> CloseableIterator<StreamResult<T>> stream(IDocumentQuery<T> query, Reference<StreamQueryStatistics> streamQueryStats) {
+        return stream(query.getQueryClass(), (AbstractDocumentQuery<?, ?>) query, streamQueryStats);
+    }
+
+    @Override
+    public <T> CloseableIterator<StreamResult<T>> stream(IRawDocumentQuery<T> query) {
+        return stream(query.getQueryClass(), (AbstractDocumentQuery<?, ?>) query, null);
+    }
+
+    @Override
+    public <T> CloseableIterator<StreamResult<T>> stream(IRawDocumentQuery<T> query, Reference<StreamQueryStatistics> streamQueryStats) {
+        return stream(query.getQueryClass(), (AbstractDocumentQuery<?, ?>) query, streamQueryStats);
+    }
+
+    private <T> CloseableIterator<StreamResult<T>> stream(Class<T> clazz, AbstractDocumentQuery<?, ?> query, Reference<StreamQueryStatistics> streamQueryStats) {
+        StreamQueryStatistics stats = new StreamQueryStatistics();
+        StreamOperation streamOperation = new StreamOperation(this, stats);
+        QueryStreamCommand command = streamOperation.createRequest(query.getIndexQuery());
+
+        getRequestExecutor().execute(command, sessionInfo);
+
+        CloseableIterator<ObjectNode> result = streamOperation.setResult(command.getResult());
+
+        if (streamQueryStats != null) {
+            streamQueryStats.value = stats;
+        }
+
+        return yieldResults(clazz, result, query.fieldsToFetchToken);
+    }
+
+    private <T> CloseableIterator<StreamResult<T>> yieldResults(Class<T> clazz, CloseableIterator<ObjectNode> enumerator, FieldsToFetchToken fieldsToFetch) {
+        return new CloseableIterator<StreamResult<T>>() {
+            @Override
+            public boolean hasNext() {
+                return enumerator.hasNext();
+            }
+
+            @Override
+            public StreamResult<T> next() {
+                return createStreamResult(clazz, enumerator.next(), fieldsToFetch);
+            }
+
+            @Override
+            public void close() {
+                enumerator.close();
+            }
+        };
+    }
+
     //TBD public void StreamInto<T>(IRawDocumentQuery<T> query, Stream output)
     //TBD public void StreamInto<T>(IDocumentQuery<T> query, Stream output)
-    //TBD private StreamResult<T> CreateStreamResult<T>(BlittableJsonReaderObject json, string[] projectionFields)
-    //TBD public IEnumerator<StreamResult<T>> Stream<T>(string startsWith, string matches = null, int start = 0, int pageSize = int.MaxValue, string startAfter = null)
+
+    private <T> StreamResult<T> createStreamResult(Class<T> clazz, ObjectNode json, FieldsToFetchToken fieldsToFetch) {
+        ObjectNode metadata = (ObjectNode) json.get(Constants.Documents.Metadata.KEY);
+
+        JsonNode changeVectorNode = metadata.get(Constants.Documents.Metadata.CHANGE_VECTOR);
+        JsonNode idNode = metadata.get(Constants.Documents.Metadata.ID);
+
+        String changeVector = changeVectorNode != null && changeVectorNode.isTextual() ? changeVectorNode.asText() : null;
+        String id = idNode != null && idNode.isTextual() ? idNode.asText() : null;
+
+        try {
+            // streamed documents are never tracked by the session
+            T entity = QueryOperation.deserialize(clazz, id, json, metadata, fieldsToFetch, true, this);
+
+            StreamResult<T> streamResult = new StreamResult<>();
+            streamResult.setChangeVector(changeVector);
+            streamResult.setId(id);
+            streamResult.setDocument(entity);
+            streamResult.setMetadata(new MetadataAsDictionary(metadata));
+
+            return streamResult;
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Unable to read json: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public <T> CloseableIterator<StreamResult<T>> stream(Class<T> clazz, String startsWith) {
+        return stream(clazz, startsWith, null, 0, Integer.MAX_VALUE, null);
+    }
+
+    @Override
+    public <T> CloseableIterator<StreamResult<T>> stream(Class<T> clazz, String startsWith, String matches) {
+        return stream(clazz, startsWith, matches, 0, Integer.MAX_VALUE, null);
+    }
+
+    @Override
+    public <T> CloseableIterator<StreamResult<T>> stream(Class<T> clazz, String startsWith, String matches, int start) {
+        return stream(clazz, startsWith, matches, start, Integer.MAX_VALUE, null);
+    }
+
+    @Override
+    public <T> CloseableIterator<StreamResult<T>> stream(Class<T> clazz, String startsWith, String matches, int start, int pageSize) {
+        return stream(clazz, startsWith, matches, start, pageSize, null);
+    }
+
+    @Override
+    public <T> CloseableIterator<StreamResult<T>> stream(Class<T> clazz, String startsWith, String matches, int start, int pageSize, String startAfter) {
+        StreamOperation streamOperation = new StreamOperation(this);
+
+        StreamCommand command = streamOperation.createRequest(startsWith, matches, start, pageSize, null, startAfter);
+        getRequestExecutor().execute(command, sessionInfo);
+
+        CloseableIterator<ObjectNode> result = streamOperation.setResult(command.getResult());
+        return yieldResults(clazz, result, null);
+    }
 
     /* TBD move to revisions
     public <T> List<T> getRevisionsFor(Class<T> clazz, String id) {
@@ -1,5 +1,7 @@
 package net.ravendb.client.documents.session;
 
+import net.ravendb.client.util.CaseInsensitiveHashMap;
+
 import java.util.*;
 
 public class DocumentsById implements Iterable<Map.Entry<String, DocumentInfo>> {
@@ -7,7 +9,7 @@ public class DocumentsById implements Iterable<Map.Entry<String, DocumentInfo>>
     private final Map<String, DocumentInfo> _inner;
 
     public DocumentsById() {
-        this._inner = new TreeMap<>(String::compareToIgnoreCase);
+        this._inner = new CaseInsensitiveHashMap<>();
     }
 
     public DocumentInfo getValue(String id) {
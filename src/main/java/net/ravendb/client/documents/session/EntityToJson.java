@@ -1,12 +1,20 @@
 package net.ravendb.client.documents.session;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Funnels;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import net.ravendb.client.Constants;
 import net.ravendb.client.documents.conventions.DocumentConventions;
 import net.ravendb.client.extensions.JsonExtensions;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Field;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.TreeMap;
 
@@ -47,6 +55,53 @@ public class EntityToJson {
         return jsonNode;
     }
 
+    /**
+     * Computes hash of serialized entity and its metadata. Entity is serialized directly into the hash function,
+     * so it is much cheaper than building json tree and comparing it with original document.
+     * @param entity Entity
+     * @param documentInfo Document info
+     * @return entity fingerprint
+     */
+    public byte[] computeEntityFingerprint(Object entity, DocumentInfo documentInfo) {
+        ObjectMapper mapper = _session.getConventions().getEntityMapper();
+
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+
+        try (OutputStream stream = Funnels.asOutputStream(hasher)) {
+            mapper.writeValue(stream, entity);
+
+            ObjectNode metadata = documentInfo.getMetadata();
+            if (metadata != null) {
+                Iterator<Map.Entry<String, JsonNode>> fields = metadata.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    if (isMetadataAssignedByServer(field.getKey())) {
+                        continue;
+                    }
+
+                    hasher.putUnencodedChars(field.getKey());
+                    mapper.writeValue(stream, field.getValue());
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to compute entity fingerprint: " + e.getMessage(), e);
+        }
+
+        if (documentInfo.getCollection() != null) {
+            hasher.putUnencodedChars(documentInfo.getCollection());
+        }
+
+        return hasher.hash().asBytes();
+    }
+
+    // those are ignored when comparing documents as well (see JsonOperation)
+    private static boolean isMetadataAssignedByServer(String property) {
+        return Constants.Documents.Metadata.LAST_MODIFIED.equals(property) ||
+                Constants.Documents.Metadata.COLLECTION.equals(property) ||
+                Constants.Documents.Metadata.CHANGE_VECTOR.equals(property) ||
+                Constants.Documents.Metadata.ID.equals(property);
+    }
+
     public static ObjectNode convertEntityToJson(Object entity, DocumentConventions conventions) {
         return convertEntityToJson(entity, conventions, null);
     }
@@ -134,6 +189,44 @@ public class EntityToJson {
         }
     }
 
+    /**
+     * Converts buffered document content (without metadata) directly to entity, no json tree is created.
+     * @param entityType Requested entity type
+     * @param id Document id
+     * @param content Document content
+     * @param metadata Document metadata
+     * @return entity
+     */
+    @SuppressWarnings("unchecked")
+    public Object convertToEntity(Class entityType, String id, TokenBuffer content, ObjectNode metadata) {
+        try {
+            ObjectMapper mapper = _session.getConventions().getEntityMapper();
+
+            ObjectNode metadataHolder = mapper.createObjectNode();
+            metadataHolder.set(Constants.Documents.Metadata.KEY, metadata);
+
+            Class type = entityType;
+
+            String documentType = _session.getConventions().getJavaClass(id, metadataHolder);
+            if (documentType != null) {
+                Class javaType = Class.forName(documentType);
+                if (entityType.isAssignableFrom(javaType)) {
+                    type = javaType;
+                }
+            }
+
+            Object entity = mapper.readValue(content.asParser(mapper), type);
+
+            if (id != null) {
+                _session.getGenerateEntityIdOnTheClient().trySetIdentity(entity, id);
+            }
+
+            return entity;
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not convert document " + id + " to entity of type " + entityType.getName(), e);
+        }
+    }
+
     //TBD public static object ConvertToEntity(Type entityType, string id, BlittableJsonReaderObject document, DocumentConventions conventions)
 
     private static boolean tryRemoveIdentityProperty(ObjectNode document, Class entityType, DocumentConventions conventions) {
@@ -1,12 +1,26 @@
 package net.ravendb.client.documents.session;
 
+import net.ravendb.client.documents.commands.StreamQueryStatistics;
+import net.ravendb.client.documents.commands.StreamResult;
 import net.ravendb.client.documents.indexes.AbstractIndexCreationTask;
+import net.ravendb.client.documents.session.operations.lazy.IEagerSessionOperations;
+import net.ravendb.client.documents.session.operations.lazy.ILazySessionOperations;
+import net.ravendb.client.primitives.CloseableIterator;
+import net.ravendb.client.primitives.Reference;
 
 public interface IAdvancedSessionOperations extends IAdvancedDocumentSessionOperations {
 
-    //TBD IEagerSessionOperations eagerly();
+    /**
+     * Access the eager operations
+     * @return Eager session operations
+     */
+    IEagerSessionOperations eagerly();
 
-    //TBD ILazySessionOperations lazily();
+    /**
+     * Access the lazy operations
+     * @return Lazy session operations
+     */
+    ILazySessionOperations lazily();
 
     //TBD IAttachmentsSessionOperations Attachments { get; }
     //TBD IRevisionsSessionOperations Revisions { get; }
@@ -140,11 +154,105 @@ public interface IAdvancedSessionOperations extends IAdvancedDocumentSessionOper
 
     // TBD stream IEnumerator<StreamResult<T>> Stream<T>(IQueryable<T> query);
     // TBD stream IEnumerator<StreamResult<T>> Stream<T>(IQueryable<T> query, out StreamQueryStatistics streamQueryStats);
-    // TBD stream IEnumerator<StreamResult<T>> Stream<T>(IDocumentQuery<T> query);
-    // TBD stream IEnumerator<StreamResult<T>> Stream<T>(IRawDocumentQuery<T> query);
-    // TBD stream IEnumerator<StreamResult<T>> Stream<T>(IRawDocumentQuery<T> query, out StreamQueryStatistics streamQueryStats);
-    // TBD stream IEnumerator<StreamResult<T>> Stream<T>(IDocumentQuery<T> query, out StreamQueryStatistics streamQueryStats);
-    // TBD stream IEnumerator<StreamResult<T>> Stream<T>(string startsWith, string matches = null, int start = 0, int pageSize = int.MaxValue, string startAfter = null);
+    /**
+     * Stream the results on the query to the client.
+     * Documents are parsed one by one while iterating and they are not tracked by the session.
+     * Iterator has to be closed when done, otherwise http connection is not released.
+     * @param query Query to stream results for
+     * @param <T> Result class
+     * @return results iterator
+     */
+    <T> CloseableIterator<StreamResult<T>> stream(IDocumentQuery<T> query);
+
+    /**
+     * Stream the results on the query to the client.
+     * Documents are parsed one by one while iterating and they are not tracked by the session.
+     * Iterator has to be closed when done, otherwise http connection is not released.
+     * @param query Query to stream results for
+     * @param streamQueryStats Information about performed query
+     * @param <T> Result class
+     * @return results iterator
+     */
+    <T> CloseableIterator<StreamResult<T>> stream(IDocumentQuery<T> query, Reference<StreamQueryStatistics> streamQueryStats);
+
+    /**
+     * Stream the results on the query to the client.
+     * Documents are parsed one by one while iterating and they are not tracked by the session.
+     * Iterator has to be closed when done, otherwise http connection is not released.
+     * @param query Query to stream results for
+     * @param <T> Result class
+     * @return results iterator
+     */
+    <T> CloseableIterator<StreamResult<T>> stream(IRawDocumentQuery<T> query);
+
+    /**
+     * Stream the results on the query to the client.
+     * Documents are parsed one by one while iterating and they are not tracked by the session.
+     * Iterator has to be closed when done, otherwise http connection is not released.
+     * @param query Query to stream results for
+     * @param streamQueryStats Information about performed query
+     * @param <T> Result class
+     * @return results iterator
+     */
+    <T> CloseableIterator<StreamResult<T>> stream(IRawDocumentQuery<T> query, Reference<StreamQueryStatistics> streamQueryStats);
+
+    /**
+     * Stream the documents with ids starting with given prefix to the client.
+     * Documents are parsed one by one while iterating and they are not tracked by the session.
+     * Iterator has to be closed when done, otherwise http connection is not released.
+     * @param clazz Entity class
+     * @param startsWith prefix for which documents should be returned e.g. "products/"
+     * @param <T> Entity class
+     * @return results iterator
+     */
+    <T> CloseableIterator<StreamResult<T>> stream(Class<T> clazz, String startsWith);
+
+    /**
+     * Stream the documents with ids starting with given prefix to the client.
+     * @param clazz Entity class
+     * @param startsWith prefix for which documents should be returned e.g. "products/"
+     * @param matches pipe ('|') separated values for which document IDs (after 'startsWith') should be matched ('?' any single character, '*' any characters)
+     * @param <T> Entity class
+     * @return results iterator
+     */
+    <T> CloseableIterator<StreamResult<T>> stream(Class<T> clazz, String startsWith, String matches);
+
+    /**
+     * Stream the documents with ids starting with given prefix to the client.
+     * @param clazz Entity class
+     * @param startsWith prefix for which documents should be returned e.g. "products/"
+     * @param matches pipe ('|') separated values for which document IDs (after 'startsWith') should be matched ('?' any single character, '*' any characters)
+     * @param start number of documents that should be skipped
+     * @param <T> Entity class
+     * @return results iterator
+     */
+    <T> CloseableIterator<StreamResult<T>> stream(Class<T> clazz, String startsWith, String matches, int start);
+
+    /**
+     * Stream the documents with ids starting with given prefix to the client.
+     * @param clazz Entity class
+     * @param startsWith prefix for which documents should be returned e.g. "products/"
+     * @param matches pipe ('|') separated values for which document IDs (after 'startsWith') should be matched ('?' any single character, '*' any characters)
+     * @param start number of documents that should be skipped
+     * @param pageSize maximum number of documents that will be retrieved
+     * @param <T> Entity class
+     * @return results iterator
+     */
+    <T> CloseableIterator<StreamResult<T>> stream(Class<T> clazz, String startsWith, String matches, int start, int pageSize);
+
+    /**
+     * Stream the documents with ids starting with given prefix to the client.
+     * @param clazz Entity class
+     * @param startsWith prefix for which documents should be returned e.g. "products/"
+     * @param matches pipe ('|') separated values for which document IDs (after 'startsWith') should be matched ('?' any single character, '*' any characters)
+     * @param start number of documents that should be skipped
+     * @param pageSize maximum number of documents that will be retrieved
+     * @param startAfter skip document fetching until given ID is found and return documents after that ID (default: null)
+     * @param <T> Entity class
+     * @return results iterator
+     */
+    <T> CloseableIterator<StreamResult<T>> stream(Class<T> clazz, String startsWith, String matches, int start, int pageSize, String startAfter);
+
     // TBD stream void StreamInto<T>(IDocumentQuery<T> query, Stream output);
     // TBD stream void StreamInto<T>(IRawDocumentQuery<T> query, Stream output);
 
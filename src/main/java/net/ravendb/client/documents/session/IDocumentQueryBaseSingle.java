@@ -1,7 +1,18 @@
 package net.ravendb.client.documents.session;
 
+import net.ravendb.client.documents.Lazy;
+
+import java.util.List;
+import java.util.function.Consumer;
+
 public interface IDocumentQueryBaseSingle<T> {
-    //TBD  Lazy<int> CountLazily();
+
+    /**
+     * Register the query as a lazy-count query in the session and return a lazy
+     * instance that will evaluate the query only when needed.
+     * @return Lazy count of records
+     */
+    Lazy<Integer> countLazily();
 
     /**
      * Returns first element or throws if sequence is empty.
@@ -34,5 +45,19 @@ public interface IDocumentQueryBaseSingle<T> {
      */
     int count();
 
-    //TBD Lazy<IEnumerable<T>> Lazily(Action<IEnumerable<T>> onEval);
+    /**
+     * Register the query as a lazy query in the session and return a lazy
+     * instance that will evaluate the query only when needed.
+     * @return Lazy query result
+     */
+    Lazy<List<T>> lazily();
+
+    /**
+     * Register the query as a lazy query in the session and return a lazy
+     * instance that will evaluate the query only when needed.
+     * Also provide a function to execute when the value is evaluated
+     * @param onEval Action to be executed on evaluation.
+     * @return Lazy query result
+     */
+    Lazy<List<T>> lazily(Consumer<List<T>> onEval);
 }
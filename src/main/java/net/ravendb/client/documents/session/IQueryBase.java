@@ -95,6 +95,11 @@ public interface IQueryBase<T, TSelf extends IQueryBase<T, TSelf>> {
      */
     IndexQuery getIndexQuery();
 
+    /**
+     * @return Class of the query results
+     */
+    Class<T> getQueryClass();
+
     /**
      * Add a named parameter to the query
      * @param name Parameter name
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.google.common.base.Defaults;
 import com.google.common.collect.Lists;
 import net.ravendb.client.Constants;
@@ -25,7 +26,9 @@ import net.ravendb.client.http.ServerNode;
 import net.ravendb.client.json.JsonOperation;
 import net.ravendb.client.json.MetadataAsDictionary;
 import net.ravendb.client.primitives.*;
+import net.ravendb.client.util.CaseInsensitiveHashMap;
 import net.ravendb.client.util.IdentityHashSet;
+import net.ravendb.client.util.IdentityLinkedHashMap;
 import org.apache.commons.beanutils.BeanUtils;
 import org.apache.commons.lang3.NotImplementedException;
 import org.apache.commons.lang3.ObjectUtils;
@@ -111,7 +114,7 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
     }
 
     //Entities whose id we already know do not exists, because they are a missing include, or a missing load, etc.
-    private final Set<String> _knownMissingIds = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    private final Set<String> _knownMissingIds = Collections.newSetFromMap(new CaseInsensitiveHashMap<>());
 
     private Map<String, Object> externalState;
 
@@ -134,6 +137,9 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
             case FASTEST_NODE:
                 result = _requestExecutor.getFastestNode();
                 break;
+            case LEAST_LATENCY:
+                result = _requestExecutor.getLeastLatencyNode();
+                break;
             default:
                 throw new IllegalArgumentException(_documentStore.getConventions().getReadBalanceBehavior().toString());
         }
@@ -141,6 +147,21 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
         return result.currentNode;
     }
 
+    protected final boolean noTracking;
+
+    /**
+     * @return true if session doesn't track loaded entities
+     */
+    public boolean isNoTracking() {
+        return noTracking;
+    }
+
+    private void assertTrackingEnabled(String action) {
+        if (noTracking) {
+            throw new IllegalStateException("Cannot " + action + ". Entity tracking is disabled in this session.");
+        }
+    }
+
     /**
      * Translate between an ID and its associated entity
      */
@@ -149,12 +170,12 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
     /**
      * Translate between an ID and its associated entity
      */
-    public final Map<String, DocumentInfo> includedDocumentsById = new TreeMap<>(String::compareToIgnoreCase);
+    public final Map<String, DocumentInfo> includedDocumentsById = new CaseInsensitiveHashMap<>();
 
     /**
      * hold the data required to manage the data for RavenDB's Unit of Work
      */
-    public final Map<Object, DocumentInfo> documentsByEntity = new TreeMap<>((o1, o2) -> o1 == o2 ? 0 : 1);
+    public final Map<Object, DocumentInfo> documentsByEntity = new IdentityLinkedHashMap<>();
 
     protected final DocumentStoreBase _documentStore;
 
@@ -278,8 +299,9 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
      * @param requestExecutor Request executor
      * @param id Identifier
      */
-    protected InMemoryDocumentSessionOperations(String databaseName, DocumentStoreBase documentStore, RequestExecutor requestExecutor, UUID id) {
+    protected InMemoryDocumentSessionOperations(String databaseName, DocumentStoreBase documentStore, RequestExecutor requestExecutor, UUID id, SessionOptions options) {
         this.id = id;
+        this.noTracking = options.isNoTracking();
         this.databaseName = databaseName;
         this._documentStore = documentStore;
         this._requestExecutor = requestExecutor;
@@ -435,6 +457,8 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
      * @return entity
      */
     public Object trackEntity(Class entityType, String id, ObjectNode document, ObjectNode metadata, boolean noTracking) {
+        noTracking = this.noTracking || noTracking;
+
         if (StringUtils.isEmpty(id)) {
             return deserializeFromTransformer(entityType, null, document);
         }
@@ -451,6 +475,7 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
             if (!noTracking) {
                 includedDocumentsById.remove(id);
                 documentsByEntity.put(docInfo.getEntity(), docInfo);
+                recordEntityFingerprintIfMissing(docInfo);
             }
 
             return docInfo.getEntity();
@@ -466,6 +491,7 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
                 includedDocumentsById.remove(id);
                 documentsById.add(docInfo);
                 documentsByEntity.put(docInfo.getEntity(), docInfo);
+                recordEntityFingerprintIfMissing(docInfo);
             }
 
             return docInfo.getEntity();
@@ -488,11 +514,70 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
 
             documentsById.add(newDocumentInfo);
             documentsByEntity.put(entity, newDocumentInfo);
+            recordEntityFingerprint(entity, newDocumentInfo);
         }
 
         return entity;
     }
 
+    /**
+     * Converts document to entity without registering anything in the session.
+     * Used when entity tracking is disabled for whole session.
+     * @param clazz Entity class
+     * @param id Document id
+     * @param document Document
+     * @param <T> Entity class
+     * @return entity
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T convertToUntrackedEntity(Class<T> clazz, String id, ObjectNode document) {
+        return (T) entityToJson.convertToEntity(clazz, id, document);
+    }
+
+    /**
+     * Binds buffered document content to entity without building json tree and without registering anything in the session.
+     * @param clazz Entity class
+     * @param id Document id
+     * @param content Document content (without metadata)
+     * @param metadata Document metadata
+     * @param <T> Entity class
+     * @return entity
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T convertToUntrackedEntity(Class<T> clazz, String id, TokenBuffer content, ObjectNode metadata) {
+        return (T) entityToJson.convertToEntity(clazz, id, content, metadata);
+    }
+
+    /**
+     * Remembers fingerprint of entity in its current state, so saveChanges can skip it
+     * without building json when fingerprint didn't change.
+     * Does nothing unless fingerprint change tracking is enabled in conventions.
+     * @param entity Entity
+     * @param documentInfo Document info of entity
+     */
+    public void recordEntityFingerprint(Object entity, DocumentInfo documentInfo) {
+        if (!getConventions().isUseFingerprintChangeTracking()) {
+            return;
+        }
+
+        documentInfo.setEntityFingerprint(entityToJson.computeEntityFingerprint(entity, documentInfo));
+    }
+
+    private void recordEntityFingerprintIfMissing(DocumentInfo documentInfo) {
+        // entity might be already modified by user, so we can't take fingerprint again
+        if (documentInfo.getEntityFingerprint() == null) {
+            recordEntityFingerprint(documentInfo.getEntity(), documentInfo);
+        }
+    }
+
+    private boolean isUnchangedAccordingToFingerprint(Object entity, DocumentInfo documentInfo) {
+        if (documentInfo.getEntityFingerprint() == null || documentInfo.isNewDocument()) {
+            return false;
+        }
+
+        return Arrays.equals(documentInfo.getEntityFingerprint(), entityToJson.computeEntityFingerprint(entity, documentInfo));
+    }
+
     /**
      * Gets the default value of the specified type.
      * @param clazz Class
@@ -513,6 +598,8 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
             throw new IllegalArgumentException("Entity cannot be null");
         }
 
+        assertTrackingEnabled("delete entity");
+
         DocumentInfo value = documentsByEntity.get(entity);
         if (value == null) {
             throw new IllegalStateException(entity + " is not associated with the session, cannot delete unknown entity instance");
@@ -537,6 +624,8 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
             throw new IllegalArgumentException("Id cannot be null");
         }
 
+        assertTrackingEnabled("delete entity");
+
         String changeVector = null;
         DocumentInfo documentInfo = documentsById.getValue(id);
         if (documentInfo != null) {
@@ -588,6 +677,8 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
     }
 
     private void storeInternal(Object entity, String changeVector, String id, ConcurrencyCheckMode forceConcurrencyCheck) {
+        assertTrackingEnabled("store entity");
+
         if (null == entity) {
             throw new IllegalArgumentException("Entity cannot be null");
         }
@@ -771,11 +862,19 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
 
     private void prepareForEntitiesPuts(SaveChangesData result) {
         for (Map.Entry<Object, DocumentInfo> entity : documentsByEntity.entrySet()) {
+            if (entity.getValue().isIgnoreChanges()) {
+                continue;
+            }
+
             updateMetadataModifications(entity.getValue());
 
+            if (isUnchangedAccordingToFingerprint(entity.getKey(), entity.getValue())) {
+                continue;
+            }
+
             ObjectNode document = entityToJson.convertEntityToJson(entity.getKey(), entity.getValue());
 
-            if (entity.getValue().isIgnoreChanges() || !entityChanged(document, entity.getValue(), null)) {
+            if (!entityChanged(document, entity.getValue(), null)) {
                 continue;
             }
 
@@ -793,9 +892,8 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
                     updateMetadataModifications(entity.getValue());
                 }
 
-                if (beforeStoreEventArgs.isMetadataAccessed() || entityChanged(document, entity.getValue(), null)) {
-                    document = entityToJson.convertEntityToJson(entity.getKey(), entity.getValue());
-                }
+                // we already know that entity has changed, listener might have modified it even more
+                document = entityToJson.convertEntityToJson(entity.getKey(), entity.getValue());
             }
 
             entity.getValue().setNewDocument(false);
@@ -855,6 +953,10 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
      */
     public boolean hasChanges() {
         for (Map.Entry<Object, DocumentInfo> entity : documentsByEntity.entrySet()) {
+            if (isUnchangedAccordingToFingerprint(entity.getKey(), entity.getValue())) {
+                continue;
+            }
+
             ObjectNode document = entityToJson.convertEntityToJson(entity.getKey(), entity.getValue());
             if (entityChanged(document, entity.getValue(), null)) {
                 return true;
@@ -876,6 +978,10 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
             return false;
         }
 
+        if (isUnchangedAccordingToFingerprint(entity, documentInfo)) {
+            return false;
+        }
+
         ObjectNode document = entityToJson.convertEntityToJson(entity, documentInfo);
         return entityChanged(document, documentInfo, null);
     }
@@ -1125,9 +1231,69 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
         } catch (ReflectiveOperationException e) {
             throw new RuntimeException("Unable to refresh entity: " + e.getMessage(), e);
         }
+
+        recordEntityFingerprint(entity, documentInfo);
+    }
+
+    protected <T> T getOperationResult(Class<T> clazz, Object result) {
+        if (result instanceof Map && !clazz.isInstance(result)) {
+            // single entity loaded by load operation
+            Map<?, ?> map = (Map<?, ?>) result;
+            return map.isEmpty() ? Defaults.defaultValue(clazz) : convertOperationResult(clazz, map.values().iterator().next());
+        }
+
+        return convertOperationResult(clazz, result);
     }
 
-    //TBD protected static T GetOperationResult<T>(object result)
+    protected <T> Map<String, T> getOperationMapResult(Class<T> clazz, Object result) {
+        if (result == null) {
+            return null;
+        }
+
+        if (!(result instanceof Map)) {
+            throw new IllegalStateException("Unable to cast " + result.getClass().getSimpleName() + " to Map");
+        }
+
+        Map<String, T> typedResult = new TreeMap<>(String::compareToIgnoreCase);
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) result).entrySet()) {
+            typedResult.put((String) entry.getKey(), convertOperationResult(clazz, entry.getValue()));
+        }
+
+        return typedResult;
+    }
+
+    protected <T> List<T> getOperationListResult(Class<T> clazz, Object result) {
+        if (result == null) {
+            return null;
+        }
+
+        if (!(result instanceof List)) {
+            throw new IllegalStateException("Unable to cast " + result.getClass().getSimpleName() + " to List");
+        }
+
+        List<T> typedResult = new ArrayList<>();
+        for (Object item : (List<?>) result) {
+            typedResult.add(convertOperationResult(clazz, item));
+        }
+
+        return typedResult;
+    }
+
+    private <T> T convertOperationResult(Class<T> clazz, Object result) {
+        if (result == null) {
+            return Defaults.defaultValue(clazz);
+        }
+
+        if (clazz.isInstance(result)) {
+            return clazz.cast(result);
+        }
+
+        try {
+            return getConventions().getEntityMapper().convertValue(result, clazz);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Unable to cast " + result.getClass().getSimpleName() + " to " + clazz.getSimpleName(), e);
+        }
+    }
 
     public void onAfterSaveChangesInvoke(AfterSaveChangesEventArgs afterSaveChangesEventArgs) {
         EventHelper.invoke(onAfterSaveChanges, this, afterSaveChangesEventArgs);
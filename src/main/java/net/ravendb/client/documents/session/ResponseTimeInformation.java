@@ -0,0 +1,83 @@
+package net.ravendb.client.documents.session;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Timings of requests executed as part of single multi_get round-trip
+ */
+public class ResponseTimeInformation {
+
+    private Duration totalServerDuration;
+    private Duration totalClientDuration;
+
+    private List<ResponseTimeItem> durationBreakdown;
+
+    public void computeServerTotal() {
+        totalServerDuration = durationBreakdown
+                .stream()
+                .map(ResponseTimeItem::getDuration)
+                .reduce(Duration.ZERO, Duration::plus);
+    }
+
+    public ResponseTimeInformation() {
+        totalServerDuration = Duration.ZERO;
+        totalClientDuration = Duration.ZERO;
+        durationBreakdown = new ArrayList<>();
+    }
+
+    /**
+     * @return Sum of server side durations of all requests
+     */
+    public Duration getTotalServerDuration() {
+        return totalServerDuration;
+    }
+
+    public void setTotalServerDuration(Duration totalServerDuration) {
+        this.totalServerDuration = totalServerDuration;
+    }
+
+    /**
+     * @return Time spent by the client (including network and all retries)
+     */
+    public Duration getTotalClientDuration() {
+        return totalClientDuration;
+    }
+
+    public void setTotalClientDuration(Duration totalClientDuration) {
+        this.totalClientDuration = totalClientDuration;
+    }
+
+    /**
+     * @return Server side duration of each of the requests
+     */
+    public List<ResponseTimeItem> getDurationBreakdown() {
+        return durationBreakdown;
+    }
+
+    public void setDurationBreakdown(List<ResponseTimeItem> durationBreakdown) {
+        this.durationBreakdown = durationBreakdown;
+    }
+
+    public static class ResponseTimeItem {
+        private String url;
+        private Duration duration;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public Duration getDuration() {
+            return duration;
+        }
+
+        public void setDuration(Duration duration) {
+            this.duration = duration;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import net.ravendb.client.http.RequestExecutor;
 public class SessionOptions {
     private String database;
     private RequestExecutor requestExecutor;
+    private boolean noTracking;
 
     public String getDatabase() {
         return database;
@@ -21,4 +22,22 @@ public class SessionOptions {
     public void setRequestExecutor(RequestExecutor requestExecutor) {
         this.requestExecutor = requestExecutor;
     }
+
+    /**
+     * If set to true, session doesn't track loaded entities: documents are converted to entities
+     * and released, nothing is kept in the session. Entities can't be stored or deleted in such session.
+     * @return true if entity tracking is disabled
+     */
+    public boolean isNoTracking() {
+        return noTracking;
+    }
+
+    /**
+     * If set to true, session doesn't track loaded entities: documents are converted to entities
+     * and released, nothing is kept in the session. Entities can't be stored or deleted in such session.
+     * @param noTracking value to set
+     */
+    public void setNoTracking(boolean noTracking) {
+        this.noTracking = noTracking;
+    }
 }
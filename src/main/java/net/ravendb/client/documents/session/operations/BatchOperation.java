@@ -86,6 +86,7 @@ public class BatchOperation {
 
             _session.documentsById.add(documentInfo);
             _session.getGenerateEntityIdOnTheClient().trySetIdentity(entity, id);
+            _session.recordEntityFingerprint(entity, documentInfo);
 
             AfterSaveChangesEventArgs afterSaveChangesEventArgs = new AfterSaveChangesEventArgs(_session, documentInfo.getId(), documentInfo.getEntity());
             _session.onAfterSaveChangesInvoke(afterSaveChangesEventArgs);
@@ -7,9 +7,11 @@ import net.ravendb.client.documents.commands.GetDocumentsCommand;
 import net.ravendb.client.documents.commands.GetDocumentsResult;
 import net.ravendb.client.documents.session.DocumentInfo;
 import net.ravendb.client.documents.session.InMemoryDocumentSessionOperations;
+import net.ravendb.client.util.CaseInsensitiveHashMap;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import java.io.IOException;
 import java.util.*;
 
 public class LoadOperation {
@@ -21,6 +23,10 @@ public class LoadOperation {
     private String[] _includes;
     private final List<String> _idsToCheckOnServer = new ArrayList<>();
 
+    // documents loaded by session with disabled tracking, they are not registered in the session
+    private UntrackedDocumentsReader _untrackedDocumentsReader;
+    private Map<String, UntrackedDocument> _untrackedDocuments;
+
     public LoadOperation(InMemoryDocumentSessionOperations _session) {
         this._session = _session;
     }
@@ -40,7 +46,14 @@ public class LoadOperation {
             logger.info("Requesting the following ids " + String.join(",", _idsToCheckOnServer) + " from " + _session.storeIdentifier());
         }
 
-        return new GetDocumentsCommand(_idsToCheckOnServer.toArray(new String[0]), _includes, false);
+        GetDocumentsCommand command = new GetDocumentsCommand(_idsToCheckOnServer.toArray(new String[0]), _includes, false);
+
+        if (_session.isNoTracking()) {
+            _untrackedDocumentsReader = new UntrackedDocumentsReader();
+            command.setResultsReader(_untrackedDocumentsReader);
+        }
+
+        return command;
     }
 
     public LoadOperation byId(String id) {
@@ -99,6 +112,19 @@ public class LoadOperation {
             return Defaults.defaultValue(clazz);
         }
 
+        if (_session.isNoTracking()) {
+            UntrackedDocument document = _untrackedDocuments != null ? _untrackedDocuments.get(id) : null;
+            if (document == null) {
+                return Defaults.defaultValue(clazz);
+            }
+
+            try {
+                return document.toEntity(clazz, null, _session);
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to read json: " + e.getMessage(), e);
+            }
+        }
+
         DocumentInfo doc = _session.documentsById.getValue(id);
         if (doc != null) {
             return _session.trackEntity(clazz, doc);
@@ -132,6 +158,30 @@ public class LoadOperation {
             return;
         }
 
+        if (_session.isNoTracking()) {
+            _untrackedDocuments = new CaseInsensitiveHashMap<>();
+
+            if (_untrackedDocumentsReader != null) {
+                for (UntrackedDocument document : _untrackedDocumentsReader.getDocuments()) {
+                    if (document != null) {
+                        _untrackedDocuments.put(document.getId(), document);
+                    }
+                }
+                return;
+            }
+
+            for (JsonNode document : result.getResults()) {
+                if (document == null || document.isNull()) {
+                    continue;
+                }
+
+                UntrackedDocument untrackedDocument = UntrackedDocument.fromTree((ObjectNode) document);
+                _untrackedDocuments.put(untrackedDocument.getId(), untrackedDocument);
+            }
+
+            return;
+        }
+
         _session.registerIncludes(result.getIncludes());
 
         for (JsonNode document : result.getResults()) {
@@ -10,6 +10,7 @@ import net.ravendb.client.documents.session.InMemoryDocumentSessionOperations;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import java.io.IOException;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.List;
@@ -27,6 +28,8 @@ public class LoadStartingWithOperation {
     private String _startAfter;
 
     private final List<String> _returnedIds = new ArrayList<>();
+    private final List<UntrackedDocument> _untrackedDocuments = new ArrayList<>();
+    private UntrackedDocumentsReader _untrackedDocumentsReader;
 
     public LoadStartingWithOperation(InMemoryDocumentSessionOperations session) {
         _session = session;
@@ -39,7 +42,14 @@ public class LoadStartingWithOperation {
             logger.info("Requesting documents with ids starting with '" + _startWith + "' from " + _session.storeIdentifier());
         }
 
-        return new GetDocumentsCommand(_startWith, _startAfter, _matches, _exclude, _start, _pageSize, false);
+        GetDocumentsCommand command = new GetDocumentsCommand(_startWith, _startAfter, _matches, _exclude, _start, _pageSize, false);
+
+        if (_session.isNoTracking()) {
+            _untrackedDocumentsReader = new UntrackedDocumentsReader();
+            command.setResultsReader(_untrackedDocumentsReader);
+        }
+
+        return command;
     }
 
     public void withStartWith(String idPrefix) {
@@ -70,6 +80,18 @@ public class LoadStartingWithOperation {
     }
 
     public void setResult(GetDocumentsResult result) {
+        if (_session.isNoTracking()) {
+            if (_untrackedDocumentsReader != null) {
+                _untrackedDocuments.addAll(_untrackedDocumentsReader.getDocuments());
+                return;
+            }
+
+            for (JsonNode document : result.getResults()) {
+                _untrackedDocuments.add(UntrackedDocument.fromTree((ObjectNode) document));
+            }
+            return;
+        }
+
         for (JsonNode document : result.getResults()) {
             DocumentInfo newDocumentInfo = DocumentInfo.getNewDocumentInfo((ObjectNode) document);
             _session.documentsById.add(newDocumentInfo);
@@ -79,6 +101,18 @@ public class LoadStartingWithOperation {
 
     @SuppressWarnings("unchecked")
     public <T> T[] getDocuments(Class<T> clazz) {
+        if (_session.isNoTracking()) {
+            T[] untrackedResults = (T[]) Array.newInstance(clazz, _untrackedDocuments.size());
+            try {
+                for (int i = 0; i < untrackedResults.length; i++) {
+                    untrackedResults[i] = _untrackedDocuments.get(i).toEntity(clazz, null, _session);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to read json: " + e.getMessage(), e);
+            }
+            return untrackedResults;
+        }
+
         int i = 0;
         T[] finalResults = (T[]) Array.newInstance(clazz, _returnedIds.size());
         for (String id : _returnedIds) {
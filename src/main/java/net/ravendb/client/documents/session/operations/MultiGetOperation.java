@@ -1,5 +1,22 @@
 package net.ravendb.client.documents.session.operations;
 
+import net.ravendb.client.documents.commands.multiGet.GetRequest;
+import net.ravendb.client.documents.commands.multiGet.MultiGetCommand;
+import net.ravendb.client.documents.session.InMemoryDocumentSessionOperations;
+
+import java.util.List;
+
 public class MultiGetOperation {
-    //TBD: used in lazy execution
+
+    private final InMemoryDocumentSessionOperations _session;
+
+    public MultiGetOperation(InMemoryDocumentSessionOperations session) {
+        _session = session;
+    }
+
+    public MultiGetCommand createRequest(List<GetRequest> requests) {
+        _session.incrementRequestCount();
+
+        return new MultiGetCommand(_session.getRequestExecutor().getCache(), requests);
+    }
 }
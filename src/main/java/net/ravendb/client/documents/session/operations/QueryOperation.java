@@ -22,6 +22,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
@@ -37,6 +38,7 @@ public class QueryOperation {
     private final FieldsToFetchToken _fieldsToFetch;
     private Stopwatch _sp;
     private boolean _disableEntitiesTracking;
+    private UntrackedDocumentsReader _untrackedDocumentsReader;
     private static final Log logger = LogFactory.getLog(QueryOperation.class);
 
     public QueryOperation(InMemoryDocumentSessionOperations session, String indexName, IndexQuery indexQuery,
@@ -57,7 +59,15 @@ public class QueryOperation {
 
         logQuery();
 
-        return new QueryCommand(_session.getConventions(), _indexQuery, _metadataOnly, _indexEntriesOnly);
+        QueryCommand command = new QueryCommand(_session.getConventions(), _indexQuery, _metadataOnly, _indexEntriesOnly);
+
+        if (_session.isNoTracking() && !_indexEntriesOnly) {
+            // results won't be tracked, so there is no need to keep them as json trees
+            _untrackedDocumentsReader = new UntrackedDocumentsReader();
+            command.setResultsReader(_untrackedDocumentsReader);
+        }
+
+        return command;
     }
 
     public QueryResult getCurrentQueryResults() {
@@ -81,7 +91,7 @@ public class QueryOperation {
                 "You can use .take() methods to set maximum number of results. By default the page size is set to Integer.MAX_VALUE and can cause severe performance degradation.");
     }
 
-    private void startTiming() {
+    public void startTiming() {
         _sp = Stopwatch.createStarted();
     }
 
@@ -111,6 +121,14 @@ public class QueryOperation {
         ArrayList<T> list = new ArrayList<>();
 
         try {
+            if (_untrackedDocumentsReader != null) {
+                for (UntrackedDocument document : _untrackedDocumentsReader.getDocuments()) {
+                    list.add(document != null ? document.toEntity(clazz, _fieldsToFetch, _session) : Defaults.defaultValue(clazz));
+                }
+
+                return list;
+            }
+
             for (JsonNode document : queryResult.getResults()) {
                 ObjectNode metadata = (ObjectNode) document.get(Constants.Documents.Metadata.KEY);
                 JsonNode idNode = metadata.get(Constants.Documents.Metadata.ID);
@@ -122,7 +140,7 @@ public class QueryOperation {
 
                 list.add(deserialize(clazz, id, (ObjectNode) document, metadata, _fieldsToFetch, _disableEntitiesTracking, _session));
             }
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             throw new RuntimeException("Unable to read json: " + e.getMessage(), e);
         }
 
@@ -134,7 +152,7 @@ public class QueryOperation {
     }
 
     @SuppressWarnings("unchecked")
-    static <T> T deserialize(Class<T> clazz, String id, ObjectNode document, ObjectNode metadata, FieldsToFetchToken fieldsToFetch, boolean disableEntitiesTracking, InMemoryDocumentSessionOperations session) throws JsonProcessingException {
+    public static <T> T deserialize(Class<T> clazz, String id, ObjectNode document, ObjectNode metadata, FieldsToFetchToken fieldsToFetch, boolean disableEntitiesTracking, InMemoryDocumentSessionOperations session) throws JsonProcessingException {
 
         JsonNode projection = metadata.get("@projection");
         if (projection == null || !projection.asBoolean()) {
@@ -221,7 +239,8 @@ public class QueryOperation {
                 parameters.append(") ");
             }
 
-            logger.info("Query " + _indexQuery.getQuery() + " " + parameters.toString() + "returned " + result.getResults().size() + isStale + "results (total index results: " + result.getTotalResults() + ")");
+            int resultsCount = _untrackedDocumentsReader != null ? _untrackedDocumentsReader.getDocuments().size() : result.getResults().size();
+            logger.info("Query " + _indexQuery.getQuery() + " " + parameters.toString() + "returned " + resultsCount + isStale + "results (total index results: " + result.getTotalResults() + ")");
         }
     }
 
@@ -0,0 +1,174 @@
+package net.ravendb.client.documents.session.operations;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import net.ravendb.client.documents.commands.batches.BatchCommand;
+import net.ravendb.client.documents.commands.batches.ICommandData;
+import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.documents.session.SessionInfo;
+import net.ravendb.client.exceptions.ConflictException;
+import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.http.RequestExecutor;
+import net.ravendb.client.json.JsonArrayResult;
+import net.ravendb.client.primitives.ExceptionsUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merges batches of concurrent saveChanges calls (made against the same database) into single bulk_docs request.
+ *
+ * First session which arrives becomes a leader - it waits for coalescing window (or until max number of commands
+ * is collected), sends all collected commands and hands results back to waiting sessions.
+ * Merged request is executed in single transaction on the server, so when the server rejects it (i.e. because
+ * of concurrency violation in one of the sessions) each batch is executed again on its own, which gives each session
+ * the same outcome as it would have without coalescing. Any other failure (i.e. connection lost after the request
+ * was sent) doesn't tell whether the transaction was committed, so it is reported to every session instead.
+ */
+public class SaveChangesCoalescer {
+
+    private final RequestExecutor _requestExecutor;
+    private final DocumentConventions _conventions;
+    private final long _windowInNanos;
+    private final int _maxCommands;
+
+    private final Object _lock = new Object();
+    private List<PendingBatch> _pending = new ArrayList<>();
+    private int _pendingCommandsCount;
+
+    public SaveChangesCoalescer(RequestExecutor requestExecutor, DocumentConventions conventions) {
+        _requestExecutor = requestExecutor;
+        _conventions = conventions;
+        _windowInNanos = conventions.getSaveChangesCoalescingWindow().toNanos();
+        _maxCommands = conventions.getSaveChangesCoalescingMaxCommands();
+    }
+
+    public JsonArrayResult execute(BatchCommand command, SessionInfo sessionInfo) {
+        if (command.getOptions() != null) {
+            // batch options are applied to whole request, such batch can't be merged with others
+            _requestExecutor.execute(command, sessionInfo);
+            return command.getResult();
+        }
+
+        PendingBatch batch = new PendingBatch(command, sessionInfo);
+
+        boolean leader;
+        synchronized (_lock) {
+            _pending.add(batch);
+            _pendingCommandsCount += command.getCommands().size();
+
+            leader = _pending.size() == 1;
+
+            if (!leader && _pendingCommandsCount >= _maxCommands) {
+                _lock.notifyAll();
+            }
+        }
+
+        if (leader) {
+            flush(waitForBatches());
+        }
+
+        try {
+            return batch.result.get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw ExceptionsUtils.unwrapException(e);
+        }
+    }
+
+    private List<PendingBatch> waitForBatches() {
+        synchronized (_lock) {
+            long deadline = System.nanoTime() + _windowInNanos;
+
+            try {
+                while (_pendingCommandsCount < _maxCommands) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+
+                    TimeUnit.NANOSECONDS.timedWait(_lock, remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            List<PendingBatch> batches = _pending;
+            _pending = new ArrayList<>();
+            _pendingCommandsCount = 0;
+            return batches;
+        }
+    }
+
+    private void flush(List<PendingBatch> batches) {
+        if (batches.size() == 1) {
+            executeSeparately(batches.get(0));
+            return;
+        }
+
+        List<ICommandData> commands = new ArrayList<>();
+        for (PendingBatch batch : batches) {
+            commands.addAll(batch.command.getCommands());
+        }
+
+        JsonArrayResult mergedResult;
+        try (BatchCommand mergedCommand = new BatchCommand(_conventions, commands)) {
+            // write requests go to the preferred node whatever the session is, session info of the leader is used for failover
+            _requestExecutor.execute(mergedCommand, batches.get(0).sessionInfo);
+            mergedResult = mergedCommand.getResult();
+        } catch (Exception e) {
+            RuntimeException exception = ExceptionsUtils.unwrapException(e);
+
+            for (PendingBatch batch : batches) {
+                if (exception instanceof ConflictException) {
+                    executeSeparately(batch); // nothing was committed, find out which session caused it
+                } else {
+                    batch.result.completeExceptionally(exception);
+                }
+            }
+            return;
+        }
+
+        int offset = 0;
+        for (PendingBatch batch : batches) {
+            int count = batch.command.getCommands().size();
+            batch.result.complete(slice(mergedResult, offset, count));
+            offset += count;
+        }
+    }
+
+    private void executeSeparately(PendingBatch batch) {
+        try {
+            _requestExecutor.execute(batch.command, batch.sessionInfo);
+            batch.result.complete(batch.command.getResult());
+        } catch (Exception e) {
+            batch.result.completeExceptionally(e);
+        }
+    }
+
+    private static JsonArrayResult slice(JsonArrayResult result, int offset, int count) {
+        JsonArrayResult slice = new JsonArrayResult();
+
+        if (result.getResults() != null) {
+            ArrayNode results = JsonExtensions.getDefaultMapper().createArrayNode();
+            for (int i = offset; i < offset + count; i++) {
+                results.add(result.getResults().get(i));
+            }
+            slice.setResults(results);
+        }
+
+        return slice;
+    }
+
+    private static class PendingBatch {
+        private final BatchCommand command;
+        private final SessionInfo sessionInfo;
+        private final CompletableFuture<JsonArrayResult> result = new CompletableFuture<>();
+
+        PendingBatch(BatchCommand command, SessionInfo sessionInfo) {
+            this.command = command;
+            this.sessionInfo = sessionInfo;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package net.ravendb.client.documents.session.operations;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.documents.commands.QueryStreamCommand;
+import net.ravendb.client.documents.commands.StreamCommand;
+import net.ravendb.client.documents.commands.StreamQueryStatistics;
+import net.ravendb.client.documents.commands.StreamResultResponse;
+import net.ravendb.client.documents.queries.IndexQuery;
+import net.ravendb.client.documents.session.InMemoryDocumentSessionOperations;
+import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.primitives.CloseableIterator;
+import net.ravendb.client.primitives.NetISO8601Utils;
+import net.ravendb.client.util.UrlUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+public class StreamOperation {
+    private final InMemoryDocumentSessionOperations _session;
+    private final StreamQueryStatistics _statistics;
+    private boolean _isQueryStream;
+
+    public StreamOperation(InMemoryDocumentSessionOperations session) {
+        _session = session;
+        _statistics = null;
+    }
+
+    public StreamOperation(InMemoryDocumentSessionOperations session, StreamQueryStatistics statistics) {
+        _session = session;
+        _statistics = statistics;
+    }
+
+    public QueryStreamCommand createRequest(IndexQuery query) {
+        _isQueryStream = true;
+
+        if (query.isWaitForNonStaleResults()) {
+            throw new UnsupportedOperationException("Since stream() does not wait for indexing (by design), streaming query with waitForNonStaleResults is not supported");
+        }
+
+        _session.incrementRequestCount();
+
+        return new QueryStreamCommand(_session.getConventions(), query);
+    }
+
+    public StreamCommand createRequest(String startsWith, String matches, int start, int pageSize, String exclude, String startAfter) {
+        StringBuilder sb = new StringBuilder("streams/docs?");
+
+        if (startsWith != null) {
+            sb.append("startsWith=").append(UrlUtils.escapeDataString(startsWith)).append("&");
+        }
+
+        if (matches != null) {
+            sb.append("matches=").append(UrlUtils.escapeDataString(matches)).append("&");
+        }
+
+        if (exclude != null) {
+            sb.append("exclude=").append(UrlUtils.escapeDataString(exclude)).append("&");
+        }
+
+        if (startAfter != null) {
+            sb.append("startAfter=").append(UrlUtils.escapeDataString(startAfter)).append("&");
+        }
+
+        if (start != 0) {
+            sb.append("start=").append(start).append("&");
+        }
+
+        if (pageSize != Integer.MAX_VALUE) {
+            sb.append("pageSize=").append(pageSize).append("&");
+        }
+
+        _session.incrementRequestCount();
+
+        return new StreamCommand(sb.toString());
+    }
+
+    /**
+     * Reads stream header and returns iterator over documents. Documents are parsed one by one while
+     * iterating, so memory usage doesn't depend on number of results.
+     * @param response Opened stream response
+     * @return Iterator over documents, it has to be closed to release the connection
+     */
+    public CloseableIterator<ObjectNode> setResult(StreamResultResponse response) {
+        if (response == null) {
+            throw new IllegalStateException("The index does not exists, failed to stream results");
+        }
+
+        try {
+            JsonParser parser = JsonExtensions.getDefaultMapper().getFactory().createParser(response.getStream());
+
+            try {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    throw new IllegalStateException("Expected stream to start, but got " + parser.currentToken());
+                }
+
+                readUntilResults(parser);
+
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new IllegalStateException("Expected results array to start, but got " + parser.currentToken());
+                }
+            } catch (IOException | RuntimeException e) {
+                IOUtils.closeQuietly(parser);
+                IOUtils.closeQuietly(response.getResponse());
+                throw e;
+            }
+
+            return new YieldStreamResults(response, parser);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to read stream result: " + e.getMessage(), e);
+        }
+    }
+
+    private void readUntilResults(JsonParser parser) throws IOException {
+        while (true) {
+            if (parser.nextToken() != JsonToken.FIELD_NAME) {
+                throw new IllegalStateException("Expected property, but got " + parser.currentToken());
+            }
+
+            String property = parser.getCurrentName();
+            if ("Results".equals(property)) {
+                return;
+            }
+
+            if (!_isQueryStream) {
+                throw new IllegalStateException("Expected 'Results' property, but got " + property);
+            }
+
+            // query stream is prefixed with query statistics
+            parser.nextToken();
+            handleStreamQueryStats(property, parser);
+        }
+    }
+
+    private void handleStreamQueryStats(String property, JsonParser parser) throws IOException {
+        if (_statistics == null) {
+            parser.skipChildren();
+            return;
+        }
+
+        switch (property) {
+            case "ResultEtag":
+                _statistics.setResultEtag(parser.getValueAsLong());
+                break;
+            case "IsStale":
+                _statistics.setStale(parser.getValueAsBoolean());
+                break;
+            case "IndexName":
+                _statistics.setIndexName(parser.getValueAsString());
+                break;
+            case "TotalResults":
+                _statistics.setTotalResults(parser.getValueAsInt());
+                break;
+            case "IndexTimestamp":
+                String timestamp = parser.getValueAsString();
+                if (StringUtils.isNotEmpty(timestamp)) {
+                    _statistics.setIndexTimestamp(NetISO8601Utils.parse(timestamp));
+                }
+                break;
+            default:
+                parser.skipChildren();
+                break;
+        }
+    }
+
+    private static class YieldStreamResults implements CloseableIterator<ObjectNode> {
+
+        private final StreamResultResponse _response;
+        private final JsonParser _parser;
+        private ObjectNode _next;
+        private boolean _done;
+
+        public YieldStreamResults(StreamResultResponse response, JsonParser parser) {
+            _response = response;
+            _parser = parser;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (_next != null) {
+                return true;
+            }
+
+            if (_done) {
+                return false;
+            }
+
+            try {
+                JsonToken token = _parser.nextToken();
+                if (token == JsonToken.END_ARRAY) {
+                    _done = true;
+                    return false;
+                }
+
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IllegalStateException("Expected stream result, but got " + token);
+                }
+
+                _next = _parser.readValueAsTree();
+                return true;
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to read stream result: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public ObjectNode next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            ObjectNode result = _next;
+            _next = null;
+            return result;
+        }
+
+        @Override
+        public void close() {
+            _done = true;
+            IOUtils.closeQuietly(_parser);
+            IOUtils.closeQuietly(_response.getResponse());
+        }
+    }
+}
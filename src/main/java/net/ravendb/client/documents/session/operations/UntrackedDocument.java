@@ -0,0 +1,80 @@
+package net.ravendb.client.documents.session.operations;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import net.ravendb.client.Constants;
+import net.ravendb.client.documents.session.InMemoryDocumentSessionOperations;
+import net.ravendb.client.documents.session.tokens.FieldsToFetchToken;
+
+import java.io.IOException;
+
+/**
+ * Document returned to session which doesn't track entities. Document content is kept either as
+ * json tree (when it was already parsed) or as buffered tokens, which are bound directly to the entity.
+ */
+public class UntrackedDocument {
+
+    private final String _id;
+    private final ObjectNode _metadata;
+    private final TokenBuffer _content;
+    private final ObjectNode _document;
+
+    private UntrackedDocument(String id, ObjectNode metadata, TokenBuffer content, ObjectNode document) {
+        _id = id;
+        _metadata = metadata;
+        _content = content;
+        _document = document;
+    }
+
+    public static UntrackedDocument fromTree(ObjectNode document) {
+        ObjectNode metadata = (ObjectNode) document.get(Constants.Documents.Metadata.KEY);
+        return new UntrackedDocument(getId(metadata), metadata, null, document);
+    }
+
+    public static UntrackedDocument fromTokens(TokenBuffer content, ObjectNode metadata) {
+        return new UntrackedDocument(getId(metadata), metadata, content, null);
+    }
+
+    private static String getId(ObjectNode metadata) {
+        if (metadata == null) {
+            return null;
+        }
+
+        JsonNode idNode = metadata.get(Constants.Documents.Metadata.ID);
+        return idNode != null && idNode.isTextual() ? idNode.asText() : null;
+    }
+
+    public String getId() {
+        return _id;
+    }
+
+    public ObjectNode getMetadata() {
+        return _metadata;
+    }
+
+    public <T> T toEntity(Class<T> clazz, FieldsToFetchToken fieldsToFetch, InMemoryDocumentSessionOperations session) throws IOException {
+        JsonNode projection = _metadata != null ? _metadata.get("@projection") : null;
+        boolean isProjection = projection != null && projection.asBoolean();
+
+        if (_content != null && !isProjection && !ObjectNode.class.equals(clazz)) {
+            return session.convertToUntrackedEntity(clazz, _id, _content, _metadata);
+        }
+
+        ObjectNode document = toTree(session.getConventions().getEntityMapper());
+        return QueryOperation.deserialize(clazz, _id, document, _metadata, fieldsToFetch, true, session);
+    }
+
+    private ObjectNode toTree(ObjectMapper mapper) throws IOException {
+        if (_document != null) {
+            return _document;
+        }
+
+        ObjectNode document = mapper.readTree(_content.asParser(mapper));
+        if (_metadata != null) {
+            document.set(Constants.Documents.Metadata.KEY, _metadata);
+        }
+        return document;
+    }
+}
@@ -0,0 +1,56 @@
+package net.ravendb.client.documents.session.operations;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import net.ravendb.client.Constants;
+import net.ravendb.client.documents.commands.ResultsReader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads documents for session which doesn't track entities. Only metadata is parsed into json tree,
+ * rest of the document is kept as buffered tokens and bound to entity when requested.
+ */
+public class UntrackedDocumentsReader extends ResultsReader {
+
+    private final List<UntrackedDocument> _documents = new ArrayList<>();
+
+    public List<UntrackedDocument> getDocuments() {
+        return _documents;
+    }
+
+    @Override
+    public void readResult(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            _documents.add(null);
+            return;
+        }
+
+        TokenBuffer content = new TokenBuffer(parser);
+        content.writeStartObject();
+
+        ObjectNode metadata = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String property = parser.getCurrentName();
+            parser.nextToken();
+
+            if (Constants.Documents.Metadata.KEY.equals(property)) {
+                metadata = parser.readValueAsTree();
+                continue;
+            }
+
+            content.writeFieldName(property);
+            content.copyCurrentStructure(parser);
+        }
+
+        content.writeEndObject();
+
+        _documents.add(UntrackedDocument.fromTokens(content, metadata));
+    }
+}
@@ -1,10 +1,24 @@
 package net.ravendb.client.documents.session.operations.lazy;
 
+import net.ravendb.client.documents.commands.multiGet.GetRequest;
+import net.ravendb.client.documents.commands.multiGet.GetResponse;
+import net.ravendb.client.documents.queries.QueryResult;
+
+/**
+ * Interface that allows lazy operation to be executed as part of multi_get request
+ */
 public interface ILazyOperation {
 
-    //TBD GetRequest CreateRequest(JsonOperationContext ctx);
-    //TBD object Result { get; }
-    //TBD QueryResult QueryResult { get; }
-    //TBD bool RequiresRetry { get; }
-    //TBD void HandleResponse(GetResponse response);
+    /**
+     * @return request to send as part of multi_get or null if operation can be completed without server round-trip
+     */
+    GetRequest createRequest();
+
+    Object getResult();
+
+    QueryResult getQueryResult();
+
+    boolean isRequiresRetry();
+
+    void handleResponse(GetResponse response);
 }
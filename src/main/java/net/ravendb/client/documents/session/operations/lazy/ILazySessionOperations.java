@@ -1,5 +1,11 @@
 package net.ravendb.client.documents.session.operations.lazy;
 
+import net.ravendb.client.documents.Lazy;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Consumer;
+
 /**
  * Specify interface for lazy operation for the session
  */
@@ -8,10 +14,113 @@ public interface ILazySessionOperations {
     //TBD ILazyLoaderWithInclude<object> Include(string path);
     //TBD ILazyLoaderWithInclude<TResult> Include<TResult>(Expression<Func<TResult, string>> path);
     //TBD ILazyLoaderWithInclude<TResult> Include<TResult>(Expression<Func<TResult, IEnumerable<string>>> path);
-    //TBD Lazy<Dictionary<string, TResult>> Load<TResult>(IEnumerable<string> ids);
-    //TBD Lazy<Dictionary<string, TResult>> Load<TResult>(IEnumerable<string> ids, Action<Dictionary<string, TResult>> onEval);
-    //TBD Lazy<TResult> Load<TResult>(string id);
-    //TBD Lazy<TResult> Load<TResult>(string id, Action<TResult> onEval);
-    //TBD Lazy<Dictionary<string, TResult>> LoadStartingWith<TResult>(string idPrefix, string matches = null, int start = 0, int pageSize = 25, string exclude = null, string startAfter = null);
+
+    /**
+     * Loads the specified entities with the specified ids.
+     * @param <TResult> Result class
+     * @param clazz Result class
+     * @param ids Ids of documents that should be lazy loaded
+     * @return Lazy Map: id to entity
+     */
+    <TResult> Lazy<Map<String, TResult>> load(Class<TResult> clazz, Collection<String> ids);
+
+    /**
+     * Loads the specified entities with the specified ids.
+     * @param <TResult> Result class
+     * @param clazz Result class
+     * @param ids Ids of documents that should be lazy loaded
+     * @param onEval Action to be executed on evaluation.
+     * @return Lazy Map: id to entity
+     */
+    <TResult> Lazy<Map<String, TResult>> load(Class<TResult> clazz, Collection<String> ids, Consumer<Map<String, TResult>> onEval);
+
+    /**
+     * Loads the specified entity with the specified id.
+     * @param <TResult> Result class
+     * @param clazz Result class
+     * @param id Identifier of a entity that will be loaded.
+     * @return Lazy entity
+     */
+    <TResult> Lazy<TResult> load(Class<TResult> clazz, String id);
+
+    /**
+     * Loads the specified entity with the specified id.
+     * @param <TResult> Result class
+     * @param clazz Result class
+     * @param id Identifier of a entity that will be loaded.
+     * @param onEval Action to be executed on evaluation.
+     * @return Lazy entity
+     */
+    <TResult> Lazy<TResult> load(Class<TResult> clazz, String id, Consumer<TResult> onEval);
+
+    /**
+     * Loads multiple entities that contain common prefix.
+     * @param <TResult> Result class
+     * @param clazz Result class
+     * @param idPrefix prefix for which documents should be returned e.g. "products/"
+     * @return Lazy Map: id to entity
+     */
+    <TResult> Lazy<Map<String, TResult>> loadStartingWith(Class<TResult> clazz, String idPrefix);
+
+    /**
+     * Loads multiple entities that contain common prefix.
+     * @param <TResult> Result class
+     * @param clazz Result class
+     * @param idPrefix prefix for which documents should be returned e.g. "products/"
+     * @param matches pipe ('|') separated values for which document IDs (after 'idPrefix') should be matched ('?' any single character, '*' any characters)
+     * @return Lazy Map: id to entity
+     */
+    <TResult> Lazy<Map<String, TResult>> loadStartingWith(Class<TResult> clazz, String idPrefix, String matches);
+
+    /**
+     * Loads multiple entities that contain common prefix.
+     * @param <TResult> Result class
+     * @param clazz Result class
+     * @param idPrefix prefix for which documents should be returned e.g. "products/"
+     * @param matches pipe ('|') separated values for which document IDs (after 'idPrefix') should be matched ('?' any single character, '*' any characters)
+     * @param start number of documents that should be skipped. By default: 0.
+     * @return Lazy Map: id to entity
+     */
+    <TResult> Lazy<Map<String, TResult>> loadStartingWith(Class<TResult> clazz, String idPrefix, String matches, int start);
+
+    /**
+     * Loads multiple entities that contain common prefix.
+     * @param <TResult> Result class
+     * @param clazz Result class
+     * @param idPrefix prefix for which documents should be returned e.g. "products/"
+     * @param matches pipe ('|') separated values for which document IDs (after 'idPrefix') should be matched ('?' any single character, '*' any characters)
+     * @param start number of documents that should be skipped. By default: 0.
+     * @param pageSize maximum number of documents that will be retrieved. By default: 25.
+     * @return Lazy Map: id to entity
+     */
+    <TResult> Lazy<Map<String, TResult>> loadStartingWith(Class<TResult> clazz, String idPrefix, String matches, int start, int pageSize);
+
+    /**
+     * Loads multiple entities that contain common prefix.
+     * @param <TResult> Result class
+     * @param clazz Result class
+     * @param idPrefix prefix for which documents should be returned e.g. "products/"
+     * @param matches pipe ('|') separated values for which document IDs (after 'idPrefix') should be matched ('?' any single character, '*' any characters)
+     * @param start number of documents that should be skipped. By default: 0.
+     * @param pageSize maximum number of documents that will be retrieved. By default: 25.
+     * @param exclude pipe ('|') separated values for which document IDs (after 'idPrefix') should not be matched ('?' any single character, '*' any characters)
+     * @return Lazy Map: id to entity
+     */
+    <TResult> Lazy<Map<String, TResult>> loadStartingWith(Class<TResult> clazz, String idPrefix, String matches, int start, int pageSize, String exclude);
+
+    /**
+     * Loads multiple entities that contain common prefix.
+     * @param <TResult> Result class
+     * @param clazz Result class
+     * @param idPrefix prefix for which documents should be returned e.g. "products/"
+     * @param matches pipe ('|') separated values for which document IDs (after 'idPrefix') should be matched ('?' any single character, '*' any characters)
+     * @param start number of documents that should be skipped. By default: 0.
+     * @param pageSize maximum number of documents that will be retrieved. By default: 25.
+     * @param exclude pipe ('|') separated values for which document IDs (after 'idPrefix') should not be matched ('?' any single character, '*' any characters)
+     * @param startAfter skip document fetching until given ID is found and return documents after that ID (default: null)
+     * @return Lazy Map: id to entity
+     */
+    <TResult> Lazy<Map<String, TResult>> loadStartingWith(Class<TResult> clazz, String idPrefix, String matches, int start, int pageSize, String exclude, String startAfter);
+
     //TBD Lazy<List<TResult>> MoreLikeThis<TResult>(MoreLikeThisQuery query);
 }
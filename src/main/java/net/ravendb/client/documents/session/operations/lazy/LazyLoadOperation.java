@@ -0,0 +1,132 @@
+package net.ravendb.client.documents.session.operations.lazy;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import net.ravendb.client.documents.commands.GetDocumentsResult;
+import net.ravendb.client.documents.commands.multiGet.GetRequest;
+import net.ravendb.client.documents.commands.multiGet.GetResponse;
+import net.ravendb.client.documents.queries.QueryResult;
+import net.ravendb.client.documents.session.InMemoryDocumentSessionOperations;
+import net.ravendb.client.documents.session.operations.LoadOperation;
+import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.util.UrlUtils;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class LazyLoadOperation<T> implements ILazyOperation {
+
+    private final Class<T> _clazz;
+    private final InMemoryDocumentSessionOperations _session;
+    private final LoadOperation _loadOperation;
+    private String[] _ids;
+    private String[] _includes;
+
+    private Object result;
+    private QueryResult queryResult;
+    private boolean requiresRetry;
+
+    public LazyLoadOperation(Class<T> clazz, InMemoryDocumentSessionOperations session, LoadOperation loadOperation) {
+        _clazz = clazz;
+        _session = session;
+        _loadOperation = loadOperation;
+    }
+
+    @Override
+    public GetRequest createRequest() {
+        StringBuilder queryBuilder = new StringBuilder("?");
+
+        if (_includes != null) {
+            for (String include : _includes) {
+                queryBuilder.append("&include=").append(include);
+            }
+        }
+
+        boolean hasItems = false;
+
+        for (String id : _ids) {
+            if (_session.isLoadedOrDeleted(id)) {
+                continue;
+            }
+
+            queryBuilder.append("&id=").append(UrlUtils.escapeDataString(id));
+            hasItems = true;
+        }
+
+        if (!hasItems) {
+            // no need to hit the server
+            result = _loadOperation.getDocuments(_clazz);
+            return null;
+        }
+
+        GetRequest getRequest = new GetRequest();
+        getRequest.setUrl("/docs");
+        getRequest.setQuery(queryBuilder.toString());
+        return getRequest;
+    }
+
+    public LazyLoadOperation<T> byId(String id) {
+        if (id == null) {
+            return this;
+        }
+
+        if (_ids == null) {
+            _ids = new String[] { id };
+        }
+
+        return this;
+    }
+
+    public LazyLoadOperation<T> byIds(String[] ids) {
+        Set<String> distinct = new TreeSet<>(String::compareToIgnoreCase);
+        Arrays.stream(ids)
+                .filter(x -> x != null && !x.isEmpty())
+                .forEach(distinct::add);
+
+        _ids = distinct.toArray(new String[0]);
+
+        return this;
+    }
+
+    public LazyLoadOperation<T> withIncludes(String[] includes) {
+        _includes = includes;
+        return this;
+    }
+
+    @Override
+    public Object getResult() {
+        return result;
+    }
+
+    @Override
+    public QueryResult getQueryResult() {
+        return queryResult;
+    }
+
+    @Override
+    public boolean isRequiresRetry() {
+        return requiresRetry;
+    }
+
+    @Override
+    public void handleResponse(GetResponse response) {
+        if (response.isForceRetry()) {
+            result = null;
+            requiresRetry = true;
+            return;
+        }
+
+        requiresRetry = false;
+
+        try {
+            GetDocumentsResult multiLoadResult = response.getResult() != null
+                    ? JsonExtensions.getDefaultMapper().treeToValue(response.getResult(), GetDocumentsResult.class)
+                    : null;
+
+            _loadOperation.setResult(multiLoadResult);
+            result = _loadOperation.getDocuments(_clazz);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package net.ravendb.client.documents.session.operations.lazy;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import net.ravendb.client.documents.commands.multiGet.GetRequest;
+import net.ravendb.client.documents.commands.multiGet.GetResponse;
+import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.documents.queries.QueryResult;
+import net.ravendb.client.documents.session.operations.QueryOperation;
+import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.primitives.EventHelper;
+import org.apache.http.HttpStatus;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public class LazyQueryOperation<T> implements ILazyOperation {
+
+    private final Class<T> _clazz;
+    private final DocumentConventions _conventions;
+    private final QueryOperation _queryOperation;
+    private final List<Consumer<QueryResult>> _afterQueryExecuted;
+
+    private Object result;
+    private QueryResult queryResult;
+    private boolean requiresRetry;
+
+    public LazyQueryOperation(Class<T> clazz, DocumentConventions conventions, QueryOperation queryOperation, List<Consumer<QueryResult>> afterQueryExecuted) {
+        _clazz = clazz;
+        _conventions = conventions;
+        _queryOperation = queryOperation;
+        _afterQueryExecuted = afterQueryExecuted;
+    }
+
+    @Override
+    public GetRequest createRequest() {
+        _queryOperation.startTiming();
+        _queryOperation.logQuery();
+
+        GetRequest request = new GetRequest();
+        request.setUrl("/queries");
+        request.setMethod("POST");
+        request.setQuery("?queryHash=" + _queryOperation.getIndexQuery().getQueryHash());
+        request.setContent(generator -> JsonExtensions.writeIndexQuery(generator, _conventions, _queryOperation.getIndexQuery()));
+        return request;
+    }
+
+    @Override
+    public Object getResult() {
+        return result;
+    }
+
+    @Override
+    public QueryResult getQueryResult() {
+        return queryResult;
+    }
+
+    @Override
+    public boolean isRequiresRetry() {
+        return requiresRetry;
+    }
+
+    @Override
+    public void handleResponse(GetResponse response) {
+        if (response.isForceRetry()) {
+            result = null;
+            requiresRetry = true;
+            return;
+        }
+
+        requiresRetry = false;
+
+        QueryResult queryResult = null;
+
+        if (response.getResult() != null) {
+            try {
+                queryResult = JsonExtensions.getDefaultMapper().treeToValue(response.getResult(), QueryResult.class);
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException(e);
+            }
+
+            if (response.getStatusCode() == HttpStatus.SC_NOT_MODIFIED) {
+                queryResult.setDurationInMs(-1);
+            }
+        }
+
+        handleResponse(queryResult);
+    }
+
+    private void handleResponse(QueryResult queryResult) {
+        _queryOperation.ensureIsAcceptableAndSaveResult(queryResult);
+
+        EventHelper.invoke(_afterQueryExecuted, queryResult);
+        result = _queryOperation.complete(_clazz);
+        this.queryResult = queryResult;
+    }
+}
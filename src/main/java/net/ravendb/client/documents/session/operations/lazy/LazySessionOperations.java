@@ -0,0 +1,81 @@
+package net.ravendb.client.documents.session.operations.lazy;
+
+import net.ravendb.client.documents.Lazy;
+import net.ravendb.client.documents.session.DocumentSession;
+import net.ravendb.client.documents.session.operations.LoadOperation;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public class LazySessionOperations implements ILazySessionOperations {
+
+    protected final DocumentSession _delegate;
+
+    public LazySessionOperations(DocumentSession delegate) {
+        _delegate = delegate;
+    }
+
+    @Override
+    public <TResult> Lazy<Map<String, TResult>> load(Class<TResult> clazz, Collection<String> ids) {
+        return load(clazz, ids, null);
+    }
+
+    @Override
+    public <TResult> Lazy<Map<String, TResult>> load(Class<TResult> clazz, Collection<String> ids, Consumer<Map<String, TResult>> onEval) {
+        return _delegate.lazyLoadInternal(clazz, ids.toArray(new String[0]), new String[0], onEval);
+    }
+
+    @Override
+    public <TResult> Lazy<TResult> load(Class<TResult> clazz, String id) {
+        return load(clazz, id, null);
+    }
+
+    @Override
+    public <TResult> Lazy<TResult> load(Class<TResult> clazz, String id, Consumer<TResult> onEval) {
+        if (_delegate.isLoaded(id)) {
+            return new Lazy<>(() -> {
+                TResult entity = _delegate.load(clazz, id);
+                if (onEval != null) {
+                    onEval.accept(entity);
+                }
+                return entity;
+            });
+        }
+
+        LazyLoadOperation<TResult> lazyLoadOperation = new LazyLoadOperation<>(clazz, _delegate, new LoadOperation(_delegate).byId(id)).byId(id);
+        return _delegate.addLazyOperation(clazz, lazyLoadOperation, onEval);
+    }
+
+    @Override
+    public <TResult> Lazy<Map<String, TResult>> loadStartingWith(Class<TResult> clazz, String idPrefix) {
+        return loadStartingWith(clazz, idPrefix, null, 0, 25, null, null);
+    }
+
+    @Override
+    public <TResult> Lazy<Map<String, TResult>> loadStartingWith(Class<TResult> clazz, String idPrefix, String matches) {
+        return loadStartingWith(clazz, idPrefix, matches, 0, 25, null, null);
+    }
+
+    @Override
+    public <TResult> Lazy<Map<String, TResult>> loadStartingWith(Class<TResult> clazz, String idPrefix, String matches, int start) {
+        return loadStartingWith(clazz, idPrefix, matches, start, 25, null, null);
+    }
+
+    @Override
+    public <TResult> Lazy<Map<String, TResult>> loadStartingWith(Class<TResult> clazz, String idPrefix, String matches, int start, int pageSize) {
+        return loadStartingWith(clazz, idPrefix, matches, start, pageSize, null, null);
+    }
+
+    @Override
+    public <TResult> Lazy<Map<String, TResult>> loadStartingWith(Class<TResult> clazz, String idPrefix, String matches, int start, int pageSize, String exclude) {
+        return loadStartingWith(clazz, idPrefix, matches, start, pageSize, exclude, null);
+    }
+
+    @Override
+    public <TResult> Lazy<Map<String, TResult>> loadStartingWith(Class<TResult> clazz, String idPrefix, String matches, int start, int pageSize, String exclude, String startAfter) {
+        LazyStartsWithOperation<TResult> operation = new LazyStartsWithOperation<>(clazz, idPrefix, matches, exclude, start, pageSize, _delegate, startAfter);
+
+        return _delegate.addLazyMapOperation(clazz, operation, null);
+    }
+}
@@ -0,0 +1,138 @@
+package net.ravendb.client.documents.session.operations.lazy;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.Constants;
+import net.ravendb.client.documents.commands.GetDocumentsResult;
+import net.ravendb.client.documents.commands.multiGet.GetRequest;
+import net.ravendb.client.documents.commands.multiGet.GetResponse;
+import net.ravendb.client.documents.queries.QueryResult;
+import net.ravendb.client.documents.session.DocumentInfo;
+import net.ravendb.client.documents.session.InMemoryDocumentSessionOperations;
+import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.util.UrlUtils;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+public class LazyStartsWithOperation<T> implements ILazyOperation {
+
+    private final Class<T> _clazz;
+    private final String _idPrefix;
+    private final String _matches;
+    private final String _exclude;
+    private final int _start;
+    private final int _pageSize;
+    private final InMemoryDocumentSessionOperations _sessionOperations;
+    private final String _startAfter;
+
+    private Object result;
+    private QueryResult queryResult;
+    private boolean requiresRetry;
+
+    public LazyStartsWithOperation(Class<T> clazz, String idPrefix, String matches, String exclude, int start, int pageSize,
+                                   InMemoryDocumentSessionOperations sessionOperations, String startAfter) {
+        _clazz = clazz;
+        _idPrefix = idPrefix;
+        _matches = matches;
+        _exclude = exclude;
+        _start = start;
+        _pageSize = pageSize;
+        _sessionOperations = sessionOperations;
+        _startAfter = startAfter;
+    }
+
+    @Override
+    public GetRequest createRequest() {
+        StringBuilder query = new StringBuilder("?")
+                .append("startsWith=").append(UrlUtils.escapeDataString(_idPrefix))
+                .append("&start=").append(_start)
+                .append("&pageSize=").append(_pageSize);
+
+        if (_matches != null) {
+            query.append("&matches=").append(UrlUtils.escapeDataString(_matches));
+        }
+
+        if (_exclude != null) {
+            query.append("&exclude=").append(UrlUtils.escapeDataString(_exclude));
+        }
+
+        if (_startAfter != null) {
+            query.append("&startAfter=").append(UrlUtils.escapeDataString(_startAfter));
+        }
+
+        GetRequest request = new GetRequest();
+        request.setUrl("/docs");
+        request.setQuery(query.toString());
+        return request;
+    }
+
+    @Override
+    public Object getResult() {
+        return result;
+    }
+
+    @Override
+    public QueryResult getQueryResult() {
+        return queryResult;
+    }
+
+    @Override
+    public boolean isRequiresRetry() {
+        return requiresRetry;
+    }
+
+    @Override
+    public void handleResponse(GetResponse response) {
+        if (response.isForceRetry()) {
+            result = null;
+            requiresRetry = true;
+            return;
+        }
+
+        requiresRetry = false;
+
+        Map<String, T> finalResults = new TreeMap<>(String::compareToIgnoreCase);
+
+        try {
+            GetDocumentsResult getDocumentResult = response.getResult() != null
+                    ? JsonExtensions.getDefaultMapper().treeToValue(response.getResult(), GetDocumentsResult.class)
+                    : null;
+
+            if (getDocumentResult != null) {
+                for (JsonNode document : getDocumentResult.getResults()) {
+                    if (_sessionOperations.isNoTracking()) {
+                        String id = document.get(Constants.Documents.Metadata.KEY).get(Constants.Documents.Metadata.ID).asText();
+                        finalResults.put(id, _sessionOperations.convertToUntrackedEntity(_clazz, id, (ObjectNode) document));
+                        continue;
+                    }
+
+                    DocumentInfo newDocumentInfo = DocumentInfo.getNewDocumentInfo((ObjectNode) document);
+                    _sessionOperations.documentsById.add(newDocumentInfo);
+
+                    if (newDocumentInfo.getId() == null) {
+                        continue; // is this possible?
+                    }
+
+                    if (_sessionOperations.isDeleted(newDocumentInfo.getId())) {
+                        finalResults.put(newDocumentInfo.getId(), null);
+                        continue;
+                    }
+
+                    DocumentInfo doc = _sessionOperations.documentsById.getValue(newDocumentInfo.getId());
+                    if (doc != null) {
+                        finalResults.put(newDocumentInfo.getId(), _sessionOperations.trackEntity(_clazz, doc));
+                        continue;
+                    }
+
+                    finalResults.put(newDocumentInfo.getId(), null);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+
+        result = finalResults;
+    }
+}
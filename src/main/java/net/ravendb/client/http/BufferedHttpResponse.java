@@ -0,0 +1,28 @@
+package net.ravendb.client.http;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.util.EntityUtils;
+
+/**
+ * Response received by the non-blocking http client. Its entity is already buffered in memory,
+ * so it can be processed by the same code paths as responses of the blocking client.
+ * Compressed entity is decompressed, as blocking client does it on its own.
+ */
+public class BufferedHttpResponse extends BasicHttpResponse implements CloseableHttpResponse {
+
+    public BufferedHttpResponse(HttpResponse response) {
+        super(response.getStatusLine());
+
+        setHeaders(response.getAllHeaders());
+        setEntity(response.getEntity());
+
+        HttpCompression.decompressResponse(this);
+    }
+
+    @Override
+    public void close() {
+        EntityUtils.consumeQuietly(getEntity());
+    }
+}
@@ -0,0 +1,16 @@
+package net.ravendb.client.http;
+
+public enum CircuitBreakerState {
+    /**
+     * Node is healthy and receives requests
+     */
+    CLOSED,
+    /**
+     * Node failed, it doesn't receive requests and is checked periodically in background
+     */
+    OPEN,
+    /**
+     * Node passed the health check and receives limited number of requests, until they succeed
+     */
+    HALF_OPEN
+}
@@ -1,6 +1,7 @@
 package net.ravendb.client.http;
 
 import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.primitives.BackgroundExecutor;
 import net.ravendb.client.serverwide.commands.GetClusterTopologyCommand;
 import net.ravendb.client.serverwide.commands.GetTcpInfoCommand;
 import org.apache.commons.lang3.ObjectUtils;
@@ -18,7 +19,11 @@ public class ClusterRequestExecutor extends RequestExecutor {
     private final Semaphore clusterTopologySemaphore = new Semaphore(1);
 
     protected ClusterRequestExecutor(KeyStore certificate, DocumentConventions conventions, String[] initialUrls) {
-        super(null, certificate, conventions, initialUrls);
+        this(certificate, conventions, initialUrls, null);
+    }
+
+    protected ClusterRequestExecutor(KeyStore certificate, DocumentConventions conventions, String[] initialUrls, BackgroundExecutor backgroundExecutor) {
+        super(null, certificate, conventions, initialUrls, backgroundExecutor);
     }
 
     @SuppressWarnings("unused")
@@ -41,10 +46,14 @@ public class ClusterRequestExecutor extends RequestExecutor {
     }
 
     public static ClusterRequestExecutor createForSingleNode(String url, KeyStore certificate, DocumentConventions conventions) {
+        return createForSingleNode(url, certificate, conventions, null);
+    }
+
+    public static ClusterRequestExecutor createForSingleNode(String url, KeyStore certificate, DocumentConventions conventions, BackgroundExecutor backgroundExecutor) {
         String[] initialUrls = {url};
         url = validateUrls(initialUrls, certificate)[0];
 
-        ClusterRequestExecutor executor = new ClusterRequestExecutor(certificate, ObjectUtils.firstNonNull(conventions, DocumentConventions.defaultConventions), initialUrls);
+        ClusterRequestExecutor executor = new ClusterRequestExecutor(certificate, ObjectUtils.firstNonNull(conventions, DocumentConventions.defaultConventions), initialUrls, backgroundExecutor);
 
         ServerNode serverNode = new ServerNode();
         serverNode.setUrl(url);
@@ -53,9 +62,7 @@ public class ClusterRequestExecutor extends RequestExecutor {
         topology.setEtag(-1L);
         topology.setNodes(Collections.singletonList(serverNode));
 
-        NodeSelector nodeSelector = new NodeSelector(topology);
-
-        executor._nodeSelector = nodeSelector;
+        executor._nodeSelector = executor.createNodeSelector(topology);
         executor.topologyEtag = -2L;
         executor._disableClientConfigurationUpdates = true;
         executor._disableTopologyUpdates = true;
@@ -68,7 +75,11 @@ public class ClusterRequestExecutor extends RequestExecutor {
     }
 
     public static ClusterRequestExecutor create(String[] initialUrls, KeyStore certificate, DocumentConventions conventions) {
-        ClusterRequestExecutor executor = new ClusterRequestExecutor(certificate, conventions != null ? conventions : DocumentConventions.defaultConventions, initialUrls);
+        return create(initialUrls, certificate, conventions, null);
+    }
+
+    public static ClusterRequestExecutor create(String[] initialUrls, KeyStore certificate, DocumentConventions conventions, BackgroundExecutor backgroundExecutor) {
+        ClusterRequestExecutor executor = new ClusterRequestExecutor(certificate, conventions != null ? conventions : DocumentConventions.defaultConventions, initialUrls, backgroundExecutor);
 
         executor._disableClientConfigurationUpdates = true;
         executor._firstTopologyUpdate = executor.firstTopologyUpdate(initialUrls);
@@ -81,65 +92,59 @@ public class ClusterRequestExecutor extends RequestExecutor {
     }
 
     @Override
-    public CompletableFuture<Boolean> updateTopologyAsync(ServerNode node, int timeout, boolean forceUpdate) {
-        if (_disposed) {
-            return CompletableFuture.completedFuture(false);
+    protected boolean updateTopology(ServerNode node, int timeout, boolean forceUpdate) {
+        try {
+            boolean lockTaken = clusterTopologySemaphore.tryAcquire(timeout, TimeUnit.MILLISECONDS);
+            if (!lockTaken) {
+                return false;
+            }
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
         }
 
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                boolean lockTaken = clusterTopologySemaphore.tryAcquire(timeout, TimeUnit.MILLISECONDS);
-                if (!lockTaken) {
-                    return false;
-                }
-            } catch (InterruptedException e) {
-                throw new RuntimeException(e);
+        try {
+            if (_disposed) {
+                return false;
             }
 
-            try {
-                if (_disposed) {
-                    return false;
+            GetClusterTopologyCommand command = new GetClusterTopologyCommand();
+            execute(node, null, command, false, null);
+
+            ClusterTopologyResponse results = command.getResult();
+            List<ServerNode> nodes = results
+                    .getTopology()
+                    .getMembers()
+                    .entrySet()
+                    .stream()
+                    .map(kvp -> {
+                        ServerNode serverNode = new ServerNode();
+                        serverNode.setUrl(kvp.getValue());
+                        serverNode.setClusterTag(kvp.getKey());
+                        return serverNode;
+                    })
+                    .collect(Collectors.toList());
+
+            Topology newTopology = new Topology();
+            newTopology.setNodes(nodes);
+
+            if (_nodeSelector == null) {
+                _nodeSelector = createNodeSelector(newTopology);
+
+                if (_readBalanceBehavior == ReadBalanceBehavior.FASTEST_NODE) {
+                    _nodeSelector.scheduleSpeedTest();
                 }
+            } else if (_nodeSelector.onUpdateTopology(newTopology, forceUpdate)) {
+                disposeAllFailedNodesTimers();
 
-                GetClusterTopologyCommand command = new GetClusterTopologyCommand();
-                execute(node, null, command, false, null);
-
-                ClusterTopologyResponse results = command.getResult();
-                List<ServerNode> nodes = results
-                        .getTopology()
-                        .getMembers()
-                        .entrySet()
-                        .stream()
-                        .map(kvp -> {
-                            ServerNode serverNode = new ServerNode();
-                            serverNode.setUrl(kvp.getValue());
-                            serverNode.setClusterTag(kvp.getKey());
-                            return serverNode;
-                        })
-                        .collect(Collectors.toList());
-
-                Topology newTopology = new Topology();
-                newTopology.setNodes(nodes);
-
-                if (_nodeSelector == null) {
-                    _nodeSelector = new NodeSelector(newTopology);
-
-                    if (_readBalanceBehavior == ReadBalanceBehavior.FASTEST_NODE) {
-                        _nodeSelector.scheduleSpeedTest();
-                    }
-                } else if (_nodeSelector.onUpdateTopology(newTopology, forceUpdate)) {
-                    disposeAllFailedNodesTimers();
-
-                    if (_readBalanceBehavior == ReadBalanceBehavior.FASTEST_NODE) {
-                        _nodeSelector.scheduleSpeedTest();
-                    }
+                if (_readBalanceBehavior == ReadBalanceBehavior.FASTEST_NODE) {
+                    _nodeSelector.scheduleSpeedTest();
                 }
-            } finally {
-                clusterTopologySemaphore.release();
             }
+        } finally {
+            clusterTopologySemaphore.release();
+        }
 
-            return true;
-        });
+        return true;
     }
 
     @Override
@@ -147,6 +152,10 @@ public class ClusterRequestExecutor extends RequestExecutor {
         return CompletableFuture.completedFuture(null);
     }
 
+    @Override
+    protected void updateClientConfiguration() {
+    }
+
     protected void throwExceptions(String details) {
         throw new IllegalStateException("Failed to retrieve cluster topology from all known nodes" + System.lineSeparator() + details);
     }
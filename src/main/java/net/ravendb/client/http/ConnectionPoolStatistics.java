@@ -0,0 +1,159 @@
+package net.ravendb.client.http;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Snapshot of http connection pool used by request executor.
+ * Pool is shared by all request executors using the same certificate and pool limits.
+ */
+public class ConnectionPoolStatistics {
+
+    private int leased;
+    private int available;
+    private int pending;
+    private int max;
+
+    private Map<String, RouteStatistics> routes;
+
+    private long leaseCount;
+    private Duration totalLeaseWaitTime;
+    private Duration maxLeaseWaitTime;
+
+    /**
+     * @return Number of connections currently used by requests
+     */
+    public int getLeased() {
+        return leased;
+    }
+
+    public void setLeased(int leased) {
+        this.leased = leased;
+    }
+
+    /**
+     * @return Number of idle connections kept alive in the pool
+     */
+    public int getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(int available) {
+        this.available = available;
+    }
+
+    /**
+     * @return Number of requests waiting for a connection
+     */
+    public int getPending() {
+        return pending;
+    }
+
+    public void setPending(int pending) {
+        this.pending = pending;
+    }
+
+    /**
+     * @return Maximum number of connections in the pool
+     */
+    public int getMax() {
+        return max;
+    }
+
+    public void setMax(int max) {
+        this.max = max;
+    }
+
+    /**
+     * @return Statistics per server node, keyed by node url
+     */
+    public Map<String, RouteStatistics> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, RouteStatistics> routes) {
+        this.routes = routes;
+    }
+
+    /**
+     * @return Number of connections leased from the pool since it was created
+     */
+    public long getLeaseCount() {
+        return leaseCount;
+    }
+
+    public void setLeaseCount(long leaseCount) {
+        this.leaseCount = leaseCount;
+    }
+
+    /**
+     * @return Total time requests spent waiting for a connection
+     */
+    public Duration getTotalLeaseWaitTime() {
+        return totalLeaseWaitTime;
+    }
+
+    public void setTotalLeaseWaitTime(Duration totalLeaseWaitTime) {
+        this.totalLeaseWaitTime = totalLeaseWaitTime;
+    }
+
+    /**
+     * @return Longest time single request waited for a connection
+     */
+    public Duration getMaxLeaseWaitTime() {
+        return maxLeaseWaitTime;
+    }
+
+    public void setMaxLeaseWaitTime(Duration maxLeaseWaitTime) {
+        this.maxLeaseWaitTime = maxLeaseWaitTime;
+    }
+
+    /**
+     * @return Average time request waited for a connection
+     */
+    public Duration getAverageLeaseWaitTime() {
+        if (leaseCount == 0) {
+            return Duration.ZERO;
+        }
+        return totalLeaseWaitTime.dividedBy(leaseCount);
+    }
+
+    public static class RouteStatistics {
+        private int leased;
+        private int available;
+        private int pending;
+        private int max;
+
+        public int getLeased() {
+            return leased;
+        }
+
+        public void setLeased(int leased) {
+            this.leased = leased;
+        }
+
+        public int getAvailable() {
+            return available;
+        }
+
+        public void setAvailable(int available) {
+            this.available = available;
+        }
+
+        public int getPending() {
+            return pending;
+        }
+
+        public void setPending(int pending) {
+            this.pending = pending;
+        }
+
+        public int getMax() {
+            return max;
+        }
+
+        public void setMax(int max) {
+            this.max = max;
+        }
+    }
+}
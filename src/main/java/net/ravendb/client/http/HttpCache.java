@@ -7,16 +7,23 @@ import net.ravendb.client.primitives.Reference;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class HttpCache implements CleanCloseable {
 
     private Cache<String, HttpCacheItem> items;
 
+    /**
+     * Incremented every time we learn that documents might have changed on the server.
+     * Items cached under older generation must be revalidated before they are served aggressively.
+     */
+    private final AtomicInteger generation = new AtomicInteger();
+
     public HttpCache(int size) {
         items = CacheBuilder.newBuilder()
                 .softValues()
                 .maximumWeight(size)
-                .weigher((String k, HttpCacheItem v) -> v.payload != null ?  v.payload.length() + 20 : 20)
+                .weigher((String k, HttpCacheItem v) -> v.payload != null ?  v.payload.length + 20 : 20)
                 .build();
     }
 
@@ -26,16 +33,17 @@ public class HttpCache implements CleanCloseable {
         items = null;
     }
 
-    public void set(String url, String changeVector, String result) {
+    public void set(String url, String changeVector, byte[] result) {
         HttpCacheItem httpCacheItem = new HttpCacheItem();
         httpCacheItem.changeVector = changeVector;
         httpCacheItem.payload = result;
         httpCacheItem.cache = this;
+        httpCacheItem.generation = generation.get();
 
         items.put(url, httpCacheItem);
     }
 
-    public ReleaseCacheItem get(String url, Reference<String> changeVectorRef, Reference<String> responseRef) {
+    public ReleaseCacheItem get(String url, Reference<String> changeVectorRef, Reference<byte[]> responseRef) {
         HttpCacheItem item = items.getIfPresent(url);
         if (item != null) {
             changeVectorRef.value = item.changeVector;
@@ -49,10 +57,19 @@ public class HttpCache implements CleanCloseable {
         return new ReleaseCacheItem(null);
     }
 
+    public int getGeneration() {
+        return generation.get();
+    }
+
+    public void incrementGeneration() {
+        generation.incrementAndGet();
+    }
+
     public void setNotFound(String url) {
         HttpCacheItem httpCacheItem = new HttpCacheItem();
         httpCacheItem.changeVector = "404 response";
         httpCacheItem.cache = this;
+        httpCacheItem.generation = generation.get();
 
         items.put(url, httpCacheItem);
     }
@@ -67,6 +84,7 @@ public class HttpCache implements CleanCloseable {
         public void notModified() {
             if (item != null) {
                 item.lastServerUpdate = LocalDateTime.now();
+                item.generation = item.cache.getGeneration();
             }
         }
 
@@ -78,7 +96,7 @@ public class HttpCache implements CleanCloseable {
         }
 
         public boolean getMightHaveBeenModified() {
-            return false; //TBD
+            return item != null && item.generation != item.cache.getGeneration();
         }
 
         @Override
@@ -5,10 +5,10 @@ import java.time.LocalDateTime;
 public class HttpCacheItem {
 
     public String changeVector;
-    public String payload;
+    public byte[] payload;
     public LocalDateTime lastServerUpdate;
 
-    //TBD public int generation;
+    public int generation;
     public HttpCache cache;
 
     public HttpCacheItem() {
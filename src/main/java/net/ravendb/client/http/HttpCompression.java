@@ -0,0 +1,149 @@
+package net.ravendb.client.http;
+
+import net.ravendb.client.json.ContentProviderHttpEntity;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.entity.DeflateDecompressingEntity;
+import org.apache.http.client.entity.GzipDecompressingEntity;
+import org.apache.http.entity.ByteArrayEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip compression of request bodies and decompression of responses
+ */
+public class HttpCompression {
+
+    private HttpCompression() {
+    }
+
+    /**
+     * Asks server for compressed response and compresses request body when it is larger than threshold.
+     * Only bodies produced by commands (ContentProviderHttpEntity) are compressed - they are written to memory
+     * before sending, so it is known if threshold was exceeded before request headers are sent.
+     * @param request Request
+     * @param threshold Minimal size of compressed body
+     */
+    public static void compressRequest(HttpRequest request, int threshold) {
+        if (!request.containsHeader(HttpHeaders.ACCEPT_ENCODING)) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+        }
+
+        if (!(request instanceof HttpEntityEnclosingRequest)) {
+            return;
+        }
+
+        HttpEntityEnclosingRequest entityRequest = (HttpEntityEnclosingRequest) request;
+        HttpEntity entity = entityRequest.getEntity();
+
+        if (!(entity instanceof ContentProviderHttpEntity)) {
+            return;
+        }
+
+        try (ThresholdGzipOutputStream outputStream = new ThresholdGzipOutputStream(threshold)) {
+            entity.writeTo(outputStream);
+            outputStream.finish();
+
+            ByteArrayEntity bufferedEntity = new ByteArrayEntity(outputStream.toByteArray());
+            bufferedEntity.setContentType(entity.getContentType());
+            if (outputStream.isCompressed()) {
+                bufferedEntity.setContentEncoding("gzip");
+            }
+
+            entityRequest.setEntity(bufferedEntity);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to compress request body", e);
+        }
+    }
+
+    /**
+     * Replaces response entity with decompressing one if response is compressed
+     * @param response Response
+     */
+    public static void decompressResponse(HttpResponse response) {
+        HttpEntity entity = response.getEntity();
+        if (entity == null) {
+            return;
+        }
+
+        Header contentEncoding = entity.getContentEncoding();
+        if (contentEncoding == null) {
+            return;
+        }
+
+        String encoding = contentEncoding.getValue();
+        if ("gzip".equalsIgnoreCase(encoding) || "x-gzip".equalsIgnoreCase(encoding)) {
+            response.setEntity(new GzipDecompressingEntity(entity));
+        } else if ("deflate".equalsIgnoreCase(encoding)) {
+            response.setEntity(new DeflateDecompressingEntity(entity));
+        } else {
+            return;
+        }
+
+        response.removeHeaders(HttpHeaders.CONTENT_ENCODING);
+        response.removeHeaders(HttpHeaders.CONTENT_LENGTH);
+    }
+
+    /**
+     * Buffers written bytes in memory. Once threshold is exceeded, buffered and all subsequent bytes are gzipped.
+     */
+    private static class ThresholdGzipOutputStream extends OutputStream {
+
+        private final int _threshold;
+        private final ByteArrayOutputStream _buffer = new ByteArrayOutputStream();
+        private GZIPOutputStream _gzip;
+        private ByteArrayOutputStream _compressed;
+
+        ThresholdGzipOutputStream(int threshold) {
+            _threshold = threshold;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (_gzip == null && _buffer.size() + len > _threshold) {
+                _compressed = new ByteArrayOutputStream();
+                _gzip = new GZIPOutputStream(_compressed, 8192);
+                _buffer.writeTo(_gzip);
+            }
+
+            if (_gzip != null) {
+                _gzip.write(b, off, len);
+            } else {
+                _buffer.write(b, off, len);
+            }
+        }
+
+        public void finish() throws IOException {
+            if (_gzip != null) {
+                _gzip.finish();
+            }
+        }
+
+        public boolean isCompressed() {
+            return _gzip != null;
+        }
+
+        public byte[] toByteArray() {
+            return _gzip != null ? _compressed.toByteArray() : _buffer.toByteArray();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (_gzip != null) {
+                _gzip.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package net.ravendb.client.http;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.config.Registry;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pooling connection manager which records how long requests wait for a connection
+ */
+public class InstrumentedHttpClientConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private final LongAdder _leaseCount = new LongAdder();
+    private final LongAdder _leaseWaitNanos = new LongAdder();
+    private final AtomicLong _maxLeaseWaitNanos = new AtomicLong();
+
+    public InstrumentedHttpClientConnectionManager(Registry<ConnectionSocketFactory> socketFactoryRegistry) {
+        super(socketFactoryRegistry);
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+        ConnectionRequest request = super.requestConnection(route, state);
+
+        return new ConnectionRequest() {
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit tunit) throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                long start = System.nanoTime();
+                try {
+                    return request.get(timeout, tunit);
+                } finally {
+                    recordLease(System.nanoTime() - start);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+        };
+    }
+
+    private void recordLease(long waitNanos) {
+        _leaseCount.increment();
+        _leaseWaitNanos.add(waitNanos);
+        _maxLeaseWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    public ConnectionPoolStatistics getStatistics() {
+        ConnectionPoolStatistics statistics = new ConnectionPoolStatistics();
+
+        PoolStats totalStats = getTotalStats();
+        statistics.setLeased(totalStats.getLeased());
+        statistics.setAvailable(totalStats.getAvailable());
+        statistics.setPending(totalStats.getPending());
+        statistics.setMax(totalStats.getMax());
+
+        Map<String, ConnectionPoolStatistics.RouteStatistics> routes = new HashMap<>();
+        for (HttpRoute route : getRoutes()) {
+            PoolStats stats = getStats(route);
+
+            ConnectionPoolStatistics.RouteStatistics routeStatistics = new ConnectionPoolStatistics.RouteStatistics();
+            routeStatistics.setLeased(stats.getLeased());
+            routeStatistics.setAvailable(stats.getAvailable());
+            routeStatistics.setPending(stats.getPending());
+            routeStatistics.setMax(stats.getMax());
+
+            routes.put(route.getTargetHost().toURI(), routeStatistics);
+        }
+        statistics.setRoutes(routes);
+
+        statistics.setLeaseCount(_leaseCount.sum());
+        statistics.setTotalLeaseWaitTime(Duration.ofNanos(_leaseWaitNanos.sum()));
+        statistics.setMaxLeaseWaitTime(Duration.ofNanos(_maxLeaseWaitNanos.get()));
+
+        return statistics;
+    }
+}
@@ -0,0 +1,55 @@
+package net.ravendb.client.http;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps response times of recent requests and estimates given percentile of them.
+ * Percentile is recomputed periodically, so reading it is cheap.
+ */
+class LatencyPercentile {
+
+    private static final int MAX_SAMPLES = 512;
+    private static final int MIN_SAMPLES = 32;
+    private static final int RECOMPUTE_EVERY = 64;
+
+    private final double _percentile;
+    private final AtomicLongArray _samples = new AtomicLongArray(MAX_SAMPLES);
+    private final AtomicLong _count = new AtomicLong();
+    private volatile long _value = -1;
+
+    LatencyPercentile(double percentile) {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 1 (exclusive)");
+        }
+        _percentile = percentile;
+    }
+
+    void record(long elapsedNanos) {
+        long count = _count.getAndIncrement() + 1;
+        _samples.set((int) ((count - 1) % MAX_SAMPLES), elapsedNanos);
+
+        if (count == MIN_SAMPLES || count > MIN_SAMPLES && count % RECOMPUTE_EVERY == 0) {
+            recompute((int) Math.min(count, MAX_SAMPLES));
+        }
+    }
+
+    /**
+     * @return estimated percentile in nanoseconds or -1 when there are not enough samples yet
+     */
+    long getValue() {
+        return _value;
+    }
+
+    private void recompute(int size) {
+        long[] sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = _samples.get(i);
+        }
+        Arrays.sort(sorted);
+
+        int index = (int) Math.ceil(_percentile * size) - 1;
+        _value = sorted[Math.max(0, Math.min(index, size - 1))];
+    }
+}
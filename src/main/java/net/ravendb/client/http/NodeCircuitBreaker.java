@@ -0,0 +1,174 @@
+package net.ravendb.client.http;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Circuit breaker of single topology node. Failed node is open (excluded from requests) until background
+ * health check passes. Then it is half-open: only limited number of requests is sent to it and once they
+ * succeed the node is closed (healthy) again. Any failure opens it again.
+ */
+class NodeCircuitBreaker {
+
+    static final int HALF_OPEN_MAX_REQUESTS = 5;
+
+    static final long MIN_HEALTH_CHECK_DELAY_MILLIS = 100;
+    static final long MAX_HEALTH_CHECK_DELAY_MILLIS = Duration.ofSeconds(15).toMillis();
+
+    // permits of requests which never reported the result are given again after this time
+    private final long _halfOpenTimeoutNanos;
+
+    // node which stays healthy that long is not considered flapping anymore
+    private final long _stablePeriodNanos;
+
+    private volatile CircuitBreakerState _state = CircuitBreakerState.CLOSED;
+    private int _permits;
+    private int _successes;
+    private int _consecutiveOpens;
+    private long _timesOpened;
+    private long _stateChangedAt = System.nanoTime();
+    private Date _lastStateChange;
+
+    NodeCircuitBreaker() {
+        this(Duration.ofSeconds(30), Duration.ofMinutes(1));
+    }
+
+    NodeCircuitBreaker(Duration halfOpenTimeout, Duration stablePeriod) {
+        _halfOpenTimeoutNanos = halfOpenTimeout.toNanos();
+        _stablePeriodNanos = stablePeriod.toNanos();
+    }
+
+    /**
+     * @param attempt number of health checks which already failed
+     * @return delay before the next health check, grows exponentially up to the limit, jitter spreads health
+     * checks of many clients so recovering node isn't hit by all of them at once
+     */
+    static Duration getHealthCheckDelay(int attempt) {
+        long maxDelay = Math.min(MAX_HEALTH_CHECK_DELAY_MILLIS, MIN_HEALTH_CHECK_DELAY_MILLIS << Math.min(attempt, 20));
+        return Duration.ofMillis(maxDelay / 2 + ThreadLocalRandom.current().nextLong(maxDelay / 2 + 1));
+    }
+
+    CircuitBreakerState getState() {
+        return _state;
+    }
+
+    /**
+     * @return true if request can be sent to the node, doesn't take half-open permit
+     */
+    boolean isAdmitting() {
+        CircuitBreakerState state = _state;
+        if (state == CircuitBreakerState.CLOSED) {
+            return true;
+        }
+
+        if (state == CircuitBreakerState.OPEN) {
+            return false;
+        }
+
+        synchronized (this) {
+            return _permits > 0 || System.nanoTime() - _stateChangedAt > _halfOpenTimeoutNanos;
+        }
+    }
+
+    /**
+     * @return true if request can be sent to the node, takes one permit when half-open which must be given back
+     * by {@link #onSuccess()}, {@link #onFailure()} or {@link #release()}
+     */
+    boolean tryAcquire() {
+        CircuitBreakerState state = _state;
+        if (state == CircuitBreakerState.CLOSED) {
+            return true;
+        }
+
+        if (state == CircuitBreakerState.OPEN) {
+            return false;
+        }
+
+        synchronized (this) {
+            if (_state != CircuitBreakerState.HALF_OPEN) {
+                return _state == CircuitBreakerState.CLOSED;
+            }
+
+            if (_permits == 0 && System.nanoTime() - _stateChangedAt > _halfOpenTimeoutNanos) {
+                changeState(CircuitBreakerState.HALF_OPEN);
+                _permits = HALF_OPEN_MAX_REQUESTS;
+            }
+
+            if (_permits == 0) {
+                return false;
+            }
+
+            _permits--;
+            return true;
+        }
+    }
+
+    void onSuccess() {
+        if (_state != CircuitBreakerState.HALF_OPEN) {
+            return;
+        }
+
+        synchronized (this) {
+            if (_state == CircuitBreakerState.HALF_OPEN && ++_successes >= HALF_OPEN_MAX_REQUESTS) {
+                changeState(CircuitBreakerState.CLOSED);
+            }
+        }
+    }
+
+    /**
+     * Gives back half-open permit of request which didn't tell anything about health of the node
+     */
+    void release() {
+        if (_state != CircuitBreakerState.HALF_OPEN) {
+            return;
+        }
+
+        synchronized (this) {
+            if (_state == CircuitBreakerState.HALF_OPEN && _permits + _successes < HALF_OPEN_MAX_REQUESTS) {
+                _permits++;
+            }
+        }
+    }
+
+    synchronized void onFailure() {
+        if (_state == CircuitBreakerState.OPEN) {
+            return;
+        }
+
+        if (_state == CircuitBreakerState.CLOSED && System.nanoTime() - _stateChangedAt > _stablePeriodNanos) {
+            _consecutiveOpens = 0;
+        }
+
+        _consecutiveOpens++;
+        _timesOpened++;
+        changeState(CircuitBreakerState.OPEN);
+    }
+
+    synchronized void onHealthCheckSucceeded() {
+        if (_state != CircuitBreakerState.OPEN) {
+            return;
+        }
+
+        _permits = HALF_OPEN_MAX_REQUESTS;
+        _successes = 0;
+        changeState(CircuitBreakerState.HALF_OPEN);
+    }
+
+    /**
+     * @return How many times in a row the node failed shortly after it was healthy again, used to back off health checks
+     */
+    synchronized int getConsecutiveOpens() {
+        return _consecutiveOpens;
+    }
+
+    synchronized NodeCircuitBreakerStatistics getStatistics(ServerNode node) {
+        return new NodeCircuitBreakerStatistics(node.getUrl(), node.getClusterTag(), _state, _timesOpened, _lastStateChange);
+    }
+
+    private void changeState(CircuitBreakerState state) {
+        _state = state;
+        _stateChangedAt = System.nanoTime();
+        _lastStateChange = new Date();
+    }
+}
@@ -0,0 +1,49 @@
+package net.ravendb.client.http;
+
+import java.util.Date;
+
+/**
+ * Snapshot of circuit breaker of single node
+ */
+public class NodeCircuitBreakerStatistics {
+
+    private final String url;
+    private final String clusterTag;
+    private final CircuitBreakerState state;
+    private final long timesOpened;
+    private final Date lastStateChange;
+
+    public NodeCircuitBreakerStatistics(String url, String clusterTag, CircuitBreakerState state, long timesOpened, Date lastStateChange) {
+        this.url = url;
+        this.clusterTag = clusterTag;
+        this.state = state;
+        this.timesOpened = timesOpened;
+        this.lastStateChange = lastStateChange;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getClusterTag() {
+        return clusterTag;
+    }
+
+    public CircuitBreakerState getState() {
+        return state;
+    }
+
+    /**
+     * @return Number of times the node was marked as failed since the topology was received
+     */
+    public long getTimesOpened() {
+        return timesOpened;
+    }
+
+    /**
+     * @return Time of the last state change or null if state has not changed yet
+     */
+    public Date getLastStateChange() {
+        return lastStateChange;
+    }
+}
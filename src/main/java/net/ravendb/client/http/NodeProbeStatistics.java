@@ -0,0 +1,68 @@
+package net.ravendb.client.http;
+
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Results of speed test probes sent to single node
+ */
+public class NodeProbeStatistics {
+
+    private final String url;
+    private final String clusterTag;
+    private final Duration averageLatency;
+    private final long successfulProbes;
+    private final long failedProbes;
+    private final Date lastProbeTime;
+    private final boolean fastest;
+
+    public NodeProbeStatistics(String url, String clusterTag, Duration averageLatency, long successfulProbes, long failedProbes, Date lastProbeTime, boolean fastest) {
+        this.url = url;
+        this.clusterTag = clusterTag;
+        this.averageLatency = averageLatency;
+        this.successfulProbes = successfulProbes;
+        this.failedProbes = failedProbes;
+        this.lastProbeTime = lastProbeTime;
+        this.fastest = fastest;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getClusterTag() {
+        return clusterTag;
+    }
+
+    /**
+     * @return Average response time of probes from the last speed test or null if node didn't respond
+     */
+    public Duration getAverageLatency() {
+        return averageLatency;
+    }
+
+    /**
+     * @return Number of successful probes sent to this node so far
+     */
+    public long getSuccessfulProbes() {
+        return successfulProbes;
+    }
+
+    /**
+     * @return Number of failed probes sent to this node so far
+     */
+    public long getFailedProbes() {
+        return failedProbes;
+    }
+
+    public Date getLastProbeTime() {
+        return lastProbeTime;
+    }
+
+    /**
+     * @return true if node was selected as the fastest one in the last speed test
+     */
+    public boolean isFastest() {
+        return fastest;
+    }
+}
@@ -1,6 +1,7 @@
 package net.ravendb.client.http;
 
 import net.ravendb.client.exceptions.AllTopologyNodesDownException;
+import net.ravendb.client.primitives.BackgroundExecutor;
 import net.ravendb.client.primitives.CleanCloseable;
 import net.ravendb.client.primitives.Timer;
 import org.apache.commons.lang3.ObjectUtils;
@@ -8,12 +9,29 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class NodeSelector implements CleanCloseable {
 
+    /**
+     * Weight of the newest sample in the latency moving average
+     */
+    private static final double LATENCY_DECAY = 0.3;
+
+    /**
+     * Latency score older than that is not trusted anymore, so node will be probed again
+     */
+    private static final long LATENCY_SCORE_TTL_NANOS = Duration.ofSeconds(5).toNanos();
+
+    private final BackgroundExecutor _backgroundExecutor;
     private Timer _updateFastestNodeTimer;
+    private boolean _disposed;
+    private volatile Runnable _speedTestProbe;
     private NodeSelectorState _state;
 
     public Topology getTopology() {
@@ -21,7 +39,12 @@ public class NodeSelector implements CleanCloseable {
     }
 
     public NodeSelector(Topology topology) {
+        this(topology, BackgroundExecutor.getDefault());
+    }
+
+    public NodeSelector(Topology topology, BackgroundExecutor backgroundExecutor) {
         _state = new NodeSelectorState(0, topology);
+        _backgroundExecutor = backgroundExecutor;
     }
 
     public void onFailedRequest(int nodeIndex) {
@@ -31,6 +54,83 @@ public class NodeSelector implements CleanCloseable {
         }
 
         state.failures[nodeIndex].incrementAndGet();
+        state.circuitBreakers[nodeIndex].onFailure();
+    }
+
+    /**
+     * Notifies that request to given node succeeded, so node which was recently restored can be fully trusted again
+     * @param nodeIndex node index
+     * @param node node
+     */
+    public void onRequestSucceeded(int nodeIndex, ServerNode node) {
+        NodeSelectorState state = _state;
+        if (!isCurrentNode(state, nodeIndex, node)) {
+            return;
+        }
+
+        state.circuitBreakers[nodeIndex].onSuccess();
+    }
+
+    /**
+     * Takes permit to send request to given node, node which recovered recently gets only limited number of requests.
+     * Taken permit must be given back by {@link #onRequestSucceeded(int, ServerNode)}, {@link #onFailedRequest(int)}
+     * or {@link #onRequestReleased(int, ServerNode)}.
+     * @param nodeIndex node index
+     * @param node node
+     * @return true if permit was taken
+     */
+    public boolean tryAcquire(int nodeIndex, ServerNode node) {
+        NodeSelectorState state = _state;
+        if (!isCurrentNode(state, nodeIndex, node)) {
+            return false;
+        }
+
+        return state.circuitBreakers[nodeIndex].tryAcquire();
+    }
+
+    /**
+     * Takes permit of healthy member node other than the given one, used when recovering node has no permits left
+     * @param nodeIndex index of node to skip
+     * @return node which permit was taken or null when there is no such node
+     */
+    public CurrentIndexAndNode tryAcquireAlternativeNode(int nodeIndex) {
+        NodeSelectorState state = _state;
+        int len = Math.min(state.nodes.size(), state.failures.length);
+
+        for (int i = 1; i < len; i++) {
+            int index = (nodeIndex + i) % len;
+            ServerNode node = state.nodes.get(index);
+            if (state.failures[index].get() == 0 && node.getServerRole() == ServerNode.Role.MEMBER && StringUtils.isNotEmpty(node.getUrl())
+                    && state.circuitBreakers[index].tryAcquire()) {
+                return new CurrentIndexAndNode(index, node);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @param nodeIndex node index
+     * @param node node
+     * @return true if node recovered recently, so it gets only limited number of requests
+     */
+    public boolean isRecovering(int nodeIndex, ServerNode node) {
+        NodeSelectorState state = _state;
+        return isCurrentNode(state, nodeIndex, node) && state.circuitBreakers[nodeIndex].getState() == CircuitBreakerState.HALF_OPEN;
+    }
+
+    /**
+     * Gives back permit of request which didn't tell whether the node is healthy, e.g. it was aborted
+     * @param nodeIndex node index
+     * @param node node
+     */
+    public void onRequestReleased(int nodeIndex, ServerNode node) {
+        NodeSelectorState state = _state;
+        if (!isCurrentNode(state, nodeIndex, node)) {
+            return;
+        }
+
+        state.circuitBreakers[nodeIndex].release();
     }
 
     public boolean onUpdateTopology(Topology topology) {
@@ -62,7 +162,7 @@ public class NodeSelector implements CleanCloseable {
         List<ServerNode> serverNodes = state.nodes;
         int len = Math.min(serverNodes.size(), stateFailures.length);
         for (int i = 0; i < len; i++) {
-            if (stateFailures[i].get() == 0 && StringUtils.isNotEmpty(serverNodes.get(i).getUrl())) {
+            if (stateFailures[i].get() == 0 && StringUtils.isNotEmpty(serverNodes.get(i).getUrl()) && state.circuitBreakers[i].isAdmitting()) {
                 return new CurrentIndexAndNode(i, serverNodes.get(i));
             }
         }
@@ -84,13 +184,13 @@ public class NodeSelector implements CleanCloseable {
         int index = sessionId % state.topology.getNodes().size();
 
         for (int i = index; i < state.failures.length; i++) {
-            if (state.failures[i].get() == 0 && state.nodes.get(i).getServerRole() == ServerNode.Role.MEMBER) {
+            if (state.failures[i].get() == 0 && state.nodes.get(i).getServerRole() == ServerNode.Role.MEMBER && state.circuitBreakers[i].isAdmitting()) {
                 return new CurrentIndexAndNode(i, state.nodes.get(i));
             }
         }
 
         for (int i = 0; i < index; i++) {
-            if (state.failures[i].get() == 0 && state.nodes.get(i).getServerRole() == ServerNode.Role.MEMBER) {
+            if (state.failures[i].get() == 0 && state.nodes.get(i).getServerRole() == ServerNode.Role.MEMBER && state.circuitBreakers[i].isAdmitting()) {
                 return new CurrentIndexAndNode(i, state.nodes.get(i));
             }
         }
@@ -100,7 +200,8 @@ public class NodeSelector implements CleanCloseable {
 
     public CurrentIndexAndNode getFastestNode() {
         NodeSelectorState state = _state;
-        if (state.failures[state.fastest].get() == 0 && state.nodes.get(state.fastest).getServerRole() == ServerNode.Role.MEMBER) {
+        if (state.failures[state.fastest].get() == 0 && state.nodes.get(state.fastest).getServerRole() == ServerNode.Role.MEMBER
+                && state.circuitBreakers[state.fastest].isAdmitting()) {
             return new CurrentIndexAndNode(state.fastest, state.nodes.get(state.fastest));
         }
 
@@ -112,20 +213,213 @@ public class NodeSelector implements CleanCloseable {
         return getPreferredNode();
     }
 
+    /**
+     * Chooses node using power of two choices: two random healthy members are compared and the one
+     * with lower latency score (moving average of response time weighted by number of requests
+     * in flight) wins. Nodes without recent latency samples are scored with the mean latency of the other
+     * candidates, so they are probed again without drawing all the requests.
+     * @return chosen node
+     */
+    public CurrentIndexAndNode getLeastLatencyNode() {
+        NodeSelectorState state = _state;
+        int len = Math.min(state.nodes.size(), state.failures.length);
+
+        int[] candidates = new int[len];
+        int candidatesCount = 0;
+        for (int i = 0; i < len; i++) {
+            ServerNode node = state.nodes.get(i);
+            if (state.failures[i].get() == 0 && node.getServerRole() == ServerNode.Role.MEMBER && StringUtils.isNotEmpty(node.getUrl())
+                    && state.circuitBreakers[i].isAdmitting()) {
+                candidates[candidatesCount++] = i;
+            }
+        }
+
+        if (candidatesCount == 0) {
+            return getPreferredNode();
+        }
+
+        int chosen = candidates[0];
+        if (candidatesCount > 1) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int first = random.nextInt(candidatesCount);
+            int second = random.nextInt(candidatesCount - 1);
+            if (second >= first) {
+                second++;
+            }
+
+            long now = System.nanoTime();
+            int firstIndex = candidates[first];
+            int secondIndex = candidates[second];
+
+            double firstLatency = latency(state, firstIndex, now);
+            double secondLatency = latency(state, secondIndex, now);
+            if (Double.isNaN(firstLatency) || Double.isNaN(secondLatency)) {
+                double neutralLatency = meanLatency(state, candidates, candidatesCount, now);
+                firstLatency = Double.isNaN(firstLatency) ? neutralLatency : firstLatency;
+                secondLatency = Double.isNaN(secondLatency) ? neutralLatency : secondLatency;
+            }
+
+            double firstScore = firstLatency * (state.inFlight[firstIndex].get() + 1);
+            double secondScore = secondLatency * (state.inFlight[secondIndex].get() + 1);
+            chosen = secondScore < firstScore ? secondIndex : firstIndex;
+        }
+
+        return new CurrentIndexAndNode(chosen, state.nodes.get(chosen));
+    }
+
+    /**
+     * Finds healthy member node other than the given one, used to send hedged requests
+     * @param nodeIndex index of node to skip
+     * @return node or null when there is no other healthy node
+     */
+    public CurrentIndexAndNode getAlternativeNode(int nodeIndex) {
+        NodeSelectorState state = _state;
+        int len = Math.min(state.nodes.size(), state.failures.length);
+
+        for (int i = 1; i < len; i++) {
+            int index = (nodeIndex + i) % len;
+            ServerNode node = state.nodes.get(index);
+            if (state.failures[index].get() == 0 && node.getServerRole() == ServerNode.Role.MEMBER && StringUtils.isNotEmpty(node.getUrl())
+                    && state.circuitBreakers[index].isAdmitting()) {
+                return new CurrentIndexAndNode(index, node);
+            }
+        }
+
+        return null;
+    }
+
+    private static double latency(NodeSelectorState state, int index, long now) {
+        long lastSample = state.latencySampledAt[index].get();
+        if (lastSample == 0 || now - lastSample > LATENCY_SCORE_TTL_NANOS) {
+            return Double.NaN;
+        }
+
+        return Double.longBitsToDouble(state.latencies[index].get());
+    }
+
+    private static double meanLatency(NodeSelectorState state, int[] candidates, int candidatesCount, long now) {
+        double sum = 0;
+        int count = 0;
+        for (int i = 0; i < candidatesCount; i++) {
+            double latency = latency(state, candidates[i], now);
+            if (!Double.isNaN(latency)) {
+                sum += latency;
+                count++;
+            }
+        }
+
+        // when nothing is known, nodes are compared only by number of requests in flight
+        return count == 0 ? 1 : sum / count;
+    }
+
+    /**
+     * Notifies that request to given node was sent, used by latency based read balancing
+     * @param nodeIndex node index
+     * @param node node
+     */
+    public void onRequestStarted(int nodeIndex, ServerNode node) {
+        NodeSelectorState state = _state;
+        if (!isCurrentNode(state, nodeIndex, node)) {
+            return;
+        }
+
+        state.inFlight[nodeIndex].incrementAndGet();
+    }
+
+    /**
+     * Notifies that request to given node is completed, used by latency based read balancing
+     * @param nodeIndex node index
+     * @param node node
+     * @param elapsedNanos time to receive the response or null if request failed
+     */
+    public void onRequestCompleted(int nodeIndex, ServerNode node, Long elapsedNanos) {
+        NodeSelectorState state = _state;
+        if (!isCurrentNode(state, nodeIndex, node)) {
+            return; // topology was changed in the meantime
+        }
+
+        state.inFlight[nodeIndex].updateAndGet(x -> Math.max(0, x - 1));
+
+        if (elapsedNanos == null) {
+            return;
+        }
+
+        double sample = elapsedNanos;
+        AtomicLong latency = state.latencies[nodeIndex];
+        boolean hasScore = state.latencySampledAt[nodeIndex].get() != 0;
+
+        long current;
+        long updated;
+        do {
+            current = latency.get();
+            double average = hasScore ? Double.longBitsToDouble(current) : sample;
+            updated = Double.doubleToLongBits(average + LATENCY_DECAY * (sample - average));
+        } while (!latency.compareAndSet(current, updated));
+
+        state.latencySampledAt[nodeIndex].set(Math.max(1, System.nanoTime()));
+    }
+
+    private static boolean isCurrentNode(NodeSelectorState state, int nodeIndex, ServerNode node) {
+        return nodeIndex >= 0 && nodeIndex < state.inFlight.length && state.nodes.get(nodeIndex) == node;
+    }
+
     public void restoreNodeIndex(int nodeIndex) {
         NodeSelectorState state = _state;
-        if (state.currentNodeIndex < nodeIndex) {
-            return; // nothing to do
+        if (nodeIndex < 0 || nodeIndex >= state.failures.length) {
+            return; // probably already changed
         }
 
+        // node passed the health check, it gets limited number of requests until they succeed
+        state.circuitBreakers[nodeIndex].onHealthCheckSucceeded();
         state.failures[nodeIndex].set(0);
     }
 
+    /**
+     * @param nodeIndex node index
+     * @return How many times in a row the node failed shortly after it was restored
+     */
+    public int getConsecutiveFailures(int nodeIndex) {
+        NodeSelectorState state = _state;
+        if (nodeIndex < 0 || nodeIndex >= state.circuitBreakers.length) {
+            return 0;
+        }
+
+        return state.circuitBreakers[nodeIndex].getConsecutiveOpens();
+    }
+
+    /**
+     * @return Circuit breaker state of topology nodes by node url
+     */
+    public Map<String, NodeCircuitBreakerStatistics> getCircuitBreakerStatistics() {
+        NodeSelectorState state = _state;
+        Map<String, NodeCircuitBreakerStatistics> result = new HashMap<>();
+        for (int i = 0; i < state.circuitBreakers.length; i++) {
+            ServerNode node = state.nodes.get(i);
+            result.put(node.getUrl(), state.circuitBreakers[i].getStatistics(node));
+        }
+        return result;
+    }
+
     protected static void throwEmptyTopology() {
         throw new IllegalStateException("Empty database topology, this shouldn't happen.");
     }
 
+    /**
+     * When set, speed test is delegated to the given probe instead of sending user requests to all nodes.
+     * Probe is expected to report its result using {@link #selectFastestNode(int, ServerNode)}.
+     * @param speedTestProbe action starting the speed test
+     */
+    public void setSpeedTestProbe(Runnable speedTestProbe) {
+        _speedTestProbe = speedTestProbe;
+    }
+
     private void switchToSpeedTestPhase() {
+        Runnable speedTestProbe = _speedTestProbe;
+        if (speedTestProbe != null) {
+            speedTestProbe.run();
+            return;
+        }
+
         NodeSelectorState state = _state;
 
         if (!state.speedTestMode.compareAndSet(0, 1)) {
@@ -169,6 +463,15 @@ public class NodeSelector implements CleanCloseable {
         selectFastest(state, maxIndex);
     }
 
+    public void selectFastestNode(int index, ServerNode node) {
+        NodeSelectorState state = _state;
+        if (index < 0 || index >= state.nodes.size() || node != state.nodes.get(index)) {
+            return; // topology was changed in the meantime
+        }
+
+        selectFastest(state, index);
+    }
+
     private static int findMaxIndex(NodeSelectorState state) {
         int[] stateFastest = state.fastestRecords;
         int maxIndex = 0;
@@ -190,10 +493,16 @@ public class NodeSelector implements CleanCloseable {
         state.fastest = index;
         state.speedTestMode.set(0);
 
-        if (_updateFastestNodeTimer != null) {
-            _updateFastestNodeTimer.change(Duration.ofMinutes(1));
-        } else {
-            _updateFastestNodeTimer = new Timer(this::switchToSpeedTestPhase, Duration.ofMinutes(1));
+        synchronized (this) {
+            if (_disposed) {
+                return;
+            }
+
+            if (_updateFastestNodeTimer != null) {
+                _updateFastestNodeTimer.change(Duration.ofMinutes(1));
+            } else {
+                _updateFastestNodeTimer = new Timer(this::switchToSpeedTestPhase, Duration.ofMinutes(1), null, _backgroundExecutor);
+            }
         }
     }
 
@@ -202,7 +511,9 @@ public class NodeSelector implements CleanCloseable {
     }
 
     @Override
-    public void close() {
+    public synchronized void close() {
+        _disposed = true;
+
         if (_updateFastestNodeTimer != null) {
             _updateFastestNodeTimer.close();
         }
@@ -216,6 +527,10 @@ public class NodeSelector implements CleanCloseable {
         public final int[] fastestRecords;
         public int fastest;
         public final AtomicInteger speedTestMode = new AtomicInteger(0);
+        public final AtomicLong[] latencies;
+        public final AtomicLong[] latencySampledAt;
+        public final AtomicInteger[] inFlight;
+        public final NodeCircuitBreaker[] circuitBreakers;
 
         public NodeSelectorState(int currentNodeIndex, Topology topology) {
             this.topology = topology;
@@ -227,6 +542,18 @@ public class NodeSelector implements CleanCloseable {
             }
             this.fastestRecords = new int[topology.getNodes().size()];
 
+            int size = topology.getNodes().size();
+            this.latencies = new AtomicLong[size];
+            this.latencySampledAt = new AtomicLong[size];
+            this.inFlight = new AtomicInteger[size];
+            this.circuitBreakers = new NodeCircuitBreaker[size];
+            for (int i = 0; i < size; i++) {
+                this.circuitBreakers[i] = new NodeCircuitBreaker();
+                this.latencies[i] = new AtomicLong();
+                this.latencySampledAt[i] = new AtomicLong();
+                this.inFlight[i] = new AtomicInteger();
+            }
+
         }
     }
 
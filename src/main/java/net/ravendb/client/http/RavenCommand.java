@@ -7,17 +7,26 @@ import net.ravendb.client.primitives.Reference;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.utils.HttpClientUtils;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public abstract class RavenCommand<TResult> {
 
@@ -31,6 +40,15 @@ public abstract class RavenCommand<TResult> {
 
     public abstract boolean isReadRequest();
 
+    /**
+     * Tells if command can change documents, so aggressively cached responses have to be revalidated after it.
+     * By default only write requests do.
+     * @return true if command can change documents
+     */
+    public boolean isModifyingDocuments() {
+        return !isReadRequest();
+    }
+
     public RavenCommandResponseType getResponseType() {
         return responseType;
     }
@@ -76,10 +94,91 @@ public abstract class RavenCommand<TResult> {
         throw new UnsupportedOperationException(responseType.name() + " command must override the setResponse method which expects response with the following type: " + responseType);
     }
 
+    /**
+     * Sets response using raw UTF-8 bytes (as stored in http cache).
+     * @param response Raw response or null
+     * @param fromCache Indicates if response comes from cache
+     * @throws IOException if response can't be parsed
+     */
+    public void setResponse(byte[] response, boolean fromCache) throws IOException {
+        setResponse(response != null ? new ByteArrayInputStream(response) : null, fromCache);
+    }
+
+    /**
+     * Sets response using UTF-8 encoded stream.
+     * Commands which parse responses using Jackson should override this method, so the payload is consumed incrementally
+     * instead of being buffered into String first.
+     * @param response Response stream or null
+     * @param fromCache Indicates if response comes from cache
+     * @throws IOException if response can't be read or parsed
+     */
+    public void setResponse(InputStream response, boolean fromCache) throws IOException {
+        setResponse(response != null ? IOUtils.toString(response, StandardCharsets.UTF_8) : null, fromCache);
+    }
+
     public CloseableHttpResponse send(CloseableHttpClient client, HttpRequestBase request) throws IOException {
         return client.execute(request);
     }
 
+    /**
+     * Sends the request using non-blocking http client. No thread is held while waiting for the response,
+     * returned future is completed by the client's I/O dispatcher once the whole response is received.
+     * @param client Non-blocking http client
+     * @param request Request to send
+     * @return Future with buffered response
+     */
+    public CompletableFuture<CloseableHttpResponse> sendAsync(CloseableHttpAsyncClient client, HttpRequestBase request) {
+        CompletableFuture<CloseableHttpResponse> result = new CompletableFuture<>();
+
+        try {
+            bufferRequestEntity(request);
+        } catch (IOException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        client.execute(request, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse response) {
+                result.complete(new BufferedHttpResponse(response));
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                result.completeExceptionally(ex);
+            }
+
+            @Override
+            public void cancelled() {
+                result.cancel(false);
+            }
+        });
+
+        return result;
+    }
+
+    private static void bufferRequestEntity(HttpRequestBase request) throws IOException {
+        if (!(request instanceof HttpEntityEnclosingRequestBase)) {
+            return;
+        }
+
+        HttpEntityEnclosingRequestBase entityRequest = (HttpEntityEnclosingRequestBase) request;
+        HttpEntity entity = entityRequest.getEntity();
+        if (entity == null || entity.isRepeatable()) {
+            return;
+        }
+
+        // non-blocking client pulls the body from the entity content,
+        // so entities which are only able to write themselves are serialized up front
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        entity.writeTo(outputStream);
+
+        ByteArrayEntity bufferedEntity = new ByteArrayEntity(outputStream.toByteArray());
+        bufferedEntity.setContentType(entity.getContentType());
+        bufferedEntity.setContentEncoding(entity.getContentEncoding());
+        entityRequest.setEntity(bufferedEntity);
+    }
+
     @SuppressWarnings("unused")
     public void setResponseRaw(CloseableHttpResponse response, InputStream stream) {
         throw new UnsupportedOperationException("When " + responseType + " is set to Raw then please override this method to handle the response. ");
@@ -133,14 +232,16 @@ public abstract class RavenCommand<TResult> {
                     return ResponseDisposeHandling.AUTOMATIC;
                 }
 
-                // we intentionally don't dispose the reader here, we'll be using it
-                // in the command, any associated memory will be released on context reset
-                String json = IOUtils.toString(entity.getContent(), "UTF-8");
-                if (cache != null) //precaution
-                {
-                    cacheResponse(cache, url, response, json);
+                // we only buffer the response when we are going to store it in the cache,
+                // otherwise it is parsed directly from the stream
+                String changeVector = cache != null ? getCacheableChangeVector(response) : null;
+                if (changeVector != null) {
+                    byte[] json = IOUtils.toByteArray(entity.getContent());
+                    cache.set(url, changeVector, json);
+                    setResponse(json, false);
+                } else {
+                    setResponse(entity.getContent(), false);
                 }
-                setResponse(json, false);
                 return ResponseDisposeHandling.AUTOMATIC;
             } else {
                 setResponseRaw(response, entity.getContent());
@@ -154,17 +255,12 @@ public abstract class RavenCommand<TResult> {
         return ResponseDisposeHandling.AUTOMATIC;
     }
 
-    protected void cacheResponse(HttpCache cache, String url, CloseableHttpResponse response, String responseJson) {
+    protected String getCacheableChangeVector(CloseableHttpResponse response) {
         if (!canCache()) {
-            return;
-        }
-
-        String changeVector = HttpExtensions.getEtagHeader(response);
-        if (changeVector == null) {
-            return;
+            return null;
         }
 
-        cache.set(url, changeVector, responseJson);
+        return HttpExtensions.getEtagHeader(response);
     }
 
     protected static void throwInvalidResponse() {
@@ -6,5 +6,10 @@ import net.ravendb.client.primitives.UseSharpEnum;
 public enum ReadBalanceBehavior {
     NONE,
     ROUND_ROBIN,
-    FASTEST_NODE
+    FASTEST_NODE,
+    /**
+     * Client side only: reads go to the node with the lowest moving average of response time
+     * (weighted by requests in flight), chosen using power of two random choices.
+     */
+    LEAST_LATENCY
 }
@@ -3,7 +3,6 @@ package net.ravendb.client.http;
 import com.google.common.base.Stopwatch;
 import net.ravendb.client.Constants;
 import net.ravendb.client.documents.conventions.DocumentConventions;
-import net.ravendb.client.documents.operations.GetStatisticsOperation;
 import net.ravendb.client.documents.operations.configuration.GetClientConfigurationOperation;
 import net.ravendb.client.documents.session.SessionInfo;
 import net.ravendb.client.exceptions.AllTopologyNodesDownException;
@@ -15,6 +14,7 @@ import net.ravendb.client.extensions.JsonExtensions;
 import net.ravendb.client.primitives.*;
 import net.ravendb.client.primitives.Timer;
 import net.ravendb.client.serverwide.commands.GetDatabaseTopologyCommand;
+import net.ravendb.client.serverwide.commands.GetTcpInfoCommand;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
@@ -23,11 +23,20 @@ import org.apache.http.Header;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
 import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.impl.client.StandardHttpRequestRetryHandler;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
 import org.apache.http.ssl.SSLContexts;
 
 import javax.net.ssl.SSLContext;
@@ -44,16 +53,31 @@ import java.security.cert.CertificateEncodingException;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class RequestExecutor implements CleanCloseable {
 
-    public static final Consumer<HttpClientBuilder> configureHttpClient = null;
+    /**
+     * Extension point to customize blocking http client used by execute
+     * <p>
+     * Connection manager is set on the builder explicitly (to expose pool statistics), so builder settings which are
+     * applied only to connection manager created by builder itself are ignored: setSSLContext, setSSLSocketFactory,
+     * setSSLHostnameVerifier, setDefaultSocketConfig, setMaxConnPerRoute, setMaxConnTotal and setConnectionTimeToLive.
+     * Use DocumentConventions.setMaxHttpConnectionsPerRoute and setMaxHttpConnectionsTotal to limit the pool and
+     * store certificate for ssl. Replacing connection manager with setConnectionManager disables pool statistics.
+     */
+    public static Consumer<HttpClientBuilder> configureHttpClient = null;
+
+    /**
+     * Extension point to customize non-blocking http client used by executeAsync
+     */
+    public static Consumer<HttpAsyncClientBuilder> configureHttpAsyncClient = null;
 
-    private static final GetStatisticsOperation failureCheckOperation = new GetStatisticsOperation("failure=check");
     /**
      * Extension point to plug - in request post processing like adding proxy etc.
      */
@@ -63,6 +87,10 @@ public class RequestExecutor implements CleanCloseable {
 
     private static final ConcurrentMap<String, CloseableHttpClient> globalHttpClient = new ConcurrentHashMap<>();
 
+    private static final ConcurrentMap<String, CloseableHttpAsyncClient> globalHttpAsyncClient = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<String, InstrumentedHttpClientConnectionManager> globalConnectionManager = new ConcurrentHashMap<>();
+
     private final Semaphore _updateDatabaseTopologySemaphore = new Semaphore(1);
 
     private final Semaphore _updateClientConfigurationSemaphore = new Semaphore(1);
@@ -98,6 +126,21 @@ public class RequestExecutor implements CleanCloseable {
         return httpClient;
     }
 
+    private final String _httpClientKey;
+
+    public CloseableHttpAsyncClient getHttpAsyncClient() {
+        // created on first use - most of applications never go through executeAsync
+        return globalHttpAsyncClient.computeIfAbsent(_httpClientKey, (key) -> createAsyncClient());
+    }
+
+    /**
+     * @return Current state of blocking http client connection pool together with connection lease wait times.
+     * Pool is shared with other request executors using the same certificate and pool limits.
+     */
+    public ConnectionPoolStatistics getConnectionPoolStatistics() {
+        return globalConnectionManager.get(_httpClientKey).getStatistics();
+    }
+
     public List<ServerNode> getTopologyNodes() {
         return Optional.ofNullable(getTopology())
                 .map(Topology::getNodes)
@@ -111,6 +154,14 @@ public class RequestExecutor implements CleanCloseable {
 
     public final AtomicLong numberOfServerRequests = new AtomicLong(0);
 
+    public final AtomicLong numberOfHedgedRequests = new AtomicLong(0);
+
+    private final LatencyPercentile _readLatency;
+
+    private SpeedTestProbe _speedTestProbe;
+
+    protected final BackgroundExecutor _backgroundExecutor;
+
     public String getUrl() {
         if (_nodeSelector == null) {
             return null;
@@ -147,7 +198,19 @@ public class RequestExecutor implements CleanCloseable {
         return certificate;
     }
 
+    /**
+     * @return Executor of background work (topology updates, health checks etc.) of this request executor
+     */
+    public BackgroundExecutor getBackgroundExecutor() {
+        return _backgroundExecutor;
+    }
+
     protected RequestExecutor(String databaseName, KeyStore certificate, DocumentConventions conventions, String[] initialUrls) {
+        this(databaseName, certificate, conventions, initialUrls, null);
+    }
+
+    protected RequestExecutor(String databaseName, KeyStore certificate, DocumentConventions conventions, String[] initialUrls, BackgroundExecutor backgroundExecutor) {
+        _backgroundExecutor = backgroundExecutor != null ? backgroundExecutor : BackgroundExecutor.getDefault();
         cache = new HttpCache(conventions.getMaxHttpCacheSize());
         _readBalanceBehavior = conventions.getReadBalanceBehavior();
         _databaseName = databaseName;
@@ -156,12 +219,17 @@ public class RequestExecutor implements CleanCloseable {
         _lastReturnedResponse = new Date();
         this.conventions = conventions.clone();
 
+        _readLatency = this.conventions.getHedgedReadsPercentile() > 0 ? new LatencyPercentile(this.conventions.getHedgedReadsPercentile()) : null;
+
         String thumbprint = "";
         if (certificate != null) {
             thumbprint = extractThumbprintFromCertificate(certificate);
         }
 
-        httpClient = globalHttpClient.computeIfAbsent(thumbprint, (thumb) -> createClient());
+        // clients are shared, so executors with different pool limits can't use the same instance
+        _httpClientKey = thumbprint + "|" + this.conventions.getMaxHttpConnectionsPerRoute() + "|" + this.conventions.getMaxHttpConnectionsTotal()
+                + "|" + this.conventions.isUseCompression();
+        httpClient = globalHttpClient.computeIfAbsent(_httpClientKey, (key) -> createClient(key));
     }
 
     private String extractThumbprintFromCertificate(KeyStore certificate) {
@@ -184,21 +252,33 @@ public class RequestExecutor implements CleanCloseable {
     }
 
     public static RequestExecutor create(String[] intialUrls, String databaseName, KeyStore certificate, DocumentConventions conventions) {
-        RequestExecutor executor = new RequestExecutor(databaseName, certificate, conventions, intialUrls);
+        return create(intialUrls, databaseName, certificate, conventions, null);
+    }
+
+    public static RequestExecutor create(String[] intialUrls, String databaseName, KeyStore certificate, DocumentConventions conventions, BackgroundExecutor backgroundExecutor) {
+        RequestExecutor executor = new RequestExecutor(databaseName, certificate, conventions, intialUrls, backgroundExecutor);
         executor._firstTopologyUpdate = executor.firstTopologyUpdate(intialUrls);
         return executor;
     }
 
     public static RequestExecutor createForSingleNodeWithConfigurationUpdates(String url, String databaseName, KeyStore certificate, DocumentConventions conventions) {
-        RequestExecutor executor = createForSingleNodeWithoutConfigurationUpdates(url, databaseName, certificate, conventions);
+        return createForSingleNodeWithConfigurationUpdates(url, databaseName, certificate, conventions, null);
+    }
+
+    public static RequestExecutor createForSingleNodeWithConfigurationUpdates(String url, String databaseName, KeyStore certificate, DocumentConventions conventions, BackgroundExecutor backgroundExecutor) {
+        RequestExecutor executor = createForSingleNodeWithoutConfigurationUpdates(url, databaseName, certificate, conventions, backgroundExecutor);
         executor._disableClientConfigurationUpdates = false;
         return executor;
     }
 
     public static RequestExecutor createForSingleNodeWithoutConfigurationUpdates(String url, String databaseName, KeyStore certificate, DocumentConventions conventions) {
+        return createForSingleNodeWithoutConfigurationUpdates(url, databaseName, certificate, conventions, null);
+    }
+
+    public static RequestExecutor createForSingleNodeWithoutConfigurationUpdates(String url, String databaseName, KeyStore certificate, DocumentConventions conventions, BackgroundExecutor backgroundExecutor) {
         final String[] initialUrls = validateUrls(new String[]{url}, certificate);
 
-        RequestExecutor executor = new RequestExecutor(databaseName, certificate, conventions, initialUrls);
+        RequestExecutor executor = new RequestExecutor(databaseName, certificate, conventions, initialUrls, backgroundExecutor);
 
         Topology topology = new Topology();
         topology.setEtag(-1L);
@@ -208,7 +288,7 @@ public class RequestExecutor implements CleanCloseable {
         serverNode.setUrl(initialUrls[0]);
         topology.setNodes(Collections.singletonList(serverNode));
 
-        executor._nodeSelector = new NodeSelector(topology);
+        executor._nodeSelector = executor.createNodeSelector(topology);
         executor.topologyEtag = -2;
         executor._disableTopologyUpdates = true;
         executor._disableClientConfigurationUpdates = true;
@@ -221,38 +301,43 @@ public class RequestExecutor implements CleanCloseable {
             return CompletableFuture.completedFuture(null);
         }
 
-        return CompletableFuture.runAsync(() -> {
-            try {
-                _updateClientConfigurationSemaphore.acquire();
-            } catch (InterruptedException e) {
-                throw new RuntimeException(e);
-            }
-
-            boolean oldDisableClientConfigurationUpdates = _disableClientConfigurationUpdates;
-            _disableClientConfigurationUpdates = true;
+        return CompletableFuture.runAsync(this::updateClientConfiguration, _backgroundExecutor);
+    }
 
-            try {
-                if (_disposed) {
-                    return;
-                }
+    /**
+     * Updates client configuration on the calling thread, background tasks use it instead of waiting for another background task
+     */
+    protected void updateClientConfiguration() {
+        try {
+            _updateClientConfigurationSemaphore.acquire();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
 
-                GetClientConfigurationOperation.GetClientConfigurationCommand command = new GetClientConfigurationOperation.GetClientConfigurationCommand();
-                CurrentIndexAndNode currentIndexAndNode = chooseNodeForRequest(command, null);
-                execute(currentIndexAndNode.currentNode, currentIndexAndNode.currentIndex, command, false, null);
+        boolean oldDisableClientConfigurationUpdates = _disableClientConfigurationUpdates;
+        _disableClientConfigurationUpdates = true;
 
-                GetClientConfigurationOperation.Result result = command.getResult();
-                if (result == null) {
-                    return;
-                }
+        try {
+            if (_disposed) {
+                return;
+            }
 
-                conventions.updateFrom(result.getConfiguration());
-                clientConfigurationEtag = result.getEtag();
+            GetClientConfigurationOperation.GetClientConfigurationCommand command = new GetClientConfigurationOperation.GetClientConfigurationCommand();
+            CurrentIndexAndNode currentIndexAndNode = chooseNodeForRequest(command, null);
+            execute(currentIndexAndNode.currentNode, currentIndexAndNode.currentIndex, command, false, null);
 
-            } finally {
-                _disableClientConfigurationUpdates = oldDisableClientConfigurationUpdates;
-                _updateClientConfigurationSemaphore.release();
+            GetClientConfigurationOperation.Result result = command.getResult();
+            if (result == null) {
+                return;
             }
-        });
+
+            conventions.updateFrom(result.getConfiguration());
+            clientConfigurationEtag = result.getEtag();
+
+        } finally {
+            _disableClientConfigurationUpdates = oldDisableClientConfigurationUpdates;
+            _updateClientConfigurationSemaphore.release();
+        }
     }
 
     public CompletableFuture<Boolean> updateTopologyAsync(ServerNode node, int timeout) {
@@ -264,50 +349,122 @@ public class RequestExecutor implements CleanCloseable {
             return CompletableFuture.completedFuture(false);
         }
 
-        return CompletableFuture.supplyAsync(() -> {
+        return CompletableFuture.supplyAsync(() -> updateTopology(node, timeout, forceUpdate), _backgroundExecutor);
+    }
 
-            //prevent double topology updates if execution takes too much time
-            // --> in cases with transient issues
-            try {
-                boolean lockTaken = _updateDatabaseTopologySemaphore.tryAcquire(timeout, TimeUnit.MILLISECONDS);
-                if (!lockTaken) {
-                    return false;
-                }
-            } catch (InterruptedException e) {
-                throw new RuntimeException(e);
+    /**
+     * Updates topology on the calling thread, background tasks use it instead of waiting for another background task
+     * @param node Node to take the topology from
+     * @param timeout Time to wait for the update which is already in progress
+     * @param forceUpdate Whether topology is replaced even if it isn't newer
+     * @return false when the update was skipped
+     */
+    protected boolean updateTopology(ServerNode node, int timeout, boolean forceUpdate) {
+        //prevent double topology updates if execution takes too much time
+        // --> in cases with transient issues
+        try {
+            boolean lockTaken = _updateDatabaseTopologySemaphore.tryAcquire(timeout, TimeUnit.MILLISECONDS);
+            if (!lockTaken) {
+                return false;
             }
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
 
-            try {
+        try {
 
-                if (_disposed) {
-                    return false;
-                }
+            if (_disposed) {
+                return false;
+            }
 
-                GetDatabaseTopologyCommand command = new GetDatabaseTopologyCommand();
-                execute(node, null, command, false, null);
+            GetDatabaseTopologyCommand command = new GetDatabaseTopologyCommand();
+            execute(node, null, command, false, null);
 
-                if (_nodeSelector == null) {
-                    _nodeSelector = new NodeSelector(command.getResult());
+            if (_nodeSelector == null) {
+                _nodeSelector = createNodeSelector(command.getResult());
 
-                    if (_readBalanceBehavior == ReadBalanceBehavior.FASTEST_NODE) {
-                        _nodeSelector.scheduleSpeedTest();
-                    }
-                } else if (_nodeSelector.onUpdateTopology(command.getResult(), forceUpdate)) {
-                    disposeAllFailedNodesTimers();
-                    if (_readBalanceBehavior == ReadBalanceBehavior.FASTEST_NODE) {
-                        _nodeSelector.scheduleSpeedTest();
-                    }
+                if (_readBalanceBehavior == ReadBalanceBehavior.FASTEST_NODE) {
+                    _nodeSelector.scheduleSpeedTest();
+                }
+            } else if (_nodeSelector.onUpdateTopology(command.getResult(), forceUpdate)) {
+                disposeAllFailedNodesTimers();
+                if (_readBalanceBehavior == ReadBalanceBehavior.FASTEST_NODE) {
+                    _nodeSelector.scheduleSpeedTest();
                 }
+            }
 
-                topologyEtag = _nodeSelector.getTopology().getEtag();
+            topologyEtag = _nodeSelector.getTopology().getEtag();
 
-            } finally {
-                _updateDatabaseTopologySemaphore.release();
+        } finally {
+            _updateDatabaseTopologySemaphore.release();
+        }
+
+        return true;
+    }
+
+    protected NodeSelector createNodeSelector(Topology topology) {
+        NodeSelector nodeSelector = new NodeSelector(topology, _backgroundExecutor);
+
+        if (_readBalanceBehavior == ReadBalanceBehavior.FASTEST_NODE && conventions.isUseSpeedTestProbes()) {
+            synchronized (this) {
+                if (_speedTestProbe == null) {
+                    _speedTestProbe = new SpeedTestProbe(this);
+                }
             }
 
-            return true;
-        });
+            nodeSelector.setSpeedTestProbe(_speedTestProbe::schedule);
+        }
+
+        return nodeSelector;
+    }
+
+    /**
+     * @return Lightweight command used to measure response time of the node when speed test probes are enabled
+     */
+    protected RavenCommand<?> createSpeedTestProbeCommand() {
+        return new GetTcpInfoCommand("speed-test", _databaseName);
+    }
+
+    CompletableFuture<Long> sendSpeedTestProbeAsync(ServerNode node) {
+        RavenCommand<?> command = createSpeedTestProbeCommand();
+
+        HttpRequestBase request;
+        try {
+            request = createRequest(node, command, new Reference<>());
+        } catch (Exception e) {
+            return failedFuture(e);
+        }
+
+        Stopwatch sp = Stopwatch.createStarted();
+
+        return command.sendAsync(getHttpAsyncClient(), request)
+                .thenApply(response -> {
+                    try {
+                        if (response.getStatusLine().getStatusCode() >= 400) {
+                            throw new IllegalStateException("Speed test probe to " + node.getUrl() + " failed with status code " + response.getStatusLine().getStatusCode());
+                        }
+
+                        return sp.elapsed(TimeUnit.NANOSECONDS);
+                    } finally {
+                        IOUtils.closeQuietly(response);
+                    }
+                });
+    }
+
+    /**
+     * @return Results of speed test probes per node url, empty if speed test probes are not used
+     */
+    public Map<String, NodeProbeStatistics> getSpeedTestStatistics() {
+        SpeedTestProbe speedTestProbe = _speedTestProbe;
+        return speedTestProbe != null ? speedTestProbe.getStatistics() : Collections.emptyMap();
+    }
 
+    /**
+     * @return Circuit breaker state of topology nodes by node url
+     */
+    public Map<String, NodeCircuitBreakerStatistics> getCircuitBreakerStatistics() {
+        NodeSelector nodeSelector = _nodeSelector;
+        return nodeSelector != null ? nodeSelector.getCircuitBreakerStatistics() : Collections.emptyMap();
     }
 
     protected void disposeAllFailedNodesTimers() {
@@ -344,6 +501,8 @@ public class RequestExecutor implements CleanCloseable {
                 return _nodeSelector.getNodeBySessionId(sessionInfo != null ? sessionInfo.getSessionId() : 0);
             case FASTEST_NODE:
                 return _nodeSelector.getFastestNode();
+            case LEAST_LATENCY:
+                return _nodeSelector.getLeastLatencyNode();
             default:
                 throw new IllegalArgumentException();
         }
@@ -421,7 +580,7 @@ public class RequestExecutor implements CleanCloseable {
                     serverNode.setUrl(url);
                     serverNode.setDatabase(_databaseName);
 
-                    updateTopologyAsync(serverNode, Integer.MAX_VALUE).get();
+                    updateTopology(serverNode, Integer.MAX_VALUE, false);
 
                     initializeUpdateTopologyTimer();
 
@@ -459,7 +618,7 @@ public class RequestExecutor implements CleanCloseable {
 
             topology.setNodes(topologyNodes);
 
-            _nodeSelector = new NodeSelector(topology);
+            _nodeSelector = createNodeSelector(topology);
 
             if (initialUrls != null && initialUrls.length > 0) {
                 initializeUpdateTopologyTimer();
@@ -469,7 +628,7 @@ public class RequestExecutor implements CleanCloseable {
             _lastKnownUrls = initialUrls;
             String details = list.stream().map(x -> x.first + " -> " + Optional.ofNullable(x.second).map(m -> m.getMessage()).orElse("")).collect(Collectors.joining(", "));
             throwExceptions(details);
-        });
+        }, _backgroundExecutor);
     }
 
     protected void throwExceptions(String details) {
@@ -519,58 +678,110 @@ public class RequestExecutor implements CleanCloseable {
                 return;
             }
 
-            _updateTopologyTimer = new Timer(this::updateTopologyCallback, Duration.ofMinutes(1), Duration.ofMinutes(1));
+            _updateTopologyTimer = new Timer(this::updateTopologyCallback, Duration.ofMinutes(1), Duration.ofMinutes(1), _backgroundExecutor);
         }
     }
 
     public <TResult> void execute(ServerNode chosenNode, Integer nodeIndex, RavenCommand<TResult> command, boolean shouldRetry, SessionInfo sessionInfo) {
+        execute(chosenNode, nodeIndex, command, shouldRetry, sessionInfo, false);
+    }
+
+    private <TResult> void execute(ServerNode chosenNode, Integer nodeIndex, RavenCommand<TResult> command, boolean shouldRetry, SessionInfo sessionInfo,
+                                   boolean nodeAcquired) {
         Reference<String> urlRef = new Reference<>();
-        HttpRequestBase request = createRequest(chosenNode, command, urlRef);
+        HttpRequestBase request;
+        try {
+            request = createRequest(chosenNode, command, urlRef);
+        } catch (RuntimeException e) {
+            if (nodeAcquired) {
+                onNodeResponded(nodeIndex, chosenNode, null);
+            }
+            throw e;
+        }
 
         Reference<String> cachedChangeVector = new Reference<>();
-        Reference<String> cachedValue = new Reference<>();
+        Reference<byte[]> cachedValue = new Reference<>();
 
         try (HttpCache.ReleaseCacheItem cachedItem = getFromCache(command, urlRef.value, cachedChangeVector, cachedValue)) {
-            if (cachedChangeVector.value != null) {
-                AggressiveCacheOptions aggressiveCacheOptions = AggressiveCaching.get();
-                if (aggressiveCacheOptions != null &&
-                        cachedItem.getAge().compareTo(aggressiveCacheOptions.getDuration()) < 0 &&
-                        !cachedItem.getMightHaveBeenModified() &&
-                        command.canCacheAggressively()) {
-                    try {
-                        command.setResponse(cachedValue.value, true);
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
-                    }
-                    return;
+            if (trySetResponseFromAggressiveCache(command, cachedItem, cachedChangeVector.value, cachedValue.value, AggressiveCaching.get())) {
+                if (nodeAcquired) {
+                    onNodeResponded(nodeIndex, chosenNode, null);
                 }
-
-                request.addHeader("If-None-Match", "\"" + cachedChangeVector.value + "\"");
+                return;
             }
 
-            if (!_disableClientConfigurationUpdates) {
-                request.addHeader(Constants.Headers.CLIENT_CONFIGURATION_ETAG, "\"" + clientConfigurationEtag + "\"");
+            addRequestHeaders(request, cachedChangeVector.value);
+
+            // permit is taken only now, when the request is really sent, recovering node gets limited number of them
+            if (!nodeAcquired) {
+                nodeAcquired = tryAcquireNode(nodeIndex, chosenNode);
+
+                if (!nodeAcquired && isRecovering(nodeIndex, chosenNode)) {
+                    // request is never sent to recovering node without the permit, another node takes it instead
+                    CurrentIndexAndNode alternative = acquireAlternativeNode(nodeIndex, chosenNode);
+                    execute(alternative.currentNode, alternative.currentIndex, command, shouldRetry, sessionInfo, true);
+                    return;
+                }
             }
 
-            if (!_disableTopologyUpdates) {
-                request.addHeader(Constants.Headers.TOPOLOGY_ETAG, "\"" + topologyEtag + "\"");
+            NodeSelector latencyTracker = getLatencyTracker(nodeIndex, command);
+            if (latencyTracker != null) {
+                latencyTracker.onRequestStarted(nodeIndex, chosenNode);
             }
 
             Stopwatch sp = Stopwatch.createStarted();
             CloseableHttpResponse response = null;
             ResponseDisposeHandling responseDispose = ResponseDisposeHandling.AUTOMATIC;
+            HttpCache.ReleaseCacheItem responseCacheItem = cachedItem;
+            boolean hedged = false;
 
             try {
                 numberOfServerRequests.incrementAndGet();
 
+                long hedgeDelay = getHedgeDelay(nodeIndex, command, shouldRetry);
+
                 if (shouldExecuteOnAll(chosenNode, command)) {
                     response = executeOnAllToFigureOutTheFastest(chosenNode, command);
+                } else if (hedgeDelay >= 0) {
+                    hedged = true;
+
+                    // hedged request takes care of the permit and returns permit of the node which won
+                    boolean primaryAcquired = nodeAcquired;
+                    nodeAcquired = false;
+
+                    NodeRequest primaryRequest = new NodeRequest(request, urlRef.value, cachedItem, cachedValue.value);
+                    NodeResponse winner = awaitResponse(
+                            executeHedgedAsync(chosenNode, nodeIndex, primaryAcquired, command, primaryRequest, hedgeDelay, latencyTracker));
+
+                    // the rest is related to the node which actually responded, including the url its response is cached under
+                    response = winner.response;
+                    request = winner.request.request;
+                    urlRef.value = winner.request.url;
+                    cachedValue.value = winner.request.cachedValue;
+                    responseCacheItem = winner.request.cachedItem;
+                    chosenNode = winner.node;
+                    nodeIndex = winner.nodeIndex;
+                    nodeAcquired = winner.acquired;
                 } else {
                     response = command.send(httpClient, request);
                 }
 
                 sp.stop();
+
+                if (!hedged) { // hedged requests report latency of each node on their own
+                    onResponseReceived(latencyTracker, nodeIndex, chosenNode, command, sp.elapsed(TimeUnit.NANOSECONDS));
+                }
             } catch (IOException e) {
+                if (!hedged) {
+                    onResponseReceived(latencyTracker, nodeIndex, chosenNode, command, null);
+                }
+
+                if (nodeAcquired) {
+                    // give the permit back before failing over, failure itself is reported by the failover
+                    nodeAcquired = false;
+                    onNodeResponded(nodeIndex, chosenNode, null);
+                }
+
                 if (!shouldRetry) {
                     throw ExceptionsUtils.unwrapException(e);
                 }
@@ -580,6 +791,10 @@ public class RequestExecutor implements CleanCloseable {
                     throwFailedToContactAllNodes(command, request, e, null);
                 }
                 return;
+            } finally {
+                if (nodeAcquired) {
+                    onNodeResponded(nodeIndex, chosenNode, response);
+                }
             }
 
             command.statusCode = response.getStatusLine().getStatusCode();
@@ -589,66 +804,437 @@ public class RequestExecutor implements CleanCloseable {
 
             try {
                 if (response.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_MODIFIED) {
-                    cachedItem.notModified();
-
-                    try {
-                        if (command.getResponseType() == RavenCommandResponseType.OBJECT) {
-                            command.setResponse(cachedValue.value, true);
-                        }
-                    } catch (IOException e) {
-                        throw ExceptionsUtils.unwrapException(e);
-                    }
-
+                    handleNotModified(command, responseCacheItem, cachedValue.value);
                     return;
                 }
 
                 if (response.getStatusLine().getStatusCode() >= 400) {
                     if (!handleUnsuccessfulResponse(chosenNode, nodeIndex, command, request, response, urlRef.value, sessionInfo, shouldRetry)) {
-                        Header dbMissingHeader = response.getFirstHeader("Database-Missing");
-                        if (dbMissingHeader != null && dbMissingHeader.getValue() != null) {
-                            throw new DatabaseDoesNotExistException(dbMissingHeader.getValue());
-                        }
-
-                        if (command.getFailedNodes().size() == 0) { //precaution, should never happen at this point
-                            throw new IllegalStateException("Received unsuccessful response and couldn't recover from it. Also, no record of exceptions per failed nodes. This is weird and should not happen.");
-                        }
-
-                        if (command.getFailedNodes().size() == 1) {
-                            Collection<Exception> values = command.getFailedNodes().values();
-                            values.stream().findFirst().ifPresent(v -> {
-                                throw new RuntimeException(v);
-                            });
-                        }
-
-                        throw new AllTopologyNodesDownException("Received unsuccessful response from all servers and couldn't recover from it.");
+                        throwUnrecoverableResponse(command, response);
                     }
                     return; // we either handled this already in the unsuccessful response or we are throwing
                 }
 
                 responseDispose = command.processResponse(cache, response, urlRef.value);
-                _lastReturnedResponse = new Date();
+                onResponseProcessed(command);
             } finally {
                 if (responseDispose == ResponseDisposeHandling.AUTOMATIC) {
                     IOUtils.closeQuietly(response);
                 }
 
+                if (responseCacheItem != cachedItem) {
+                    responseCacheItem.close();
+                }
+
                 if (refreshTopology || refreshClientConfiguration) {
+                    refreshTopologyAndClientConfigurationNow(chosenNode, refreshTopology, refreshClientConfiguration);
+                }
+            }
+        }
+    }
 
-                    ServerNode serverNode = new ServerNode();
-                    serverNode.setUrl(chosenNode.getUrl());
-                    serverNode.setDatabase(_databaseName);
+    public <TResult> CompletableFuture<TResult> executeAsync(RavenCommand<TResult> command) {
+        return executeAsync(command, null);
+    }
 
-                    CompletableFuture<Boolean> topologyTask = refreshTopology ? updateTopologyAsync(serverNode, 0) : CompletableFuture.completedFuture(false);
-                    CompletableFuture<Void> clientConfiguration = refreshClientConfiguration ? updateClientConfigurationAsync() : CompletableFuture.completedFuture(null);
+    /**
+     * Executes the command using non-blocking http client. Failover, topology/client configuration refresh
+     * and http cache are handled the same way as in {@link #execute(RavenCommand, SessionInfo)}, but no thread
+     * is blocked while waiting for the server.
+     * @param <TResult> Command result type
+     * @param command Command to execute
+     * @param sessionInfo Session information
+     * @return Future with command result
+     */
+    public <TResult> CompletableFuture<TResult> executeAsync(RavenCommand<TResult> command, SessionInfo sessionInfo) {
+        // aggressive caching is thread bound, capture it before we leave the calling thread
+        AggressiveCacheOptions aggressiveCacheOptions = AggressiveCaching.get();
 
-                    try {
-                        CompletableFuture.allOf(topologyTask, clientConfiguration).get();
-                    } catch (Exception e) {
-                        throw ExceptionsUtils.unwrapException(e);
+        CompletableFuture<Void> topologyUpdate = _firstTopologyUpdate;
+        CompletableFuture<Void> execution;
+        if (topologyUpdate != null && topologyUpdate.isDone() || _disableTopologyUpdates) {
+            execution = executeOnChosenNodeAsync(command, sessionInfo, aggressiveCacheOptions);
+        } else {
+            execution = unlikelyExecuteAsync(command, topologyUpdate, sessionInfo, aggressiveCacheOptions);
+        }
+
+        return execution.thenApply(v -> command.getResult());
+    }
+
+    private <TResult> CompletableFuture<Void> unlikelyExecuteAsync(RavenCommand<TResult> command, CompletableFuture<Void> topologyUpdate, SessionInfo sessionInfo, AggressiveCacheOptions aggressiveCacheOptions) {
+        if (topologyUpdate == null) {
+            synchronized (this) {
+                if (_firstTopologyUpdate == null) {
+                    if (_lastKnownUrls == null) {
+                        return failedFuture(new IllegalStateException("No known topology and no previously known one, cannot proceed, likely a bug"));
+                    }
+
+                    _firstTopologyUpdate = firstTopologyUpdate(_lastKnownUrls);
+                }
+
+                topologyUpdate = _firstTopologyUpdate;
+            }
+        }
+
+        final CompletableFuture<Void> update = topologyUpdate;
+
+        return update
+                .handle((v, e) -> {
+                    if (e != null) {
+                        synchronized (this) {
+                            if (_firstTopologyUpdate == update) {
+                                _firstTopologyUpdate = null; // next request will raise it
+                            }
+                        }
+
+                        return RequestExecutor.<Void>failedFuture(ExceptionsUtils.unwrapException(e));
                     }
+
+                    return executeOnChosenNodeAsync(command, sessionInfo, aggressiveCacheOptions);
+                })
+                .thenCompose(x -> x);
+    }
+
+    private <TResult> CompletableFuture<Void> executeOnChosenNodeAsync(RavenCommand<TResult> command, SessionInfo sessionInfo, AggressiveCacheOptions aggressiveCacheOptions) {
+        CurrentIndexAndNode currentIndexAndNode;
+        try {
+            currentIndexAndNode = chooseNodeForRequest(command, sessionInfo);
+        } catch (Exception e) {
+            return failedFuture(e);
+        }
+
+        return executeAsync(currentIndexAndNode.currentNode, currentIndexAndNode.currentIndex, command, true, sessionInfo, aggressiveCacheOptions);
+    }
+
+    private <TResult> CompletableFuture<Void> executeAsync(ServerNode chosenNode, Integer nodeIndex, RavenCommand<TResult> command, boolean shouldRetry,
+                                                           SessionInfo sessionInfo, AggressiveCacheOptions aggressiveCacheOptions) {
+        return executeAsync(chosenNode, nodeIndex, command, shouldRetry, sessionInfo, aggressiveCacheOptions, false);
+    }
+
+    private <TResult> CompletableFuture<Void> executeAsync(ServerNode chosenNode, Integer nodeIndex, RavenCommand<TResult> command, boolean shouldRetry,
+                                                           SessionInfo sessionInfo, AggressiveCacheOptions aggressiveCacheOptions, boolean nodeAcquired) {
+        Reference<String> urlRef = new Reference<>();
+        Reference<String> cachedChangeVector = new Reference<>();
+        Reference<byte[]> cachedValue = new Reference<>();
+
+        HttpRequestBase request;
+        HttpCache.ReleaseCacheItem cachedItem;
+
+        try {
+            request = createRequest(chosenNode, command, urlRef);
+            cachedItem = getFromCache(command, urlRef.value, cachedChangeVector, cachedValue);
+
+            if (trySetResponseFromAggressiveCache(command, cachedItem, cachedChangeVector.value, cachedValue.value, aggressiveCacheOptions)) {
+                cachedItem.close();
+                if (nodeAcquired) {
+                    onNodeResponded(nodeIndex, chosenNode, null);
+                }
+                return CompletableFuture.completedFuture(null);
+            }
+        } catch (Exception e) {
+            if (nodeAcquired) {
+                onNodeResponded(nodeIndex, chosenNode, null);
+            }
+            return failedFuture(e);
+        }
+
+        addRequestHeaders(request, cachedChangeVector.value);
+
+        if (!nodeAcquired) {
+            nodeAcquired = tryAcquireNode(nodeIndex, chosenNode);
+
+            if (!nodeAcquired && isRecovering(nodeIndex, chosenNode)) {
+                // request is never sent to recovering node without the permit, another node takes it instead
+                cachedItem.close();
+
+                CurrentIndexAndNode alternative;
+                try {
+                    alternative = acquireAlternativeNode(nodeIndex, chosenNode);
+                } catch (Exception e) {
+                    return failedFuture(e);
                 }
+
+                return executeAsync(alternative.currentNode, alternative.currentIndex, command, shouldRetry, sessionInfo, aggressiveCacheOptions, true);
+            }
+        }
+
+        numberOfServerRequests.incrementAndGet();
+
+        NodeSelector latencyTracker = getLatencyTracker(nodeIndex, command);
+        if (latencyTracker != null) {
+            latencyTracker.onRequestStarted(nodeIndex, chosenNode);
+        }
+
+        Stopwatch sp = Stopwatch.createStarted();
+
+        long hedgeDelay = getHedgeDelay(nodeIndex, command, shouldRetry);
+
+        NodeRequest nodeRequest = new NodeRequest(request, urlRef.value, cachedItem, cachedValue.value);
+
+        CompletableFuture<NodeResponse> responseTask;
+        if (shouldExecuteOnAll(chosenNode, command)) {
+            responseTask = trackResponse(executeOnAllToFigureOutTheFastestAsync(chosenNode, command), latencyTracker, nodeIndex, chosenNode, nodeAcquired, nodeRequest, command, sp);
+        } else if (hedgeDelay >= 0) {
+            // hedged requests report latency and give back permits of each node on their own
+            responseTask = executeHedgedAsync(chosenNode, nodeIndex, nodeAcquired, command, nodeRequest, hedgeDelay, latencyTracker);
+        } else {
+            responseTask = trackResponse(command.sendAsync(getHttpAsyncClient(), request), latencyTracker, nodeIndex, chosenNode, nodeAcquired, nodeRequest, command, sp);
+        }
+
+        // response processing (json parsing, failover decisions) is moved off the I/O dispatcher thread
+        return responseTask
+                .handleAsync((winner, e) -> {
+                    if (e == null) {
+                        if (winner.acquired) {
+                            onNodeResponded(winner.nodeIndex, winner.node, winner.response);
+                        }
+
+                        // response is cached under the url of the node which actually responded
+                        NodeRequest winnerRequest = winner.request;
+                        return processResponseAsync(winner.node, winner.nodeIndex, command, winnerRequest.request, winner.response, winnerRequest.url,
+                                winnerRequest.cachedItem, winnerRequest.cachedValue, shouldRetry, sessionInfo, aggressiveCacheOptions)
+                                .whenComplete((r, ex) -> {
+                                    if (winnerRequest.cachedItem != cachedItem) {
+                                        winnerRequest.cachedItem.close();
+                                    }
+                                });
+                    }
+
+                    Exception exception = ExceptionsUtils.unwrapException(e);
+                    if (!shouldRetry) {
+                        return RequestExecutor.<Void>failedFuture(exception);
+                    }
+
+                    return handleServerDownAsync(urlRef.value, chosenNode, nodeIndex, command, request, null, exception, sessionInfo, aggressiveCacheOptions)
+                            .thenAccept(handled -> {
+                                if (!handled) {
+                                    throwFailedToContactAllNodes(command, request, exception, null);
+                                }
+                            });
+                }, this::processResponseInBackground)
+                .thenCompose(x -> x)
+                .whenComplete((r, e) -> cachedItem.close());
+    }
+
+    /**
+     * Responses of asynchronous requests are processed by background threads of the store. When the background
+     * executor is already closed, response is processed by the calling thread, so its connection is still released.
+     */
+    private void processResponseInBackground(Runnable action) {
+        try {
+            _backgroundExecutor.execute(action);
+        } catch (RejectedExecutionException e) {
+            action.run();
+        }
+    }
+
+    private <TResult> CompletableFuture<NodeResponse> trackResponse(CompletableFuture<CloseableHttpResponse> responseTask, NodeSelector latencyTracker, Integer nodeIndex,
+                                                                    ServerNode chosenNode, boolean acquired, NodeRequest request, RavenCommand<TResult> command, Stopwatch sp) {
+        return responseTask
+                .whenComplete((response, e) -> {
+                    onResponseReceived(latencyTracker, nodeIndex, chosenNode, command, e == null ? sp.elapsed(TimeUnit.NANOSECONDS) : null);
+
+                    if (e != null && acquired) {
+                        onNodeResponded(nodeIndex, chosenNode, null); // failure itself is reported by the failover
+                    }
+                })
+                .thenApply(response -> new NodeResponse(chosenNode, nodeIndex, acquired, request, response));
+    }
+
+    private <TResult> CompletableFuture<Void> processResponseAsync(ServerNode chosenNode, Integer nodeIndex, RavenCommand<TResult> command, HttpRequestBase request,
+                                                                   CloseableHttpResponse response, String url, HttpCache.ReleaseCacheItem cachedItem, byte[] cachedValue,
+                                                                   boolean shouldRetry, SessionInfo sessionInfo, AggressiveCacheOptions aggressiveCacheOptions) {
+        command.statusCode = response.getStatusLine().getStatusCode();
+
+        boolean refreshTopology = Optional.ofNullable(HttpExtensions.getBooleanHeader(response, Constants.Headers.REFRESH_TOPOLOGY)).orElse(false);
+        boolean refreshClientConfiguration = Optional.ofNullable(HttpExtensions.getBooleanHeader(response, Constants.Headers.REFRESH_CLIENT_CONFIGURATION)).orElse(false);
+
+        CompletableFuture<Void> result;
+
+        try {
+            if (response.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_MODIFIED) {
+                handleNotModified(command, cachedItem, cachedValue);
+                result = CompletableFuture.completedFuture(null);
+            } else if (response.getStatusLine().getStatusCode() >= 400) {
+                result = handleUnsuccessfulResponseAsync(chosenNode, nodeIndex, command, request, response, url, sessionInfo, shouldRetry, aggressiveCacheOptions)
+                        .thenAccept(handled -> {
+                            if (!handled) {
+                                throwUnrecoverableResponse(command, response);
+                            }
+                        });
+            } else {
+                // response is already buffered, so it is always safe to dispose it once processed
+                command.processResponse(cache, response, url);
+                onResponseProcessed(command);
+                result = CompletableFuture.completedFuture(null);
+            }
+        } catch (Exception e) {
+            result = failedFuture(e);
+        }
+
+        result = result.whenComplete((r, e) -> IOUtils.closeQuietly(response));
+
+        if (!refreshTopology && !refreshClientConfiguration) {
+            return result;
+        }
+
+        return result
+                .handle((r, e) -> refreshTopologyAndClientConfiguration(chosenNode, refreshTopology, refreshClientConfiguration)
+                        .thenRun(() -> {
+                            if (e != null) {
+                                throw ExceptionsUtils.unwrapException(e);
+                            }
+                        }))
+                .thenCompose(x -> x);
+    }
+
+    private <TResult> boolean trySetResponseFromAggressiveCache(RavenCommand<TResult> command, HttpCache.ReleaseCacheItem cachedItem,
+                                                                String cachedChangeVector, byte[] cachedValue, AggressiveCacheOptions aggressiveCacheOptions) {
+        if (cachedChangeVector == null || aggressiveCacheOptions == null) {
+            return false;
+        }
+
+        if (cachedItem.getAge().compareTo(aggressiveCacheOptions.getDuration()) < 0 &&
+                !cachedItem.getMightHaveBeenModified() &&
+                command.canCacheAggressively()) {
+            try {
+                command.setResponse(cachedValue, true);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            return true;
+        }
+
+        return false;
+    }
+
+    private void addRequestHeaders(HttpRequestBase request, String cachedChangeVector) {
+        if (cachedChangeVector != null) {
+            request.addHeader("If-None-Match", "\"" + cachedChangeVector + "\"");
+        }
+
+        if (!_disableClientConfigurationUpdates) {
+            request.addHeader(Constants.Headers.CLIENT_CONFIGURATION_ETAG, "\"" + clientConfigurationEtag + "\"");
+        }
+
+        if (!_disableTopologyUpdates) {
+            request.addHeader(Constants.Headers.TOPOLOGY_ETAG, "\"" + topologyEtag + "\"");
+        }
+    }
+
+    private static <TResult> void handleNotModified(RavenCommand<TResult> command, HttpCache.ReleaseCacheItem cachedItem, byte[] cachedValue) {
+        cachedItem.notModified();
+
+        try {
+            if (command.getResponseType() == RavenCommandResponseType.OBJECT) {
+                command.setResponse(cachedValue, true);
             }
+        } catch (IOException e) {
+            throw ExceptionsUtils.unwrapException(e);
+        }
+    }
+
+    private boolean tryAcquireNode(Integer nodeIndex, ServerNode chosenNode) {
+        NodeSelector nodeSelector = _nodeSelector;
+        return nodeIndex != null && nodeSelector != null && nodeSelector.tryAcquire(nodeIndex, chosenNode);
+    }
+
+    private boolean isRecovering(Integer nodeIndex, ServerNode chosenNode) {
+        NodeSelector nodeSelector = _nodeSelector;
+        return nodeIndex != null && nodeSelector != null && nodeSelector.isRecovering(nodeIndex, chosenNode);
+    }
+
+    /**
+     * Takes permit of another node, when the chosen one is recovering and all its permits were already taken
+     */
+    private CurrentIndexAndNode acquireAlternativeNode(int nodeIndex, ServerNode chosenNode) {
+        CurrentIndexAndNode alternative = _nodeSelector.tryAcquireAlternativeNode(nodeIndex);
+        if (alternative == null) {
+            throw new AllTopologyNodesDownException("Node " + chosenNode.getUrl() + " is recovering and already handles all requests it can take, "
+                    + "there is no other node to send the request to");
+        }
+
+        return alternative;
+    }
+
+    /**
+     * Gives back permit of the node. Node which responded with other than 5xx status is healthy, even if the request
+     * itself was rejected. Otherwise the permit is just released, failures are reported when failing over.
+     */
+    private void onNodeResponded(Integer nodeIndex, ServerNode chosenNode, CloseableHttpResponse response) {
+        NodeSelector nodeSelector = _nodeSelector;
+        if (nodeIndex == null || nodeSelector == null) {
+            return;
         }
+
+        if (response != null && response.getStatusLine().getStatusCode() < 500) {
+            nodeSelector.onRequestSucceeded(nodeIndex, chosenNode);
+        } else {
+            nodeSelector.onRequestReleased(nodeIndex, chosenNode);
+        }
+    }
+
+    private <TResult> void onResponseProcessed(RavenCommand<TResult> command) {
+        if (command.isModifyingDocuments()) {
+            // we have just modified data on the server, aggressively cached items must be revalidated
+            cache.incrementGeneration();
+        }
+        _lastReturnedResponse = new Date();
+    }
+
+    private static <TResult> void throwUnrecoverableResponse(RavenCommand<TResult> command, CloseableHttpResponse response) {
+        Header dbMissingHeader = response.getFirstHeader("Database-Missing");
+        if (dbMissingHeader != null && dbMissingHeader.getValue() != null) {
+            throw new DatabaseDoesNotExistException(dbMissingHeader.getValue());
+        }
+
+        if (command.getFailedNodes() == null || command.getFailedNodes().size() == 0) { //precaution, should never happen at this point
+            throw new IllegalStateException("Received unsuccessful response and couldn't recover from it. Also, no record of exceptions per failed nodes. This is weird and should not happen.");
+        }
+
+        if (command.getFailedNodes().size() == 1) {
+            Collection<Exception> values = command.getFailedNodes().values();
+            values.stream().findFirst().ifPresent(v -> {
+                throw new RuntimeException(v);
+            });
+        }
+
+        throw new AllTopologyNodesDownException("Received unsuccessful response from all servers and couldn't recover from it.");
+    }
+
+    private CompletableFuture<Void> refreshTopologyAndClientConfiguration(ServerNode chosenNode, boolean refreshTopology, boolean refreshClientConfiguration) {
+        ServerNode serverNode = new ServerNode();
+        serverNode.setUrl(chosenNode.getUrl());
+        serverNode.setDatabase(_databaseName);
+
+        CompletableFuture<Boolean> topologyTask = refreshTopology ? updateTopologyAsync(serverNode, 0) : CompletableFuture.completedFuture(false);
+        CompletableFuture<Void> clientConfiguration = refreshClientConfiguration ? updateClientConfigurationAsync() : CompletableFuture.completedFuture(null);
+
+        return CompletableFuture.allOf(topologyTask, clientConfiguration);
+    }
+
+    private void refreshTopologyAndClientConfigurationNow(ServerNode chosenNode, boolean refreshTopology, boolean refreshClientConfiguration) {
+        if (_disposed) {
+            return;
+        }
+
+        if (refreshTopology) {
+            ServerNode serverNode = new ServerNode();
+            serverNode.setUrl(chosenNode.getUrl());
+            serverNode.setDatabase(_databaseName);
+
+            updateTopology(serverNode, 0, false);
+        }
+
+        if (refreshClientConfiguration) {
+            updateClientConfiguration();
+        }
+    }
+
+    private static <T> CompletableFuture<T> failedFuture(Throwable e) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(e);
+        return future;
     }
 
     private <TResult> void throwFailedToContactAllNodes(RavenCommand<TResult> command, HttpRequestBase request, Exception e, Exception timeoutException) {
@@ -673,6 +1259,180 @@ public class RequestExecutor implements CleanCloseable {
         return Optional.ofNullable(_nodeSelector).map(x -> x.inSpeedTestPhase()).orElse(false);
     }
 
+    private <TResult> void onResponseReceived(NodeSelector latencyTracker, Integer nodeIndex, ServerNode chosenNode, RavenCommand<TResult> command, Long elapsedNanos) {
+        if (latencyTracker != null) {
+            latencyTracker.onRequestCompleted(nodeIndex, chosenNode, elapsedNanos);
+        }
+
+        if (_readLatency != null && elapsedNanos != null && command.isReadRequest()) {
+            _readLatency.record(elapsedNanos);
+        }
+    }
+
+    /**
+     * @return time to wait (in nanoseconds) before read request is sent to another node as well or -1 if request shouldn't be hedged
+     */
+    private <TResult> long getHedgeDelay(Integer nodeIndex, RavenCommand<TResult> command, boolean shouldRetry) {
+        if (_readLatency == null ||
+                nodeIndex == null ||
+                !shouldRetry || // health checks and failover attempts must go to the given node
+                !command.isReadRequest() ||
+                command.getResponseType() != RavenCommandResponseType.OBJECT ||
+                _nodeSelector == null ||
+                _nodeSelector.getTopology().getNodes().size() < 2) {
+            return -1;
+        }
+
+        long percentile = _readLatency.getValue();
+        if (percentile < 0) {
+            return -1; // not enough samples yet
+        }
+
+        Duration minDelay = conventions.getHedgedReadsMinDelay();
+        return minDelay != null ? Math.max(percentile, minDelay.toNanos()) : percentile;
+    }
+
+    /**
+     * Sends the request to the chosen node and, if there is no response after given delay, sends the same
+     * request to another healthy node. The first response wins and the other request is aborted.
+     * Failure of the chosen node is reported immediately, so regular failover takes place.
+     * Latency of both requests is reported to the nodes which served them, only latency of the chosen node
+     * is used to compute the hedging delay.
+     */
+    private <TResult> CompletableFuture<NodeResponse> executeHedgedAsync(ServerNode chosenNode, int nodeIndex, boolean acquired, RavenCommand<TResult> command,
+                                                                        NodeRequest request, long hedgeDelayNanos, NodeSelector latencyTracker) {
+        CompletableFuture<NodeResponse> result = new CompletableFuture<>();
+        AtomicReference<HttpRequestBase> hedgedRequest = new AtomicReference<>();
+
+        long startedAt = System.nanoTime();
+        CompletableFuture<CloseableHttpResponse> primaryTask = command.sendAsync(getHttpAsyncClient(), request.request);
+
+        ScheduledFuture<?> hedgeTimer;
+        try {
+            hedgeTimer = scheduleHedgedRequest(chosenNode, nodeIndex, command, request.request, hedgeDelayNanos, result, hedgedRequest);
+        } catch (RejectedExecutionException e) {
+            hedgeTimer = null; // request executor is being closed
+        }
+
+        ScheduledFuture<?> timer = hedgeTimer;
+        primaryTask.whenComplete((response, e) -> {
+            if (timer != null) {
+                timer.cancel(false);
+            }
+
+            if (e != null && acquired) {
+                onNodeResponded(nodeIndex, chosenNode, null); // failure itself is reported by the failover
+            }
+
+            boolean completed = e == null
+                    ? result.complete(new NodeResponse(chosenNode, nodeIndex, acquired, request, response))
+                    : result.completeExceptionally(e);
+
+            // when the hedged request won, this request was aborted - its latency is at least the time until then,
+            // so it is still counted as a slow one and the hedging delay doesn't drift down
+            onResponseReceived(latencyTracker, nodeIndex, chosenNode, command, e == null || !completed ? System.nanoTime() - startedAt : null);
+
+            if (!completed) {
+                if (e == null && acquired) {
+                    onNodeResponded(nodeIndex, chosenNode, response);
+                }
+
+                IOUtils.closeQuietly(response);
+                return;
+            }
+
+            HttpRequestBase hedge = hedgedRequest.get();
+            if (hedge != null) {
+                hedge.abort();
+            }
+        });
+
+        return result;
+    }
+
+    private <TResult> ScheduledFuture<?> scheduleHedgedRequest(ServerNode chosenNode, int nodeIndex, RavenCommand<TResult> command, HttpRequestBase request,
+                                                               long hedgeDelayNanos, CompletableFuture<NodeResponse> result, AtomicReference<HttpRequestBase> hedgedRequest) {
+        return _backgroundExecutor.schedule(() -> {
+            if (result.isDone()) {
+                return;
+            }
+
+            CurrentIndexAndNode alternative = _nodeSelector.getAlternativeNode(nodeIndex);
+            if (alternative == null || alternative.currentNode == chosenNode) {
+                return;
+            }
+
+            NodeRequest hedge;
+            try {
+                // other node has its own url, so its response is validated against and cached under that url
+                Reference<String> url = new Reference<>();
+                Reference<String> cachedChangeVector = new Reference<>();
+                Reference<byte[]> cachedValue = new Reference<>();
+
+                HttpRequestBase hedgeRequest = createRequest(alternative.currentNode, command, url);
+                HttpCache.ReleaseCacheItem cachedItem = getFromCache(command, url.value, cachedChangeVector, cachedValue);
+                addRequestHeaders(hedgeRequest, cachedChangeVector.value);
+
+                hedge = new NodeRequest(hedgeRequest, url.value, cachedItem, cachedValue.value);
+            } catch (Exception e) {
+                return; // we still wait for the chosen node
+            }
+
+            if (!tryAcquireNode(alternative.currentIndex, alternative.currentNode)) {
+                hedge.cachedItem.close();
+                return; // recovering node has enough requests already
+            }
+
+            hedgedRequest.set(hedge.request);
+
+            numberOfServerRequests.incrementAndGet();
+            numberOfHedgedRequests.incrementAndGet();
+
+            NodeSelector latencyTracker = getLatencyTracker(alternative.currentIndex, command);
+            if (latencyTracker != null) {
+                latencyTracker.onRequestStarted(alternative.currentIndex, alternative.currentNode);
+            }
+
+            long startedAt = System.nanoTime();
+
+            CompletableFuture<CloseableHttpResponse> hedgedTask;
+            try {
+                hedgedTask = command.sendAsync(getHttpAsyncClient(), hedge.request);
+            } catch (Exception e) {
+                hedgedTask = failedFuture(e);
+            }
+
+            hedgedTask.whenComplete((response, e) -> {
+                if (latencyTracker != null) {
+                    latencyTracker.onRequestCompleted(alternative.currentIndex, alternative.currentNode, e == null ? System.nanoTime() - startedAt : null);
+                }
+
+                if (e != null) {
+                    onNodeResponded(alternative.currentIndex, alternative.currentNode, null);
+                    hedge.cachedItem.close();
+                    return;
+                }
+
+                if (response.getStatusLine().getStatusCode() < 500
+                        && result.complete(new NodeResponse(alternative.currentNode, alternative.currentIndex, true, hedge, response))) {
+                    request.abort(); // permit of this node is given back by the caller
+                } else {
+                    onNodeResponded(alternative.currentIndex, alternative.currentNode, response);
+                    IOUtils.closeQuietly(response);
+                    hedge.cachedItem.close();
+                }
+            });
+        }, hedgeDelayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private <TResult> NodeSelector getLatencyTracker(Integer nodeIndex, RavenCommand<TResult> command) {
+        if (_readBalanceBehavior != ReadBalanceBehavior.LEAST_LATENCY || nodeIndex == null || !command.isReadRequest()) {
+            return null;
+        }
+
+        return _nodeSelector;
+    }
+
     private <TResult> boolean shouldExecuteOnAll(ServerNode chosenNode, RavenCommand<TResult> command) {
         return _readBalanceBehavior == ReadBalanceBehavior.FASTEST_NODE &&
                 _nodeSelector != null &&
@@ -687,67 +1447,66 @@ public class RequestExecutor implements CleanCloseable {
                 chosenNode != null;
     }
 
-    private <TResult> CloseableHttpResponse executeOnAllToFigureOutTheFastest(ServerNode chosenNode, RavenCommand<TResult> command) {
-        AtomicInteger numberOfFailedTasks = new AtomicInteger();
+    private <TResult> CloseableHttpResponse executeOnAllToFigureOutTheFastest(ServerNode chosenNode, RavenCommand<TResult> command) throws IOException {
+        return awaitResponse(executeOnAllToFigureOutTheFastestAsync(chosenNode, command));
+    }
+
+    private static <T> T awaitResponse(CompletableFuture<T> responseTask) throws IOException {
+        try {
+            return responseTask.get();
+        } catch (InterruptedException e) {
+            throw ExceptionsUtils.unwrapException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw ExceptionsUtils.unwrapException(e);
+        }
+    }
+
+    private <TResult> CompletableFuture<CloseableHttpResponse> executeOnAllToFigureOutTheFastestAsync(ServerNode chosenNode, RavenCommand<TResult> command) {
+        AtomicBoolean fastestRecorded = new AtomicBoolean();
 
-        CompletableFuture<IndexAndResponse> preferredTask = null;
+        CompletableFuture<CloseableHttpResponse> preferredTask = null;
 
         List<ServerNode> nodes = _nodeSelector.getTopology().getNodes();
-        List<CompletableFuture<IndexAndResponse>> tasks = new ArrayList<>(Collections.nCopies(nodes.size(), null));
 
         for (int i = 0; i < nodes.size(); i++) {
             final int taskNumber = i;
             numberOfServerRequests.incrementAndGet();
 
-            CompletableFuture<IndexAndResponse> task =  CompletableFuture.supplyAsync(() -> {
-                try {
-                    Reference<String> strRef = new Reference<>();
-                    HttpRequestBase request = createRequest(nodes.get(taskNumber), command, strRef);
-                    return new IndexAndResponse(taskNumber, command.send(httpClient, request));
-                } catch (Exception e){
-                    numberOfFailedTasks.incrementAndGet();
-                    tasks.set(taskNumber, null);
-                    throw new RuntimeException("Request execution failed", e);
+            CompletableFuture<CloseableHttpResponse> task;
+            try {
+                Reference<String> strRef = new Reference<>();
+                HttpRequestBase request = createRequest(nodes.get(taskNumber), command, strRef);
+                task = command.sendAsync(getHttpAsyncClient(), request);
+            } catch (Exception e) {
+                task = failedFuture(e);
+            }
+
+            // requests are sent using non-blocking client, so we don't hold a thread per node
+            // the first node to respond successfully is the fastest one
+            task.thenAccept(response -> {
+                if (fastestRecorded.compareAndSet(false, true)) {
+                    _nodeSelector.recordFastest(taskNumber, nodes.get(taskNumber));
                 }
             });
 
             if (nodes.get(i).getClusterTag().equals(chosenNode.getClusterTag())) {
                 preferredTask = task;
             } else {
-                task.thenAcceptAsync(result -> {
-                    IOUtils.closeQuietly(result.response);
-                });
+                task.thenAccept(IOUtils::closeQuietly);
             }
-
-            tasks.set(i, task);
         }
 
-        while (numberOfFailedTasks.get() < tasks.size()) {
-            try {
-                IndexAndResponse fastest = (IndexAndResponse) CompletableFuture.anyOf(tasks.stream().filter(x -> x != null).toArray(CompletableFuture[]::new)).get();
-                _nodeSelector.recordFastest(fastest.index, nodes.get(fastest.index));
-                break;
-            } catch (InterruptedException | ExecutionException e) {
-                for (int i = 0; i < nodes.size(); i++) {
-                    if (tasks.get(i).isCompletedExceptionally()) {
-                        numberOfFailedTasks.incrementAndGet();
-                        tasks.set(i, null);
-                    }
-                }
-            }
+        if (preferredTask == null) {
+            return failedFuture(new IllegalStateException("Unable to find node " + chosenNode.getClusterTag() + " in the topology"));
         }
 
-        // we can reach here if the number of failed task equal to the number
-        // of the nodes, in which case we have nothing to do
-
-        try {
-            return preferredTask.get().response;
-        } catch (InterruptedException | ExecutionException e) {
-            throw ExceptionsUtils.unwrapException(e);
-        }
+        return preferredTask;
     }
 
-    private <TResult> HttpCache.ReleaseCacheItem getFromCache(RavenCommand<TResult> command, String url, Reference<String> cachedChangeVector, Reference<String> cachedValue) {
+    private <TResult> HttpCache.ReleaseCacheItem getFromCache(RavenCommand<TResult> command, String url, Reference<String> cachedChangeVector, Reference<byte[]> cachedValue) {
         if (command.canCache() && command.isReadRequest() && command.getResponseType() == RavenCommandResponseType.OBJECT) {
             return cache.get(url, cachedChangeVector, cachedValue);
         }
@@ -766,6 +1525,10 @@ public class RequestExecutor implements CleanCloseable {
                 request.addHeader("Raven-Client-Version", CLIENT_VERSION);
             }
 
+            if (conventions.isUseCompression()) {
+                HttpCompression.compressRequest(request, conventions.getCompressionThreshold());
+            }
+
             if (requestPostProcessor != null) {
                 requestPostProcessor.accept(request);
             }
@@ -785,7 +1548,7 @@ public class RequestExecutor implements CleanCloseable {
                         case EMPTY:
                             return true;
                         case OBJECT:
-                            command.setResponse(null, false);
+                            command.setResponse((byte[]) null, false);
                             break;
                         default:
                             command.setResponseRaw(response, null);
@@ -800,7 +1563,7 @@ public class RequestExecutor implements CleanCloseable {
                         return false;
                     }
 
-                    updateTopologyAsync(chosenNode, Integer.MAX_VALUE, true).get();
+                    updateTopology(chosenNode, Integer.MAX_VALUE, true);
 
                     CurrentIndexAndNode currentIndexAndNode = chooseNodeForRequest(command, sessionInfo);
                     execute(currentIndexAndNode.currentNode, currentIndexAndNode.currentIndex, command, false, sessionInfo);
@@ -809,8 +1572,7 @@ public class RequestExecutor implements CleanCloseable {
                 case HttpStatus.SC_REQUEST_TIMEOUT:
                 case HttpStatus.SC_BAD_GATEWAY:
                 case HttpStatus.SC_SERVICE_UNAVAILABLE:
-                    handleServerDown(url, chosenNode, nodeIndex, command, request, response, null, sessionInfo);
-                    break;
+                    return handleServerDown(url, chosenNode, nodeIndex, command, request, response, null, sessionInfo);
                 case HttpStatus.SC_CONFLICT:
                     handleConflict(response);
                     break;
@@ -819,13 +1581,43 @@ public class RequestExecutor implements CleanCloseable {
                     ExceptionDispatcher.throwException(response);
                     break;
             }
-        } catch (IOException | ExecutionException | InterruptedException e) {
+        } catch (IOException e) {
             throw ExceptionsUtils.unwrapException(e);
         }
 
         return false;
     }
 
+    private <TResult> CompletableFuture<Boolean> handleUnsuccessfulResponseAsync(ServerNode chosenNode, Integer nodeIndex, RavenCommand<TResult> command, HttpRequestBase request,
+                                                                               CloseableHttpResponse response, String url, SessionInfo sessionInfo, boolean shouldRetry,
+                                                                               AggressiveCacheOptions aggressiveCacheOptions) {
+        switch (response.getStatusLine().getStatusCode()) {
+            case HttpStatus.SC_GONE: // request not relevant for the chosen node - the database has been moved to a different one
+                if (!shouldRetry) {
+                    return CompletableFuture.completedFuture(false);
+                }
+
+                return updateTopologyAsync(chosenNode, Integer.MAX_VALUE, true)
+                        .thenCompose(x -> {
+                            CurrentIndexAndNode currentIndexAndNode = chooseNodeForRequest(command, sessionInfo);
+                            return executeAsync(currentIndexAndNode.currentNode, currentIndexAndNode.currentIndex, command, false, sessionInfo, aggressiveCacheOptions);
+                        })
+                        .thenApply(x -> true);
+            case HttpStatus.SC_GATEWAY_TIMEOUT:
+            case HttpStatus.SC_REQUEST_TIMEOUT:
+            case HttpStatus.SC_BAD_GATEWAY:
+            case HttpStatus.SC_SERVICE_UNAVAILABLE:
+                return handleServerDownAsync(url, chosenNode, nodeIndex, command, request, response, null, sessionInfo, aggressiveCacheOptions);
+            default:
+                // remaining cases don't need to talk to the server again
+                try {
+                    return CompletableFuture.completedFuture(handleUnsuccessfulResponse(chosenNode, nodeIndex, command, request, response, url, sessionInfo, shouldRetry));
+                } catch (Exception e) {
+                    return failedFuture(e);
+                }
+        }
+    }
+
     private static void handleConflict(CloseableHttpResponse response) {
         ExceptionDispatcher.throwException(response);
     }
@@ -835,6 +1627,34 @@ public class RequestExecutor implements CleanCloseable {
     }
 
     private <TResult> boolean handleServerDown(String url, ServerNode chosenNode, Integer nodeIndex, RavenCommand<TResult> command, HttpRequestBase request, CloseableHttpResponse response, Exception e, SessionInfo sessionInfo) {
+        CurrentIndexAndNode currentIndexAndNode = chooseNodeForFailover(chosenNode, nodeIndex, command, request, response, e);
+        if (currentIndexAndNode == null) {
+            return false;
+        }
+
+        execute(currentIndexAndNode.currentNode, currentIndexAndNode.currentIndex, command, false, sessionInfo);
+
+        return true;
+    }
+
+    private <TResult> CompletableFuture<Boolean> handleServerDownAsync(String url, ServerNode chosenNode, Integer nodeIndex, RavenCommand<TResult> command, HttpRequestBase request,
+                                                                     CloseableHttpResponse response, Exception e, SessionInfo sessionInfo, AggressiveCacheOptions aggressiveCacheOptions) {
+        CurrentIndexAndNode currentIndexAndNode;
+        try {
+            currentIndexAndNode = chooseNodeForFailover(chosenNode, nodeIndex, command, request, response, e);
+        } catch (Exception ex) {
+            return failedFuture(ex);
+        }
+
+        if (currentIndexAndNode == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return executeAsync(currentIndexAndNode.currentNode, currentIndexAndNode.currentIndex, command, false, sessionInfo, aggressiveCacheOptions)
+                .thenApply(x -> true);
+    }
+
+    private <TResult> CurrentIndexAndNode chooseNodeForFailover(ServerNode chosenNode, Integer nodeIndex, RavenCommand<TResult> command, HttpRequestBase request, CloseableHttpResponse response, Exception e) {
         if (command.getFailedNodes() == null) {
             command.setFailedNodes(new HashMap<>());
         }
@@ -843,25 +1663,25 @@ public class RequestExecutor implements CleanCloseable {
 
         if (nodeIndex == null) {
             //We executed request over a node not in the topology. This means no failover...
-            return false;
+            return null;
+        }
+
+        if (_nodeSelector != null) {
+            _nodeSelector.onFailedRequest(nodeIndex);
         }
 
         spawnHealthChecks(chosenNode, nodeIndex);
 
         if (_nodeSelector == null) {
-            return false;
+            return null;
         }
 
-        _nodeSelector.onFailedRequest(nodeIndex);
-
         CurrentIndexAndNode currentIndexAndNode = _nodeSelector.getPreferredNode();
         if (command.getFailedNodes().containsKey(currentIndexAndNode.currentNode)) {
-            return false; //we tried all the nodes...nothing left to do
+            return null; //we tried all the nodes...nothing left to do
         }
 
-        execute(currentIndexAndNode.currentNode, currentIndexAndNode.currentIndex, command, false, sessionInfo);
-
-        return true;
+        return currentIndexAndNode;
     }
 
     private void spawnHealthChecks(ServerNode chosenNode, int nodeIndex) {
@@ -919,7 +1739,7 @@ public class RequestExecutor implements CleanCloseable {
     }
 
     protected void performHealthCheck(ServerNode serverNode, int nodeIndex) {
-        execute(serverNode, nodeIndex, failureCheckOperation.getCommand(conventions), false, null);
+        execute(serverNode, nodeIndex, new GetTcpInfoCommand("health-check", _databaseName), false, null);
     }
 
     private static <TResult> void addFailedResponseToCommand(ServerNode chosenNode, RavenCommand<TResult> command, HttpRequestBase request, CloseableHttpResponse response, Exception e) {
@@ -979,50 +1799,134 @@ public class RequestExecutor implements CleanCloseable {
         if (_updateTopologyTimer != null) {
             _updateTopologyTimer.close();
         }
-        
+
+        if (_speedTestProbe != null) {
+            _speedTestProbe.close();
+        }
+
+        if (_nodeSelector != null) {
+            _nodeSelector.close();
+        }
+
         disposeAllFailedNodesTimers();
     }
 
-    private CloseableHttpClient createClient() {
+    private CloseableHttpClient createClient(String key) {
+        // connection manager is created explicitly to expose pool statistics,
+        // it means ssl and socket settings has to be applied on it instead of builder
+        SSLConnectionSocketFactory sslSocketFactory;
+        if (certificate != null) {
+            // Here we are explicitly ignoring trust issues in the case of ClusterRequestExecutor.
+            // this is because we don't actually require trust, we just use the certificate
+            // as a way to authenticate. Either we encounter the same server certificate which we already
+            // trust, or the admin is going to tell us which specific certs we can trust.
+            sslSocketFactory = new SSLConnectionSocketFactory(createSslContext(), (s, sslSession) -> true);
+        } else {
+            sslSocketFactory = SSLConnectionSocketFactory.getSocketFactory();
+        }
+
+        Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", sslSocketFactory)
+                .build();
+
+        InstrumentedHttpClientConnectionManager connectionManager = new InstrumentedHttpClientConnectionManager(socketFactoryRegistry);
+        connectionManager.setDefaultMaxPerRoute(conventions.getMaxHttpConnectionsPerRoute());
+        connectionManager.setMaxTotal(conventions.getMaxHttpConnectionsTotal());
+        connectionManager.setDefaultSocketConfig(SocketConfig.custom().setTcpNoDelay(true).build());
+        globalConnectionManager.put(key, connectionManager);
+
         HttpClientBuilder httpClientBuilder = HttpClients
                 .custom()
-                .setMaxConnPerRoute(10)
-                .disableContentCompression()
-                .setRetryHandler(new StandardHttpRequestRetryHandler(0, false))
-                .setDefaultSocketConfig(SocketConfig.custom().setTcpNoDelay(true).build());
+                .setConnectionManager(connectionManager)
+                .setRetryHandler(new StandardHttpRequestRetryHandler(0, false));
 
-        if (certificate != null) {
-            try {
-                httpClientBuilder.setSSLHostnameVerifier((s, sslSession) -> {
-                    // Here we are explicitly ignoring trust issues in the case of ClusterRequestExecutor.
-                    // this is because we don't actually require trust, we just use the certificate
-                    // as a way to authenticate. Either we encounter the same server certificate which we already
-                    // trust, or the admin is going to tell us which specific certs we can trust.
-                    return true;
-                });
-
-                SSLContext context = SSLContexts.custom()
-                        .loadKeyMaterial(certificate, "".toCharArray())
-                        .build();
-                httpClientBuilder.setSSLContext(context);
-            } catch (KeyStoreException | UnrecoverableKeyException | NoSuchAlgorithmException | KeyManagementException e) {
-                throw new IllegalStateException("Unable to configure ssl context: " + e.getMessage(), e);
-            }
+        if (!conventions.isUseCompression()) {
+            httpClientBuilder.disableContentCompression();
         }
 
         if (configureHttpClient != null) {
+            // ssl and pool settings applied here are ignored, see configureHttpClient
             configureHttpClient.accept(httpClientBuilder);
         }
 
         return httpClientBuilder.build();
     }
 
+    private CloseableHttpAsyncClient createAsyncClient() {
+        HttpAsyncClientBuilder httpAsyncClientBuilder = HttpAsyncClients
+                .custom()
+                .setMaxConnPerRoute(conventions.getMaxHttpConnectionsPerRoute())
+                .setMaxConnTotal(conventions.getMaxHttpConnectionsTotal())
+                .setDefaultIOReactorConfig(IOReactorConfig.custom().setTcpNoDelay(true).build());
+
+        if (certificate != null) {
+            // see createClient - certificate is used for authentication only
+            httpAsyncClientBuilder.setSSLHostnameVerifier((s, sslSession) -> true);
+            httpAsyncClientBuilder.setSSLContext(createSslContext());
+        }
+
+        if (configureHttpAsyncClient != null) {
+            configureHttpAsyncClient.accept(httpAsyncClientBuilder);
+        }
+
+        CloseableHttpAsyncClient client = httpAsyncClientBuilder.build();
+        client.start();
+        return client;
+    }
+
+    private SSLContext createSslContext() {
+        try {
+            return SSLContexts.custom()
+                    .loadKeyMaterial(certificate, "".toCharArray())
+                    .build();
+        } catch (KeyStoreException | UnrecoverableKeyException | NoSuchAlgorithmException | KeyManagementException e) {
+            throw new IllegalStateException("Unable to configure ssl context: " + e.getMessage(), e);
+        }
+    }
+
 
     //TBD: ValidateClientKeyUsages
 
+    /**
+     * Request sent to single node together with http cache entry of its url
+     */
+    private static class NodeRequest {
+        private final HttpRequestBase request;
+        private final String url;
+        private final HttpCache.ReleaseCacheItem cachedItem;
+        private final byte[] cachedValue;
+
+        NodeRequest(HttpRequestBase request, String url, HttpCache.ReleaseCacheItem cachedItem, byte[] cachedValue) {
+            this.request = request;
+            this.url = url;
+            this.cachedItem = cachedItem;
+            this.cachedValue = cachedValue;
+        }
+    }
+
+    /**
+     * Response together with the node which sent it, hedged request can be answered by other node than the chosen one
+     */
+    private static class NodeResponse {
+        private final ServerNode node;
+        private final Integer nodeIndex;
+        private final boolean acquired;
+        private final NodeRequest request;
+        private final CloseableHttpResponse response;
+
+        NodeResponse(ServerNode node, Integer nodeIndex, boolean acquired, NodeRequest request, CloseableHttpResponse response) {
+            this.node = node;
+            this.nodeIndex = nodeIndex;
+            this.acquired = acquired;
+            this.request = request;
+            this.response = response;
+        }
+    }
+
     public static class NodeStatus implements CleanCloseable {
 
-        private Duration _timerPeriod;
+        private int _attempt;
         private final RequestExecutor _requestExecutor;
         public final int nodeIndex;
         public final ServerNode node;
@@ -1032,21 +1936,19 @@ public class RequestExecutor implements CleanCloseable {
             _requestExecutor = requestExecutor;
             this.nodeIndex = nodeIndex;
             this.node = node;
-            _timerPeriod = Duration.ofMillis(100);
+
+            // node which keeps failing shortly after it was restored (flapping) is checked less often from the start
+            NodeSelector nodeSelector = requestExecutor._nodeSelector;
+            int consecutiveFailures = nodeSelector != null ? nodeSelector.getConsecutiveFailures(nodeIndex) : 0;
+            _attempt = Math.max(0, consecutiveFailures - 1) * 2;
         }
 
         private Duration nextTimerPeriod() {
-            if (_timerPeriod.compareTo(Duration.ofSeconds(5)) >= 0) {
-                return Duration.ofSeconds(5);
-            }
-
-            _timerPeriod = _timerPeriod.plus(Duration.ofMillis(100));
-
-            return _timerPeriod;
+            return NodeCircuitBreaker.getHealthCheckDelay(_attempt++);
         }
 
         public void startTimer() {
-            _timer = new Timer(this::timerCallback, _timerPeriod);
+            _timer = new Timer(this::timerCallback, nextTimerPeriod(), null, _requestExecutor._backgroundExecutor);
         }
 
         public void updateTimer() {
@@ -1083,6 +1985,12 @@ public class RequestExecutor implements CleanCloseable {
         return _nodeSelector.getFastestNode();
     }
 
+    public CurrentIndexAndNode getLeastLatencyNode() {
+        ensureNodeSelector();
+
+        return _nodeSelector.getLeastLatencyNode();
+    }
+
     private void ensureNodeSelector() {
         if (_firstTopologyUpdate != null && !_firstTopologyUpdate.isDone()) {
             ExceptionsUtils.accept(() -> _firstTopologyUpdate.get());
@@ -1094,7 +2002,7 @@ public class RequestExecutor implements CleanCloseable {
             topology.setNodes(getTopologyNodes());
             topology.setEtag(topologyEtag);
 
-            _nodeSelector = new NodeSelector(topology);
+            _nodeSelector = createNodeSelector(topology);
         }
     }
 
@@ -0,0 +1,162 @@
+package net.ravendb.client.http;
+
+import net.ravendb.client.primitives.CleanCloseable;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Finds the fastest node by sending lightweight probe requests to all nodes of the topology,
+ * so user requests don't have to be sent to every node during the speed test.
+ * Speed tests are started on background executor of the request executor and probes are sent using non-blocking client.
+ */
+class SpeedTestProbe implements CleanCloseable {
+
+    private static final Log logger = LogFactory.getLog(SpeedTestProbe.class);
+
+    private static final int PROBES_PER_NODE = 3;
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+
+    private final RequestExecutor _requestExecutor;
+    private final AtomicBoolean _running = new AtomicBoolean();
+    private final Map<String, NodeProbeStatistics> _statistics = new ConcurrentHashMap<>();
+    private volatile ScheduledFuture<?> _retry;
+    private volatile boolean _closed;
+
+    SpeedTestProbe(RequestExecutor requestExecutor) {
+        _requestExecutor = requestExecutor;
+    }
+
+    /**
+     * Starts speed test, unless one is already running
+     */
+    void schedule() {
+        if (_closed || _requestExecutor._disposed || !_running.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            _requestExecutor.getBackgroundExecutor().execute(this::run);
+        } catch (RejectedExecutionException e) {
+            _running.set(false); // closed
+        }
+    }
+
+    Map<String, NodeProbeStatistics> getStatistics() {
+        return new HashMap<>(_statistics);
+    }
+
+    private void run() {
+        NodeSelector nodeSelector = _requestExecutor._nodeSelector;
+        if (nodeSelector == null) {
+            _running.set(false);
+            return;
+        }
+
+        List<ServerNode> nodes = nodeSelector.getTopology().getNodes();
+        ProbeResult[] results = new ProbeResult[nodes.size()];
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(nodes.size());
+
+        for (int i = 0; i < nodes.size(); i++) {
+            results[i] = new ProbeResult();
+            tasks.add(probe(nodes.get(i), results[i], PROBES_PER_NODE));
+        }
+
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).whenComplete((v, e) -> {
+            try {
+                onProbesCompleted(nodeSelector, nodes, results);
+            } finally {
+                _running.set(false);
+            }
+        });
+    }
+
+    private CompletableFuture<Void> probe(ServerNode node, ProbeResult result, int remaining) {
+        if (remaining == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // probes to single node are sent one after another, so they don't compete with each other
+        return _requestExecutor.sendSpeedTestProbeAsync(node)
+                .handle((elapsedNanos, e) -> {
+                    if (e != null) {
+                        result.failed++;
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+
+                    result.successful++;
+                    result.totalNanos += elapsedNanos;
+                    return probe(node, result, remaining - 1);
+                })
+                .thenCompose(x -> x);
+    }
+
+    private void onProbesCompleted(NodeSelector nodeSelector, List<ServerNode> nodes, ProbeResult[] results) {
+        if (_closed) {
+            return;
+        }
+
+        int fastest = -1;
+        for (int i = 0; i < results.length; i++) {
+            if (results[i].failed == 0 && results[i].successful > 0 && (fastest == -1 || results[i].average() < results[fastest].average())) {
+                fastest = i;
+            }
+        }
+
+        Date now = new Date();
+        for (int i = 0; i < results.length; i++) {
+            ServerNode node = nodes.get(i);
+            NodeProbeStatistics previous = _statistics.get(node.getUrl());
+            Duration average = results[i].failed == 0 && results[i].successful > 0 ? Duration.ofNanos(results[i].average()) : null;
+
+            _statistics.put(node.getUrl(), new NodeProbeStatistics(node.getUrl(), node.getClusterTag(), average,
+                    (previous != null ? previous.getSuccessfulProbes() : 0) + results[i].successful,
+                    (previous != null ? previous.getFailedProbes() : 0) + results[i].failed,
+                    now, i == fastest));
+        }
+
+        if (fastest == -1) {
+            if (logger.isInfoEnabled()) {
+                logger.info("No node responded to speed test probes, will retry in " + RETRY_DELAY);
+            }
+
+            try {
+                _retry = _requestExecutor.getBackgroundExecutor().schedule(this::schedule, RETRY_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // closed
+            }
+            return;
+        }
+
+        nodeSelector.selectFastestNode(fastest, nodes.get(fastest));
+    }
+
+    @Override
+    public void close() {
+        _closed = true;
+
+        ScheduledFuture<?> retry = _retry;
+        if (retry != null) {
+            retry.cancel(false);
+        }
+    }
+
+    private static class ProbeResult {
+        // updated sequentially by probes of single node
+        private volatile int successful;
+        private volatile int failed;
+        private volatile long totalNanos;
+
+        private long average() {
+            return totalNanos / successful;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package net.ravendb.client.primitives;
+
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executes client background work (topology and client configuration updates, health checks,
+ * timers, operation polling, processing of asynchronous responses etc.) on bounded pool of named daemon threads, so it isn't delayed
+ * when application saturates the common ForkJoin pool.
+ *
+ * When queue is full, task is executed by the submitting thread. Scheduled tasks are the exception,
+ * timer thread never executes them on its own, they are handed over to the pool again a bit later.
+ */
+public class BackgroundExecutor implements Executor, CleanCloseable {
+
+    private static volatile BackgroundExecutor _default;
+
+    private static final long HAND_OVER_RETRY_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final String _name;
+    private final ThreadPoolExecutor _workers;
+    private final ScheduledThreadPoolExecutor _scheduler;
+    private volatile Thread _schedulerThread;
+    private final AtomicLong _executedByCaller = new AtomicLong();
+    private final AtomicInteger _longRunningThreadNumber = new AtomicInteger();
+    private final Set<Thread> _longRunningThreads = ConcurrentHashMap.newKeySet();
+
+    public BackgroundExecutor(String name, int threads, int queueCapacity) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Number of background threads must be positive");
+        }
+
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Background queue capacity must be positive");
+        }
+
+        _name = name;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        _workers = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, (runnable, executor) -> {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Background executor " + name + " was closed");
+            }
+
+            if (Thread.currentThread() == _schedulerThread) {
+                throw new RejectedExecutionException("Background executor " + name + " is saturated");
+            }
+
+            _executedByCaller.incrementAndGet();
+            runnable.run();
+        });
+        _workers.allowCoreThreadTimeOut(true);
+
+        // scheduler thread only hands over due tasks to workers
+        _scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, name + "-Timer");
+            thread.setDaemon(true);
+            _schedulerThread = thread;
+            return thread;
+        });
+        _scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * @return Background executor used by request executors created outside of document store
+     */
+    public static BackgroundExecutor getDefault() {
+        if (_default == null) {
+            synchronized (BackgroundExecutor.class) {
+                if (_default == null) {
+                    _default = new BackgroundExecutor("RavenDB-Background", 2, 1024);
+                }
+            }
+        }
+
+        return _default;
+    }
+
+    public String getName() {
+        return _name;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        _workers.execute(command);
+    }
+
+    /**
+     * Executes long running action (i.e. streaming request) on its own thread named after this executor,
+     * so it doesn't hold one of the pool threads for its whole duration. Action is never executed
+     * by the calling thread. The thread is interrupted when this executor is closed.
+     * @param action Action to execute
+     * @return Thread executing the action
+     */
+    public Thread executeLongRunning(Runnable action) {
+        if (isClosed()) {
+            throw new RejectedExecutionException("Background executor " + _name + " was closed");
+        }
+
+        Thread thread = new Thread(() -> {
+            try {
+                action.run();
+            } finally {
+                _longRunningThreads.remove(Thread.currentThread());
+            }
+        }, _name + "-LongRunning-" + _longRunningThreadNumber.incrementAndGet());
+        thread.setDaemon(true);
+
+        _longRunningThreads.add(thread);
+        thread.start();
+
+        if (isClosed()) {
+            thread.interrupt(); // closed in the meantime
+        }
+
+        return thread;
+    }
+
+    /**
+     * Executes the action on background thread after given delay. When all background threads are busy
+     * and queue is full, the action is handed over again after short delay.
+     * @param action Action to execute
+     * @param delay Delay
+     * @param unit Delay unit
+     * @return Future which can be used to cancel the action, it is cancelled also once the action is handed over
+     */
+    public ScheduledFuture<?> schedule(Runnable action, long delay, TimeUnit unit) {
+        HandOver handOver = new HandOver(action);
+        handOver.future = _scheduler.scheduleWithFixedDelay(handOver, unit.toNanos(delay), HAND_OVER_RETRY_DELAY_NANOS, TimeUnit.NANOSECONDS);
+        return handOver.future;
+    }
+
+    /**
+     * @return Number of tasks waiting for a free background thread
+     */
+    public int getQueueSize() {
+        return _workers.getQueue().size();
+    }
+
+    /**
+     * @return Number of scheduled tasks which are not due yet
+     */
+    public int getScheduledCount() {
+        return _scheduler.getQueue().size();
+    }
+
+    /**
+     * @return Number of background threads executing tasks at the moment
+     */
+    public int getActiveCount() {
+        return _workers.getActiveCount();
+    }
+
+    /**
+     * @return Number of background threads
+     */
+    public int getPoolSize() {
+        return _workers.getPoolSize();
+    }
+
+    /**
+     * @return Number of tasks completed by background threads so far
+     */
+    public long getCompletedTaskCount() {
+        return _workers.getCompletedTaskCount();
+    }
+
+    /**
+     * @return Number of tasks executed by the submitting thread, because queue was full
+     */
+    public long getExecutedByCallerCount() {
+        return _executedByCaller.get();
+    }
+
+    public boolean isClosed() {
+        return _workers.isShutdown();
+    }
+
+    @Override
+    public void close() {
+        _scheduler.shutdownNow();
+        _workers.shutdown();
+
+        for (Thread thread : _longRunningThreads) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Hands over due action from the timer thread to the workers, repeated until workers accept it
+     */
+    private class HandOver implements Runnable {
+        private final Runnable _action;
+        private volatile ScheduledFuture<?> future;
+        private boolean _handedOver; // accessed only by the timer thread
+
+        HandOver(Runnable action) {
+            _action = action;
+        }
+
+        @Override
+        public void run() {
+            if (!_handedOver) {
+                try {
+                    _workers.execute(_action);
+                    _handedOver = true;
+                } catch (RejectedExecutionException e) {
+                    if (!isClosed()) {
+                        return; // workers are saturated, try again later
+                    }
+                }
+            }
+
+            // future is set right after scheduling, if the action was due immediately it is cancelled on the next run
+            ScheduledFuture<?> scheduledFuture = future;
+            if (scheduledFuture != null) {
+                scheduledFuture.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package net.ravendb.client.primitives;
+
+import java.util.Iterator;
+
+/**
+ * Iterator holding resources (e.g. open http response) which has to be closed when iteration is done
+ * @param <T> type of elements
+ */
+public interface CloseableIterator<T> extends Iterator<T>, CleanCloseable {
+}
@@ -1,5 +1,6 @@
 package net.ravendb.client.primitives;
 
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 
 public class ExceptionsUtils {
@@ -19,6 +20,10 @@ public class ExceptionsUtils {
             return unwrapException(computationException.getCause());
         }
 
+        if (e instanceof CompletionException && e.getCause() != null) {
+            return unwrapException(e.getCause());
+        }
+
         if (e instanceof RuntimeException) {
             return (RuntimeException)e;
         }
@@ -1,13 +1,14 @@
 package net.ravendb.client.primitives;
 
 import java.time.Duration;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 public class Timer implements CleanCloseable {
     private final Runnable action;
-    private ScheduledFuture<Void> scheduledFuture;
+    private final BackgroundExecutor executor;
+    private ScheduledFuture<?> scheduledFuture;
     private Duration period;
 
     public Timer(Runnable action, Duration dueTime) {
@@ -15,8 +16,13 @@ public class Timer implements CleanCloseable {
     }
 
     public Timer(Runnable action, Duration dueTime, Duration period) {
+        this(action, dueTime, period, BackgroundExecutor.getDefault());
+    }
+
+    public Timer(Runnable action, Duration dueTime, Duration period, BackgroundExecutor executor) {
         this.action = action;
         this.period = period;
+        this.executor = executor;
         schedule(dueTime);
     }
 
@@ -26,20 +32,23 @@ public class Timer implements CleanCloseable {
 
     public void change(Duration dueTime, Duration period) {
         this.period = period;
-        this.scheduledFuture.cancel(false);
+        if (this.scheduledFuture != null) {
+            this.scheduledFuture.cancel(false);
+        }
         this.schedule(dueTime);
     }
 
     private void schedule(Duration dueTime) {
-        this.scheduledFuture = TimerService.service.schedule(() -> {
-            CompletableFuture.runAsync(() -> {
+        try {
+            this.scheduledFuture = executor.schedule(() -> {
                 if (period != null) {
                     schedule(period);
                 }
                 this.action.run();
-            });
-            return null;
-        }, dueTime.toMillis(), TimeUnit.MILLISECONDS);
+            }, dueTime.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // executor was closed, timer won't fire anymore
+        }
     }
 
     @Override
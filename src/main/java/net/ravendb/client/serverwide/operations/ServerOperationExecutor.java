@@ -16,8 +16,8 @@ public class ServerOperationExecutor implements CleanCloseable {
     public ServerOperationExecutor(DocumentStoreBase store) {
         this.store = store;
         requestExecutor = store.getConventions().isDisableTopologyUpdates() ?
-                ClusterRequestExecutor.createForSingleNode(store.getUrls()[0], store.getCertificate()) :
-                ClusterRequestExecutor.create(store.getUrls(), store.getCertificate());
+                ClusterRequestExecutor.createForSingleNode(store.getUrls()[0], store.getCertificate(), null, store.getBackgroundExecutor()) :
+                ClusterRequestExecutor.create(store.getUrls(), store.getCertificate(), null, store.getBackgroundExecutor());
 
         store.addAfterCloseListener((sender, event) -> requestExecutor.close());
     }
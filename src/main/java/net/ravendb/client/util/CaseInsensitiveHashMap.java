@@ -0,0 +1,58 @@
+package net.ravendb.client.util;
+
+/**
+ * Insertion ordered map with case insensitive string keys. Uses the same equality as
+ * {@link String#equalsIgnoreCase(String)}, but unlike TreeMap with case insensitive comparator lookups are O(1).
+ * Original casing of key is preserved.
+ * @param <V> value type
+ */
+public class CaseInsensitiveHashMap<V> extends WrappedKeyLinkedHashMap<String, CaseInsensitiveHashMap.CaseInsensitiveKey, V> {
+
+    @Override
+    protected CaseInsensitiveKey wrap(Object key) {
+        return new CaseInsensitiveKey((String) key);
+    }
+
+    @Override
+    protected String unwrap(CaseInsensitiveKey wrappedKey) {
+        return wrappedKey.key;
+    }
+
+    static class CaseInsensitiveKey {
+        private final String key;
+        private final int hash;
+
+        CaseInsensitiveKey(String key) {
+            this.key = key;
+            this.hash = key != null ? computeHash(key) : 0;
+        }
+
+        private static int computeHash(String key) {
+            int h = 0;
+            for (int i = 0; i < key.length(); i++) {
+                // same folding as equalsIgnoreCase, so equal keys always have equal hashes
+                h = 31 * h + Character.toLowerCase(Character.toUpperCase(key.charAt(i)));
+            }
+            return h;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof CaseInsensitiveKey)) {
+                return false;
+            }
+
+            CaseInsensitiveKey other = (CaseInsensitiveKey) o;
+            if (key == null || other.key == null) {
+                return key == other.key;
+            }
+
+            return hash == other.hash && key.equalsIgnoreCase(other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package net.ravendb.client.util;
+
+/**
+ * Insertion ordered map which compares keys by reference (like {@link java.util.IdentityHashMap}).
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class IdentityLinkedHashMap<K, V> extends WrappedKeyLinkedHashMap<K, IdentityLinkedHashMap.IdentityKey, V> {
+
+    @Override
+    protected IdentityKey wrap(Object key) {
+        return new IdentityKey(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected K unwrap(IdentityKey wrappedKey) {
+        return (K) wrappedKey.key;
+    }
+
+    static class IdentityKey {
+        private final Object key;
+
+        IdentityKey(Object key) {
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof IdentityKey && ((IdentityKey) o).key == key;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(key);
+        }
+    }
+}
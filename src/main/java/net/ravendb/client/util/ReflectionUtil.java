@@ -1,14 +1,14 @@
 package net.ravendb.client.util;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Helper class for reflection operations
  */
 public class ReflectionUtil {
 
-    private static final Map<Class<?>, String> fullNameCache = new HashMap<>();
+    private static final ConcurrentMap<Class<?>, String> fullNameCache = new ConcurrentHashMap<>();
 
     /**
      * Note: we can't fetch generic types information in Java - hence we are limited to simple getName on class object
@@ -16,12 +16,13 @@ public class ReflectionUtil {
      * @return full name without version info
      */
     public static String getFullNameWithoutVersionInformation(Class<?> entityType) {
-        if (fullNameCache.containsKey(entityType)) {
-            return fullNameCache.get(entityType);
+        String fullName = fullNameCache.get(entityType);
+        if (fullName != null) {
+            return fullName;
         }
 
-        String fullName = entityType.getName();
-        fullNameCache.put(entityType, fullName);
+        fullName = entityType.getName();
+        fullNameCache.putIfAbsent(entityType, fullName);
         return fullName;
     }
 }
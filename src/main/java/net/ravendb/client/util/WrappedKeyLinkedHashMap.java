@@ -0,0 +1,138 @@
+package net.ravendb.client.util;
+
+import java.util.*;
+
+/**
+ * Insertion ordered hash map which uses custom key equality. Keys are wrapped before reaching inner map,
+ * so lookups are O(1) on average.
+ * @param <K> key type
+ * @param <W> wrapped key type, defines equals and hashCode
+ * @param <V> value type
+ */
+abstract class WrappedKeyLinkedHashMap<K, W, V> extends AbstractMap<K, V> {
+
+    private final LinkedHashMap<W, V> _inner = new LinkedHashMap<>();
+    private EntrySet _entrySet;
+
+    protected abstract W wrap(Object key);
+
+    protected abstract K unwrap(W wrappedKey);
+
+    @Override
+    public V get(Object key) {
+        return _inner.get(wrap(key));
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return _inner.containsKey(wrap(key));
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return _inner.put(wrap(key), value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        return _inner.remove(wrap(key));
+    }
+
+    @Override
+    public int size() {
+        return _inner.size();
+    }
+
+    @Override
+    public void clear() {
+        _inner.clear();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        if (_entrySet == null) {
+            _entrySet = new EntrySet();
+        }
+        return _entrySet;
+    }
+
+    private class EntrySet extends AbstractSet<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            Iterator<Entry<W, V>> inner = _inner.entrySet().iterator();
+
+            return new Iterator<Entry<K, V>>() {
+                @Override
+                public boolean hasNext() {
+                    return inner.hasNext();
+                }
+
+                @Override
+                public Entry<K, V> next() {
+                    return new WrappedEntry(inner.next());
+                }
+
+                @Override
+                public void remove() {
+                    inner.remove();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return _inner.size();
+        }
+
+        @Override
+        public void clear() {
+            _inner.clear();
+        }
+    }
+
+    /**
+     * Writes through to the entry of inner map, equals and hashCode follow {@link Map.Entry} contract (same as in {@link SimpleEntry})
+     */
+    private class WrappedEntry implements Entry<K, V> {
+        private final Entry<W, V> _entry;
+
+        WrappedEntry(Entry<W, V> entry) {
+            _entry = entry;
+        }
+
+        @Override
+        public K getKey() {
+            return unwrap(_entry.getKey());
+        }
+
+        @Override
+        public V getValue() {
+            return _entry.getValue();
+        }
+
+        @Override
+        public V setValue(V value) {
+            return _entry.setValue(value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+
+            Entry<?, ?> other = (Entry<?, ?>) o;
+            return Objects.equals(getKey(), other.getKey()) && Objects.equals(getValue(), other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package net.ravendb.client.documents;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import net.ravendb.client.Constants;
+import net.ravendb.client.exceptions.documents.bulkinsert.BulkInsertAbortedException;
+import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.http.RequestExecutor;
+import net.ravendb.client.infrastructure.StubServer;
+import net.ravendb.client.json.MetadataAsDictionary;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BulkInsertOperationTest {
+
+    @Test
+    public void streamsDocumentsWithMetadata() throws Exception {
+        AtomicReference<String> requestBody = new AtomicReference<>();
+
+        try (StubServer server = new StubServer()) {
+            server.respondWithJson("/databases/db/operations/next-operation-id", "{\"Id\":7}");
+            server.handle("/databases/db/bulk_insert", exchange -> {
+                requestBody.set(IOUtils.toString(exchange.getRequestBody(), StandardCharsets.UTF_8));
+                StubServer.sendJson(exchange, 200, "{}");
+            });
+
+            List<String> requestThreads = new CopyOnWriteArrayList<>();
+            RequestExecutor.requestPostProcessor = request -> requestThreads.add(Thread.currentThread().getName());
+
+            try (DocumentStore store = new DocumentStore(server.getUrl(), "db")) {
+                store.getConventions().setDisableTopologyUpdates(true);
+                store.initialize();
+
+                Contact owner = new Contact();
+                owner.setId("contacts/1");
+                owner.setName("John");
+
+                Company company = new Company();
+                company.setId("companies/1");
+                company.setName("HR");
+                company.setOwner(owner);
+
+                MetadataAsDictionary metadata = new MetadataAsDictionary();
+                metadata.put("Tag", "imported");
+                metadata.put(Constants.Documents.Metadata.COLLECTION, "Firms");
+
+                try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+                    bulkInsert.store(company, "companies/1");
+                    bulkInsert.store(owner, "contacts/1", metadata);
+                }
+
+                ArrayNode commands = (ArrayNode) JsonExtensions.getDefaultMapper().readTree(requestBody.get());
+
+                assertThat(commands)
+                        .hasSize(2);
+
+                JsonNode companyCommand = commands.get(0);
+                assertThat(companyCommand.get("Id").asText())
+                        .isEqualTo("companies/1");
+                assertThat(companyCommand.get("Type").asText())
+                        .isEqualTo("PUT");
+
+                JsonNode companyDocument = companyCommand.get("Document");
+                assertThat(companyDocument.has("id"))
+                        .isFalse();
+                assertThat(companyDocument.get("name").asText())
+                        .isEqualTo("HR");
+
+                // identity property is removed only from the document itself
+                assertThat(companyDocument.get("owner").get("id").asText())
+                        .isEqualTo("contacts/1");
+
+                JsonNode companyMetadata = companyDocument.get(Constants.Documents.Metadata.KEY);
+                assertThat(companyMetadata.get(Constants.Documents.Metadata.COLLECTION).asText())
+                        .isEqualTo("Companies");
+                assertThat(companyMetadata.get(Constants.Documents.Metadata.RAVEN_JAVA_TYPE).asText())
+                        .isEqualTo(Company.class.getName());
+
+                JsonNode contactDocument = commands.get(1).get("Document");
+                assertThat(contactDocument.has("id"))
+                        .isFalse();
+
+                JsonNode contactMetadata = contactDocument.get(Constants.Documents.Metadata.KEY);
+                assertThat(contactMetadata.get("Tag").asText())
+                        .isEqualTo("imported");
+                assertThat(contactMetadata.get(Constants.Documents.Metadata.COLLECTION).asText())
+                        .isEqualTo("Firms");
+                assertThat(contactMetadata.has(Constants.Documents.Metadata.ID))
+                        .isFalse();
+
+                // bulk insert request doesn't take any of the pool threads
+                assertThat(requestThreads.stream().filter(x -> x.contains("-LongRunning-")).count())
+                        .isEqualTo(1);
+            } finally {
+                RequestExecutor.requestPostProcessor = null;
+            }
+        }
+    }
+
+    @Test
+    public void abortStopsRequestThread() throws Exception {
+        CountDownLatch killed = new CountDownLatch(1);
+
+        try (StubServer server = new StubServer()) {
+            server.respondWithJson("/databases/db/operations/next-operation-id", "{\"Id\":7}");
+            server.handle("/databases/db/bulk_insert", exchange -> {
+                IOUtils.toString(exchange.getRequestBody(), StandardCharsets.UTF_8);
+                StubServer.sendJson(exchange, 200, "{}");
+            });
+            server.handle("/databases/db/operations/kill", exchange -> {
+                killed.countDown();
+                StubServer.sendJson(exchange, 200, "{}");
+            });
+
+            AtomicReference<Thread> requestThread = new AtomicReference<>();
+            RequestExecutor.requestPostProcessor = request -> {
+                if (Thread.currentThread().getName().contains("-LongRunning-")) {
+                    requestThread.set(Thread.currentThread());
+                }
+            };
+
+            try (DocumentStore store = new DocumentStore(server.getUrl(), "db")) {
+                store.getConventions().setDisableTopologyUpdates(true);
+                store.initialize();
+
+                Company company = new Company();
+                company.setName("HR");
+
+                BulkInsertOperation bulkInsert = store.bulkInsert();
+                bulkInsert.store(company, "companies/1");
+
+                bulkInsert.abort();
+
+                assertThat(killed.await(5, TimeUnit.SECONDS))
+                        .isTrue();
+
+                assertThatThrownBy(bulkInsert::close)
+                        .isInstanceOf(BulkInsertAbortedException.class);
+
+                Thread thread = requestThread.get();
+                assertThat(thread)
+                        .isNotNull();
+
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+                assertThat(thread.isAlive())
+                        .isFalse();
+            } finally {
+                RequestExecutor.requestPostProcessor = null;
+            }
+        }
+    }
+
+    public static class Company {
+        private String id;
+        private String name;
+        private Contact owner;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Contact getOwner() {
+            return owner;
+        }
+
+        public void setOwner(Contact owner) {
+            this.owner = owner;
+        }
+    }
+
+    public static class Contact {
+        private String id;
+        private String name;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
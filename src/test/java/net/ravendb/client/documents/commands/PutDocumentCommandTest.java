@@ -42,5 +42,32 @@ public class PutDocumentCommandTest extends RemoteTestBase {
             }
         }
     }
-}
 
+    @Test
+    public void canPutDocumentUsingCommandAsync() throws Exception {
+        try (IDocumentStore store = getDocumentStore()) {
+
+            User user = new User();
+            user.setName("Marcin");
+            user.setAge(30);
+
+            ObjectNode node = JsonExtensions.getDefaultEntityMapper().valueToTree(user);
+
+            PutDocumentCommand command = new PutDocumentCommand("users/1", null, node);
+            PutResult result = store.getRequestExecutor().executeAsync(command).get();
+
+            assertThat(result.getId())
+                    .isEqualTo("users/1");
+
+            assertThat(result.getChangeVector())
+                    .isNotNull();
+
+            try (IDocumentSession session = store.openSession()) {
+                User loadedUser = session.load(User.class, "users/1");
+
+                assertThat(loadedUser.getName())
+                        .isEqualTo("Marcin");
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package net.ravendb.client.documents.operations;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.RemoteTestBase;
+import net.ravendb.client.documents.BulkInsertOperation;
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.changes.DatabaseChanges;
+import net.ravendb.client.documents.changes.IDatabaseChanges;
+import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.http.RequestExecutor;
+import net.ravendb.client.infrastructure.StubServer;
+import net.ravendb.client.infrastructure.entities.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OperationTest extends RemoteTestBase {
+
+    @Test
+    public void canWaitForLongRunningOperation() throws Exception {
+        try (IDocumentStore store = getDocumentStore()) {
+            try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+                for (int i = 0; i < 5000; i++) {
+                    User user = new User();
+                    user.setAge(i);
+                    bulkInsert.store(user, "users/" + i);
+                }
+            }
+
+            Operation operation = store.operations().sendAsync(new PatchByQueryOperation(
+                    "from Users update { var count = 0; for (var i = 0; i < 10000; i++) { count += i % 7; } this.count = count; }"));
+
+            List<ObjectNode> progress = new CopyOnWriteArrayList<>();
+            operation.addOnProgressChanged(progress::add);
+
+            operation.waitForCompletionAsync().get(2, TimeUnit.MINUTES);
+
+            assertThat(progress)
+                    .allMatch(x -> x.has("Processed"));
+
+            try (IDocumentSession session = store.openSession()) {
+                assertThat(session.query(User.class)
+                        .whereEquals("count", 0)
+                        .count())
+                        .isZero();
+
+                assertThat(session.load(User.class, "users/4999").getCount())
+                        .isNotZero();
+            }
+        }
+    }
+
+    @Test
+    public void pollsForStateWhenChangesAreNotAvailable() throws Exception {
+        AtomicInteger stateRequests = new AtomicInteger();
+
+        try (StubServer server = new StubServer()) {
+            server.handle("/databases/db/operations/state", exchange -> {
+                int request = stateRequests.incrementAndGet();
+
+                StubServer.sendJson(exchange, 200, request < 3
+                        ? "{\"Status\":\"InProgress\",\"Progress\":{\"Processed\":" + request + ",\"Total\":3}}"
+                        : "{\"Status\":\"Completed\",\"Result\":{}}");
+            });
+
+            DocumentConventions conventions = new DocumentConventions();
+
+            try (RequestExecutor executor = RequestExecutor.createForSingleNodeWithoutConfigurationUpdates(server.getUrl(), "db", null, conventions)) {
+                Supplier<IDatabaseChanges> changes = () -> {
+                    throw new IllegalStateException("Changes are not available");
+                };
+
+                List<ObjectNode> progress = new CopyOnWriteArrayList<>();
+
+                Operation operation = new Operation(executor, changes, conventions, 1);
+                operation.addOnProgressChanged(progress::add);
+
+                operation.waitForCompletionAsync().get(30, TimeUnit.SECONDS);
+
+                assertThat(stateRequests.get())
+                        .isEqualTo(3);
+
+                assertThat(progress)
+                        .extracting(x -> x.get("Processed").asInt())
+                        .containsExactly(1, 2);
+
+                // waiting again doesn't poll again
+                operation.waitForCompletion();
+
+                assertThat(stateRequests.get())
+                        .isEqualTo(3);
+            }
+        }
+    }
+
+    @Test
+    public void pollsForStateWhileSubscribingToChanges() throws Exception {
+        CountDownLatch changesRequested = new CountDownLatch(1);
+        CountDownLatch releaseChanges = new CountDownLatch(1);
+
+        try (StubServer server = new StubServer()) {
+            server.handle("/databases/db/changes", exchange -> {
+                // web socket upgrade doesn't get any response, as if it was blocked by a proxy
+                changesRequested.countDown();
+                try {
+                    releaseChanges.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                exchange.close();
+            });
+            server.respondWithJson("/databases/db/operations/state", "{\"Status\":\"Completed\",\"Result\":{}}");
+
+            DocumentConventions conventions = new DocumentConventions();
+
+            try (RequestExecutor executor = RequestExecutor.createForSingleNodeWithoutConfigurationUpdates(server.getUrl(), "db", null, conventions)) {
+                DatabaseChanges changes = new DatabaseChanges(executor, "db", null);
+                try {
+                    Operation operation = new Operation(executor, () -> changes, conventions, 1);
+
+                    operation.waitForCompletionAsync().get(5, TimeUnit.SECONDS);
+
+                    assertThat(changesRequested.await(5, TimeUnit.SECONDS))
+                            .isTrue();
+                    assertThat(changes.isConnected())
+                            .isFalse();
+                } finally {
+                    changes.close();
+                }
+            }
+        } finally {
+            releaseChanges.countDown();
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package net.ravendb.client.documents.session.operations;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.documents.session.SessionOptions;
+import net.ravendb.client.infrastructure.StubServer;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UntrackedDocumentsTest {
+
+    private static final String QUERY_ETAG = "\"query-1\"";
+
+    private StubServer _server;
+    private DocumentStore _store;
+
+    private final AtomicInteger _notModifiedResponses = new AtomicInteger();
+
+    @BeforeEach
+    public void startNode() throws Exception {
+        _server = new StubServer()
+                .handle("/databases/db/docs", this::handleDocs)
+                .handle("/databases/db/queries", this::handleQuery);
+
+        _store = new DocumentStore(_server.getUrl(), "db");
+        _store.getConventions().setDisableTopologyUpdates(true);
+        _store.initialize();
+    }
+
+    @AfterEach
+    public void stopNode() {
+        _store.close();
+        _server.close();
+    }
+
+    @Test
+    public void loadsSubclassStoredInJavaType() throws Exception {
+        try (IDocumentSession session = openNoTrackingSession()) {
+            Animal dog = session.load(Animal.class, "animals/1");
+
+            assertThat(dog)
+                    .isInstanceOf(Dog.class);
+            assertThat(dog.getName())
+                    .isEqualTo("Rex");
+            assertThat(((Dog) dog).isBarks())
+                    .isTrue();
+
+            Animal cat = session.load(Animal.class, "animals/2");
+
+            assertThat(cat)
+                    .isExactlyInstanceOf(Animal.class);
+
+            assertThat(session.advanced().isLoaded("animals/1"))
+                    .isFalse();
+        }
+    }
+
+    @Test
+    public void setsIdOnEntity() throws Exception {
+        try (IDocumentSession session = openNoTrackingSession()) {
+            // id is sent only in metadata
+            assertThat(session.load(Animal.class, "animals/2").getId())
+                    .isEqualTo("animals/2");
+
+            assertThat(session.advanced().loadStartingWith(Animal.class, "animals/"))
+                    .extracting(Animal::getId)
+                    .containsExactly("animals/1", "animals/2");
+        }
+    }
+
+    @Test
+    public void returnsNullForMissingDocuments() throws Exception {
+        try (IDocumentSession session = openNoTrackingSession()) {
+            Map<String, Animal> animals = session.load(Animal.class, "animals/1", "animals/3", "animals/2");
+
+            assertThat(animals)
+                    .hasSize(3)
+                    .containsEntry("animals/3", null);
+
+            assertThat(animals.get("animals/1").getName())
+                    .isEqualTo("Rex");
+            assertThat(animals.get("animals/2").getName())
+                    .isEqualTo("Tom");
+
+            assertThat(session.load(Animal.class, "animals/3"))
+                    .isNull();
+        }
+    }
+
+    @Test
+    public void loadsObjectNode() throws Exception {
+        try (IDocumentSession session = openNoTrackingSession()) {
+            ObjectNode dog = session.load(ObjectNode.class, "animals/1");
+
+            assertThat(dog.get("name").asText())
+                    .isEqualTo("Rex");
+            assertThat(dog.get("barks").asBoolean())
+                    .isTrue();
+        }
+    }
+
+    @Test
+    public void queryReadsProjectionFromTree() throws Exception {
+        try (IDocumentSession session = openNoTrackingSession()) {
+            List<String> names = session.query(Animal.class)
+                    .selectFields(String.class, "name")
+                    .toList();
+
+            assertThat(names)
+                    .containsExactly("Rex", "Tom");
+        }
+    }
+
+    @Test
+    public void queryReadsResultsFromHttpCache() throws Exception {
+        try (IDocumentSession session = openNoTrackingSession()) {
+            List<Animal> animals = session.query(Animal.class).toList();
+
+            assertThat(animals)
+                    .extracting(Animal::getName)
+                    .containsExactly("Rex", "Tom");
+            assertThat(_notModifiedResponses.get())
+                    .isZero();
+        }
+
+        try (IDocumentSession session = openNoTrackingSession()) {
+            List<Animal> animals = session.query(Animal.class).toList();
+
+            assertThat(_notModifiedResponses.get())
+                    .isEqualTo(1);
+
+            assertThat(animals)
+                    .extracting(Animal::getName)
+                    .containsExactly("Rex", "Tom");
+            assertThat(animals.get(0))
+                    .isInstanceOf(Dog.class);
+            assertThat(animals.get(1).getId())
+                    .isEqualTo("animals/2");
+        }
+    }
+
+    private IDocumentSession openNoTrackingSession() {
+        SessionOptions options = new SessionOptions();
+        options.setNoTracking(true);
+        return _store.openSession(options);
+    }
+
+    private void handleDocs(HttpExchange exchange) throws IOException {
+        String query = exchange.getRequestURI().getRawQuery();
+
+        List<String> results = new ArrayList<>();
+        for (String parameter : query.split("&")) {
+            if (parameter.startsWith("id=")) {
+                results.add(getDocument(URLDecoder.decode(parameter.substring(3), "UTF-8")));
+            } else if (parameter.startsWith("startsWith=")) {
+                results.add(getDocument("animals/1"));
+                results.add(getDocument("animals/2"));
+            }
+        }
+
+        StubServer.sendJson(exchange, 200, "{\"Results\":[" + String.join(",", results) + "],\"Includes\":{}}");
+    }
+
+    private void handleQuery(HttpExchange exchange) throws IOException {
+        String query = IOUtils.toString(exchange.getRequestBody(), StandardCharsets.UTF_8);
+
+        if (QUERY_ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            _notModifiedResponses.incrementAndGet();
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+
+        String results = query.contains("select")
+                ? "{\"name\":\"Rex\",\"@metadata\":{\"@projection\":true,\"@id\":\"animals/1\"}},"
+                    + "{\"name\":\"Tom\",\"@metadata\":{\"@projection\":true,\"@id\":\"animals/2\"}}"
+                : getDocument("animals/1") + "," + getDocument("animals/2");
+
+        exchange.getResponseHeaders().add("ETag", QUERY_ETAG);
+        StubServer.sendJson(exchange, 200, "{\"TotalResults\":2,\"IndexName\":\"@empty\",\"IsStale\":false,\"ResultEtag\":1,"
+                + "\"Results\":[" + results + "],\"Includes\":{}}");
+    }
+
+    private static String getDocument(String id) {
+        // server writes metadata after the document body
+        switch (id) {
+            case "animals/1":
+                return "{\"name\":\"Rex\",\"barks\":true,\"@metadata\":{\"@id\":\"animals/1\",\"@change-vector\":\"A:1\","
+                        + "\"@collection\":\"Animals\",\"Raven-Java-Type\":\"" + Dog.class.getName() + "\"}}";
+            case "animals/2":
+                return "{\"name\":\"Tom\",\"@metadata\":{\"@id\":\"animals/2\",\"@change-vector\":\"A:2\","
+                        + "\"@collection\":\"Animals\",\"Raven-Java-Type\":\"" + Animal.class.getName() + "\"}}";
+            default:
+                return "null";
+        }
+    }
+
+    public static class Animal {
+        private String id;
+        private String name;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class Dog extends Animal {
+        private boolean barks;
+
+        public boolean isBarks() {
+            return barks;
+        }
+
+        public void setBarks(boolean barks) {
+            this.barks = barks;
+        }
+    }
+}
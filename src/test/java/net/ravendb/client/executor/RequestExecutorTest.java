@@ -1,19 +1,34 @@
 package net.ravendb.client.executor;
 
 import net.ravendb.client.RemoteTestBase;
+import net.ravendb.client.documents.DocumentStore;
 import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.commands.GetDocumentsCommand;
 import net.ravendb.client.documents.commands.GetNextOperationIdCommand;
 import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.documents.session.IDocumentSession;
 import net.ravendb.client.exceptions.AllTopologyNodesDownException;
 import net.ravendb.client.exceptions.database.DatabaseDoesNotExistException;
+import net.ravendb.client.http.CircuitBreakerState;
+import net.ravendb.client.http.ConnectionPoolStatistics;
+import net.ravendb.client.http.CurrentIndexAndNode;
+import net.ravendb.client.http.NodeSelector;
+import net.ravendb.client.http.NodeCircuitBreakerStatistics;
 import net.ravendb.client.http.RavenCommand;
+import net.ravendb.client.http.ReadBalanceBehavior;
 import net.ravendb.client.http.RequestExecutor;
 import net.ravendb.client.http.ServerNode;
+import net.ravendb.client.http.Topology;
+import net.ravendb.client.infrastructure.entities.User;
+import net.ravendb.client.primitives.BackgroundExecutor;
 import net.ravendb.client.primitives.ExceptionsUtils;
 import net.ravendb.client.serverwide.operations.GetDatabaseNamesOperation;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -64,6 +79,31 @@ public class RequestExecutorTest extends RemoteTestBase {
         }
     }
 
+    @Test
+    public void exposesConnectionPoolStatistics() throws Exception {
+        DocumentConventions conventions = new DocumentConventions();
+        conventions.setMaxHttpConnectionsPerRoute(7);
+        conventions.setMaxHttpConnectionsTotal(14);
+
+        try (IDocumentStore store = getDocumentStore()) {
+            try (RequestExecutor executor = RequestExecutor.create(store.getUrls(), store.getDatabase(), null, conventions)) {
+                GetNextOperationIdCommand command = new GetNextOperationIdCommand();
+                executor.execute(command);
+
+                ConnectionPoolStatistics statistics = executor.getConnectionPoolStatistics();
+
+                assertThat(statistics.getMax())
+                        .isEqualTo(14);
+                assertThat(statistics.getLeased())
+                        .isZero();
+                assertThat(statistics.getLeaseCount())
+                        .isPositive();
+                assertThat(statistics.getRoutes().values())
+                        .allMatch(x -> x.getMax() == 7);
+            }
+        }
+    }
+
     @Test
     public void canFetchDatabasesNames() throws Exception {
         DocumentConventions conventions = new DocumentConventions();
@@ -166,6 +206,127 @@ public class RequestExecutorTest extends RemoteTestBase {
         }
     }
 
+    @Test
+    public void canUseLeastLatencyReadBalancing() throws Exception {
+        DocumentConventions conventions = new DocumentConventions();
+        conventions.setReadBalanceBehavior(ReadBalanceBehavior.LEAST_LATENCY);
+
+        try (IDocumentStore store = getDocumentStore()) {
+            try (RequestExecutor executor = RequestExecutor.create(store.getUrls(), store.getDatabase(), null, conventions)) {
+                for (int i = 0; i < 10; i++) {
+                    GetDocumentsCommand command = new GetDocumentsCommand("users/" + i, null, false);
+                    executor.execute(command);
+                }
+
+                CurrentIndexAndNode node = executor.getLeastLatencyNode();
+                assertThat(node.currentNode.getUrl())
+                        .isEqualTo(store.getUrls()[0]);
+            }
+        }
+    }
+
+    @Test
+    public void leastLatencyDoesNotPreferNodesWithoutLatency() throws Exception {
+        List<ServerNode> nodes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ServerNode node = new ServerNode();
+            node.setUrl("http://node" + i + ":8080");
+            node.setDatabase("db");
+            node.setServerRole(ServerNode.Role.MEMBER);
+            nodes.add(node);
+        }
+
+        Topology topology = new Topology();
+        topology.setEtag(1L);
+        topology.setNodes(nodes);
+
+        try (NodeSelector selector = new NodeSelector(topology)) {
+            selector.onRequestStarted(0, nodes.get(0));
+            selector.onRequestCompleted(0, nodes.get(0), Duration.ofMillis(1).toNanos());
+            selector.onRequestStarted(2, nodes.get(2));
+            selector.onRequestCompleted(2, nodes.get(2), Duration.ofMillis(100).toNanos());
+
+            int[] chosen = new int[nodes.size()];
+            for (int i = 0; i < 300; i++) {
+                chosen[selector.getLeastLatencyNode().currentIndex]++;
+            }
+
+            // node without latency is scored as an average node, it wins only over the slow one
+            assertThat(chosen[0])
+                    .isGreaterThan(chosen[1]);
+            assertThat(chosen[1])
+                    .isPositive();
+            assertThat(chosen[2])
+                    .isZero();
+        }
+    }
+
+    @Test
+    public void doesNotHedgeReadsWhenThereIsNoOtherNode() throws Exception {
+        DocumentConventions conventions = new DocumentConventions();
+        conventions.setHedgedReadsPercentile(0.5);
+        conventions.setHedgedReadsMinDelay(Duration.ZERO);
+
+        try (IDocumentStore store = getDocumentStore()) {
+            try (RequestExecutor executor = RequestExecutor.create(store.getUrls(), store.getDatabase(), null, conventions)) {
+                for (int i = 0; i < 50; i++) {
+                    GetDocumentsCommand command = new GetDocumentsCommand("users/" + i, null, false);
+                    executor.execute(command);
+                }
+
+                assertThat(executor.numberOfHedgedRequests.get())
+                        .isZero();
+            }
+        }
+    }
+
+    @Test
+    public void usesBackgroundExecutorOfDocumentStore() throws Exception {
+        BackgroundExecutor backgroundExecutor;
+
+        try (IDocumentStore store = getDocumentStore()) {
+            try (DocumentStore customStore = new DocumentStore(store.getUrls(), store.getDatabase())) {
+                customStore.getConventions().setBackgroundThreads(1);
+                customStore.initialize();
+
+                backgroundExecutor = customStore.getBackgroundExecutor();
+
+                try (IDocumentSession session = customStore.openSession()) {
+                    session.load(User.class, "users/1");
+                }
+
+                assertThat(customStore.getRequestExecutor().getBackgroundExecutor())
+                        .isSameAs(backgroundExecutor);
+
+                assertThat(backgroundExecutor.getQueueSize())
+                        .isZero();
+            }
+
+            assertThat(backgroundExecutor.isClosed())
+                    .isTrue();
+        }
+    }
+
+    @Test
+    public void reportsClosedCircuitBreakerOfHealthyNode() throws Exception {
+        try (IDocumentStore store = getDocumentStore()) {
+            try (IDocumentSession session = store.openSession()) {
+                session.load(User.class, "users/1");
+            }
+
+            Map<String, NodeCircuitBreakerStatistics> statistics = store.getRequestExecutor().getCircuitBreakerStatistics();
+
+            assertThat(statistics)
+                    .hasSize(1);
+
+            NodeCircuitBreakerStatistics nodeStatistics = statistics.values().iterator().next();
+            assertThat(nodeStatistics.getState())
+                    .isEqualTo(CircuitBreakerState.CLOSED);
+            assertThat(nodeStatistics.getTimesOpened())
+                    .isZero();
+        }
+    }
+
     @Test
     public void failsWhenServerIsOffline() {
         DocumentConventions documentConventions = new DocumentConventions();
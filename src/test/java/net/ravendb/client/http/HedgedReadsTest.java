@@ -0,0 +1,104 @@
+package net.ravendb.client.http;
+
+import com.google.common.base.Stopwatch;
+import net.ravendb.client.documents.commands.GetDocumentsCommand;
+import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.infrastructure.StubServer;
+import net.ravendb.client.primitives.Reference;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HedgedReadsTest {
+
+    private static final int SLOW_RESPONSE_MILLIS = 2000;
+
+    @Test
+    public void sendsHedgedReadToOtherNodeWhenChosenNodeIsSlow() throws Exception {
+        AtomicBoolean slow = new AtomicBoolean();
+        AtomicInteger slowNodeHits = new AtomicInteger();
+        AtomicInteger fastNodeHits = new AtomicInteger();
+
+        try (StubServer slowServer = startNode(slow, slowNodeHits);
+             StubServer fastServer = startNode(new AtomicBoolean(), fastNodeHits)) {
+            DocumentConventions conventions = new DocumentConventions();
+            conventions.setHedgedReadsPercentile(0.9);
+            conventions.setHedgedReadsMinDelay(Duration.ofMillis(200));
+
+            try (RequestExecutor executor = RequestExecutor.createForSingleNodeWithoutConfigurationUpdates(slowServer.getUrl(), "db", null, conventions)) {
+                executor._nodeSelector = new NodeSelector(StubServer.createTopology(slowServer, fastServer));
+
+                // collect enough samples to know what is a slow response
+                for (int i = 0; i < 64; i++) {
+                    executor.execute(new GetDocumentsCommand("users/" + i, null, false));
+                }
+
+                ServerNode slowNode = executor._nodeSelector.getTopology().getNodes().get(0);
+                ServerNode fastNode = executor._nodeSelector.getTopology().getNodes().get(1);
+                String slowNodeChangeVector = getCachedChangeVector(executor, slowNode, "users/2");
+
+                long hedgedBefore = executor.numberOfHedgedRequests.get();
+                int fastNodeHitsBefore = fastNodeHits.get();
+
+                slow.set(true);
+
+                Stopwatch sw = Stopwatch.createStarted();
+
+                for (int i = 0; i < 3; i++) {
+                    executor.execute(new GetDocumentsCommand("users/" + i, null, false));
+                }
+
+                executor.executeAsync(new GetDocumentsCommand("users/1", null, false)).get();
+
+                assertThat(sw.elapsed(TimeUnit.MILLISECONDS))
+                        .isLessThan(2 * SLOW_RESPONSE_MILLIS);
+
+                assertThat(executor.numberOfHedgedRequests.get() - hedgedBefore)
+                        .isEqualTo(4);
+                assertThat(fastNodeHits.get() - fastNodeHitsBefore)
+                        .isEqualTo(4);
+
+                // responses of the other node are cached under its own url
+                assertThat(getCachedChangeVector(executor, fastNode, "users/2"))
+                        .isNotNull();
+                assertThat(getCachedChangeVector(executor, slowNode, "users/2"))
+                        .isEqualTo(slowNodeChangeVector);
+
+                // slow node is not failed, it just lost to the other one
+                assertThat(executor.getCircuitBreakerStatistics().values())
+                        .allMatch(x -> x.getState() == CircuitBreakerState.CLOSED);
+            }
+        }
+    }
+
+    private static StubServer startNode(AtomicBoolean slow, AtomicInteger hits) throws Exception {
+        return new StubServer().handle("/", exchange -> {
+            hits.incrementAndGet();
+
+            if (slow.get()) {
+                try {
+                    Thread.sleep(SLOW_RESPONSE_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            exchange.getResponseHeaders().add("ETag", "\"A:" + hits.get() + "\"");
+            StubServer.sendJson(exchange, 200, "{\"Results\":[],\"Includes\":{}}");
+        });
+    }
+
+    private static String getCachedChangeVector(RequestExecutor executor, ServerNode node, String id) {
+        Reference<String> url = new Reference<>();
+        new GetDocumentsCommand(id, null, false).createRequest(node, url);
+
+        Reference<String> changeVector = new Reference<>();
+        executor.getCache().get(url.value, changeVector, new Reference<>());
+        return changeVector.value;
+    }
+}
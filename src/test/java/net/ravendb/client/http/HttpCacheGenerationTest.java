@@ -0,0 +1,38 @@
+package net.ravendb.client.http;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.documents.commands.GetNextOperationIdCommand;
+import net.ravendb.client.documents.commands.HiLoReturnCommand;
+import net.ravendb.client.documents.commands.PutDocumentCommand;
+import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.infrastructure.StubServer;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HttpCacheGenerationTest {
+
+    @Test
+    public void onlyCommandsModifyingDocumentsInvalidateAggressiveCache() throws Exception {
+        try (StubServer server = new StubServer()) {
+            server.respondWithJson("/", "{\"Id\":1,\"ChangeVector\":\"A:1\"}");
+
+            try (RequestExecutor executor = RequestExecutor.createForSingleNodeWithoutConfigurationUpdates(server.getUrl(), "db", null, new DocumentConventions())) {
+                int generation = executor.getCache().getGeneration();
+
+                executor.execute(new GetNextOperationIdCommand());
+                executor.execute(new HiLoReturnCommand("users", 10, 32));
+
+                assertThat(executor.getCache().getGeneration())
+                        .isEqualTo(generation);
+
+                ObjectNode document = JsonExtensions.getDefaultMapper().createObjectNode();
+                executor.execute(new PutDocumentCommand("users/1", null, document));
+
+                assertThat(executor.getCache().getGeneration())
+                        .isNotEqualTo(generation);
+            }
+        }
+    }
+}
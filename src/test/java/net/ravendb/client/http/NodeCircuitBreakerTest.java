@@ -0,0 +1,303 @@
+package net.ravendb.client.http;
+
+import net.ravendb.client.documents.commands.GetDocumentsCommand;
+import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.infrastructure.StubServer;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NodeCircuitBreakerTest {
+
+    @Test
+    public void opensOnFailure() throws Exception {
+        NodeCircuitBreaker breaker = new NodeCircuitBreaker();
+
+        assertThat(breaker.getState())
+                .isEqualTo(CircuitBreakerState.CLOSED);
+        assertThat(breaker.tryAcquire())
+                .isTrue();
+
+        breaker.onFailure();
+
+        assertThat(breaker.getState())
+                .isEqualTo(CircuitBreakerState.OPEN);
+        assertThat(breaker.isAdmitting())
+                .isFalse();
+        assertThat(breaker.tryAcquire())
+                .isFalse();
+        assertThat(breaker.getConsecutiveOpens())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void isHalfOpenAfterHealthCheckSucceeded() throws Exception {
+        NodeCircuitBreaker breaker = new NodeCircuitBreaker();
+
+        breaker.onHealthCheckSucceeded();
+
+        assertThat(breaker.getState())
+                .isEqualTo(CircuitBreakerState.CLOSED);
+
+        breaker.onFailure();
+        breaker.onHealthCheckSucceeded();
+
+        assertThat(breaker.getState())
+                .isEqualTo(CircuitBreakerState.HALF_OPEN);
+        assertThat(breaker.isAdmitting())
+                .isTrue();
+    }
+
+    @Test
+    public void admitsLimitedNumberOfRequestsWhenHalfOpen() throws Exception {
+        NodeCircuitBreaker breaker = halfOpenBreaker(new NodeCircuitBreaker());
+
+        for (int i = 0; i < NodeCircuitBreaker.HALF_OPEN_MAX_REQUESTS; i++) {
+            assertThat(breaker.tryAcquire())
+                    .isTrue();
+        }
+
+        assertThat(breaker.tryAcquire())
+                .isFalse();
+        assertThat(breaker.isAdmitting())
+                .isFalse();
+
+        breaker.release();
+
+        assertThat(breaker.tryAcquire())
+                .isTrue();
+        assertThat(breaker.tryAcquire())
+                .isFalse();
+
+        // releasing more than was taken doesn't give extra permits
+        for (int i = 0; i < 2 * NodeCircuitBreaker.HALF_OPEN_MAX_REQUESTS; i++) {
+            breaker.release();
+        }
+
+        int permits = 0;
+        while (breaker.tryAcquire()) {
+            permits++;
+        }
+
+        assertThat(permits)
+                .isEqualTo(NodeCircuitBreaker.HALF_OPEN_MAX_REQUESTS);
+    }
+
+    @Test
+    public void closesAfterSuccessfulRequests() throws Exception {
+        NodeCircuitBreaker breaker = halfOpenBreaker(new NodeCircuitBreaker());
+
+        for (int i = 0; i < NodeCircuitBreaker.HALF_OPEN_MAX_REQUESTS; i++) {
+            assertThat(breaker.getState())
+                    .isEqualTo(CircuitBreakerState.HALF_OPEN);
+
+            assertThat(breaker.tryAcquire())
+                    .isTrue();
+            breaker.onSuccess();
+        }
+
+        assertThat(breaker.getState())
+                .isEqualTo(CircuitBreakerState.CLOSED);
+        assertThat(breaker.isAdmitting())
+                .isTrue();
+    }
+
+    @Test
+    public void opensAgainOnFailureWhenHalfOpen() throws Exception {
+        NodeCircuitBreaker breaker = halfOpenBreaker(new NodeCircuitBreaker());
+
+        assertThat(breaker.tryAcquire())
+                .isTrue();
+        breaker.onFailure();
+
+        assertThat(breaker.getState())
+                .isEqualTo(CircuitBreakerState.OPEN);
+        assertThat(breaker.getConsecutiveOpens())
+                .isEqualTo(2);
+        assertThat(breaker.getStatistics(new ServerNode()).getTimesOpened())
+                .isEqualTo(2);
+    }
+
+    @Test
+    public void givesPermitsAgainAfterTimeout() throws Exception {
+        NodeCircuitBreaker breaker = halfOpenBreaker(new NodeCircuitBreaker(Duration.ofMillis(50), Duration.ofMinutes(1)));
+
+        while (breaker.tryAcquire()) {
+            // take all permits, the requests never report back
+        }
+
+        assertThat(breaker.isAdmitting())
+                .isFalse();
+
+        Thread.sleep(100);
+
+        assertThat(breaker.isAdmitting())
+                .isTrue();
+
+        for (int i = 0; i < NodeCircuitBreaker.HALF_OPEN_MAX_REQUESTS; i++) {
+            assertThat(breaker.tryAcquire())
+                    .isTrue();
+        }
+
+        assertThat(breaker.tryAcquire())
+                .isFalse();
+    }
+
+    @Test
+    public void selectingNodeDoesNotTakePermits() throws Exception {
+        Topology topology = new Topology();
+        topology.setEtag(1L);
+        topology.setNodes(new ArrayList<>());
+
+        for (String url : new String[] { "http://a", "http://b" }) {
+            ServerNode node = new ServerNode();
+            node.setUrl(url);
+            node.setDatabase("db");
+            node.setServerRole(ServerNode.Role.MEMBER);
+            topology.getNodes().add(node);
+        }
+
+        try (NodeSelector selector = new NodeSelector(topology)) {
+            ServerNode node = topology.getNodes().get(0);
+
+            selector.onFailedRequest(0);
+
+            assertThat(selector.getPreferredNode().currentIndex)
+                    .isEqualTo(1);
+
+            selector.restoreNodeIndex(0);
+
+            for (int i = 0; i < 10; i++) {
+                assertThat(selector.getPreferredNode().currentIndex)
+                        .isZero();
+                assertThat(selector.getNodeBySessionId(0).currentIndex)
+                        .isZero();
+            }
+
+            for (int i = 0; i < NodeCircuitBreaker.HALF_OPEN_MAX_REQUESTS; i++) {
+                assertThat(selector.tryAcquire(0, node))
+                        .isTrue();
+            }
+
+            assertThat(selector.getPreferredNode().currentIndex)
+                    .isEqualTo(1);
+
+            for (int i = 0; i < NodeCircuitBreaker.HALF_OPEN_MAX_REQUESTS; i++) {
+                selector.onRequestSucceeded(0, node);
+            }
+
+            assertThat(selector.getCircuitBreakerStatistics().get("http://a").getState())
+                    .isEqualTo(CircuitBreakerState.CLOSED);
+        }
+    }
+
+    @Test
+    public void halfOpenNodeGetsLimitedNumberOfConcurrentRequests() throws Exception {
+        int requestsCount = 3 * NodeCircuitBreaker.HALF_OPEN_MAX_REQUESTS;
+
+        CountDownLatch respond = new CountDownLatch(1);
+        AtomicInteger recoveringNodeHits = new AtomicInteger();
+        AtomicInteger otherNodeHits = new AtomicInteger();
+
+        ExecutorService clientExecutor = Executors.newCachedThreadPool();
+
+        try (StubServer recoveringServer = startNode(recoveringNodeHits, respond);
+             StubServer otherServer = startNode(otherNodeHits, new CountDownLatch(0));
+             RequestExecutor executor = RequestExecutor.createForSingleNodeWithoutConfigurationUpdates(recoveringServer.getUrl(), "db", null, new DocumentConventions())) {
+            Topology topology = StubServer.createTopology(recoveringServer, otherServer);
+            executor._nodeSelector = new NodeSelector(topology);
+
+            executor._nodeSelector.onFailedRequest(0);
+            executor._nodeSelector.restoreNodeIndex(0);
+
+            // requests are sent directly to the recovering node, as if they all chose it before it ran out of permits
+            ServerNode recoveringNode = topology.getNodes().get(0);
+
+            List<Future<?>> requests = new ArrayList<>();
+            for (int i = 0; i < requestsCount; i++) {
+                GetDocumentsCommand command = new GetDocumentsCommand("users/" + i, null, false);
+                requests.add(i % 3 == 0
+                        ? executor.executeAsync(command)
+                        : clientExecutor.submit(() -> executor.execute(recoveringNode, 0, command, true, null)));
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (recoveringNodeHits.get() + otherNodeHits.get() < requestsCount && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertThat(recoveringNodeHits.get())
+                    .isLessThanOrEqualTo(NodeCircuitBreaker.HALF_OPEN_MAX_REQUESTS);
+            assertThat(recoveringNodeHits.get() + otherNodeHits.get())
+                    .isEqualTo(requestsCount);
+
+            respond.countDown();
+
+            for (Future<?> request : requests) {
+                request.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            respond.countDown();
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void healthCheckDelayGrowsUpToLimit() throws Exception {
+        List<Long> maxDelays = new ArrayList<>();
+
+        for (int attempt = 0; attempt < 40; attempt++) {
+            long expectedMax = Math.min(NodeCircuitBreaker.MAX_HEALTH_CHECK_DELAY_MILLIS, NodeCircuitBreaker.MIN_HEALTH_CHECK_DELAY_MILLIS << Math.min(attempt, 20));
+
+            long max = 0;
+            for (int i = 0; i < 100; i++) {
+                long delay = NodeCircuitBreaker.getHealthCheckDelay(attempt).toMillis();
+
+                assertThat(delay)
+                        .isBetween(expectedMax / 2, expectedMax);
+
+                max = Math.max(max, delay);
+            }
+
+            maxDelays.add(max);
+        }
+
+        assertThat(NodeCircuitBreaker.getHealthCheckDelay(0).toMillis())
+                .isLessThanOrEqualTo(NodeCircuitBreaker.MIN_HEALTH_CHECK_DELAY_MILLIS);
+
+        assertThat(maxDelays.get(5))
+                .isGreaterThan(maxDelays.get(0));
+
+        assertThat(maxDelays)
+                .allMatch(x -> x <= NodeCircuitBreaker.MAX_HEALTH_CHECK_DELAY_MILLIS);
+
+        assertThat(maxDelays.get(maxDelays.size() - 1))
+                .isGreaterThanOrEqualTo(NodeCircuitBreaker.MAX_HEALTH_CHECK_DELAY_MILLIS / 2);
+    }
+
+    private static StubServer startNode(AtomicInteger hits, CountDownLatch respond) throws Exception {
+        return new StubServer().handle("/", exchange -> {
+            hits.incrementAndGet();
+
+            try {
+                respond.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            StubServer.sendJson(exchange, 200, "{\"Results\":[],\"Includes\":{}}");
+        });
+    }
+
+    private static NodeCircuitBreaker halfOpenBreaker(NodeCircuitBreaker breaker) {
+        breaker.onFailure();
+        breaker.onHealthCheckSucceeded();
+        return breaker;
+    }
+}
@@ -0,0 +1,84 @@
+package net.ravendb.client.infrastructure;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import net.ravendb.client.http.ServerNode;
+import net.ravendb.client.http.Topology;
+import net.ravendb.client.primitives.CleanCloseable;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Http server answering client requests with prepared responses, used by tests which check what client sends
+ * or how it handles responses (slow or failing nodes) and don't need real RavenDB server.
+ * Requests are handled concurrently.
+ */
+public class StubServer implements CleanCloseable {
+
+    private final ExecutorService _executor;
+    private final HttpServer _server;
+
+    public StubServer() throws IOException {
+        _executor = Executors.newCachedThreadPool();
+
+        _server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        _server.setExecutor(_executor);
+        _server.start();
+    }
+
+    public StubServer handle(String path, HttpHandler handler) {
+        _server.createContext(path, handler);
+        return this;
+    }
+
+    public StubServer respondWithJson(String path, String json) {
+        return handle(path, exchange -> sendJson(exchange, 200, json));
+    }
+
+    public String getUrl() {
+        return "http://127.0.0.1:" + _server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        _server.stop(0);
+        _executor.shutdownNow();
+    }
+
+    public static void sendJson(HttpExchange exchange, int statusCode, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(statusCode, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    /**
+     * @param servers servers acting as members of database "db"
+     * @return topology with node per server
+     */
+    public static Topology createTopology(StubServer... servers) {
+        List<ServerNode> nodes = new ArrayList<>();
+        for (int i = 0; i < servers.length; i++) {
+            ServerNode node = new ServerNode();
+            node.setUrl(servers[i].getUrl());
+            node.setDatabase("db");
+            node.setClusterTag("N" + i);
+            node.setServerRole(ServerNode.Role.MEMBER);
+            nodes.add(node);
+        }
+
+        Topology topology = new Topology();
+        topology.setEtag(1L);
+        topology.setNodes(nodes);
+        return topology;
+    }
+}
@@ -0,0 +1,184 @@
+package net.ravendb.client.test.client;
+
+import net.ravendb.client.RemoteTestBase;
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.changes.*;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.infrastructure.entities.User;
+import net.ravendb.client.primitives.CleanCloseable;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ChangesTest extends RemoteTestBase {
+
+    @Test
+    public void ensureConnectedNowThrowsWhenServerIsNotReachable() throws Exception {
+        try (IDocumentStore store = new DocumentStore("http://127.0.0.1:1", "no_such_db")) {
+            store.initialize();
+
+            IDatabaseChanges changes = store.changes();
+
+            assertThatThrownBy(changes::ensureConnectedNow)
+                    .isInstanceOf(RuntimeException.class);
+
+            changes.close();
+
+            assertThatThrownBy(changes::ensureConnectedNow)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("closed");
+        }
+    }
+
+    @Test
+    public void webSocketClientDoesNotKeepApplicationAlive() throws Exception {
+        try (IDocumentStore store = new DocumentStore("http://127.0.0.1:1", "no_such_db")) {
+            store.initialize();
+
+            IDatabaseChanges changes = store.changes();
+
+            assertThat(Thread.getAllStackTraces().keySet())
+                    .filteredOn(x -> x.getName().startsWith("RavenDB changes - WebSocketClient"))
+                    .isNotEmpty()
+                    .allMatch(Thread::isDaemon);
+
+            changes.close();
+        }
+    }
+
+    @Test
+    public void aggressiveCachingDoesNotThrowWhenChangesAreNotAvailable() throws Exception {
+        try (IDocumentStore store = new DocumentStore("http://127.0.0.1:1", "no_such_db")) {
+            store.initialize();
+
+            // falls back to expiring cached items after the given duration
+            try (CleanCloseable aggressiveCaching = store.aggressivelyCacheFor(Duration.ofMinutes(5))) {
+                assertThat(aggressiveCaching)
+                        .isNotNull();
+            }
+
+            try (CleanCloseable aggressiveCaching = store.aggressivelyCacheFor(Duration.ofMinutes(5))) {
+                assertThat(aggressiveCaching)
+                        .isNotNull();
+            }
+        }
+    }
+
+    @Test
+    public void singleDocumentChanges() throws Exception {
+        try (IDocumentStore store = getDocumentStore()) {
+
+            BlockingQueue<DocumentChange> changesList = new LinkedBlockingQueue<>();
+
+            IDatabaseChanges changes = store.changes();
+            changes.ensureConnectedNow();
+
+            IChangesObservable<DocumentChange> observable = changes.forDocument("users/1");
+            try (CleanCloseable subscription = observable.subscribe(Observers.create(changesList::add))) {
+                observable.ensureSubscribedNow().get();
+
+                try (IDocumentSession session = store.openSession()) {
+                    User user = new User();
+                    session.store(user, "users/1");
+                    session.saveChanges();
+                }
+
+                DocumentChange documentChange = changesList.poll(2, TimeUnit.SECONDS);
+                assertThat(documentChange)
+                        .isNotNull();
+
+                assertThat(documentChange.getId())
+                        .isEqualTo("users/1");
+
+                assertThat(documentChange.getType())
+                        .isEqualTo(DocumentChangeTypes.PUT);
+            }
+
+            // at this point we should be unsubscribed from changes on 'users/1'
+
+            try (IDocumentSession session = store.openSession()) {
+                User user = new User();
+                user.setName("another name");
+                session.store(user, "users/1");
+                session.saveChanges();
+            }
+
+            assertThat(changesList.poll(1, TimeUnit.SECONDS))
+                    .isNull();
+        }
+    }
+
+    @Test
+    public void collectionChanges() throws Exception {
+        try (IDocumentStore store = getDocumentStore()) {
+
+            BlockingQueue<DocumentChange> changesList = new LinkedBlockingQueue<>();
+
+            IDatabaseChanges changes = store.changes();
+            changes.ensureConnectedNow();
+
+            IChangesObservable<DocumentChange> observable = changes.forDocumentsInCollection(User.class);
+            try (CleanCloseable subscription = observable.subscribe(Observers.create(changesList::add))) {
+                observable.ensureSubscribedNow().get();
+
+                try (IDocumentSession session = store.openSession()) {
+                    session.store(new User(), "users/1");
+                    session.saveChanges();
+                }
+
+                DocumentChange documentChange = changesList.poll(2, TimeUnit.SECONDS);
+                assertThat(documentChange)
+                        .isNotNull();
+
+                assertThat(documentChange.getCollectionName())
+                        .isEqualTo("Users");
+            }
+        }
+    }
+
+    @Test
+    public void aggressiveCacheIsInvalidatedByChanges() throws Exception {
+        try (IDocumentStore store = getDocumentStore()) {
+
+            try (IDocumentSession session = store.openSession()) {
+                User user = new User();
+                user.setName("John");
+                session.store(user, "users/1");
+                session.saveChanges();
+            }
+
+            try (CleanCloseable cache = store.aggressivelyCacheFor(Duration.ofMinutes(5))) {
+                store.changes().ensureConnectedNow();
+
+                try (IDocumentSession session = store.openSession()) {
+                    session.load(User.class, "users/1");
+                }
+
+                try (IDocumentStore otherStore = new DocumentStore(store.getUrls(), store.getDatabase())) {
+                    otherStore.initialize();
+
+                    try (IDocumentSession session = otherStore.openSession()) {
+                        User user = session.load(User.class, "users/1");
+                        user.setName("Jane");
+                        session.saveChanges();
+                    }
+                }
+
+                Thread.sleep(500);
+
+                try (IDocumentSession session = store.openSession()) {
+                    User user = session.load(User.class, "users/1");
+                    assertThat(user.getName())
+                            .isEqualTo("Jane");
+                }
+            }
+        }
+    }
+}
@@ -2,22 +2,160 @@ package net.ravendb.client.test.client;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import net.ravendb.client.RemoteTestBase;
+import net.ravendb.client.documents.DocumentStore;
 import net.ravendb.client.documents.IDocumentStore;
 import net.ravendb.client.documents.commands.GetDocumentsCommand;
 import net.ravendb.client.documents.commands.GetDocumentsResult;
 import net.ravendb.client.documents.session.DocumentsChanges;
 import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.exceptions.ConcurrencyException;
 import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.http.RequestExecutor;
 import net.ravendb.client.infrastructure.entities.User;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class CrudTest extends RemoteTestBase {
 
+    @Test
+    public void canCoalesceConcurrentSaveChanges() throws Exception {
+        try (IDocumentStore store = getDocumentStore()) {
+            String staleChangeVector;
+
+            try (IDocumentSession session = store.openSession()) {
+                User user = new User();
+                user.setName("John");
+                session.store(user, "users/stale");
+                session.saveChanges();
+
+                staleChangeVector = session.advanced().getChangeVectorFor(user);
+
+                user.setName("Jane");
+                session.saveChanges();
+            }
+
+            try (DocumentStore coalescingStore = new DocumentStore(store.getUrls(), store.getDatabase())) {
+                coalescingStore.getConventions().setSaveChangesCoalescingWindow(Duration.ofMillis(100));
+                coalescingStore.initialize();
+
+                try (IDocumentSession session = coalescingStore.openSession()) {
+                    session.load(User.class, "users/stale"); // topology is fetched now, so it's not counted below
+                }
+
+                ExecutorService executor = Executors.newFixedThreadPool(10);
+                try {
+                    RequestExecutor requestExecutor = coalescingStore.getRequestExecutor();
+                    long requestsBefore = requestExecutor.numberOfServerRequests.get();
+
+                    CyclicBarrier barrier = new CyclicBarrier(10);
+
+                    List<CompletableFuture<Void>> saves = new ArrayList<>();
+                    for (int i = 0; i < 10; i++) {
+                        String id = "merged/" + i;
+                        saves.add(CompletableFuture.runAsync(() -> {
+                            try (IDocumentSession session = coalescingStore.openSession()) {
+                                User user = new User();
+                                user.setName(id);
+                                session.store(user, id);
+
+                                barrier.await();
+                                session.saveChanges();
+                            } catch (InterruptedException | BrokenBarrierException e) {
+                                throw new RuntimeException(e);
+                            }
+                        }, executor));
+                    }
+
+                    CompletableFuture.allOf(saves.toArray(new CompletableFuture[0])).get();
+
+                    assertThat(requestExecutor.numberOfServerRequests.get() - requestsBefore)
+                            .isLessThan(10);
+                } finally {
+                    executor.shutdown();
+                }
+
+                List<CompletableFuture<Void>> saves = new ArrayList<>();
+                for (int i = 0; i < 10; i++) {
+                    String id = "users/" + i;
+                    saves.add(CompletableFuture.runAsync(() -> {
+                        try (IDocumentSession session = coalescingStore.openSession()) {
+                            User user = new User();
+                            user.setName(id);
+                            session.store(user, id);
+                            session.saveChanges();
+                        }
+                    }));
+                }
+
+                try (IDocumentSession session = coalescingStore.openSession()) {
+                    User user = new User();
+                    user.setName("Bob");
+                    session.store(user, staleChangeVector, "users/stale");
+
+                    assertThatThrownBy(session::saveChanges)
+                            .isInstanceOf(ConcurrencyException.class);
+                }
+
+                CompletableFuture.allOf(saves.toArray(new CompletableFuture[0])).get();
+
+                try (IDocumentSession session = coalescingStore.openSession()) {
+                    for (int i = 0; i < 10; i++) {
+                        assertThat(session.load(User.class, "users/" + i).getName())
+                                .isEqualTo("users/" + i);
+                        assertThat(session.load(User.class, "merged/" + i).getName())
+                                .isEqualTo("merged/" + i);
+                    }
+
+                    assertThat(session.load(User.class, "users/stale").getName())
+                            .isEqualTo("Jane");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void canStoreAndLoadUsingCompression() throws Exception {
+        try (IDocumentStore store = getDocumentStore()) {
+            try (DocumentStore compressingStore = new DocumentStore(store.getUrls(), store.getDatabase())) {
+                compressingStore.getConventions().setUseCompression(true);
+                compressingStore.getConventions().setCompressionThreshold(128);
+                compressingStore.initialize();
+
+                String name = StringUtils.repeat("compressible ", 1000);
+
+                try (IDocumentSession session = compressingStore.openSession()) {
+                    User user = new User();
+                    user.setName(name);
+                    session.store(user, "users/1");
+                    session.saveChanges();
+                }
+
+                try (IDocumentSession session = compressingStore.openSession()) {
+                    assertThat(session.load(User.class, "users/1").getName())
+                            .isEqualTo(name);
+                }
+            }
+
+            try (IDocumentSession session = store.openSession()) {
+                assertThat(session.load(User.class, "users/1").getName())
+                        .startsWith("compressible");
+            }
+        }
+    }
+
     @Test
     public void entitiesAreSavedUsingLowerCase() throws Exception {
         try (IDocumentStore store = getDocumentStore()) {
@@ -5,6 +5,7 @@ import net.ravendb.client.RemoteTestBase;
 import net.ravendb.client.documents.DocumentStore;
 import net.ravendb.client.documents.IDocumentStore;
 import net.ravendb.client.documents.identity.HiLoIdGenerator;
+import net.ravendb.client.documents.identity.HiLoStatistics;
 import net.ravendb.client.documents.identity.MultiDatabaseHiLoIdGenerator;
 import net.ravendb.client.documents.session.IDocumentSession;
 import net.ravendb.client.infrastructure.entities.User;
@@ -182,4 +183,32 @@ public class HiLoTest extends RemoteTestBase {
             newStore.close(); //on document store close, hilo-return should be called
         }
     }
+
+    @Test
+    public void canPrefetchNextRange() throws Exception {
+        try (DocumentStore store = getDocumentStore()) {
+            HiLoIdGenerator hiLoIdGenerator = new HiLoIdGenerator("users", store, store.getDatabase(), store.getConventions().getIdentityPartsSeparator(), 0.5);
+
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                ids.add(hiLoIdGenerator.nextId());
+            }
+
+            assertThat(new HashSet<>(ids))
+                    .hasSize(ids.size());
+
+            HiLoStatistics statistics = hiLoIdGenerator.getStatistics();
+
+            assertThat(statistics.getGeneratedIds())
+                    .isEqualTo(200);
+
+            assertThat(statistics.getPrefetchedRanges())
+                    .isPositive();
+
+            assertThat(statistics.getFetchedRanges())
+                    .isGreaterThan(1);
+
+            hiLoIdGenerator.returnUnusedRange();
+        }
+    }
 }
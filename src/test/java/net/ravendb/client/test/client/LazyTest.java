@@ -0,0 +1,95 @@
+package net.ravendb.client.test.client;
+
+import net.ravendb.client.RemoteTestBase;
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.Lazy;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.documents.session.ResponseTimeInformation;
+import net.ravendb.client.infrastructure.entities.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LazyTest extends RemoteTestBase {
+
+    @Test
+    public void canLazilyLoadEntity() throws Exception {
+        try (IDocumentStore store = getDocumentStore()) {
+            try (IDocumentSession session = store.openSession()) {
+                for (int i = 1; i <= 6; i++) {
+                    User user = new User();
+                    user.setName("user" + i);
+                    session.store(user, "users/" + i);
+                }
+                session.saveChanges();
+            }
+
+            try (IDocumentSession session = store.openSession()) {
+                Lazy<User> lazyUser = session.advanced().lazily().load(User.class, "users/1");
+                Lazy<Map<String, User>> lazyUsers = session.advanced().lazily().load(User.class, Arrays.asList("users/2", "users/3"));
+                Lazy<Map<String, User>> lazyStartsWith = session.advanced().lazily().loadStartingWith(User.class, "users/", null, 0, 2);
+
+                assertThat(lazyUser.isValueCreated())
+                        .isFalse();
+
+                User user = lazyUser.getValue();
+                assertThat(user.getName())
+                        .isEqualTo("user1");
+
+                assertThat(lazyUsers.getValue())
+                        .hasSize(2);
+
+                assertThat(lazyStartsWith.getValue())
+                        .hasSize(2);
+
+                assertThat(session.advanced().getNumberOfRequests())
+                        .isEqualTo(1);
+            }
+        }
+    }
+
+    @Test
+    public void canExecuteLazyQueriesInSingleRequest() throws Exception {
+        try (IDocumentStore store = getDocumentStore()) {
+            try (IDocumentSession session = store.openSession()) {
+                User user1 = new User();
+                user1.setName("John");
+                session.store(user1, "users/1");
+
+                User user2 = new User();
+                user2.setName("Jane");
+                session.store(user2, "users/2");
+                session.saveChanges();
+            }
+
+            try (IDocumentSession session = store.openSession()) {
+                Lazy<List<User>> johns = session.query(User.class)
+                        .waitForNonStaleResults()
+                        .whereEquals("name", "John")
+                        .lazily();
+
+                Lazy<Integer> count = session.query(User.class)
+                        .waitForNonStaleResults()
+                        .countLazily();
+
+                ResponseTimeInformation timings = session.advanced().eagerly().executeAllPendingLazyOperations();
+
+                assertThat(timings.getDurationBreakdown())
+                        .hasSize(2);
+
+                assertThat(johns.getValue())
+                        .hasSize(1);
+
+                assertThat(count.getValue())
+                        .isEqualTo(2);
+
+                assertThat(session.advanced().getNumberOfRequests())
+                        .isEqualTo(1);
+            }
+        }
+    }
+}
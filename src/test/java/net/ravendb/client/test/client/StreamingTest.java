@@ -0,0 +1,85 @@
+package net.ravendb.client.test.client;
+
+import net.ravendb.client.RemoteTestBase;
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.commands.StreamQueryStatistics;
+import net.ravendb.client.documents.commands.StreamResult;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.infrastructure.entities.User;
+import net.ravendb.client.primitives.CloseableIterator;
+import net.ravendb.client.primitives.Reference;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StreamingTest extends RemoteTestBase {
+
+    @Test
+    public void canStreamQueryResults() throws Exception {
+        try (IDocumentStore store = getDocumentStore()) {
+            storeUsers(store, 200);
+
+            try (IDocumentSession session = store.openSession()) {
+                Reference<StreamQueryStatistics> statsRef = new Reference<>();
+
+                int count = 0;
+                try (CloseableIterator<StreamResult<User>> stream = session.advanced().stream(session.query(User.class), statsRef)) {
+                    while (stream.hasNext()) {
+                        StreamResult<User> result = stream.next();
+
+                        assertThat(result.getId())
+                                .startsWith("users/");
+                        assertThat(result.getDocument().getName())
+                                .startsWith("user");
+                        assertThat(result.getChangeVector())
+                                .isNotNull();
+
+                        count++;
+                    }
+                }
+
+                assertThat(count)
+                        .isEqualTo(200);
+
+                assertThat(statsRef.value)
+                        .isNotNull();
+
+                assertThat(session.advanced().getNumberOfRequests())
+                        .isEqualTo(1);
+            }
+        }
+    }
+
+    @Test
+    public void canStreamDocumentsStartingWith() throws Exception {
+        try (IDocumentStore store = getDocumentStore()) {
+            storeUsers(store, 10);
+
+            try (IDocumentSession session = store.openSession()) {
+                int count = 0;
+                try (CloseableIterator<StreamResult<User>> stream = session.advanced().stream(User.class, "users/")) {
+                    while (stream.hasNext()) {
+                        User user = stream.next().getDocument();
+                        assertThat(session.advanced().isLoaded(user.getId()))
+                                .isFalse();
+                        count++;
+                    }
+                }
+
+                assertThat(count)
+                        .isEqualTo(10);
+            }
+        }
+    }
+
+    private static void storeUsers(IDocumentStore store, int count) {
+        try (IDocumentSession session = store.openSession()) {
+            for (int i = 0; i < count; i++) {
+                User user = new User();
+                user.setName("user" + i);
+                session.store(user, "users/" + i);
+            }
+            session.saveChanges();
+        }
+    }
+}
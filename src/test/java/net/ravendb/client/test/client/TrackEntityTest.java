@@ -1,8 +1,10 @@
 package net.ravendb.client.test.client;
 
 import net.ravendb.client.RemoteTestBase;
+import net.ravendb.client.documents.DocumentStore;
 import net.ravendb.client.documents.IDocumentStore;
 import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.documents.session.SessionOptions;
 import net.ravendb.client.exceptions.documents.session.NonUniqueObjectException;
 import net.ravendb.client.infrastructure.entities.User;
 import org.junit.jupiter.api.Test;
@@ -78,4 +80,94 @@ public class TrackEntityTest extends RemoteTestBase {
             }
         }
     }
+
+    @Test
+    public void canDetectChangesUsingEntityFingerprints() throws Exception {
+        try (IDocumentStore store = getDocumentStore()) {
+            try (IDocumentSession session = store.openSession()) {
+                User user = new User();
+                user.setName("John");
+                session.store(user, "users/1");
+                session.saveChanges();
+            }
+
+            try (DocumentStore fingerprintStore = new DocumentStore(store.getUrls(), store.getDatabase())) {
+                fingerprintStore.getConventions().setUseFingerprintChangeTracking(true);
+                fingerprintStore.initialize();
+
+                try (IDocumentSession session = fingerprintStore.openSession()) {
+                    User user = session.load(User.class, "users/1");
+
+                    assertThat(session.advanced().hasChanges())
+                            .isFalse();
+
+                    session.saveChanges();
+
+                    assertThat(session.advanced().getNumberOfRequests())
+                            .isEqualTo(1);
+
+                    user.setName("Jane");
+
+                    assertThat(session.advanced().hasChanged(user))
+                            .isTrue();
+
+                    session.saveChanges();
+
+                    assertThat(session.advanced().getNumberOfRequests())
+                            .isEqualTo(2);
+
+                    session.saveChanges();
+
+                    assertThat(session.advanced().getNumberOfRequests())
+                            .isEqualTo(2);
+                }
+
+                try (IDocumentSession session = fingerprintStore.openSession()) {
+                    assertThat(session.load(User.class, "users/1").getName())
+                            .isEqualTo("Jane");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void noTrackingSessionDoesNotTrackLoadedEntities() throws Exception {
+        try (IDocumentStore store = getDocumentStore()) {
+            try (IDocumentSession session = store.openSession()) {
+                User user = new User();
+                user.setName("John");
+                session.store(user, "users/1");
+                session.saveChanges();
+            }
+
+            SessionOptions options = new SessionOptions();
+            options.setNoTracking(true);
+
+            try (IDocumentSession session = store.openSession(options)) {
+                User user1 = session.load(User.class, "users/1");
+                User user2 = session.load(User.class, "users/1");
+
+                assertThat(user1.getName())
+                        .isEqualTo("John");
+
+                assertThat(user1)
+                        .isNotSameAs(user2);
+
+                assertThat(session.advanced().isLoaded("users/1"))
+                        .isFalse();
+
+                assertThat(session.advanced().loadStartingWith(User.class, "users/"))
+                        .hasSize(1);
+
+                assertThat(session.query(User.class).waitForNonStaleResults().toList())
+                        .hasSize(1);
+
+                assertThatThrownBy(() -> session.store(new User()))
+                        .isExactlyInstanceOf(IllegalStateException.class);
+
+                assertThatThrownBy(() -> session.delete("users/1"))
+                        .isExactlyInstanceOf(IllegalStateException.class);
+            }
+        }
+    }
 }
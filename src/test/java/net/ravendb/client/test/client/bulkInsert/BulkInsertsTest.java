@@ -0,0 +1,84 @@
+package net.ravendb.client.test.client.bulkInsert;
+
+import net.ravendb.client.RemoteTestBase;
+import net.ravendb.client.documents.BulkInsertOperation;
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.documents.session.IMetadataDictionary;
+import net.ravendb.client.exceptions.documents.bulkinsert.BulkInsertAbortedException;
+import net.ravendb.client.infrastructure.entities.User;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BulkInsertsTest extends RemoteTestBase {
+
+    @Test
+    public void simpleBulkInsertShouldWork() throws Exception {
+        User user1 = new User();
+        user1.setName("Mega John");
+
+        User user2 = new User();
+        user2.setName("Mega Jane");
+
+        User user3 = new User();
+        user3.setName("Mega Jill");
+
+        try (IDocumentStore store = getDocumentStore()) {
+            try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+                bulkInsert.store(user1, "users/1");
+                bulkInsert.store(user2, "users/2");
+                bulkInsert.store(user3, "users/3");
+            }
+
+            try (IDocumentSession session = store.openSession()) {
+                User doc1 = session.load(User.class, "users/1");
+                User doc3 = session.load(User.class, "users/3");
+
+                assertThat(doc1.getName())
+                        .isEqualTo("Mega John");
+                assertThat(doc3.getName())
+                        .isEqualTo("Mega Jill");
+
+                IMetadataDictionary metadata = session.advanced().getMetadataFor(doc1);
+                assertThat(metadata.get("@collection"))
+                        .isEqualTo("Users");
+            }
+        }
+    }
+
+    @Test
+    public void canGenerateIdsUsingHiLo() throws Exception {
+        try (IDocumentStore store = getDocumentStore()) {
+            String id;
+            try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+                User user = new User();
+                user.setName("Marcin");
+                id = bulkInsert.store(user);
+
+                assertThat(user.getId())
+                        .isEqualTo(id);
+            }
+
+            try (IDocumentSession session = store.openSession()) {
+                User user = session.load(User.class, id);
+                assertThat(user.getName())
+                        .isEqualTo("Marcin");
+            }
+        }
+    }
+
+    @Test
+    public void killedToEarly() throws Exception {
+        try (IDocumentStore store = getDocumentStore()) {
+            assertThatThrownBy(() -> {
+                try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+                    bulkInsert.store(new User());
+                    bulkInsert.abort();
+                    bulkInsert.store(new User());
+                }
+            }).isInstanceOf(BulkInsertAbortedException.class);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package net.ravendb.client.test.client.documents;
+
+import net.ravendb.client.RemoteTestBase;
+import net.ravendb.client.util.CaseInsensitiveHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CaseInsensitiveHashMapTest extends RemoteTestBase {
+
+    @Test
+    public void foldsCaseOfKeys() throws Exception {
+        Map<String, Integer> map = new CaseInsensitiveHashMap<>();
+        map.put("users/1-A", 1);
+
+        assertThat(map.get("USERS/1-a"))
+                .isEqualTo(1);
+        assertThat(map.containsKey("Users/1-A"))
+                .isTrue();
+        assertThat(map.get("users/2-A"))
+                .isNull();
+
+        // key keeps casing it was added with
+        assertThat(map.put("USERS/1-A", 2))
+                .isEqualTo(1);
+        assertThat(map)
+                .hasSize(1);
+        assertThat(map.keySet())
+                .containsExactly("users/1-A");
+
+        assertThat(map.remove("uSeRs/1-a"))
+                .isEqualTo(2);
+        assertThat(map)
+                .isEmpty();
+    }
+
+    @Test
+    public void usesSameEqualityAsEqualsIgnoreCase() throws Exception {
+        String[][] pairs = {
+                { "i", "\u0130" }, // dotted capital I
+                { "\u0131", "I" }, // dotless small i
+                { "\u00df", "\u1e9e" }, // sharp s
+                { "\u03c3", "\u03c2" }, // sigma and final sigma
+                { "k", "\u212a" } // kelvin sign
+        };
+
+        for (String[] pair : pairs) {
+            Map<String, Integer> map = new CaseInsensitiveHashMap<>();
+            map.put(pair[0], 1);
+
+            assertThat(map.containsKey(pair[1]))
+                    .as(pair[0] + " and " + pair[1])
+                    .isEqualTo(pair[0].equalsIgnoreCase(pair[1]));
+        }
+    }
+
+    @Test
+    public void keepsInsertionOrder() throws Exception {
+        Map<String, Integer> map = new CaseInsensitiveHashMap<>();
+        map.put("c", 1);
+        map.put("a", 2);
+        map.put("B", 3);
+        map.put("A", 4);
+
+        assertThat(map.keySet())
+                .containsExactly("c", "a", "B");
+        assertThat(map.values())
+                .containsExactly(1, 4, 3);
+
+        map.remove("C");
+        map.put("C", 5);
+
+        assertThat(map.keySet())
+                .containsExactly("a", "B", "C");
+    }
+
+    @Test
+    public void removesUsingIterators() throws Exception {
+        Map<String, Integer> map = new CaseInsensitiveHashMap<>();
+        for (int i = 0; i < 6; i++) {
+            map.put("users/" + i, i);
+        }
+
+        Iterator<Map.Entry<String, Integer>> entries = map.entrySet().iterator();
+        while (entries.hasNext()) {
+            if (entries.next().getValue() % 2 == 0) {
+                entries.remove();
+            }
+        }
+
+        map.keySet().removeIf(x -> x.equals("users/1"));
+        map.values().removeIf(x -> x == 3);
+
+        assertThat(map.keySet())
+                .containsExactly("users/5");
+        assertThat(map.get("USERS/5"))
+                .isEqualTo(5);
+        assertThat(map.containsKey("users/0"))
+                .isFalse();
+    }
+
+    @Test
+    public void entriesFollowMapContract() throws Exception {
+        Map<String, Integer> map = new CaseInsensitiveHashMap<>();
+        map.put("users/1", 1);
+        map.put("users/2", null);
+
+        Map<String, Integer> expected = new HashMap<>();
+        expected.put("users/1", 1);
+        expected.put("users/2", null);
+
+        Map.Entry<String, Integer> entry = map.entrySet().iterator().next();
+
+        assertThat(entry)
+                .isEqualTo(new AbstractMap.SimpleEntry<>("users/1", 1));
+        assertThat(entry.hashCode())
+                .isEqualTo(new AbstractMap.SimpleEntry<>("users/1", 1).hashCode());
+
+        assertThat(map.entrySet())
+                .isEqualTo(expected.entrySet());
+        assertThat(map.hashCode())
+                .isEqualTo(expected.hashCode());
+        assertThat(map)
+                .isEqualTo(expected);
+        assertThat(expected)
+                .isEqualTo(map);
+
+        // value is written through to the map
+        entry.setValue(10);
+
+        assertThat(map.get("USERS/1"))
+                .isEqualTo(10);
+        assertThat(entry.getValue())
+                .isEqualTo(10);
+    }
+}
@@ -0,0 +1,128 @@
+package net.ravendb.client.test.client.documents;
+
+import net.ravendb.client.RemoteTestBase;
+import net.ravendb.client.util.IdentityLinkedHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IdentityLinkedHashMapTest extends RemoteTestBase {
+
+    @Test
+    public void comparesKeysByReference() throws Exception {
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+
+        assertThat(first)
+                .isEqualTo(second);
+
+        Map<List<String>, Integer> map = new IdentityLinkedHashMap<>();
+        map.put(first, 1);
+
+        assertThat(map.containsKey(second))
+                .isFalse();
+
+        map.put(second, 2);
+
+        assertThat(map)
+                .hasSize(2);
+        assertThat(map.get(first))
+                .isEqualTo(1);
+        assertThat(map.get(second))
+                .isEqualTo(2);
+
+        // changing the key doesn't lose the entry, as it would in hash map
+        first.add("changed");
+
+        assertThat(map.get(first))
+                .isEqualTo(1);
+
+        assertThat(map.remove(second))
+                .isEqualTo(2);
+        assertThat(map.keySet())
+                .hasSize(1)
+                .allMatch(x -> x == first);
+    }
+
+    @Test
+    public void keepsInsertionOrder() throws Exception {
+        List<Object> keys = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            keys.add(new Object());
+        }
+
+        Map<Object, Integer> map = new IdentityLinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            map.put(keys.get(i), i);
+        }
+
+        assertThat(new ArrayList<>(map.keySet()))
+                .containsExactlyElementsOf(keys);
+
+        map.remove(keys.get(0));
+        map.put(keys.get(0), 0);
+
+        assertThat(map.keySet().iterator().next())
+                .isSameAs(keys.get(1));
+        assertThat(new ArrayList<>(map.values()).get(keys.size() - 1))
+                .isEqualTo(0);
+    }
+
+    @Test
+    public void removesUsingIterators() throws Exception {
+        Object first = new Object();
+        Object second = new Object();
+        Object third = new Object();
+
+        Map<Object, String> map = new IdentityLinkedHashMap<>();
+        map.put(first, "first");
+        map.put(second, "second");
+        map.put(third, "third");
+
+        Iterator<Map.Entry<Object, String>> entries = map.entrySet().iterator();
+        entries.next();
+        entries.next();
+        entries.remove();
+
+        assertThat(map.containsKey(second))
+                .isFalse();
+
+        Iterator<Object> keys = map.keySet().iterator();
+        keys.next();
+        keys.remove();
+
+        assertThat(map)
+                .hasSize(1);
+        assertThat(map.get(third))
+                .isEqualTo("third");
+
+        map.clear();
+
+        assertThat(map.entrySet())
+                .isEmpty();
+    }
+
+    @Test
+    public void entriesFollowMapContract() throws Exception {
+        Object key = new Object();
+
+        Map<Object, String> map = new IdentityLinkedHashMap<>();
+        map.put(key, "value");
+
+        Map.Entry<Object, String> entry = map.entrySet().iterator().next();
+
+        assertThat(entry)
+                .isEqualTo(new AbstractMap.SimpleEntry<>(key, "value"));
+        assertThat(map.hashCode())
+                .isEqualTo(Collections.singletonMap(key, "value").hashCode());
+        assertThat(map)
+                .isEqualTo(Collections.singletonMap(key, "value"));
+
+        entry.setValue("changed");
+
+        assertThat(map.get(key))
+                .isEqualTo("changed");
+    }
+}